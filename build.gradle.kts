@@ -14,6 +14,11 @@ java {
 	}
 }
 
+// WebSocket load generator run against a live server, see the loadTest task
+sourceSets {
+	create("loadtest")
+}
+
 repositories {
 	mavenCentral()
 	maven { url = uri("https://jitpack.io") }  // Add this repository for Nakama SDK
@@ -30,6 +35,8 @@ dependencies {
 	// monitoring
 	implementation("org.springframework.boot:spring-boot-starter-actuator")
 	implementation("io.micrometer:micrometer-registry-prometheus")
+	implementation("io.micrometer:micrometer-tracing-bridge-otel")
+	implementation("io.opentelemetry:opentelemetry-exporter-otlp")
 
 	// immutables
 	annotationProcessor("org.immutables:value:2.10.1")
@@ -44,13 +51,67 @@ dependencies {
 	implementation("com.google.guava:guava:32.1.2-jre")
 
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
+	testImplementation("org.hdrhistogram:HdrHistogram:2.2.2")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+	"loadtestImplementation"("com.fasterxml.jackson.core:jackson-databind")
+	"loadtestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
 }
 
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
 
+tasks.test {
+	useJUnitPlatform {
+		excludeTags("benchmark")
+	}
+}
+
+// Full-stack throughput on in-memory repositories, e.g. ./gradlew benchmark -Dbenchmark.games=50000
+tasks.register<Test>("benchmark") {
+	group = "verification"
+	description = "Runs the throughput benchmarks"
+	testClassesDirs = sourceSets["test"].output.classesDirs
+	classpath = sourceSets["test"].runtimeClasspath
+	useJUnitPlatform {
+		includeTags("benchmark")
+	}
+	systemProperties(System.getProperties().filterKeys { it.toString().startsWith("benchmark.") }
+		.mapKeys { it.key.toString() })
+	maxHeapSize = "2g"
+	testLogging.showStandardStreams = true
+	outputs.upToDateWhen { false }
+}
+
+// Offline: solve every default-board position and write the table read by SolverService
+tasks.register<JavaExec>("buildSolverTable") {
+	group = "application"
+	description = "Builds the solved-position table (pass -PsolverTable=<file> to choose the output)"
+	classpath = sourceSets["main"].runtimeClasspath
+	mainClass.set("com.cardgame.service.solver.OutcomeTableBuilder")
+	args(project.findProperty("solverTable")?.toString() ?: "build/solver/outcomes.bin")
+	maxHeapSize = "2g"
+}
+
+// Headless deck matchups, e.g. ./gradlew simulateMatchup -Pmatchup="1,1,3,3,5 1,3,3,5,5 1000000 GREEDY RANDOM"
+tasks.register<JavaExec>("simulateMatchup") {
+	group = "application"
+	description = "Simulates games between two decks given as card powers"
+	classpath = sourceSets["main"].runtimeClasspath
+	mainClass.set("com.cardgame.service.simulation.MatchupSimulatorCli")
+	args((project.findProperty("matchup")?.toString() ?: "1,1,3,3,5 1,1,3,3,5").split(" "))
+}
+
+// e.g. ./gradlew loadTest -PloadTest="--url=http://localhost:8080 --matches=200 --ramp=step:20x10s"
+tasks.register<JavaExec>("loadTest") {
+	group = "verification"
+	description = "Runs simulated online matches over /ws/game against a running server"
+	classpath = sourceSets["loadtest"].runtimeClasspath
+	mainClass.set("com.cardgame.loadtest.WebSocketLoadTest")
+	args((project.findProperty("loadTest")?.toString() ?: "").split(" ").filter { it.isNotBlank() })
+}
+
 flyway {
 	url = "jdbc:postgresql://localhost:5432/demo_db"
 	user = "postgres"
@@ -0,0 +1,287 @@
+package com.cardgame.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One simulated player on /ws/game. It plays whenever a GAME_STATE_UPDATE says it is its turn,
+ * choosing a random legal move after the think time, and measures the time from sending its
+ * GAME_ACTION to receiving the resulting GAME_STATE_UPDATE.
+ */
+class LoadClient implements WebSocket.Listener {
+    private static final int[] DX = {0, 0, 1, -1};
+    private static final int[] DY = {1, -1, 0, 0};
+
+    private final String playerId;
+    private final LoadMetrics metrics;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService scheduler;
+    private final Duration thinkTime;
+
+    private final StringBuilder partialMessage = new StringBuilder();
+    private final CompletableFuture<Void> connected = new CompletableFuture<>();
+    private final Object sendLock = new Object();
+    private CompletableFuture<?> sendChain = CompletableFuture.completedFuture(null);
+    private WebSocket webSocket;
+    private long connectStartNanos;
+
+    // State of the current game, guarded by this
+    private String matchId;
+    private CompletableFuture<Void> joined;
+    private CompletableFuture<JsonNode> gameOver;
+    private long actionSentNanos;
+    private String lastTurnPlayed;
+
+    LoadClient(String playerId, LoadMetrics metrics, ObjectMapper objectMapper,
+               ScheduledExecutorService scheduler, Duration thinkTime) {
+        this.playerId = playerId;
+        this.metrics = metrics;
+        this.objectMapper = objectMapper;
+        this.scheduler = scheduler;
+        this.thinkTime = thinkTime;
+    }
+
+    String playerId() {
+        return playerId;
+    }
+
+    /**
+     * Open the WebSocket. Completes when the server's CONNECTION_SUCCESS arrives, so the recorded
+     * setup cost covers the TCP connect, the upgrade and the first server message.
+     */
+    CompletableFuture<Void> connect(HttpClient httpClient, URI uri) {
+        connectStartNanos = System.nanoTime();
+        httpClient.newWebSocketBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .buildAsync(uri, this)
+                .whenComplete((ws, error) -> {
+                    if (error != null) {
+                        connected.completeExceptionally(error);
+                    }
+                });
+        return connected;
+    }
+
+    /**
+     * Subscribe to a match over the socket and get ready to play its game (see {@link #gameOver()})
+     * @return Completes on JOIN_SUCCESS
+     */
+    synchronized CompletableFuture<Void> joinMatch(String matchId) {
+        this.matchId = matchId;
+        this.joined = new CompletableFuture<>();
+        this.gameOver = new CompletableFuture<>();
+        this.actionSentNanos = 0;
+        this.lastTurnPlayed = null;
+        send("JOIN_MATCH", objectMapper.createObjectNode().put("matchId", matchId).put("playerId", playerId));
+        return joined;
+    }
+
+    /**
+     * Completes with the final state when the current game is over
+     */
+    synchronized CompletableFuture<JsonNode> gameOver() {
+        return gameOver;
+    }
+
+    void leaveMatch() {
+        send("LEAVE_MATCH", objectMapper.createObjectNode());
+    }
+
+    void close() {
+        WebSocket socket = webSocket;
+        if (socket != null && !socket.isOutputClosed()) {
+            socket.sendClose(WebSocket.NORMAL_CLOSURE, "done");
+        }
+    }
+
+    @Override
+    public void onOpen(WebSocket webSocket) {
+        this.webSocket = webSocket;
+        metrics.openConnections.incrementAndGet();
+        webSocket.request(1);
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+        partialMessage.append(data);
+        if (last) {
+            String text = partialMessage.toString();
+            partialMessage.setLength(0);
+            metrics.messagesReceived.incrementAndGet();
+            try {
+                onMessage(objectMapper.readTree(text));
+            } catch (Exception e) {
+                metrics.errors.incrementAndGet();
+            }
+        }
+        webSocket.request(1);
+        return null;
+    }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+        metrics.openConnections.decrementAndGet();
+        failGame(new IllegalStateException("Socket closed: " + statusCode + " " + reason));
+        return null;
+    }
+
+    @Override
+    public void onError(WebSocket webSocket, Throwable error) {
+        metrics.errors.incrementAndGet();
+        connected.completeExceptionally(error);
+        failGame(error);
+    }
+
+    private void onMessage(JsonNode message) {
+        JsonNode data = message.path("data");
+        switch (message.path("type").asText()) {
+            case "CONNECTION_SUCCESS":
+                metrics.connectLatency.recordValue(System.nanoTime() - connectStartNanos);
+                connected.complete(null);
+                break;
+            case "JOIN_SUCCESS":
+                synchronized (this) {
+                    if (joined != null) {
+                        joined.complete(null);
+                    }
+                }
+                break;
+            case "GAME_STATE_UPDATE":
+                if (data.has("id")) {
+                    onGameState(data);
+                }
+                break;
+            case "ERROR":
+                onServerError();
+                break;
+            default:
+                break;
+        }
+    }
+
+    private synchronized void onGameState(JsonNode game) {
+        if (actionSentNanos != 0) {
+            metrics.actionLatency.recordValue(System.nanoTime() - actionSentNanos);
+            actionSentNanos = 0;
+        }
+        if ("COMPLETED".equals(game.path("state").asText())) {
+            if (gameOver != null) {
+                gameOver.complete(game);
+            }
+            return;
+        }
+        if (!playerId.equals(game.path("currentPlayerId").asText())) {
+            return;
+        }
+        // Joining broadcasts the opening state more than once; play each turn only once
+        String turn = game.path("updatedAt").asText() + "/" + game.path("cardOwnership").size();
+        if (turn.equals(lastTurnPlayed)) {
+            return;
+        }
+        lastTurnPlayed = turn;
+        ObjectNode action = chooseAction(game);
+        scheduler.schedule(() -> sendAction(action), thinkTime.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void onServerError() {
+        metrics.errors.incrementAndGet();
+        if (actionSentNanos != 0) {
+            // The action was rejected; fetch the state again and play from there
+            actionSentNanos = 0;
+            lastTurnPlayed = null;
+            send("GAME_STATE_REQUEST", objectMapper.createObjectNode());
+        }
+    }
+
+    private synchronized void sendAction(ObjectNode action) {
+        if (gameOver == null || gameOver.isDone()) {
+            return;
+        }
+        actionSentNanos = System.nanoTime();
+        metrics.actions.incrementAndGet();
+        ObjectNode data = objectMapper.createObjectNode().put("matchId", matchId);
+        data.set("action", action);
+        send("GAME_ACTION", data);
+    }
+
+    private synchronized void failGame(Throwable error) {
+        if (gameOver != null) {
+            gameOver.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * A random legal move: a card from the hand on an empty cell orthogonally adjacent to one of
+     * this player's cards, or a pass if there is none
+     */
+    private ObjectNode chooseAction(JsonNode game) {
+        int width = game.path("board").path("width").asInt();
+        int height = game.path("board").path("height").asInt();
+        JsonNode ownership = game.path("cardOwnership");
+        JsonNode hand = game.path("currentPlayerHand");
+
+        List<int[]> targets = new ArrayList<>();
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                if (ownership.has(x + "," + y)) {
+                    continue;
+                }
+                for (int d = 0; d < DX.length; d++) {
+                    if (playerId.equals(ownership.path((x + DX[d]) + "," + (y + DY[d])).asText(null))) {
+                        targets.add(new int[] {x, y});
+                        break;
+                    }
+                }
+            }
+        }
+
+        ObjectNode action = objectMapper.createObjectNode();
+        if (targets.isEmpty() || hand.size() == 0) {
+            return action.put("type", "PASS");
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        JsonNode card = hand.get(random.nextInt(hand.size()));
+        int[] target = targets.get(random.nextInt(targets.size()));
+        action.put("type", "PLACE_CARD");
+        action.putObject("card")
+                .put("id", card.path("id").asText())
+                .put("name", card.path("name").asText())
+                .put("power", card.path("power").asInt());
+        action.putObject("targetPosition").put("x", target[0]).put("y", target[1]);
+        return action;
+    }
+
+    /**
+     * Queue a message; the JDK client allows one outstanding send per socket
+     */
+    private void send(String type, ObjectNode data) {
+        ObjectNode message = objectMapper.createObjectNode().put("type", type);
+        message.set("data", data);
+        String json = message.toString();
+        synchronized (sendLock) {
+            sendChain = sendChain
+                    .thenCompose(ignored -> webSocket.sendText(json, true))
+                    .whenComplete((ws, error) -> {
+                        if (error != null) {
+                            metrics.errors.incrementAndGet();
+                        } else {
+                            metrics.messagesSent.incrementAndGet();
+                        }
+                    })
+                    .exceptionally(error -> null);
+        }
+    }
+}
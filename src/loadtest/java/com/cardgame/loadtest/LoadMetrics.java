@@ -0,0 +1,53 @@
+package com.cardgame.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client-side measurements shared by all simulated clients. Latencies are recorded in
+ * nanoseconds into HdrHistogram recorders, which are safe to write from many threads; every
+ * sample interval the recorders are drained into the run totals.
+ */
+public class LoadMetrics {
+    final Recorder actionLatency = new Recorder(3);
+    final Recorder connectLatency = new Recorder(3);
+    final Recorder matchSetupLatency = new Recorder(3);
+
+    final AtomicLong messagesSent = new AtomicLong();
+    final AtomicLong messagesReceived = new AtomicLong();
+    final AtomicLong actions = new AtomicLong();
+    final AtomicLong errors = new AtomicLong();
+    final AtomicLong gamesCompleted = new AtomicLong();
+    final AtomicLong gamesFailed = new AtomicLong();
+    final AtomicLong openConnections = new AtomicLong();
+
+    private final Histogram totalActionLatency = new Histogram(3);
+    private final Histogram totalConnectLatency = new Histogram(3);
+    private final Histogram totalMatchSetupLatency = new Histogram(3);
+
+    /**
+     * Move everything recorded since the last call into the totals
+     * @return Action latencies of the interval
+     */
+    synchronized Histogram drainInterval() {
+        Histogram interval = actionLatency.getIntervalHistogram();
+        totalActionLatency.add(interval);
+        totalConnectLatency.add(connectLatency.getIntervalHistogram());
+        totalMatchSetupLatency.add(matchSetupLatency.getIntervalHistogram());
+        return interval;
+    }
+
+    synchronized Histogram totalActionLatency() {
+        return totalActionLatency.copy();
+    }
+
+    synchronized Histogram totalConnectLatency() {
+        return totalConnectLatency.copy();
+    }
+
+    synchronized Histogram totalMatchSetupLatency() {
+        return totalMatchSetupLatency.copy();
+    }
+}
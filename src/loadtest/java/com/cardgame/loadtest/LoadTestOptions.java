@@ -0,0 +1,85 @@
+package com.cardgame.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line options of the load generator, given as --name=value
+ */
+public class LoadTestOptions {
+    private static final List<String> DEFAULT_GAUGES = List.of(
+            "websocket_connections_active",
+            "game_active",
+            "jvm_threads_live_threads",
+            "process_cpu_usage",
+            "jvm_memory_used_bytes");
+
+    final URI baseUri;
+    final int matches;
+    final int gamesPerMatch;
+    final RampProfile ramp;
+    final String rampSpec;
+    final Duration thinkTime;
+    final Duration gameTimeout;
+    final Path playersFile;
+    final String registerPrefix;
+    final Duration sampleInterval;
+    final List<String> gauges;
+
+    private LoadTestOptions(Map<String, String> values) {
+        this.baseUri = URI.create(values.getOrDefault("url", "http://localhost:8080"));
+        this.matches = Integer.parseInt(values.getOrDefault("matches", "50"));
+        this.gamesPerMatch = Integer.parseInt(values.getOrDefault("games-per-match", "1"));
+        this.rampSpec = values.getOrDefault("ramp", "linear:30s");
+        this.ramp = RampProfile.parse(rampSpec);
+        this.thinkTime = parseDuration(values.getOrDefault("think-time", "200ms"));
+        this.gameTimeout = parseDuration(values.getOrDefault("game-timeout", "2m"));
+        this.playersFile = values.containsKey("players") ? Paths.get(values.get("players")) : null;
+        this.registerPrefix = values.getOrDefault("register-prefix", "loadtest" + System.currentTimeMillis());
+        this.sampleInterval = parseDuration(values.getOrDefault("sample-interval", "5s"));
+        this.gauges = values.containsKey("gauges") ? List.of(values.get("gauges").split(",")) : DEFAULT_GAUGES;
+        if (matches < 1 || gamesPerMatch < 1) {
+            throw new IllegalArgumentException("--matches and --games-per-match must be at least 1");
+        }
+    }
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestOptions(values);
+    }
+
+    /**
+     * Parse a duration such as 250ms, 5s or 2m
+     */
+    static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        switch (value.charAt(value.length() - 1)) {
+            case 's':
+                return Duration.ofSeconds(amount);
+            case 'm':
+                return Duration.ofMinutes(amount);
+            default:
+                throw new IllegalArgumentException("Expected a duration such as 250ms, 5s or 2m, got " + value);
+        }
+    }
+
+    URI webSocketUri() {
+        String scheme = "https".equals(baseUri.getScheme()) ? "wss" : "ws";
+        return URI.create(scheme + "://" + baseUri.getAuthority() + "/ws/game");
+    }
+}
@@ -0,0 +1,81 @@
+package com.cardgame.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays a pair of simulated clients through one or more online games: the first creates a match,
+ * both subscribe over /ws/game, the second joins over REST (which starts the game), and the two
+ * play until the game is over.
+ */
+class MatchDriver implements Callable<Void> {
+    private static final Duration SETUP_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadClient creator;
+    private final LoadClient joiner;
+    private final ServerApi api;
+    private final HttpClient httpClient;
+    private final URI webSocketUri;
+    private final LoadMetrics metrics;
+    private final int games;
+    private final Duration gameTimeout;
+
+    MatchDriver(LoadClient creator, LoadClient joiner, ServerApi api, HttpClient httpClient, URI webSocketUri,
+                LoadMetrics metrics, int games, Duration gameTimeout) {
+        this.creator = creator;
+        this.joiner = joiner;
+        this.api = api;
+        this.httpClient = httpClient;
+        this.webSocketUri = webSocketUri;
+        this.metrics = metrics;
+        this.games = games;
+        this.gameTimeout = gameTimeout;
+    }
+
+    @Override
+    public Void call() {
+        try {
+            CompletableFuture.allOf(creator.connect(httpClient, webSocketUri), joiner.connect(httpClient, webSocketUri))
+                    .get(SETUP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            for (int game = 0; game < games; game++) {
+                playGame();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            metrics.gamesFailed.addAndGet(games);
+            System.err.println("Could not connect " + creator.playerId() + " / " + joiner.playerId() + ": " + e);
+        } finally {
+            creator.close();
+            joiner.close();
+        }
+        return null;
+    }
+
+    private void playGame() throws InterruptedException {
+        try {
+            long start = System.nanoTime();
+            String matchId = api.createMatch(creator.playerId());
+            CompletableFuture.allOf(creator.joinMatch(matchId), joiner.joinMatch(matchId))
+                    .get(SETUP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            api.joinMatch(matchId, joiner.playerId());
+            metrics.matchSetupLatency.recordValue(System.nanoTime() - start);
+
+            CompletableFuture.allOf(creator.gameOver(), joiner.gameOver())
+                    .get(gameTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            metrics.gamesCompleted.incrementAndGet();
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            metrics.gamesFailed.incrementAndGet();
+            System.err.println("Game failed for " + creator.playerId() + " / " + joiner.playerId() + ": " + e);
+        } finally {
+            creator.leaveMatch();
+            joiner.leaveMatch();
+        }
+    }
+}
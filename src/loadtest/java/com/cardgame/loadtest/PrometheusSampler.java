@@ -0,0 +1,108 @@
+package com.cardgame.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Samples server-side gauges from /actuator/prometheus while the load runs. Series of the same
+ * metric with different labels (memory pools, for example) are summed.
+ */
+public class PrometheusSampler {
+    private final HttpClient httpClient;
+    private final URI endpoint;
+    private final Map<String, Stats> stats = new LinkedHashMap<>();
+
+    public PrometheusSampler(HttpClient httpClient, URI baseUri, List<String> gauges) {
+        this.httpClient = httpClient;
+        this.endpoint = baseUri.resolve("/actuator/prometheus");
+        for (String gauge : gauges) {
+            stats.put(gauge, new Stats());
+        }
+    }
+
+    /**
+     * Scrape the endpoint once
+     * @return The current value of each gauge that was present in the scrape
+     */
+    public synchronized Map<String, Double> sample() {
+        Map<String, Double> values = new LinkedHashMap<>();
+        String body;
+        try {
+            HttpRequest request = HttpRequest.newBuilder(endpoint).timeout(Duration.ofSeconds(5)).GET().build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return values;
+            }
+            body = response.body();
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            return values;
+        }
+
+        for (String line : body.split("\n")) {
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int nameEnd = line.indexOf('{') >= 0 ? line.indexOf('{') : line.indexOf(' ');
+            if (nameEnd <= 0) {
+                continue;
+            }
+            String name = line.substring(0, nameEnd);
+            if (stats.containsKey(name)) {
+                double value = Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+                values.merge(name, value, Double::sum);
+            }
+        }
+        values.forEach((name, value) -> stats.get(name).add(value));
+        return values;
+    }
+
+    public synchronized Map<String, Stats> stats() {
+        return new LinkedHashMap<>(stats);
+    }
+
+    /**
+     * Min, mean, max and last value of a gauge over the run
+     */
+    public static class Stats {
+        private long samples;
+        private double min = Double.MAX_VALUE;
+        private double max = -Double.MAX_VALUE;
+        private double sum;
+        private double last;
+
+        void add(double value) {
+            samples++;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            sum += value;
+            last = value;
+        }
+
+        public long samples() {
+            return samples;
+        }
+
+        @Override
+        public String toString() {
+            if (samples == 0) {
+                return "not reported";
+            }
+            return String.format("min %s / mean %s / max %s / last %s",
+                    format(min), format(sum / samples), format(max), format(last));
+        }
+
+        private static String format(double value) {
+            return value == Math.rint(value) && Math.abs(value) < 1e15
+                    ? String.valueOf((long) value) : String.format("%.3f", value);
+        }
+    }
+}
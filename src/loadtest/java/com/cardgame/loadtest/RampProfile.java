@@ -0,0 +1,53 @@
+package com.cardgame.loadtest;
+
+import java.time.Duration;
+
+/**
+ * When each simulated match starts, relative to the start of the run
+ */
+public interface RampProfile {
+
+    /**
+     * @param match Index of the match, from 0
+     * @param matches Total number of matches
+     */
+    Duration startDelay(int match, int matches);
+
+    /**
+     * Parse a profile:
+     * <ul>
+     *   <li>{@code immediate} - every match starts at once</li>
+     *   <li>{@code linear:60s} - starts are spread evenly over the duration</li>
+     *   <li>{@code step:10x5s} - 10 more matches start every 5 seconds</li>
+     * </ul>
+     */
+    static RampProfile parse(String spec) {
+        String[] parts = spec.split(":", 2);
+        switch (parts[0]) {
+            case "immediate":
+                return (match, matches) -> Duration.ZERO;
+            case "linear": {
+                Duration over = LoadTestOptions.parseDuration(requireArgument(spec, parts));
+                return (match, matches) -> over.multipliedBy(match).dividedBy(matches);
+            }
+            case "step": {
+                String[] step = requireArgument(spec, parts).split("x", 2);
+                if (step.length != 2) {
+                    throw new IllegalArgumentException("Expected step:<matches>x<interval>, got " + spec);
+                }
+                int perStep = Integer.parseInt(step[0]);
+                Duration interval = LoadTestOptions.parseDuration(step[1]);
+                return (match, matches) -> interval.multipliedBy(match / perStep);
+            }
+            default:
+                throw new IllegalArgumentException("Unknown ramp profile: " + spec);
+        }
+    }
+
+    private static String requireArgument(String spec, String[] parts) {
+        if (parts.length < 2 || parts[1].isBlank()) {
+            throw new IllegalArgumentException("Ramp profile needs an argument: " + spec);
+        }
+        return parts[1];
+    }
+}
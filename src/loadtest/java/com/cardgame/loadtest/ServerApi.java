@@ -0,0 +1,85 @@
+package com.cardgame.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * The REST calls a client makes around a match: registering, creating and joining
+ */
+class ServerApi {
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+
+    ServerApi(HttpClient httpClient, URI baseUri, ObjectMapper objectMapper) {
+        this.httpClient = httpClient;
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Register a player through /auth/register, which also gives them a starter deck
+     * @return The player ID
+     */
+    String register(String username) throws IOException, InterruptedException {
+        String query = "email=" + encode(username + "@loadtest.local")
+                + "&password=" + encode("loadtest-" + username)
+                + "&username=" + encode(username);
+        JsonNode response = post("/auth/register?" + query, "");
+        return require(response, "playerId");
+    }
+
+    /**
+     * @return The match ID
+     */
+    String createMatch(String playerId) throws IOException, InterruptedException {
+        return require(post("/api/online-game/create", playerBody(playerId)), "matchId");
+    }
+
+    /**
+     * @return The game ID
+     */
+    String joinMatch(String matchId, String playerId) throws IOException, InterruptedException {
+        return require(post("/api/online-game/join/" + encode(matchId), playerBody(playerId)), "gameId");
+    }
+
+    private String playerBody(String playerId) {
+        return objectMapper.createObjectNode().put("playerId", playerId).toString();
+    }
+
+    private JsonNode post(String path, String json) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("POST " + path + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private static String require(JsonNode response, String field) throws IOException {
+        String value = response.path(field).asText("");
+        if (value.isEmpty()) {
+            throw new IOException("Response has no " + field + ": " + response);
+        }
+        return value;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
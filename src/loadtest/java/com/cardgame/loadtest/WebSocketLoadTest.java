@@ -0,0 +1,147 @@
+package com.cardgame.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Load generator for online play against a running server. K matches (2K simulated clients) are
+ * started according to a ramp profile; each client pair creates and joins a match through
+ * OnlineGameController, plays it over /ws/game, and reports action to GAME_STATE_UPDATE latency,
+ * connection and match setup cost, message throughput and server gauges from
+ * /actuator/prometheus.
+ * <p>
+ * Run with {@code ./gradlew loadTest -PloadTest="--matches=200 --ramp=linear:60s"}. Options:
+ * --url, --matches, --games-per-match, --ramp (immediate, linear:60s, step:10x5s), --think-time,
+ * --game-timeout, --players (file of existing player IDs, one per line; otherwise players are
+ * registered through /auth/register), --register-prefix, --sample-interval and --gauges.
+ */
+public class WebSocketLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ObjectMapper objectMapper = new ObjectMapper();
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        ServerApi api = new ServerApi(httpClient, options.baseUri, objectMapper);
+        LoadMetrics metrics = new LoadMetrics();
+        PrometheusSampler sampler = new PrometheusSampler(httpClient, options.baseUri, options.gauges);
+
+        List<String> players = players(options, api);
+        System.out.printf("Starting %d matches (%d clients) against %s, ramp %s%n",
+                options.matches, options.matches * 2, options.baseUri, options.rampSpec);
+
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(
+                Math.max(2, Runtime.getRuntime().availableProcessors()));
+        ExecutorService drivers = Executors.newCachedThreadPool();
+        long start = System.nanoTime();
+        scheduler.scheduleAtFixedRate(() -> printProgress(metrics, sampler, start),
+                options.sampleInterval.toMillis(), options.sampleInterval.toMillis(), TimeUnit.MILLISECONDS);
+
+        List<Future<Void>> matches = new ArrayList<>();
+        for (int i = 0; i < options.matches; i++) {
+            LoadClient creator = new LoadClient(players.get(2 * i), metrics, objectMapper, scheduler, options.thinkTime);
+            LoadClient joiner = new LoadClient(players.get(2 * i + 1), metrics, objectMapper, scheduler, options.thinkTime);
+            MatchDriver driver = new MatchDriver(creator, joiner, api, httpClient, options.webSocketUri(),
+                    metrics, options.gamesPerMatch, options.gameTimeout);
+            long delayMillis = options.ramp.startDelay(i, options.matches).toMillis();
+            matches.add(drivers.submit(() -> {
+                Thread.sleep(delayMillis);
+                return driver.call();
+            }));
+        }
+        for (Future<Void> match : matches) {
+            match.get();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        scheduler.shutdownNow();
+        drivers.shutdownNow();
+        metrics.drainInterval();
+        sampler.sample();
+        printReport(options, metrics, sampler, elapsedNanos);
+    }
+
+    private static List<String> players(LoadTestOptions options, ServerApi api) throws Exception {
+        int needed = options.matches * 2;
+        if (options.playersFile != null) {
+            List<String> players = Files.readAllLines(options.playersFile).stream()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty())
+                    .collect(Collectors.toList());
+            if (players.size() < needed) {
+                throw new IllegalArgumentException(options.playersFile + " has " + players.size()
+                        + " players, " + needed + " are needed");
+            }
+            return players.subList(0, needed);
+        }
+
+        System.out.printf("Registering %d players as %s_<n>%n", needed, options.registerPrefix);
+        ExecutorService registration = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<String>> registered = new ArrayList<>();
+            for (int i = 0; i < needed; i++) {
+                String username = options.registerPrefix + "_" + i;
+                registered.add(registration.submit(() -> api.register(username)));
+            }
+            List<String> players = new ArrayList<>();
+            for (Future<String> player : registered) {
+                players.add(player.get());
+            }
+            return players;
+        } finally {
+            registration.shutdown();
+        }
+    }
+
+    private static void printProgress(LoadMetrics metrics, PrometheusSampler sampler, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Histogram interval = metrics.drainInterval();
+        Map<String, Double> gauges = sampler.sample();
+        System.out.printf("[%5.0fs] connections %d, games %d done / %d failed, latency p50 %s p99 %s (%d actions) | %s%n",
+                seconds, metrics.openConnections.get(), metrics.gamesCompleted.get(), metrics.gamesFailed.get(),
+                millis(interval, 50), millis(interval, 99), interval.getTotalCount(),
+                gauges.entrySet().stream()
+                        .map(gauge -> gauge.getKey() + "=" + String.format("%.1f", gauge.getValue()))
+                        .collect(Collectors.joining(" ")));
+    }
+
+    private static void printReport(LoadTestOptions options, LoadMetrics metrics, PrometheusSampler sampler,
+                                    long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%n=== %d matches x %d game(s), ramp %s, think time %d ms, %.1f s ===%n",
+                options.matches, options.gamesPerMatch, options.rampSpec, options.thinkTime.toMillis(), seconds);
+        System.out.printf("Games:    %d completed, %d failed%n", metrics.gamesCompleted.get(), metrics.gamesFailed.get());
+        System.out.printf("Actions:  %d (%.1f/s), %d errors%n",
+                metrics.actions.get(), metrics.actions.get() / seconds, metrics.errors.get());
+        System.out.printf("Messages: %d sent (%.1f/s), %d received (%.1f/s)%n",
+                metrics.messagesSent.get(), metrics.messagesSent.get() / seconds,
+                metrics.messagesReceived.get(), metrics.messagesReceived.get() / seconds);
+        printLatency("Action -> GAME_STATE_UPDATE", metrics.totalActionLatency());
+        printLatency("Connection setup", metrics.totalConnectLatency());
+        printLatency("Match setup", metrics.totalMatchSetupLatency());
+        System.out.println("Server gauges:");
+        sampler.stats().forEach((gauge, stats) -> System.out.printf("  %-32s %s%n", gauge, stats));
+    }
+
+    private static void printLatency(String label, Histogram histogram) {
+        System.out.printf("%-28s p50 %s  p90 %s  p99 %s  p99.9 %s  max %s ms (n=%d)%n", label + ":",
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                String.format("%.2f", histogram.getMaxValue() / 1e6), histogram.getTotalCount());
+    }
+
+    private static String millis(Histogram histogram, double percentile) {
+        return String.format("%.2f", histogram.getValueAtPercentile(percentile) / 1e6);
+    }
+}
@@ -0,0 +1,162 @@
+package com.cardgame.config;
+
+import com.cardgame.model.Card;
+import com.cardgame.model.Deck;
+import com.cardgame.model.Hand;
+import com.cardgame.model.Player;
+import com.cardgame.repository.CardRepository;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * One-off migration from embedded Card documents to card ID references.
+ * Rewrites players' "hand"/"placed_cards" into "hand_slots"/"placed_card_ids" and decks'
+ * "cards" into "card_ids". Embedded cards are mapped to catalog cards by ID, or by power
+ * and name for per-deck copies such as "spark_<uuid>". Runs after DataInitializer has seeded
+ * the cards and is a no-op once no document has the old fields. PlayerGameStateMigration
+ * then moves the rewritten player fields onto their games.
+ */
+@Component
+@Order(PlayerGameStateMigration.ORDER - 1)
+public class CardReferenceMigration implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(CardReferenceMigration.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final CardRepository cardRepository;
+
+    public CardReferenceMigration(MongoTemplate mongoTemplate, CardRepository cardRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.cardRepository = cardRepository;
+    }
+
+    @Override
+    public void run(String... args) {
+        Query oldPlayers = Query.query(new Criteria().orOperator(
+                Criteria.where("hand").exists(true),
+                Criteria.where("placed_cards").exists(true)));
+        Query oldDecks = Query.query(Criteria.where("cards").exists(true));
+
+        if (!mongoTemplate.exists(oldPlayers, Player.class) && !mongoTemplate.exists(oldDecks, Deck.class)) {
+            return;
+        }
+
+        CardResolver resolver = new CardResolver(cardRepository.findAll());
+        int players = migrate(oldPlayers, Player.class, document -> playerUpdate(document, resolver));
+        int decks = migrate(oldDecks, Deck.class, document -> deckUpdate(document, resolver));
+        logger.info("Migrated {} players and {} decks to card ID references ({} cards could not be resolved)",
+                players, decks, resolver.unresolved);
+    }
+
+    private int migrate(Query query, Class<?> entityClass, java.util.function.Function<Document, Update> toUpdate) {
+        String collection = mongoTemplate.getCollectionName(entityClass);
+        int migrated = 0;
+        BulkOperations bulkOps = null;
+        int pending = 0;
+
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class, collection)) {
+            for (Document document : (Iterable<Document>) documents::iterator) {
+                if (bulkOps == null) {
+                    bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+                }
+                bulkOps.updateOne(Query.query(Criteria.where("_id").is(document.get("_id"))), toUpdate.apply(document));
+                migrated++;
+                if (++pending == BATCH_SIZE) {
+                    bulkOps.execute();
+                    bulkOps = null;
+                    pending = 0;
+                }
+            }
+        }
+        if (bulkOps != null) {
+            bulkOps.execute();
+        }
+        return migrated;
+    }
+
+    private Update playerUpdate(Document player, CardResolver resolver) {
+        Update update = new Update().unset("hand").unset("placed_cards");
+
+        List<String> handIds = resolver.resolveAll(player.getList("hand", Document.class, List.of()));
+        String[] slots = new String[Math.max(Hand.CAPACITY, handIds.size())];
+        for (int i = 0; i < handIds.size(); i++) {
+            slots[i] = handIds.get(i);
+        }
+        update.set("hand_slots", new Document("slots", Arrays.asList(slots)).append("size", handIds.size()));
+
+        Map<String, String> placedIds = new LinkedHashMap<>();
+        Document placed = player.get("placed_cards", Document.class);
+        if (placed != null) {
+            for (Map.Entry<String, Object> entry : placed.entrySet()) {
+                if (entry.getValue() instanceof Document card) {
+                    placedIds.put(entry.getKey(), resolver.resolve(card));
+                }
+            }
+        }
+        update.set("placed_card_ids", new Document(placedIds));
+        return update;
+    }
+
+    private Update deckUpdate(Document deck, CardResolver resolver) {
+        List<String> cardIds = resolver.resolveAll(deck.getList("cards", Document.class, List.of()));
+        return new Update().unset("cards").set("card_ids", cardIds);
+    }
+
+    /**
+     * Maps embedded card documents to catalog card IDs
+     */
+    private static final class CardResolver {
+        private final Map<String, String> byId = new HashMap<>();
+        private final Map<String, String> byPowerAndName = new HashMap<>();
+        private int unresolved;
+
+        CardResolver(List<Card> catalog) {
+            for (Card card : catalog) {
+                byId.put(card.getId(), card.getId());
+                byPowerAndName.putIfAbsent(card.getPower() + "|" + card.getName(), card.getId());
+            }
+        }
+
+        List<String> resolveAll(List<Document> cards) {
+            List<String> cardIds = new ArrayList<>(cards.size());
+            for (Document card : cards) {
+                cardIds.add(resolve(card));
+            }
+            return cardIds;
+        }
+
+        String resolve(Document card) {
+            Object rawId = card.containsKey("_id") ? card.get("_id") : card.get("id");
+            String id = rawId == null ? null : rawId.toString();
+            if (id != null && byId.containsKey(id)) {
+                return id;
+            }
+            String catalogId = byPowerAndName.get(card.get("power") + "|" + card.getString("name"));
+            if (catalogId != null) {
+                return catalogId;
+            }
+            // Keep the original ID so the reference can be fixed by adding the card to the catalog
+            unresolved++;
+            logger.warn("No catalog card matches embedded card {} (power {}, name {})",
+                    id, card.get("power"), card.getString("name"));
+            return id;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.cardgame.config;
+
+import com.cardgame.model.Deck;
+import com.cardgame.model.Player;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * One-off migration from the lazy "currentDeck" DBRef on players to a plain "current_deck_id".
+ * Runs after PlayerGameStateMigration has pointed mid-game players back at their own decks.
+ * A reference is only kept if its deck exists; otherwise "original_deck" (if still there) is used,
+ * and failing that the player is left without a current deck. A no-op once no player has the old field.
+ */
+@Component
+@Order(DeckReferenceMigration.ORDER)
+public class DeckReferenceMigration implements CommandLineRunner {
+    static final int ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    private static final Logger logger = LoggerFactory.getLogger(DeckReferenceMigration.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    public DeckReferenceMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(String... args) {
+        String collection = mongoTemplate.getCollectionName(Player.class);
+        Query oldPlayers = Query.query(Criteria.where("currentDeck").exists(true));
+        if (!mongoTemplate.exists(oldPlayers, collection)) {
+            return;
+        }
+
+        int migrated = 0;
+        int dropped = 0;
+        List<Document> batch = new ArrayList<>(BATCH_SIZE);
+        try (Stream<Document> players = mongoTemplate.stream(oldPlayers, Document.class, collection)) {
+            for (Document player : (Iterable<Document>) players::iterator) {
+                batch.add(player);
+                if (batch.size() == BATCH_SIZE) {
+                    dropped += migrateBatch(batch, collection);
+                    migrated += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            dropped += migrateBatch(batch, collection);
+            migrated += batch.size();
+        }
+        logger.info("Migrated {} players from deck DBRefs to deck IDs ({} referenced no existing deck)", migrated, dropped);
+    }
+
+    /**
+     * @return Number of players left without a current deck
+     */
+    private int migrateBatch(List<Document> players, String collection) {
+        Set<Object> referenced = new HashSet<>();
+        for (Document player : players) {
+            addIfPresent(referenced, PlayerGameStateMigration.refId(player.get("currentDeck")));
+            addIfPresent(referenced, PlayerGameStateMigration.refId(player.get("original_deck")));
+        }
+        Query existingDecks = Query.query(Criteria.where("_id").in(referenced));
+        existingDecks.fields().include("_id");
+        Set<String> existing = new HashSet<>();
+        for (Document deck : mongoTemplate.find(existingDecks, Document.class, mongoTemplate.getCollectionName(Deck.class))) {
+            existing.add(deck.get("_id").toString());
+        }
+
+        int dropped = 0;
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+        for (Document player : players) {
+            String deckId = existingId(player.get("currentDeck"), existing);
+            if (deckId == null) {
+                deckId = existingId(player.get("original_deck"), existing);
+            }
+            Update update = new Update().unset("currentDeck");
+            if (deckId != null) {
+                update.set("current_deck_id", deckId);
+            } else {
+                update.unset("current_deck_id");
+                dropped++;
+            }
+            bulkOps.updateOne(Query.query(Criteria.where("_id").is(player.get("_id"))), update);
+        }
+        bulkOps.execute();
+        return dropped;
+    }
+
+    private static String existingId(Object ref, Set<String> existing) {
+        Object id = PlayerGameStateMigration.refId(ref);
+        return id != null && existing.contains(id.toString()) ? id.toString() : null;
+    }
+
+    private static void addIfPresent(Set<Object> ids, Object id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.cardgame.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Guards a management endpoint with a shared secret sent in the X-Management-Token header, so it
+ * never appears in URLs, access logs or browser history. With no token configured every request
+ * is refused.
+ */
+public class EndpointTokenFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-Management-Token";
+
+    private final byte[] token;
+
+    public EndpointTokenFilter(String token) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (token.length == 0) {
+            refuse(response, "Endpoint disabled: no token is configured");
+            return;
+        }
+        if (!matches(token, request.getHeader(HEADER))) {
+            refuse(response, "Missing or invalid " + HEADER + " header");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Check a header value against a token, for endpoints that cannot be matched by a filter URL pattern
+     * @return Whether the token is configured and the candidate equals it
+     */
+    public static boolean isValid(String token, String candidate) {
+        return !token.isEmpty() && matches(token.getBytes(StandardCharsets.UTF_8), candidate);
+    }
+
+    private static boolean matches(byte[] token, String candidate) {
+        return candidate != null && MessageDigest.isEqual(token, candidate.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void refuse(HttpServletResponse response, String error) throws IOException {
+        response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"error\":\"" + error + "\"}");
+    }
+}
@@ -0,0 +1,52 @@
+package com.cardgame.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Token checks in front of the management endpoints that expose more than health and metrics,
+ * and in front of the operator-only simulation API
+ */
+@Configuration
+public class ManagementEndpointConfig {
+
+    @Value("${management.endpoints.web.base-path:/actuator}")
+    private String basePath;
+
+    @Bean
+    public FilterRegistrationBean<EndpointTokenFilter> flightRecordingTokenFilter(
+            @Value("${jfr.recording.token:}") String token) {
+        return tokenFilter("flightrecording", token);
+    }
+
+    /**
+     * Traces carry game and player IDs and request attributes, so they get a token of their own
+     */
+    @Bean
+    public FilterRegistrationBean<EndpointTokenFilter> tracesTokenFilter(
+            @Value("${tracing.memory.token:}") String token) {
+        return tokenFilter("traces", token);
+    }
+
+    /**
+     * Simulations can keep every core busy for minutes, so only operators may start them
+     */
+    @Bean
+    public FilterRegistrationBean<EndpointTokenFilter> simulationTokenFilter(
+            @Value("${simulation.token:}") String token) {
+        return tokenFilter("simulation", token, "/simulation/*");
+    }
+
+    private FilterRegistrationBean<EndpointTokenFilter> tokenFilter(String endpointId, String token) {
+        return tokenFilter(endpointId, token, basePath + "/" + endpointId, basePath + "/" + endpointId + "/*");
+    }
+
+    private FilterRegistrationBean<EndpointTokenFilter> tokenFilter(String name, String token, String... urlPatterns) {
+        FilterRegistrationBean<EndpointTokenFilter> registration = new FilterRegistrationBean<>(new EndpointTokenFilter(token));
+        registration.setName(name + "TokenFilter");
+        registration.addUrlPatterns(urlPatterns);
+        return registration;
+    }
+}
@@ -1,11 +1,17 @@
 package com.cardgame.config;
 
+import com.cardgame.service.metrics.GameLifecycleMetrics;
+import com.cardgame.service.metrics.MovePhaseMetrics;
+import com.cardgame.websocket.WebSocketTrafficMetrics;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
@@ -29,6 +35,26 @@ public class MetricsConfig {
                 .register(meterRegistry);
     }
     
+    @Bean
+    public Timer gameInitializeTimer(MeterRegistry meterRegistry) {
+        return Timer.builder("game.initialize.duration")
+                .description("Time to initialize a game, from the first lookup to the returned state")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+    
+    @Bean
+    public MovePhaseMetrics movePhaseMetrics(MeterRegistry meterRegistry,
+                                             @Value("${metrics.move-phases.enabled:true}") boolean enabled,
+                                             @Value("${metrics.move-phases.slow-threshold-ms:250}") long slowThresholdMs) {
+        return new MovePhaseMetrics(meterRegistry, enabled, Duration.ofMillis(slowThresholdMs));
+    }
+    
+    @Bean
+    public GameLifecycleMetrics gameLifecycleMetrics(MeterRegistry meterRegistry) {
+        return new GameLifecycleMetrics(meterRegistry);
+    }
+    
     @Bean
     public Counter playerLoginCounter(MeterRegistry meterRegistry) {
         return Counter.builder("player.login.total")
@@ -57,6 +83,11 @@ public class MetricsConfig {
                 .register(meterRegistry);
     }
     
+    @Bean
+    public WebSocketTrafficMetrics webSocketTrafficMetrics(MeterRegistry meterRegistry) {
+        return new WebSocketTrafficMetrics(meterRegistry);
+    }
+    
     public void incrementActiveGames() {
         activeGames.incrementAndGet();
     }
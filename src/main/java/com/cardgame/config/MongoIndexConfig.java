@@ -0,0 +1,146 @@
+package com.cardgame.config;
+
+import com.cardgame.model.Deck;
+import com.cardgame.model.GameModel;
+import com.cardgame.model.GameResult;
+import com.cardgame.model.GameScore;
+import com.cardgame.model.Player;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Declared index catalog for every MongoDB collection.
+ * Each derived repository query must be backed by one of these indexes;
+ * QueryPlanIntegrationTest fails if any of them falls back to a COLLSCAN.
+ */
+@Configuration
+public class MongoIndexConfig {
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexConfig.class);
+
+    /**
+     * Indexes per entity, in creation order
+     */
+    public static Map<Class<?>, List<Index>> indexCatalog() {
+        Map<Class<?>, List<Index>> catalog = new LinkedHashMap<>();
+
+        // GameRepository.findByPlayerIdsContainingAndGameStateIn / findFirst...OrderByUpdatedAtDesc, findFirstByNakamaMatchId
+        catalog.put(GameModel.class, List.of(
+                new Index()
+                        .on("playerIds", Sort.Direction.ASC)
+                        .on("gameState", Sort.Direction.ASC)
+                        .on("updatedAt", Sort.Direction.DESC)
+                        .named("games_player_state_updated"),
+                new Index().on("nakamaMatchId", Sort.Direction.ASC).sparse().named("games_nakama_match")
+        ));
+
+        // GameResultRepository: findByGameId, findByWinnerId, findByPlayer1IdOrPlayer2Id, findByTimestamp*.
+        // The per-player compound indexes also serve the keyset-paginated history (timestamp desc, _id desc).
+        catalog.put(GameResult.class, List.of(
+                new Index().on("gameId", Sort.Direction.ASC).unique().named("gameResults_game"),
+                new Index().on("winnerId", Sort.Direction.ASC).named("gameResults_winner"),
+                new Index()
+                        .on("player1Id", Sort.Direction.ASC)
+                        .on("timestamp", Sort.Direction.DESC)
+                        .on("_id", Sort.Direction.DESC)
+                        .named("gameResults_player1_timestamp"),
+                new Index()
+                        .on("player2Id", Sort.Direction.ASC)
+                        .on("timestamp", Sort.Direction.DESC)
+                        .on("_id", Sort.Direction.DESC)
+                        .named("gameResults_player2_timestamp"),
+                new Index().on("timestamp", Sort.Direction.DESC).named("gameResults_timestamp")
+        ));
+
+        // GameScoreRepository: findByGameId, findByGameIdAndIsActiveTrue, findByIsActiveTrue, findByLastUpdatedGreaterThan
+        catalog.put(GameScore.class, List.of(
+                new Index()
+                        .on("gameId", Sort.Direction.ASC)
+                        .on("isActive", Sort.Direction.ASC)
+                        .named("gameScores_game_active"),
+                new Index().on("isActive", Sort.Direction.ASC).named("gameScores_active"),
+                new Index().on("lastUpdated", Sort.Direction.DESC).named("gameScores_lastUpdated")
+        ));
+
+        // DeckRepository.findByOwnerId (findByIdAndOwnerId is served by _id)
+        catalog.put(Deck.class, List.of(
+                new Index().on("ownerId", Sort.Direction.ASC).named("deck_owner")
+        ));
+
+        // PlayerRepository lookups. Sparse so that players without a linked account don't collide on null.
+        catalog.put(Player.class, List.of(
+                new Index().on("name", Sort.Direction.ASC).unique().named("name"),
+                new Index().on("email", Sort.Direction.ASC).unique().sparse().named("email"),
+                new Index().on("nakamaUserId", Sort.Direction.ASC).unique().sparse().named("nakamaUserId"),
+                new Index().on("supabaseUserId", Sort.Direction.ASC).unique().sparse().named("supabaseUserId")
+        ));
+
+        return catalog;
+    }
+
+    @Bean
+    CommandLineRunner ensureIndexes(MongoTemplate mongoTemplate) {
+        return args -> {
+            int created = 0;
+            int recreated = 0;
+            for (Map.Entry<Class<?>, List<Index>> entry : indexCatalog().entrySet()) {
+                IndexOperations indexOps = mongoTemplate.indexOps(entry.getKey());
+                Map<String, IndexInfo> existing = new LinkedHashMap<>();
+                for (IndexInfo info : indexOps.getIndexInfo()) {
+                    existing.put(info.getName(), info);
+                }
+                for (Index index : entry.getValue()) {
+                    String name = (String) index.getIndexOptions().get("name");
+                    IndexInfo current = existing.get(name);
+                    if (current != null && matches(index, current)) {
+                        continue;
+                    }
+                    try {
+                        if (current != null) {
+                            // ensureIndex would fail with IndexOptionsConflict and leave the old definition
+                            logger.info("Recreating index {} on {}: its keys or options changed",
+                                    name, mongoTemplate.getCollectionName(entry.getKey()));
+                            indexOps.dropIndex(name);
+                        }
+                        indexOps.ensureIndex(index);
+                        if (current != null) {
+                            recreated++;
+                        } else {
+                            created++;
+                        }
+                    } catch (Exception e) {
+                        // E.g. duplicates that break a new unique index must not block startup
+                        logger.warn("Could not ensure index {} on {}: {}",
+                                name, mongoTemplate.getCollectionName(entry.getKey()), e.getMessage());
+                    }
+                }
+            }
+            logger.info("Index catalog: created {} MongoDB indexes, recreated {}", created, recreated);
+        };
+    }
+
+    /**
+     * @return True if an existing index has the catalog entry's keys, uniqueness and sparseness
+     */
+    static boolean matches(Index index, IndexInfo info) {
+        List<String> keys = new ArrayList<>(index.getIndexKeys().keySet());
+        List<String> existingKeys = info.getIndexFields().stream().map(IndexField::getKey).toList();
+        return keys.equals(existingKeys)
+                && info.isUnique() == Objects.equals(index.getIndexOptions().get("unique"), true)
+                && info.isSparse() == Objects.equals(index.getIndexOptions().get("sparse"), true);
+    }
+}
@@ -0,0 +1,75 @@
+package com.cardgame.config;
+
+import com.cardgame.jfr.MongoCommandEventListener;
+import com.cardgame.service.metrics.MongoReplyMetricsListener;
+import com.cardgame.service.metrics.RepositoryCallContext;
+import com.cardgame.service.metrics.RepositoryMongoCommandTagsProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.mongodb.MongoCommandTagsProvider;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.util.function.Supplier;
+
+/**
+ * Mongo command metrics. Spring Boot already times every command as mongodb.driver.commands;
+ * this adds the calling repository method to its tags and records reply sizes, so
+ * /actuator/prometheus shows which repository methods send which commands and how much they read.
+ */
+@Configuration
+public class MongoMetricsConfig {
+
+    /**
+     * Replaces Boot's default tags provider for mongodb.driver.commands
+     */
+    @Bean
+    public MongoCommandTagsProvider mongoCommandTagsProvider() {
+        return new RepositoryMongoCommandTagsProvider();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "metrics.mongo.replies.enabled", havingValue = "true", matchIfMissing = true)
+    public MongoClientSettingsBuilderCustomizer mongoReplyMetricsCustomizer(MeterRegistry meterRegistry) {
+        MongoReplyMetricsListener listener = new MongoReplyMetricsListener(meterRegistry);
+        return settings -> settings.addCommandListener(listener);
+    }
+
+    /**
+     * MongoCommand events for flight recordings; does nothing unless a recording enables them
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandEventCustomizer() {
+        MongoCommandEventListener listener = new MongoCommandEventListener();
+        return settings -> settings.addCommandListener(listener);
+    }
+
+    /**
+     * Adds {@link RepositoryCallContext.Interceptor} to every Spring Data repository proxy.
+     * Static so it is registered before the repository factory beans are created.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryCallContextPostProcessor(
+            ObjectProvider<ObservationRegistry> observationRegistryProvider) {
+        Supplier<ObservationRegistry> observationRegistry = SingletonSupplier.of(
+                () -> observationRegistryProvider.getIfAvailable(() -> ObservationRegistry.NOOP));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                                    new RepositoryCallContext.Interceptor(repositoryInformation.getRepositoryInterface(),
+                                            observationRegistry))));
+                }
+                return bean;
+            }
+        };
+    }
+}
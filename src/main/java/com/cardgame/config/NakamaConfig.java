@@ -1,11 +1,19 @@
 package com.cardgame.config;
 
+import com.cardgame.service.nakama.NakamaCalls;
+import com.cardgame.service.nakama.NakamaCircuitBreaker;
 import com.heroiclabs.nakama.Client;
 import com.heroiclabs.nakama.DefaultClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 @Configuration
 public class NakamaConfig {
 
@@ -21,8 +29,63 @@ public class NakamaConfig {
     @Value("${nakama.ssl:false}")
     private boolean ssl;
 
+    @Value("${nakama.calls.timeout-ms:3000}")
+    private long callTimeoutMs;
+
+    @Value("${nakama.calls.operation-timeouts-ms:}")
+    private String operationTimeoutsMs;
+
+    @Value("${nakama.calls.max-concurrent:32}")
+    private int maxConcurrentCalls;
+
+    @Value("${nakama.calls.bulkhead-wait-ms:100}")
+    private long bulkheadWaitMs;
+
+    @Value("${nakama.circuit.window-size:50}")
+    private int circuitWindowSize;
+
+    @Value("${nakama.circuit.minimum-calls:10}")
+    private int circuitMinimumCalls;
+
+    @Value("${nakama.circuit.failure-rate-percent:50}")
+    private int circuitFailureRatePercent;
+
+    @Value("${nakama.circuit.open-ms:30000}")
+    private long circuitOpenMs;
+
+    @Value("${nakama.circuit.half-open-calls:3}")
+    private int circuitHalfOpenCalls;
+
     @Bean
     public Client nakamaClient() {
         return new DefaultClient(serverKey, host, port, ssl);
     }
+
+    @Bean
+    public NakamaCalls nakamaCalls(ObservationRegistry observationRegistry, MeterRegistry meterRegistry) {
+        NakamaCircuitBreaker circuitBreaker = new NakamaCircuitBreaker(meterRegistry, circuitWindowSize,
+                circuitMinimumCalls, circuitFailureRatePercent, Duration.ofMillis(circuitOpenMs),
+                circuitHalfOpenCalls, System::nanoTime);
+        return new NakamaCalls(observationRegistry, meterRegistry, Duration.ofMillis(callTimeoutMs),
+                parseTimeouts(operationTimeoutsMs), maxConcurrentCalls, Duration.ofMillis(bulkheadWaitMs),
+                circuitBreaker);
+    }
+
+    /**
+     * Parse "operation=ms,operation=ms", e.g. "listChannelMessages=5000,writeLeaderboardRecord=1000"
+     */
+    static Map<String, Duration> parseTimeouts(String timeouts) {
+        Map<String, Duration> result = new HashMap<>();
+        for (String entry : timeouts.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation=ms in nakama.calls.operation-timeouts-ms: " + entry);
+            }
+            result.put(parts[0].trim(), Duration.ofMillis(Long.parseLong(parts[1].trim())));
+        }
+        return result;
+    }
 }
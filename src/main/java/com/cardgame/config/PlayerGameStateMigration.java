@@ -0,0 +1,139 @@
+package com.cardgame.config;
+
+import com.cardgame.model.GameModel;
+import com.cardgame.model.GameState;
+import com.cardgame.model.Hand;
+import com.cardgame.model.Player;
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One-off migration of in-game state from player documents to PlayerGameState sub-documents.
+ * Active games that predate "playerStates" get each player's hand, placed cards and score
+ * copied over. Players who were mid-game pointed "currentDeck" at the game's temporary deck,
+ * so it is restored from "original_deck" as finishing the game would have done; then those fields
+ * and "original_deck" are removed from every player.
+ * Runs after CardReferenceMigration and before DeckReferenceMigration, and is a no-op once no
+ * player has the old fields.
+ */
+@Component
+@Order(PlayerGameStateMigration.ORDER)
+public class PlayerGameStateMigration implements CommandLineRunner {
+    static final int ORDER = DeckReferenceMigration.ORDER - 1;
+
+    private static final Logger logger = LoggerFactory.getLogger(PlayerGameStateMigration.class);
+    private static final List<String> PLAYER_GAME_FIELDS =
+            List.of("hand_slots", "placed_card_ids", "score", "original_deck");
+
+    private final MongoTemplate mongoTemplate;
+
+    public PlayerGameStateMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(String... args) {
+        String playerCollection = mongoTemplate.getCollectionName(Player.class);
+        Query oldPlayers = Query.query(new Criteria().orOperator(PLAYER_GAME_FIELDS.stream()
+                .map(field -> Criteria.where(field).exists(true))
+                .toArray(Criteria[]::new)));
+        if (!mongoTemplate.exists(oldPlayers, playerCollection)) {
+            return;
+        }
+
+        String gameCollection = mongoTemplate.getCollectionName(GameModel.class);
+        Query legacyGames = Query.query(Criteria.where("playerStates").exists(false)
+                .and("gameState").in(GameState.INITIALIZED.name(), GameState.IN_PROGRESS.name()));
+        int games = 0;
+        for (Document game : mongoTemplate.find(legacyGames, Document.class, gameCollection)) {
+            Document states = new Document();
+            for (String playerId : game.getList("playerIds", String.class, List.of())) {
+                Document player = mongoTemplate.findOne(
+                        Query.query(Criteria.where("_id").is(toId(playerId))), Document.class, playerCollection);
+                if (player != null) {
+                    states.put(playerId, toState(player));
+                }
+            }
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(game.get("_id"))),
+                    Update.update("playerStates", states), gameCollection);
+            games++;
+        }
+
+        int restored = restoreOriginalDecks(playerCollection);
+
+        Update unset = new Update();
+        PLAYER_GAME_FIELDS.forEach(unset::unset);
+        long players = mongoTemplate.updateMulti(oldPlayers, unset, playerCollection).getModifiedCount();
+        logger.info("Moved in-game state of {} active games off {} player documents ({} decks restored)",
+                games, players, restored);
+    }
+
+    /**
+     * Point every player that has an "original_deck" back at it, in whichever deck field the player has
+     */
+    private int restoreOriginalDecks(String playerCollection) {
+        Query midGame = Query.query(Criteria.where("original_deck").exists(true));
+        midGame.fields().include("original_deck", "current_deck_id");
+        int restored = 0;
+        for (Document player : mongoTemplate.find(midGame, Document.class, playerCollection)) {
+            Object originalDeck = player.get("original_deck");
+            Object originalDeckId = refId(originalDeck);
+            if (originalDeckId == null) {
+                continue;
+            }
+            // DeckReferenceMigration runs next and turns currentDeck into current_deck_id
+            Update update = player.containsKey("current_deck_id")
+                    ? Update.update("current_deck_id", originalDeckId.toString())
+                    : Update.update("currentDeck", originalDeck);
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(player.get("_id"))), update, playerCollection);
+            restored++;
+        }
+        return restored;
+    }
+
+    private static Document toState(Document player) {
+        Object originalDeckId = refId(player.get("original_deck"));
+        Document hand = player.get("hand_slots", Document.class);
+        Document placed = player.get("placed_card_ids", Document.class);
+        Map<String, Object> placedCards = placed == null ? new HashMap<>() : new HashMap<>(placed);
+
+        // Decks hold as many cards as a hand, so nothing was left to draw
+        return new Document("deck_id", originalDeckId != null ? originalDeckId.toString() : null)
+                .append("draw_pile", List.of())
+                .append("hand_slots", hand != null ? hand : new Document("slots", Collections.nCopies(Hand.CAPACITY, null)).append("size", 0))
+                .append("placed_card_ids", new Document(placedCards))
+                .append("score", player.getInteger("score", 0));
+    }
+
+    /**
+     * ID a DBRef points at, whether it was read as a DBRef or as its raw {$ref, $id} document
+     */
+    static Object refId(Object ref) {
+        if (ref instanceof DBRef dbRef) {
+            return dbRef.getId();
+        }
+        if (ref instanceof Document document) {
+            return document.get("$id");
+        }
+        return null;
+    }
+
+    private static Object toId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+}
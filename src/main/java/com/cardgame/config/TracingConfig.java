@@ -0,0 +1,41 @@
+package com.cardgame.config;
+
+import com.cardgame.tracing.InMemorySpanExporter;
+import com.cardgame.tracing.TracesEndpoint;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.observability.ContextProviderFactory;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+
+/**
+ * Tracing on top of Spring Boot's Micrometer/OpenTelemetry setup, which already traces HTTP
+ * requests and exports to OTLP when management.otlp.tracing.endpoint is set. This adds the
+ * in-memory span store and spans for Mongo commands; WebSocket messages, moves, repository
+ * calls and Nakama calls are observed where they happen.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public InMemorySpanExporter inMemorySpanExporter(@Value("${tracing.memory.max-spans:10000}") int maxSpans) {
+        return new InMemorySpanExporter(maxSpans);
+    }
+
+    @Bean
+    public TracesEndpoint tracesEndpoint(InMemorySpanExporter inMemorySpanExporter) {
+        return new TracesEndpoint(inMemorySpanExporter);
+    }
+
+    /**
+     * A span per Mongo command, parented to the observation that was current on the calling thread
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoObservationCustomizer(ObservationRegistry observationRegistry) {
+        return settings -> settings
+                .contextProvider(ContextProviderFactory.create(observationRegistry))
+                .addCommandListener(new MongoObservationCommandListener(observationRegistry));
+    }
+}
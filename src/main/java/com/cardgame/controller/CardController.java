@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/cards")
@@ -31,10 +32,17 @@ public class CardController {
         return new ResponseEntity<>(createdCard, HttpStatus.CREATED);
     }
 
+    /**
+     * All cards, served from the in-memory catalog. Answers 304 when the client's ETag is current.
+     */
     @GetMapping
-    public ResponseEntity<List<CardDto>> getAllCards() {
+    public ResponseEntity<List<CardDto>> getAllCards(WebRequest request) {
+        String etag = cardService.getCardsEtag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         List<CardDto> cards = cardService.getAllCards();
-        return ResponseEntity.ok(cards);
+        return ResponseEntity.ok().eTag(etag).body(cards);
     }
 
     @GetMapping("/{id}")
@@ -1,30 +1,43 @@
 package com.cardgame.controller;
 
+import com.cardgame.config.EndpointTokenFilter;
 import com.cardgame.dto.CreateGameRequest;
 import com.cardgame.dto.GameDto;
 import com.cardgame.dto.ImmutableGameDto;
 import com.cardgame.dto.ImmutablePlayerAction;
 import com.cardgame.dto.PlayerAction;
+import com.cardgame.dto.game.BotGameRequest;
 import com.cardgame.dto.game.GameInitializationRequest;
 import com.cardgame.dto.game.PassRequest;
 import com.cardgame.dto.game.PlayerMoveRequest;
+import com.cardgame.dto.game.SolvedPositionDto;
 import com.cardgame.dto.game.WinRequestRequest;
 import com.cardgame.dto.game.WinResponseRequest;
 import com.cardgame.model.GameModel;
 import com.cardgame.model.GameMode;
 import com.cardgame.service.GameService;
+import com.cardgame.service.GameVersionCache;
+import com.cardgame.service.bot.BotService;
+import com.cardgame.service.solver.SolverService;
+import com.cardgame.sse.GameEventStreams;
 import com.cardgame.websocket.GameWebSocketHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/game")
@@ -33,12 +46,24 @@ public class GameController {
     private static final Logger log = LoggerFactory.getLogger(GameController.class.getName());
 
     private final GameService gameService;
+    private final BotService botService;
+    private final SolverService solverService;
+    private final GameVersionCache gameVersionCache;
+    private final GameEventStreams gameEventStreams;
+    private final String solverToken;
     
     @Autowired
     private GameWebSocketHandler gameWebSocketHandler;
 
-    public GameController(GameService gameService) {
+    public GameController(GameService gameService, BotService botService, SolverService solverService,
+                          GameVersionCache gameVersionCache, GameEventStreams gameEventStreams,
+                          @Value("${solver.token:}") String solverToken) {
         this.gameService = gameService;
+        this.botService = botService;
+        this.solverService = solverService;
+        this.gameVersionCache = gameVersionCache;
+        this.gameEventStreams = gameEventStreams;
+        this.solverToken = solverToken;
     }
 
     @GetMapping("/create")
@@ -53,10 +78,32 @@ public class GameController {
 //        );
 //    }
 
+    /**
+     * The game as one player sees it (by default the player to move). Polls that send the ETag
+     * of the current version get 304 from the version cache, without reading the game.
+     */
     @GetMapping("/{gameId}")
-    public ResponseEntity<GameDto> getGame(@PathVariable String gameId) {
-        GameDto game = gameService.getGame(gameId);
-        return ResponseEntity.ok(game);
+    public ResponseEntity<GameDto> getGame(@PathVariable String gameId,
+                                           @RequestParam(required = false) String playerId,
+                                           WebRequest request) {
+        GameVersionCache.GameVersion known = gameVersionCache.get(gameId);
+        String etag = null;
+        if (known != null) {
+            etag = known.etag(playerId != null ? playerId : known.getCurrentPlayerId());
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+
+        GameModel gameModel = gameService.getGameModel(gameId);
+        String viewerId = playerId != null ? playerId : gameModel.getCurrentPlayerId();
+        if (!gameModel.getPlayerIds().contains(viewerId)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (etag == null) {
+            etag = GameVersionCache.GameVersion.etag(gameModel.getStateVersion(), viewerId);
+        }
+        return ResponseEntity.ok().eTag(etag).body(gameService.convertToDto(gameModel, viewerId));
     }
 
     @PostMapping("/initialize")
@@ -82,11 +129,70 @@ public class GameController {
         }
     }
 
+    /**
+     * Start a game against the server bot. The player moves first.
+     */
+    @PostMapping("/bot")
+    public ResponseEntity<GameDto> startBotGame(@RequestBody BotGameRequest request) {
+        try {
+            GameDto gameDto = botService.startBotGame(
+                    request.getPlayerId(), request.getDeckId(), request.getDifficulty());
+            return ResponseEntity.ok(gameDto);
+        } catch (IllegalArgumentException e) {
+            log.error("Validation error during bot game initialization", e);
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Unexpected error during bot game initialization", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Perfect-play outcome and a best move for the player to move, from the solved-position table.
+     * The answer is worked out from both hands, so it is an operator tool that needs solver.token
+     * in the X-Management-Token header, never a hint for players.
+     */
+    @GetMapping("/{gameId}/solution")
+    public ResponseEntity<SolvedPositionDto> getSolution(@PathVariable String gameId,
+                                                         @RequestHeader(value = EndpointTokenFilter.HEADER, required = false) String token) {
+        if (!EndpointTokenFilter.isValid(solverToken, token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (!solverService.isAvailable()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        GameModel gameModel = gameService.getGameModel(gameId);
+        return solverService.solve(gameModel)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * The player to move, answered from the version cache when the game was seen recently
+     */
     @GetMapping("/{gameId}/current-player")
-    public ResponseEntity<String> getCurrentPlayer(@PathVariable String gameId) {
-        GameDto game = gameService.getGame(gameId);
-        String currentPlayerId = game.getCurrentPlayerId();
-        return ResponseEntity.ok(currentPlayerId);
+    public ResponseEntity<String> getCurrentPlayer(@PathVariable String gameId, WebRequest request) {
+        GameVersionCache.GameVersion version = gameVersionCache.get(gameId);
+        if (version == null) {
+            GameModel gameModel = gameService.getGameModel(gameId);
+            version = new GameVersionCache.GameVersion(gameModel.getStateVersion(), gameModel.getCurrentPlayerId());
+        }
+        String etag = version.etag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(version.getCurrentPlayerId());
+    }
+
+    /**
+     * Server-Sent Events for every change to the game, an alternative to polling for clients
+     * without a WebSocket. Event IDs are state versions; a reconnect with Last-Event-ID resumes
+     * after the last event the client saw.
+     */
+    @GetMapping(value = "/{gameId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@PathVariable String gameId,
+                                   @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return gameEventStreams.subscribe(gameId, () -> gameService.getGameModel(gameId), lastEventId);
     }
 
     @PostMapping("/{gameId}/moves")
@@ -98,6 +204,8 @@ public class GameController {
         
         // Broadcast the update via WebSocket for online games
         broadcastGameUpdateIfOnline(gameId, updatedGame);
+        // Queue the bot's reply for bot games
+        botService.onGameUpdated(updatedGame);
         
         return ResponseEntity.ok(updatedGame);
     }
@@ -115,6 +223,8 @@ public class GameController {
         
         // Broadcast the update via WebSocket for online games
         broadcastGameUpdateIfOnline(gameId, updatedGame);
+        // Queue the bot's reply for bot games
+        botService.onGameUpdated(updatedGame);
         
         return ResponseEntity.ok(updatedGame);
     }
@@ -155,6 +265,8 @@ public class GameController {
         
         // Broadcast the update via WebSocket for online games
         broadcastGameUpdateIfOnline(gameId, updatedGame);
+        // Queue the bot's reply for bot games
+        botService.onGameUpdated(updatedGame);
         
         return ResponseEntity.ok(updatedGame);
     }
@@ -176,6 +288,8 @@ public class GameController {
         
         // Broadcast the update via WebSocket for online games
         broadcastGameUpdateIfOnline(gameId, updatedGame);
+        // Queue the bot's reply for bot games
+        botService.onGameUpdated(updatedGame);
         
         return ResponseEntity.ok(updatedGame);
     }
@@ -0,0 +1,44 @@
+package com.cardgame.controller;
+
+import com.cardgame.dto.simulation.MatchupRequest;
+import com.cardgame.service.simulation.SimulationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Headless simulations for card and deck balancing. Operator-only: requests need simulation.token
+ * in the X-Management-Token header (see ManagementEndpointConfig).
+ */
+@RestController
+@RequestMapping("/simulation")
+public class SimulationController {
+    private static final Logger logger = LoggerFactory.getLogger(SimulationController.class);
+
+    private final SimulationService simulationService;
+
+    public SimulationController(SimulationService simulationService) {
+        this.simulationService = simulationService;
+    }
+
+    /**
+     * Win, tie and column-win rates of two decks over many games, with 95% confidence intervals
+     */
+    @PostMapping("/matchup")
+    public ResponseEntity<?> simulateMatchup(@RequestBody MatchupRequest request) {
+        try {
+            return ResponseEntity.ok(simulationService.simulateMatchup(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Matchup simulation failed", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
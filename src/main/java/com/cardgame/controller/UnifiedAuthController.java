@@ -144,7 +144,7 @@ public class UnifiedAuthController {
             Player player = playerOpt.get();
             
             // Ensure player has a deck
-            if (player.getCurrentDeck() == null) {
+            if (player.getCurrentDeckId() == null) {
                 logger.info("Creating default deck for player: {}", player.getId());
                 playerService.createDefaultDeckForPlayer(player.getId());
             }
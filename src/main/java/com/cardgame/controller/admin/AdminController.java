@@ -1,11 +1,11 @@
 package com.cardgame.controller.admin;
 
-import com.cardgame.repository.PlayerRepository;
+import com.cardgame.dto.CursorPage;
+import com.cardgame.model.GameState;
 import com.cardgame.repository.DeckRepository;
-import com.cardgame.repository.GameRepository;
-import com.cardgame.repository.CardRepository;
-import com.cardgame.repository.GameResultRepository;
-import com.cardgame.repository.GameScoreRepository;
+import com.cardgame.repository.PlayerRepository;
+import com.cardgame.service.PlayerStatsService;
+import com.cardgame.service.admin.AdminService;
 import com.cardgame.service.nakama.NakamaMatchService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -21,27 +21,21 @@ public class AdminController {
 
     private final PlayerRepository playerRepository;
     private final DeckRepository deckRepository;
-    private final GameRepository gameRepository;
-    private final CardRepository cardRepository;
-    private final GameResultRepository gameResultRepository;
-    private final GameScoreRepository gameScoreRepository;
+    private final AdminService adminService;
+    private final PlayerStatsService playerStatsService;
     private final NakamaMatchService nakamaMatchService;
 
     @Autowired
     public AdminController(
             PlayerRepository playerRepository,
             DeckRepository deckRepository,
-            GameRepository gameRepository,
-            CardRepository cardRepository,
-            GameResultRepository gameResultRepository,
-            GameScoreRepository gameScoreRepository,
+            AdminService adminService,
+            PlayerStatsService playerStatsService,
             NakamaMatchService nakamaMatchService) {
         this.playerRepository = playerRepository;
         this.deckRepository = deckRepository;
-        this.gameRepository = gameRepository;
-        this.cardRepository = cardRepository;
-        this.gameResultRepository = gameResultRepository;
-        this.gameScoreRepository = gameScoreRepository;
+        this.adminService = adminService;
+        this.playerStatsService = playerStatsService;
         this.nakamaMatchService = nakamaMatchService;
     }
 
@@ -64,29 +58,12 @@ public class AdminController {
         Map<String, Object> result = new HashMap<>();
         
         try {
-            // Count before deletion
-            long playerCount = playerRepository.count();
-            long deckCount = deckRepository.count();
-            long gameCount = gameRepository.count();
-            long gameResultCount = gameResultRepository.count();
-            long gameScoreCount = gameScoreRepository.count();
-            
-            // Delete all data
-            gameScoreRepository.deleteAll();
-            gameResultRepository.deleteAll();
-            gameRepository.deleteAll();
-            deckRepository.deleteAll();
-            playerRepository.deleteAll();
+            // Delete all data; counts come from the deleteMany results
+            Map<String, Long> deletedCounts = adminService.deleteAllPlayerData();
             
             // Prepare response
             result.put("success", true);
-            result.put("deletedCounts", Map.of(
-                "players", playerCount,
-                "decks", deckCount,
-                "games", gameCount,
-                "gameResults", gameResultCount,
-                "gameScores", gameScoreCount
-            ));
+            result.put("deletedCounts", deletedCounts);
             result.put("message", "All player data has been deleted successfully");
             
             return ResponseEntity.ok(result);
@@ -99,28 +76,42 @@ public class AdminController {
     }
 
     /**
-     * Get current data counts
+     * Get current data counts (estimated from collection metadata, cached briefly)
      */
     @GetMapping("/data-counts")
     public ResponseEntity<Map<String, Long>> getDataCounts() {
-        Map<String, Long> counts = new HashMap<>();
-        
-        counts.put("players", playerRepository.count());
-        counts.put("decks", deckRepository.count());
-        counts.put("games", gameRepository.count());
-        counts.put("gameResults", gameResultRepository.count());
-        counts.put("gameScores", gameScoreRepository.count());
-        counts.put("cards", cardRepository.count());
-        
-        return ResponseEntity.ok(counts);
+        return ResponseEntity.ok(adminService.getDataCounts());
     }
     
     /**
-     * Get all players (for testing only)
+     * List players one page at a time (for testing only)
      */
     @GetMapping("/all-players")
-    public ResponseEntity<?> getAllPlayers() {
-        return ResponseEntity.ok(playerRepository.findAll());
+    public ResponseEntity<?> getAllPlayers(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "" + AdminService.DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            CursorPage<Map<String, Object>> page = adminService.listPlayers(cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * List games one page at a time, optionally filtered by state
+     */
+    @GetMapping("/games")
+    public ResponseEntity<?> getGames(
+            @RequestParam(value = "state", required = false) GameState state,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "" + AdminService.DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            CursorPage<Map<String, Object>> page = adminService.listGames(state, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
     
     /**
@@ -139,15 +130,12 @@ public class AdminController {
             
             result.put("playerId", player.getId());
             result.put("playerName", player.getName());
-            result.put("hasCurrentDeck", player.getCurrentDeck() != null);
-            result.put("hasOriginalDeck", player.getOriginalDeck() != null);
+            result.put("hasCurrentDeck", player.getCurrentDeckId() != null);
             
-            if (player.getCurrentDeck() != null) {
-                result.put("currentDeckId", player.getCurrentDeck().getId());
-            }
-            if (player.getOriginalDeck() != null) {
-                result.put("originalDeckId", player.getOriginalDeck().getId());
-                result.put("originalDeckCardCount", player.getOriginalDeck().getCards().size());
+            if (player.getCurrentDeckId() != null) {
+                result.put("currentDeckId", player.getCurrentDeckId());
+                deckRepository.findById(player.getCurrentDeckId())
+                        .ifPresent(deck -> result.put("currentDeckCardCount", deck.getCardIds().size()));
             }
             
             return ResponseEntity.ok(result);
@@ -182,21 +170,13 @@ public class AdminController {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(result);
             }
             
-            // Delete player's games (where they are a participant)
-            gameRepository.findAll().stream()
-                .filter(game -> game.getPlayerIds().contains(playerId))
-                .forEach(game -> gameRepository.delete(game));
-            
-            // Delete player's decks
-            deckRepository.findByOwnerId(playerId)
-                .forEach(deck -> deckRepository.delete(deck));
-            
-            // Delete player
-            playerRepository.deleteById(playerId);
+            // Delete player's games, decks and the player itself with one deleteMany each
+            Map<String, Long> deletedCounts = adminService.deletePlayerData(playerId);
             
             result.put("success", true);
             result.put("message", "Player and related data deleted successfully");
             result.put("playerId", playerId);
+            result.put("deletedCounts", deletedCounts);
             
             return ResponseEntity.ok(result);
             
@@ -302,15 +282,8 @@ public class AdminController {
         Map<String, Object> result = new HashMap<>();
         
         try {
-            // Find and count in-progress games
-            var inProgressGames = gameRepository.findAll().stream()
-                .filter(game -> "IN_PROGRESS".equals(game.getGameState().toString()))
-                .toList();
-            
-            int gameCount = inProgressGames.size();
-            
-            // Delete them
-            gameRepository.deleteAll(inProgressGames);
+            // Delete in-progress games server-side
+            long gameCount = adminService.deleteGamesInState(GameState.IN_PROGRESS);
             
             result.put("success", true);
             result.put("deletedGames", gameCount);
@@ -338,11 +311,7 @@ public class AdminController {
             nakamaMatchService.clearAllMatches();
             
             // 2. Clear all in-progress games from database
-            var inProgressGames = gameRepository.findAll().stream()
-                .filter(game -> "IN_PROGRESS".equals(game.getGameState().toString()))
-                .toList();
-            int gameCount = inProgressGames.size();
-            gameRepository.deleteAll(inProgressGames);
+            long gameCount = adminService.deleteGamesInState(GameState.IN_PROGRESS);
             
             result.put("success", true);
             result.put("clearedMatches", activeMatchCount);
@@ -356,4 +325,35 @@ public class AdminController {
             return ResponseEntity.internalServerError().body(result);
         }
     }
+    
+    /**
+     * Recompute all player statistics from the game result history
+     */
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildPlayerStats(
+            @RequestParam(value = "confirm", required = false) String confirm) {
+        
+        if (!"yes".equalsIgnoreCase(confirm)) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "Please add ?confirm=yes to confirm rebuilding player statistics");
+            response.put("warning", "This replaces every player's statistics with ones recomputed from game history");
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        Map<String, Object> result = new HashMap<>();
+        
+        try {
+            int playerCount = playerStatsService.rebuildAll();
+            
+            result.put("success", true);
+            result.put("rebuiltPlayers", playerCount);
+            result.put("message", "Player statistics rebuilt from game history");
+            
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            result.put("success", false);
+            result.put("error", "Failed to rebuild player statistics: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(result);
+        }
+    }
 }
@@ -7,7 +7,7 @@ import com.cardgame.exception.player.InvalidDeckException;
 import com.cardgame.model.Card;
 import com.cardgame.model.Deck;
 import com.cardgame.model.Player;
-import com.cardgame.repository.CardRepository;
+import com.cardgame.service.CardCatalog;
 import com.cardgame.service.player.DeckService;
 import com.cardgame.service.player.PlayerService;
 import org.springframework.http.ResponseEntity;
@@ -26,12 +26,12 @@ public class DeckController {
     private final PlayerService playerService;
     private final DeckService deckService;
 
-    private final CardRepository cardRepository;
+    private final CardCatalog cardCatalog;
 
-    public DeckController(PlayerService playerService, DeckService deckService, CardRepository cardRepository) {
+    public DeckController(PlayerService playerService, DeckService deckService, CardCatalog cardCatalog) {
         this.playerService = playerService;
         this.deckService = deckService;
-        this.cardRepository = cardRepository;
+        this.cardCatalog = cardCatalog;
     }
 
     @PostMapping("/{deckId}/cards/{cardId}")
@@ -41,20 +41,16 @@ public class DeckController {
             @RequestParam String playerId) {
         // Verify the player owns this deck
         Player player = playerService.getPlayer(playerId);
-        if (!player.getCurrentDeck().getId().equals(deckId)) {
+        if (!deckId.equals(player.getCurrentDeckId())) {
             throw new InvalidDeckException("This deck doesn't belong to the player");
         }
 
         // Get the card to add
-        Card cardToAdd = cardRepository.findById(cardId)
+        Card cardToAdd = cardCatalog.findCard(cardId)
                 .orElseThrow(() -> new RuntimeException("Card not found: " + cardId));
 
         // Add card to deck
-        Deck updatedDeck = deckService.addCardToDeck(deckId, playerId, cardToAdd);
-
-        // Update player's current deck reference
-        player.setCurrentDeck(updatedDeck);
-        playerService.savePlayer(player);
+        Deck updatedDeck = deckService.addCardToDeck(deckId, playerId, cardToAdd.getId());
 
         return ResponseEntity.ok(deckService.convertToDto(updatedDeck));
     }
@@ -66,17 +62,13 @@ public class DeckController {
             @RequestParam String playerId) {
         // Verify the player owns this deck
         Player player = playerService.getPlayer(playerId);
-        if (!player.getCurrentDeck().getId().equals(deckId)) {
+        if (!deckId.equals(player.getCurrentDeckId())) {
             throw new InvalidDeckException("This deck doesn't belong to the player");
         }
 
         // Remove card from deck
         Deck updatedDeck = deckService.removeCardFromDeck(deckId, playerId, cardId);
 
-        // Update player's current deck reference
-        player.setCurrentDeck(updatedDeck);
-        playerService.savePlayer(player);
-
         return ResponseEntity.ok(deckService.convertToDto(updatedDeck));
     }
 
@@ -86,7 +78,7 @@ public class DeckController {
             @RequestParam String playerId) {
         // Verify the player owns this deck
         Player player = playerService.getPlayer(playerId);
-        if (!player.getCurrentDeck().getId().equals(deckId)) {
+        if (!deckId.equals(player.getCurrentDeckId())) {
             throw new InvalidDeckException("This deck doesn't belong to the player");
         }
 
@@ -100,17 +92,17 @@ public class DeckController {
             @RequestParam String playerId) {
         // Verify the player owns this deck
         Player player = playerService.getPlayer(playerId);
-        if (!player.getCurrentDeck().getId().equals(deckId)) {
+        if (!deckId.equals(player.getCurrentDeckId())) {
             throw new InvalidDeckException("This deck doesn't belong to the player");
         }
 
         Deck deck = deckService.getDeck(deckId);
-        boolean isValid = deck.getCards().size() == 15;
+        boolean isValid = deck.getCardIds().size() == 15;
 
         Map<String, Object> response = new HashMap<>();
         response.put("deckId", deckId);
         response.put("isValid", isValid);
-        response.put("currentSize", deck.getCards().size());
+        response.put("currentSize", deck.getCardIds().size());
 
         return ResponseEntity.ok(response);
     }
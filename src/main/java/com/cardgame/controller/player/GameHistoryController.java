@@ -0,0 +1,69 @@
+package com.cardgame.controller.player;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import com.cardgame.dto.CursorPage;
+import com.cardgame.dto.GameHistoryEntryDto;
+import com.cardgame.service.GameResultService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * A player's finished games, newest first
+ */
+@RestController
+@RequestMapping("/players/{playerId}/history")
+public class GameHistoryController {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final GameResultService gameResultService;
+    private final ObjectMapper objectMapper;
+
+    public GameHistoryController(GameResultService gameResultService, ObjectMapper objectMapper) {
+        this.gameResultService = gameResultService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * One page of history. Pass the returned nextCursor to fetch the following page.
+     */
+    @GetMapping
+    public ResponseEntity<?> getHistoryPage(
+            @PathVariable String playerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + GameResultService.DEFAULT_HISTORY_PAGE_SIZE) int limit) {
+        try {
+            CursorPage<GameHistoryEntryDto> page = gameResultService.getPlayerHistoryPage(playerId, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Full history as newline-delimited JSON, written while it is read from the database
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamHistory(@PathVariable String playerId) {
+        StreamingResponseBody body = outputStream -> {
+            gameResultService.streamPlayerHistory(playerId, entry -> {
+                try {
+                    outputStream.write(objectMapper.writeValueAsBytes(entry));
+                    outputStream.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            outputStream.flush();
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+}
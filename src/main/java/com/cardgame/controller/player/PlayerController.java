@@ -4,9 +4,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import com.cardgame.dto.CardDto;
 import com.cardgame.dto.PlayerDto;
-import com.cardgame.model.Card;
+import com.cardgame.dto.PlayerStatsDto;
+import com.cardgame.model.GameModel;
 import com.cardgame.model.Player;
+import com.cardgame.service.CardCatalog;
+import com.cardgame.service.GameService;
+import com.cardgame.service.PlayerStatsService;
 import com.cardgame.service.player.PlayerService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -22,9 +27,16 @@ import org.springframework.web.bind.annotation.RestController;
 public class PlayerController {
 
     private final PlayerService playerService;
+    private final PlayerStatsService playerStatsService;
+    private final CardCatalog cardCatalog;
+    private final GameService gameService;
 
-    public PlayerController(PlayerService playerService) {
+    public PlayerController(PlayerService playerService, PlayerStatsService playerStatsService,
+                            CardCatalog cardCatalog, GameService gameService) {
         this.playerService = playerService;
+        this.playerStatsService = playerStatsService;
+        this.cardCatalog = cardCatalog;
+        this.gameService = gameService;
     }
 
     // Removed auto-creation endpoint to prevent unauthorized player creation
@@ -35,10 +47,27 @@ public class PlayerController {
         return ResponseEntity.ok(playerService.getPlayerDto(playerId));
     }
 
+    /**
+     * Game statistics for a player's profile, served from the materialized stats document
+     */
+    @GetMapping("/{playerId}/stats")
+    public ResponseEntity<PlayerStatsDto> getPlayerStats(@PathVariable String playerId) {
+        return ResponseEntity.ok(playerStatsService.getStats(playerId));
+    }
+
+    /**
+     * The player's hand in a game, by default their most recently updated active game
+     */
     @GetMapping("/game/players/{playerId}/hand")
-    public ResponseEntity<List<Card>> getPlayerHand(@PathVariable String playerId) {
-        Player player = playerService.getPlayer(playerId);
-        return ResponseEntity.ok(player.getHand());
+    public ResponseEntity<List<CardDto>> getPlayerHand(@PathVariable String playerId,
+                                                       @RequestParam(required = false) String gameId) {
+        Optional<GameModel> game = gameId != null
+                ? Optional.of(gameService.getGameModel(gameId))
+                : gameService.findLatestActiveGame(playerId);
+        if (game.isEmpty() || !game.get().getPlayerStates().containsKey(playerId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(cardCatalog.dtosFor(game.get().getPlayerState(playerId).getHand().cardIds()));
     }
 
     @GetMapping("/by-name/{name}")
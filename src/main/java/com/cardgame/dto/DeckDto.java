@@ -1,6 +1,5 @@
 package com.cardgame.dto;
 
-import com.cardgame.model.Card;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import org.immutables.value.Value;
@@ -16,8 +15,8 @@ public interface DeckDto {
     // Reference to the owner's ID
     String getOwnerId();
 
-    // List of cards in the deck
-    List<Card> getCards();
+    // List of cards in the deck, resolved from the card catalog
+    List<CardDto> getCards();
 
     // Current number of cards remaining in deck
     int getRemainingCards();
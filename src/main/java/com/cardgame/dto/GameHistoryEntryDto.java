@@ -0,0 +1,31 @@
+package com.cardgame.dto;
+
+import com.cardgame.model.EndCondition;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import javax.annotation.Nullable;
+import org.immutables.value.Value;
+
+/**
+ * One finished game from a single player's point of view
+ */
+@Value.Immutable
+@JsonSerialize(as = ImmutableGameHistoryEntryDto.class)
+@JsonDeserialize(as = ImmutableGameHistoryEntryDto.class)
+public interface GameHistoryEntryDto {
+    String getGameId();
+    String getOpponentId();
+
+    /**
+     * The ID of the winning player, null for a tie
+     */
+    @Nullable
+    String getWinnerId();
+
+    @Nullable
+    EndCondition getEndCondition();
+
+    int getColumnsWon();
+    int getOpponentColumnsWon();
+    long getTimestamp();
+}
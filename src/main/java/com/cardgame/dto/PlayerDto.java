@@ -15,8 +15,17 @@ public interface PlayerDto {
 
     String getId();
     String getName();
-    int getScore();
-    int getHandSize();
+
+    // In-game score and hand are per game now (see GameDto); a profile reports none
+    @Value.Default
+    default int getScore() {
+        return 0;
+    }
+
+    @Value.Default
+    default int getHandSize() {
+        return 0;
+    }
 
     int getLifetimeScore();
 
@@ -0,0 +1,28 @@
+package com.cardgame.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@JsonSerialize(as = ImmutablePlayerStatsDto.class)
+@JsonDeserialize(as = ImmutablePlayerStatsDto.class)
+public interface PlayerStatsDto {
+    String getPlayerId();
+    int getGamesPlayed();
+    int getWins();
+    int getLosses();
+    int getTies();
+    int getCurrentWinStreak();
+    int getLongestWinStreak();
+
+    /**
+     * Average number of columns won per game, 0 when no games were played
+     */
+    double getAverageColumnsWon();
+
+    /**
+     * Epoch millis of the last completed game, 0 when no games were played
+     */
+    long getLastGameAt();
+}
@@ -0,0 +1,19 @@
+package com.cardgame.dto.game;
+
+import com.cardgame.model.BotDifficulty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@JsonSerialize(as = ImmutableBotGameRequest.class)
+@JsonDeserialize(as = ImmutableBotGameRequest.class)
+public interface BotGameRequest {
+    String getPlayerId();
+    String getDeckId();
+
+    @Value.Default
+    default BotDifficulty getDifficulty() {
+        return BotDifficulty.MEDIUM;
+    }
+}
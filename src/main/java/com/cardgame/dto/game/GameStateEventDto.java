@@ -0,0 +1,34 @@
+package com.cardgame.dto.game;
+
+import com.cardgame.model.GameState;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.immutables.value.Value;
+
+import javax.annotation.Nullable;
+
+/**
+ * Sent on a game's event stream each time the game is saved. It is a notification, not the
+ * state: clients fetch the game (with its ETag) when they need more than this.
+ */
+@Value.Immutable
+@JsonSerialize(as = ImmutableGameStateEventDto.class)
+@JsonDeserialize(as = ImmutableGameStateEventDto.class)
+public interface GameStateEventDto {
+    String getGameId();
+
+    /**
+     * The game's state version, also the event ID
+     */
+    long getVersion();
+
+    GameState getGameState();
+    String getCurrentPlayerId();
+    boolean isPendingWinRequest();
+    int getPlacedCards();
+
+    @Nullable
+    String getWinnerId();
+
+    boolean isTie();
+}
@@ -0,0 +1,37 @@
+package com.cardgame.dto.game;
+
+import com.cardgame.dto.PositionDto;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.mongodb.lang.Nullable;
+import org.immutables.value.Value;
+
+/**
+ * Perfect-play result of a game's current position, from the solved-position table
+ */
+@Value.Immutable
+@JsonSerialize(as = ImmutableSolvedPositionDto.class)
+@JsonDeserialize(as = ImmutableSolvedPositionDto.class)
+public interface SolvedPositionDto {
+    String getGameId();
+
+    /**
+     * The player to move, whom the outcome refers to
+     */
+    String getPlayerId();
+
+    /**
+     * WIN, DRAW or LOSS for the player to move if both sides play perfectly
+     */
+    String getOutcome();
+
+    /**
+     * A card from the player's hand and a position that achieve the outcome.
+     * Not set when the player has no legal move.
+     */
+    @Nullable
+    String getBestCardId();
+
+    @Nullable
+    PositionDto getBestPosition();
+}
@@ -0,0 +1,49 @@
+package com.cardgame.dto.simulation;
+
+import com.cardgame.service.simulation.PolicyType;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.mongodb.lang.Nullable;
+import org.immutables.value.Value;
+
+import java.util.List;
+
+@Value.Immutable
+@JsonSerialize(as = ImmutableMatchupRequest.class)
+@JsonDeserialize(as = ImmutableMatchupRequest.class)
+public interface MatchupRequest {
+    /**
+     * Catalog card IDs of each deck, in deck order
+     */
+    List<String> getFirstDeck();
+    List<String> getSecondDeck();
+
+    @Value.Default
+    default int getGames() {
+        return 100_000;
+    }
+
+    @Value.Default
+    default PolicyType getFirstPolicy() {
+        return PolicyType.RANDOM;
+    }
+
+    @Value.Default
+    default PolicyType getSecondPolicy() {
+        return PolicyType.RANDOM;
+    }
+
+    /**
+     * Give each deck the first move in half of the games, so the result is not skewed by who starts
+     */
+    @Value.Default
+    default boolean isAlternateFirstPlayer() {
+        return true;
+    }
+
+    /**
+     * Fixes the random sequence so a run can be repeated
+     */
+    @Nullable
+    Long getSeed();
+}
@@ -0,0 +1,26 @@
+package com.cardgame.dto.simulation;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.immutables.value.Value;
+
+import java.util.Map;
+
+@Value.Immutable
+@JsonSerialize(as = ImmutableMatchupResultDto.class)
+@JsonDeserialize(as = ImmutableMatchupResultDto.class)
+public interface MatchupResultDto {
+    long getGames();
+    RateDto getFirstDeckWins();
+    RateDto getSecondDeckWins();
+    RateDto getTies();
+
+    /**
+     * Number of columns won (0-3) to how often each deck won that many
+     */
+    Map<Integer, RateDto> getFirstDeckColumnsWon();
+    Map<Integer, RateDto> getSecondDeckColumnsWon();
+
+    long getElapsedMillis();
+    double getGamesPerSecond();
+}
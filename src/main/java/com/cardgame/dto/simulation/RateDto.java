@@ -0,0 +1,18 @@
+package com.cardgame.dto.simulation;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.immutables.value.Value;
+
+/**
+ * How often something happened in a simulation, with a 95% Wilson score interval for the rate
+ */
+@Value.Immutable
+@JsonSerialize(as = ImmutableRateDto.class)
+@JsonDeserialize(as = ImmutableRateDto.class)
+public interface RateDto {
+    long getCount();
+    double getRate();
+    double getLower();
+    double getUpper();
+}
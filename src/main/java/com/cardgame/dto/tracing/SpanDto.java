@@ -0,0 +1,32 @@
+package com.cardgame.dto.tracing;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.immutables.value.Value;
+
+import javax.annotation.Nullable;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * One finished span of a trace
+ */
+@Value.Immutable
+@JsonSerialize(as = ImmutableSpanDto.class)
+@JsonDeserialize(as = ImmutableSpanDto.class)
+public interface SpanDto {
+    String getSpanId();
+
+    /**
+     * Null for the root span
+     */
+    @Nullable
+    String getParentSpanId();
+
+    String getName();
+    String getKind();
+    Instant getStart();
+    long getDurationMicros();
+    boolean isError();
+    Map<String, String> getAttributes();
+}
@@ -0,0 +1,28 @@
+package com.cardgame.dto.tracing;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.immutables.value.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The spans of one trace still held in memory. Spans dropped from the store, or still running,
+ * are missing, so the root may be absent and the name is then that of the earliest span.
+ */
+@Value.Immutable
+@JsonSerialize(as = ImmutableTraceDto.class)
+@JsonDeserialize(as = ImmutableTraceDto.class)
+public interface TraceDto {
+    String getTraceId();
+    String getName();
+    Instant getStart();
+    long getDurationMicros();
+    boolean isError();
+
+    /**
+     * Ordered by start time
+     */
+    List<SpanDto> getSpans();
+}
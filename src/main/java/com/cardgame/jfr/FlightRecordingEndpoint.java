@@ -0,0 +1,147 @@
+package com.cardgame.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * On-demand JDK Flight Recorder recordings of a live node, at /actuator/flightrecording:
+ * <ul>
+ *   <li>POST {"durationSeconds": 120, "settings": "default"} starts a recording</li>
+ *   <li>GET stops it if still running and streams the .jfr file</li>
+ *   <li>DELETE discards it</li>
+ * </ul>
+ * One recording at a time, capped at jfr.recording.max-duration-seconds and
+ * jfr.recording.max-size-mb. Every request needs jfr.recording.token in the X-Management-Token
+ * header, checked by the EndpointTokenFilter that ManagementEndpointConfig puts in front of the
+ * endpoint; with no token configured it refuses everything. The "default" settings cost about
+ * 1% CPU, "profile" about 2%.
+ */
+@Component
+@WebEndpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordingEndpoint.class);
+
+    private static final int DEFAULT_DURATION_SECONDS = 60;
+
+    private final int maxDurationSeconds;
+    private final long maxSizeBytes;
+
+    private Recording recording;
+    private Path file;
+
+    public FlightRecordingEndpoint(@Value("${jfr.recording.max-duration-seconds:600}") int maxDurationSeconds,
+                                   @Value("${jfr.recording.max-size-mb:256}") int maxSizeMb) {
+        this.maxDurationSeconds = maxDurationSeconds;
+        this.maxSizeBytes = maxSizeMb * 1024L * 1024L;
+    }
+
+    /**
+     * Start a recording
+     * @param durationSeconds Stops by itself after this long (default 60, capped)
+     * @param settings "default" or "profile"
+     */
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable Integer durationSeconds,
+                                                                       @Nullable String settings) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(Map.of("error", "A recording is already running"), 409);
+        }
+        String settingsName = settings != null ? settings : "default";
+        if (!settingsName.equals("default") && !settingsName.equals("profile")) {
+            return new WebEndpointResponse<>(Map.of("error", "Settings must be default or profile"),
+                    WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        int seconds = Math.max(1, Math.min(durationSeconds != null ? durationSeconds : DEFAULT_DURATION_SECONDS,
+                maxDurationSeconds));
+
+        try {
+            discard();
+            Recording newRecording = new Recording(Configuration.getConfiguration(settingsName));
+            newRecording.setName("card-game-on-demand");
+            newRecording.enable(MoveEvent.class);
+            newRecording.enable(WebSocketBroadcastEvent.class);
+            newRecording.enable(NakamaCallEvent.class);
+            newRecording.enable(MongoCommandEvent.class);
+            newRecording.setDuration(Duration.ofSeconds(seconds));
+            newRecording.setMaxSize(maxSizeBytes);
+            newRecording.setToDisk(true);
+            file = Files.createTempFile("card-game-", ".jfr");
+            newRecording.setDestination(file);
+            newRecording.start();
+            recording = newRecording;
+        } catch (IOException | ParseException e) {
+            logger.error("Could not start flight recording", e);
+            return new WebEndpointResponse<>(Map.of("error", "Could not start recording: " + e.getMessage()),
+                    WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR);
+        }
+
+        logger.info("Started flight recording for {} s with {} settings", seconds, settingsName);
+        return new WebEndpointResponse<>(Map.of(
+                "durationSeconds", seconds,
+                "settings", settingsName,
+                "maxSizeBytes", maxSizeBytes));
+    }
+
+    /**
+     * Stop the recording if it is still running and return it
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> download() {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            // Stopping writes the recording to its destination
+            recording.stop();
+            logger.info("Stopped flight recording early for download");
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(file));
+    }
+
+    @DeleteOperation
+    public synchronized WebEndpointResponse<Void> delete() {
+        discard();
+        return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NO_CONTENT);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        discard();
+    }
+
+    private void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Could not delete flight recording {}", file, e);
+            }
+            file = null;
+        }
+    }
+}
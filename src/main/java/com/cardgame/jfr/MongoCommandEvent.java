@@ -0,0 +1,28 @@
+package com.cardgame.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A command sent to MongoDB, see MongoCommandEventListener
+ */
+@Name("com.cardgame.MongoCommand")
+@Label("Mongo Command")
+@Category("Card Game")
+@Description("A MongoDB command, from sending it to the reply")
+public class MongoCommandEvent extends Event {
+    @Label("Command")
+    public String command;
+
+    @Label("Collection")
+    public String collection;
+
+    @Label("Repository Method")
+    public String repository;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
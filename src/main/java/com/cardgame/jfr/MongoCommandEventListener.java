@@ -0,0 +1,59 @@
+package com.cardgame.jfr;
+
+import com.cardgame.service.metrics.MongoReplyMetricsListener;
+import com.cardgame.service.metrics.RepositoryCallContext;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import jdk.jfr.EventType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Emits a {@link MongoCommandEvent} per Mongo command while a recording has the event enabled;
+ * otherwise every callback returns after one check, without allocating.
+ */
+public class MongoCommandEventListener implements CommandListener {
+    private static final EventType COMMAND_EVENT = EventType.getEventType(MongoCommandEvent.class);
+
+    private final Map<Integer, MongoCommandEvent> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (!COMMAND_EVENT.isEnabled()) {
+            return;
+        }
+        MongoCommandEvent commandEvent = new MongoCommandEvent();
+        commandEvent.begin();
+        commandEvent.command = event.getCommandName();
+        commandEvent.collection = MongoReplyMetricsListener.collectionName(event);
+        commandEvent.repository = RepositoryCallContext.current();
+        inFlight.put(event.getRequestId(), commandEvent);
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        commit(event.getRequestId(), true);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        commit(event.getRequestId(), false);
+    }
+
+    private void commit(int requestId, boolean succeeded) {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        MongoCommandEvent commandEvent = inFlight.remove(requestId);
+        if (commandEvent != null) {
+            commandEvent.end();
+            if (commandEvent.shouldCommit()) {
+                commandEvent.succeeded = succeeded;
+                commandEvent.commit();
+            }
+        }
+    }
+}
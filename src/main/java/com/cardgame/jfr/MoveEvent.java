@@ -0,0 +1,64 @@
+package com.cardgame.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One move, from receiving it to the last update sent, with the time spent in each MovePhase.
+ * Committed by MovePhaseMetrics for moves from GameService and GameWebSocketHandler.
+ */
+@Name("com.cardgame.Move")
+@Label("Move")
+@Category("Card Game")
+@Description("A move and the time spent in each phase of handling it")
+@StackTrace(false)
+public class MoveEvent extends Event {
+    @Label("Game ID")
+    public String gameId;
+
+    @Label("Action")
+    public String actionType;
+
+    @Label("Game Mode")
+    public String gameMode;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+
+    @Label("Load")
+    @Timespan
+    public long load;
+
+    @Label("Validate")
+    @Timespan
+    public long validate;
+
+    @Label("Execute")
+    @Timespan
+    public long execute;
+
+    @Label("Resolve")
+    @Timespan
+    public long resolve;
+
+    @Label("Save")
+    @Timespan
+    public long save;
+
+    @Label("Convert")
+    @Timespan
+    public long convert;
+
+    @Label("Reload")
+    @Timespan
+    public long reload;
+
+    @Label("Fan-out")
+    @Timespan
+    public long fanout;
+}
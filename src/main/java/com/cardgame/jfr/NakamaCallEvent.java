@@ -0,0 +1,22 @@
+package com.cardgame.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A blocking call to the Nakama server, see NakamaCalls
+ */
+@Name("com.cardgame.NakamaCall")
+@Label("Nakama Call")
+@Category("Card Game")
+@Description("A call to the Nakama server, from sending the request to the response")
+public class NakamaCallEvent extends Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
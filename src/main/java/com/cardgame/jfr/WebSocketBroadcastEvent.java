@@ -0,0 +1,32 @@
+package com.cardgame.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One message sent to the sessions of a match by GameWebSocketHandler
+ */
+@Name("com.cardgame.WebSocketBroadcast")
+@Label("WebSocket Broadcast")
+@Category("Card Game")
+@Description("A message sent to every session of a match")
+@StackTrace(false)
+public class WebSocketBroadcastEvent extends Event {
+    @Label("Match ID")
+    public String matchId;
+
+    @Label("Message Type")
+    public String messageType;
+
+    @Label("Recipients")
+    public int recipients;
+
+    @Label("Bytes Sent")
+    @DataAmount
+    public long bytes;
+}
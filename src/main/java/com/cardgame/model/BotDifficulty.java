@@ -0,0 +1,28 @@
+package com.cardgame.model;
+
+import java.time.Duration;
+
+/**
+ * Bot strength as a per-move search budget. The search stops at whichever limit it reaches first.
+ */
+public enum BotDifficulty {
+    EASY(Duration.ofMillis(100), 300),
+    MEDIUM(Duration.ofMillis(400), 5_000),
+    HARD(Duration.ofMillis(1_500), 100_000);
+
+    private final Duration moveTimeBudget;
+    private final int maxSimulations;
+
+    BotDifficulty(Duration moveTimeBudget, int maxSimulations) {
+        this.moveTimeBudget = moveTimeBudget;
+        this.maxSimulations = maxSimulations;
+    }
+
+    public Duration getMoveTimeBudget() {
+        return moveTimeBudget;
+    }
+
+    public int getMaxSimulations() {
+        return maxSimulations;
+    }
+}
@@ -19,8 +19,9 @@ public class Deck {
     @Field
     private String ownerId;
 
-    @Field
-    private List<Card> cards = new ArrayList<>();
+    // Card IDs resolved through the card catalog
+    @Field("card_ids")
+    private List<String> cardIds = new ArrayList<>();
 
     @Field("remaining_cards")
     private int remainingCards;
@@ -31,34 +32,37 @@ public class Deck {
     public Deck() {
     }
 
-    public Deck(String ownerId, List<Card> cards) {
+    public Deck(String ownerId, List<String> cardIds) {
         this.ownerId = ownerId;
-        this.cards = cards;
-        this.remainingCards = cards.size();
+        this.cardIds = cardIds;
+        this.remainingCards = cardIds.size();
     }
 
     // Add methods for deck manipulation
-    public boolean addCard(Card card) {
-        if (cards.size() >= 15) {
+    public boolean addCard(String cardId) {
+        if (cardIds.size() >= 15) {
             return false;
         }
-        cards.add(card);
-        remainingCards = cards.size();
+        cardIds.add(cardId);
+        remainingCards = cardIds.size();
         validate();
         return true;
     }
 
+    /**
+     * Remove one copy of a card
+     */
     public boolean removeCard(String cardId) {
-        boolean removed = cards.removeIf(card -> card.getId().equals(cardId));
+        boolean removed = cardIds.remove(cardId);
         if (removed) {
-            remainingCards = cards.size();
+            remainingCards = cardIds.size();
             validate();
         }
         return removed;
     }
 
     public void validate() {
-        isValid = cards.size() == 15;
+        isValid = cardIds.size() == 15;
     }
 
     // Getters and Setters
@@ -78,12 +82,12 @@ public class Deck {
         this.ownerId = ownerId;
     }
 
-    public List<Card> getCards() {
-        return cards;
+    public List<String> getCardIds() {
+        return cardIds;
     }
 
-    public void setCards(List<Card> cards) {
-        this.cards = cards;
+    public void setCardIds(List<String> cardIds) {
+        this.cardIds = cardIds;
     }
 
     public int getRemainingCards() {
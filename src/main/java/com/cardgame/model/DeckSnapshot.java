@@ -0,0 +1,38 @@
+package com.cardgame.model;
+
+import java.util.List;
+
+/**
+ * Immutable copy of a deck as it was when a game started.
+ * Game setup reads from snapshots so later edits to the saved deck cannot leak into the game.
+ */
+public final class DeckSnapshot {
+    private final String id;
+    private final String ownerId;
+    private final List<String> cardIds;
+
+    private DeckSnapshot(String id, String ownerId, List<String> cardIds) {
+        this.id = id;
+        this.ownerId = ownerId;
+        this.cardIds = List.copyOf(cardIds);
+    }
+
+    public static DeckSnapshot of(Deck deck) {
+        return new DeckSnapshot(deck.getId(), deck.getOwnerId(), deck.getCardIds());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    /**
+     * Card IDs in draw order; the list is unmodifiable
+     */
+    public List<String> getCardIds() {
+        return cardIds;
+    }
+}
@@ -2,5 +2,6 @@ package com.cardgame.model;
 
 public enum GameMode {
     LOCAL,
-    ONLINE
+    ONLINE,
+    BOT     // second player is the server-side bot
 }
\ No newline at end of file
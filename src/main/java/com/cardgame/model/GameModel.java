@@ -26,6 +26,9 @@ public class GameModel {
 
     private List<String> playerIds;
 
+    // Per-player hand, placed cards, score and draw pile, keyed by player ID
+    private Map<String, PlayerGameState> playerStates = new HashMap<>();
+
     // Game result fields
     private String winnerId;
     private boolean isTie;
@@ -42,6 +45,16 @@ public class GameModel {
     private Map<String, ConnectionStatus> playerConnections;
     private Instant lastSyncTime;
 
+    // Bot mode: search budget for the bot's moves
+    private BotDifficulty botDifficulty;
+
+    // Lifecycle analytics
+    private Instant firstMoveAt;
+    private int passCount;
+
+    // Changes on every save, see GameVersionCache
+    private long stateVersion;
+
     // constructor, getters, and setters
     public GameModel() {
         this.createdAt = Instant.now();
@@ -133,6 +146,33 @@ public class GameModel {
         this.playerIds = playerIds;
     }
 
+    public Map<String, PlayerGameState> getPlayerStates() {
+        return playerStates;
+    }
+
+    public void setPlayerStates(Map<String, PlayerGameState> playerStates) {
+        this.playerStates = playerStates;
+    }
+
+    /**
+     * Get a player's state in this game
+     * @throws IllegalArgumentException if the player is not part of this game
+     */
+    public PlayerGameState getPlayerState(String playerId) {
+        PlayerGameState state = playerStates == null ? null : playerStates.get(playerId);
+        if (state == null) {
+            throw new IllegalArgumentException("Player " + playerId + " has no state in game " + id);
+        }
+        return state;
+    }
+
+    public void setPlayerState(String playerId, PlayerGameState state) {
+        if (this.playerStates == null) {
+            this.playerStates = new HashMap<>();
+        }
+        this.playerStates.put(playerId, state);
+    }
+
     public String getWinnerId() {
         return winnerId;
     }
@@ -250,4 +290,36 @@ public class GameModel {
     public void setLastSyncTime(Instant lastSyncTime) {
         this.lastSyncTime = lastSyncTime;
     }
+
+    public BotDifficulty getBotDifficulty() {
+        return botDifficulty;
+    }
+
+    public void setBotDifficulty(BotDifficulty botDifficulty) {
+        this.botDifficulty = botDifficulty;
+    }
+
+    public Instant getFirstMoveAt() {
+        return firstMoveAt;
+    }
+
+    public void setFirstMoveAt(Instant firstMoveAt) {
+        this.firstMoveAt = firstMoveAt;
+    }
+
+    public int getPassCount() {
+        return passCount;
+    }
+
+    public void setPassCount(int passCount) {
+        this.passCount = passCount;
+    }
+
+    public long getStateVersion() {
+        return stateVersion;
+    }
+
+    public void setStateVersion(long stateVersion) {
+        this.stateVersion = stateVersion;
+    }
 }
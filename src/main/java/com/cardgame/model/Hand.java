@@ -0,0 +1,145 @@
+package com.cardgame.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A player's hand as a fixed number of card ID slots.
+ * contains/remove scan at most CAPACITY slots, so they are constant time and allocation free.
+ * Cards keep their slot when other cards are removed; indexes passed to get/removeAt count
+ * occupied slots only, in slot order.
+ */
+public class Hand {
+    public static final int CAPACITY = 5;
+
+    private String[] slots = new String[CAPACITY];
+    private int size;
+
+    public Hand() {
+    }
+
+    /**
+     * Create a hand holding the given card IDs
+     * @throws IllegalArgumentException if there are more than CAPACITY cards
+     */
+    public static Hand of(Collection<String> cardIds) {
+        if (cardIds.size() > CAPACITY) {
+            throw new IllegalArgumentException("A hand holds at most " + CAPACITY + " cards, got " + cardIds.size());
+        }
+        Hand hand = new Hand();
+        for (String cardId : cardIds) {
+            hand.add(cardId);
+        }
+        return hand;
+    }
+
+    /**
+     * Put a card into the first free slot
+     * @return false if the hand is full
+     */
+    public boolean add(String cardId) {
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] == null) {
+                slots[i] = cardId;
+                size++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean contains(String cardId) {
+        return indexOf(cardId) >= 0;
+    }
+
+    /**
+     * Remove one copy of a card
+     * @return false if the card is not in the hand
+     */
+    public boolean remove(String cardId) {
+        int slot = indexOf(cardId);
+        if (slot < 0) {
+            return false;
+        }
+        slots[slot] = null;
+        size--;
+        return true;
+    }
+
+    /**
+     * Get the card ID at an index among the occupied slots
+     */
+    public String get(int index) {
+        return slots[slotOf(index)];
+    }
+
+    /**
+     * Remove and return the card ID at an index among the occupied slots
+     */
+    public String removeAt(int index) {
+        int slot = slotOf(index);
+        String cardId = slots[slot];
+        slots[slot] = null;
+        size--;
+        return cardId;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Card IDs in slot order
+     */
+    public List<String> cardIds() {
+        List<String> cardIds = new ArrayList<>(size);
+        for (String slot : slots) {
+            if (slot != null) {
+                cardIds.add(slot);
+            }
+        }
+        return cardIds;
+    }
+
+    private int indexOf(String cardId) {
+        if (cardId == null) {
+            return -1;
+        }
+        for (int i = 0; i < slots.length; i++) {
+            if (cardId.equals(slots[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int slotOf(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for hand of size " + size);
+        }
+        int seen = 0;
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] != null && seen++ == index) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Hand size " + size + " does not match its slots");
+    }
+
+    @Override
+    public String toString() {
+        return "Hand" + cardIds();
+    }
+}
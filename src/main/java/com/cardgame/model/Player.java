@@ -2,15 +2,9 @@ package com.cardgame.model;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
-import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 @Document(collection = "players")
 public class Player {
 
@@ -29,21 +23,11 @@ public class Player {
     @Indexed(unique = true)
     private String supabaseUserId;
 
-    @DBRef(lazy = true)
-    private Deck currentDeck;
-
-    @DBRef(lazy = true)
-    @Field("original_deck")
-    private Deck originalDeck;
-
-    @Field("hand")
-    private List<Card> hand = new ArrayList<>();
+    // Resolve through DeckService; a plain ID avoids lazy-loading proxies and a fetch per load
+    @Field("current_deck_id")
+    private String currentDeckId;
 
-    @Field("score")
-    private int score;
-
-    @Field("placed_cards")
-    private Map<String, Card> placedCards = new HashMap<>();
+    // In-game hand, placed cards and score live on GameModel as PlayerGameState
 
     @Field("lifetime_score")
     private int lifetimeScore = 0;
@@ -69,44 +53,12 @@ public class Player {
         this.name = name;
     }
 
-    public Deck getCurrentDeck() {
-        return currentDeck;
-    }
-
-    public void setCurrentDeck(Deck currentDeck) {
-        this.currentDeck = currentDeck;
-    }
-
-    public Deck getOriginalDeck() {
-        return originalDeck;
-    }
-
-    public void setOriginalDeck(Deck originalDeck) {
-        this.originalDeck = originalDeck;
-    }
-
-    public List<Card> getHand() {
-        return hand;
-    }
-
-    public void setHand(List<Card> hand) {
-        this.hand = hand;
-    }
-
-    public int getScore() {
-        return score;
-    }
-
-    public void setScore(int score) {
-        this.score = score;
-    }
-
-    public Map<String, Card> getPlacedCards() {
-        return placedCards;
+    public String getCurrentDeckId() {
+        return currentDeckId;
     }
 
-    public void setPlacedCards(Map<String, Card> placedCards) {
-        this.placedCards = placedCards;
+    public void setCurrentDeckId(String currentDeckId) {
+        this.currentDeckId = currentDeckId;
     }
 
     public int getLifetimeScore() {
@@ -0,0 +1,91 @@
+package com.cardgame.model;
+
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One player's state within a single game, embedded in the GameModel document.
+ * Keeping it on the game rather than the Player profile means a move is one write
+ * to one document, and a player can be in several games at once.
+ */
+public class PlayerGameState {
+
+    // The deck the player chose for this game; it is never modified by play
+    @Field("deck_id")
+    private String deckId;
+
+    // Card IDs still to be drawn from this game's copy of the deck
+    @Field("draw_pile")
+    private List<String> drawPile = new ArrayList<>();
+
+    @Field("hand_slots")
+    private Hand hand = new Hand();
+
+    // Position storage string -> card ID
+    @Field("placed_card_ids")
+    private Map<String, String> placedCards = new HashMap<>();
+
+    @Field("score")
+    private int score;
+
+    public PlayerGameState() {
+    }
+
+    /**
+     * Start a game from a deck: copy its cards and draw the opening hand
+     * @param deckId The ID of the deck the player chose
+     * @param deckCardIds The deck's card IDs, in draw order
+     */
+    public static PlayerGameState fromDeck(String deckId, List<String> deckCardIds) {
+        PlayerGameState state = new PlayerGameState();
+        int handSize = Math.min(Hand.CAPACITY, deckCardIds.size());
+        state.deckId = deckId;
+        state.hand = Hand.of(deckCardIds.subList(0, handSize));
+        state.drawPile = new ArrayList<>(deckCardIds.subList(handSize, deckCardIds.size()));
+        return state;
+    }
+
+    public String getDeckId() {
+        return deckId;
+    }
+
+    public void setDeckId(String deckId) {
+        this.deckId = deckId;
+    }
+
+    public List<String> getDrawPile() {
+        return drawPile;
+    }
+
+    public void setDrawPile(List<String> drawPile) {
+        this.drawPile = drawPile;
+    }
+
+    public Hand getHand() {
+        return hand;
+    }
+
+    public void setHand(Hand hand) {
+        this.hand = hand;
+    }
+
+    public Map<String, String> getPlacedCards() {
+        return placedCards;
+    }
+
+    public void setPlacedCards(Map<String, String> placedCards) {
+        this.placedCards = placedCards;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,135 @@
+package com.cardgame.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Materialized per-player statistics, keyed by player ID.
+ * Updated incrementally when a game completes and rebuilt from game results on demand.
+ */
+@Document(collection = "playerStats")
+public class PlayerStats {
+
+    @Id
+    private String id; // same as the player ID
+
+    private int gamesPlayed;
+    private int wins;
+    private int losses;
+    private int ties;
+    private int columnsWon; // total across all games
+    private int currentWinStreak;
+    private int longestWinStreak;
+    private long lastGameAt;
+    private long rebuiltThrough; // timestamp of the newest game counted by the last rebuild
+
+    public PlayerStats() {
+    }
+
+    public PlayerStats(String playerId) {
+        this.id = playerId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    public void setGamesPlayed(int gamesPlayed) {
+        this.gamesPlayed = gamesPlayed;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public void setWins(int wins) {
+        this.wins = wins;
+    }
+
+    public int getLosses() {
+        return losses;
+    }
+
+    public void setLosses(int losses) {
+        this.losses = losses;
+    }
+
+    public int getTies() {
+        return ties;
+    }
+
+    public void setTies(int ties) {
+        this.ties = ties;
+    }
+
+    public int getColumnsWon() {
+        return columnsWon;
+    }
+
+    public void setColumnsWon(int columnsWon) {
+        this.columnsWon = columnsWon;
+    }
+
+    public int getCurrentWinStreak() {
+        return currentWinStreak;
+    }
+
+    public void setCurrentWinStreak(int currentWinStreak) {
+        this.currentWinStreak = currentWinStreak;
+    }
+
+    public int getLongestWinStreak() {
+        return longestWinStreak;
+    }
+
+    public void setLongestWinStreak(int longestWinStreak) {
+        this.longestWinStreak = longestWinStreak;
+    }
+
+    public long getLastGameAt() {
+        return lastGameAt;
+    }
+
+    public void setLastGameAt(long lastGameAt) {
+        this.lastGameAt = lastGameAt;
+    }
+
+    public long getRebuiltThrough() {
+        return rebuiltThrough;
+    }
+
+    public void setRebuiltThrough(long rebuiltThrough) {
+        this.rebuiltThrough = rebuiltThrough;
+    }
+
+    /**
+     * Apply one finished game, in chronological order
+     * @param winnerId The winner, or null for a tie
+     * @param columnsWonInGame Columns this player won in that game
+     * @param timestamp When the game finished
+     */
+    public void applyGame(String winnerId, int columnsWonInGame, long timestamp) {
+        gamesPlayed++;
+        columnsWon += columnsWonInGame;
+        if (winnerId == null) {
+            ties++;
+            currentWinStreak = 0;
+        } else if (winnerId.equals(id)) {
+            wins++;
+            currentWinStreak++;
+            longestWinStreak = Math.max(longestWinStreak, currentWinStreak);
+        } else {
+            losses++;
+            currentWinStreak = 0;
+        }
+        lastGameAt = Math.max(lastGameAt, timestamp);
+    }
+}
@@ -25,4 +25,11 @@ public interface GameRepository extends MongoRepository<GameModel, String> {
      */
     Optional<GameModel> findFirstByPlayerIdsContainingAndGameStateInOrderByUpdatedAtDesc(
         String playerId, List<GameState> states);
+    
+    /**
+     * Find the game played in a Nakama match
+     * @param nakamaMatchId The game's stored match ID ("nakama_" + match ID)
+     * @return The game or empty
+     */
+    Optional<GameModel> findFirstByNakamaMatchId(String nakamaMatchId);
 }
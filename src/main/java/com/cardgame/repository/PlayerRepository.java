@@ -16,7 +16,7 @@ public interface PlayerRepository extends MongoRepository<Player, String> {
     @Query("{'name': ?0}")
     Optional<Player> findPlayerByName(String name);
 
-    @Query(value = "{'currentDeck': ?0}")
+    @Query(value = "{'current_deck_id': ?0}")
     List<Player> findPlayersByDeckId(String deckId);
 
     // Add this method to find player by Nakama user ID
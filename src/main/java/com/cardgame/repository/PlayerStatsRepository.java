@@ -0,0 +1,9 @@
+package com.cardgame.repository;
+
+import com.cardgame.model.PlayerStats;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PlayerStatsRepository extends MongoRepository<PlayerStats, String> {
+}
@@ -0,0 +1,228 @@
+package com.cardgame.service;
+
+import com.cardgame.dto.CardDto;
+import com.cardgame.dto.ImmutableCardDto;
+import com.cardgame.model.Card;
+import com.cardgame.repository.CardRepository;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory catalog of every card definition. Holds one canonical Card and one
+ * prebuilt CardDto per card ID, plus the resolved DTO lists of recently seen hands
+ * and decks, so lookups on the game and deck paths are plain map reads. Loaded once the application is ready (after DataInitializer has
+ * seeded the cards) and refreshed whenever a card is created.
+ */
+@Component
+public class CardCatalog {
+    private static final Logger logger = LoggerFactory.getLogger(CardCatalog.class);
+    private static final Duration UNKNOWN_ID_TTL = Duration.ofSeconds(10);
+    private static final int MAX_RESOLVED_LISTS = 10_000;
+
+    private final CardRepository cardRepository;
+    // IDs recently looked up and not found, so a client repeating a bad ID doesn't query per request
+    private final Cache<String, Boolean> unknownIds = CacheBuilder.newBuilder()
+            .expireAfterWrite(UNKNOWN_ID_TTL)
+            .maximumSize(10_000)
+            .build();
+
+    private volatile Snapshot snapshot;
+
+    public CardCatalog(CardRepository cardRepository) {
+        this.cardRepository = cardRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * Reload every card definition from the database and swap in the new snapshot
+     */
+    public synchronized void refresh() {
+        List<Card> cards = new ArrayList<>(cardRepository.findAll());
+        cards.sort(Comparator.comparing(Card::getId));
+        snapshot = new Snapshot(cards);
+        unknownIds.invalidateAll();
+        logger.info("Card catalog loaded {} cards (etag {})", cards.size(), snapshot.etag);
+    }
+
+    /**
+     * Get the canonical card for a catalog ID. The instance is shared, so copy it before modifying.
+     * @return The card, or empty if no such card exists
+     */
+    public Optional<Card> findCard(String cardId) {
+        Snapshot current = snapshot();
+        Card card = current.cards.get(cardId);
+        if (card != null) {
+            return Optional.of(card);
+        }
+        return loadMissing(cardId).map(c -> snapshot().cards.get(c.getId()));
+    }
+
+    /**
+     * Get the canonical card for a catalog ID
+     * @throws IllegalStateException if the card does not exist
+     */
+    public Card requireCard(String cardId) {
+        return findCard(cardId).orElseThrow(() -> new IllegalStateException(
+                "Card with ID " + cardId + " not found. Please ensure database is initialized."));
+    }
+
+    /**
+     * Get the prebuilt DTO for a catalog ID
+     * @return The DTO, or null if no such card exists
+     */
+    public CardDto findDto(String cardId) {
+        CardDto dto = snapshot().dtos.get(cardId);
+        if (dto != null) {
+            return dto;
+        }
+        return loadMissing(cardId).map(c -> snapshot().dtos.get(c.getId())).orElse(null);
+    }
+
+    /**
+     * Get the prebuilt DTO for a catalog ID
+     * @throws IllegalStateException if the card does not exist
+     */
+    public CardDto requireDto(String cardId) {
+        CardDto dto = findDto(cardId);
+        if (dto == null) {
+            throw new IllegalStateException("Card with ID " + cardId + " not found in the card catalog");
+        }
+        return dto;
+    }
+
+    /**
+     * Resolve card IDs (hand, deck) to their prebuilt DTOs, keeping order and duplicates.
+     * The list is immutable and shared between callers asking for the same IDs in the same order.
+     */
+    public List<CardDto> dtosFor(List<String> cardIds) {
+        Snapshot current = snapshot();
+        List<CardDto> cached = current.resolved.getIfPresent(cardIds);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<CardDto> dtos = new ArrayList<>(cardIds.size());
+        for (String cardId : cardIds) {
+            dtos.add(requireDto(cardId));
+        }
+        List<CardDto> resolved = List.copyOf(dtos);
+        // Keyed by a copy, since callers may go on to modify their list
+        snapshot().resolved.put(List.copyOf(cardIds), resolved);
+        return resolved;
+    }
+
+    /**
+     * Power of a catalog card, used for column scoring
+     */
+    public int powerOf(String cardId) {
+        return requireCard(cardId).getPower();
+    }
+
+    /**
+     * All card DTOs ordered by ID. The list is immutable and shared between callers.
+     */
+    public List<CardDto> allDtos() {
+        return snapshot().dtoList;
+    }
+
+    /**
+     * Strong ETag for the current catalog content
+     */
+    public String etag() {
+        return snapshot().etag;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // Requested before the application finished starting
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    /**
+     * Cards saved straight through the repository (e.g. by tests or another instance)
+     * are picked up on first lookup. An ID that is not found isn't looked up again for
+     * UNKNOWN_ID_TTL, or until the catalog is refreshed.
+     */
+    private Optional<Card> loadMissing(String cardId) {
+        if (cardId == null || unknownIds.getIfPresent(cardId) != null) {
+            return Optional.empty();
+        }
+        Optional<Card> card = cardRepository.findById(cardId);
+        if (card.isPresent()) {
+            logger.debug("Card {} missing from catalog, reloading", cardId);
+            refresh();
+        } else {
+            unknownIds.put(cardId, Boolean.TRUE);
+        }
+        return card;
+    }
+
+    private static CardDto buildDto(Card card) {
+        ImmutableCardDto.Builder builder = ImmutableCardDto.builder()
+                .id(card.getId())
+                .power(card.getPower())
+                .name(card.getName());
+
+        if (card.getImageUrl() != null) {
+            builder.imageUrl(card.getImageUrl());
+        }
+
+        return builder.build();
+    }
+
+    private static final class Snapshot {
+        final Map<String, Card> cards;
+        final Map<String, CardDto> dtos;
+        final List<CardDto> dtoList;
+        final String etag;
+        // Resolved dtosFor lists, dropped with the snapshot when the catalog is refreshed
+        final Cache<List<String>, List<CardDto>> resolved = CacheBuilder.newBuilder()
+                .maximumSize(MAX_RESOLVED_LISTS)
+                .build();
+
+        Snapshot(List<Card> sortedCards) {
+            Map<String, Card> cardMap = new HashMap<>();
+            Map<String, CardDto> dtoMap = new HashMap<>();
+            List<CardDto> list = new ArrayList<>(sortedCards.size());
+            Hasher hasher = Hashing.sha256().newHasher();
+            for (Card card : sortedCards) {
+                CardDto dto = buildDto(card);
+                cardMap.put(card.getId(), card);
+                dtoMap.put(card.getId(), dto);
+                list.add(dto);
+                hasher.putString(dto.getId(), StandardCharsets.UTF_8)
+                        .putInt(dto.getPower())
+                        .putString(String.valueOf(dto.getName()), StandardCharsets.UTF_8)
+                        .putString(dto.getImageUrl(), StandardCharsets.UTF_8);
+            }
+            this.cards = Map.copyOf(cardMap);
+            this.dtos = Map.copyOf(dtoMap);
+            this.dtoList = List.copyOf(list);
+            this.etag = "\"" + hasher.hash().toString().substring(0, 16) + "\"";
+        }
+    }
+}
@@ -2,27 +2,23 @@ package com.cardgame.service;
 
 import com.cardgame.dto.CardDto;
 import com.cardgame.dto.CreateCardRequest;
-import com.cardgame.dto.ImmutableCardDto;
 import com.cardgame.model.Card;
 import com.cardgame.repository.CardRepository;
-import org.checkerframework.checker.units.qual.A;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
-
-import static java.util.stream.Collectors.toList;
 
 @Service
 public class CardService {
 
     private final CardRepository cardRepository;
+    private final CardCatalog cardCatalog;
 
     @Autowired
-    public CardService(CardRepository cardRepository) {
+    public CardService(CardRepository cardRepository, CardCatalog cardCatalog) {
         this.cardRepository = cardRepository;
+        this.cardCatalog = cardCatalog;
     }
 
     public CardDto createCard(CreateCardRequest request) {
@@ -32,7 +28,8 @@ public class CardService {
         card.setName(request.getName());
 
         Card savedCard = cardRepository.save(card);
-        return convertToDto(savedCard);
+        cardCatalog.refresh();
+        return cardCatalog.findDto(savedCard.getId());
     }
 
     private String generateNextId() {
@@ -50,23 +47,21 @@ public class CardService {
         }
     }
 
+    /**
+     * All cards from the in-memory catalog
+     */
     public List<CardDto> getAllCards() {
-        return cardRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return cardCatalog.allDtos();
     }
 
-    public CardDto getCardById(String id) {
-        return cardRepository.findById(id)
-                .map(this::convertToDto)
-                .orElse(null);
+    /**
+     * ETag of the current card list
+     */
+    public String getCardsEtag() {
+        return cardCatalog.etag();
     }
 
-    private CardDto convertToDto(Card card) {
-        return ImmutableCardDto.builder()
-                .id(card.getId())
-                .power(card.getPower())
-                .name(card.getName())
-                .build();
+    public CardDto getCardById(String id) {
+        return cardCatalog.findDto(id);
     }
 }
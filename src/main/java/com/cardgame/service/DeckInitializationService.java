@@ -1,8 +1,6 @@
 package com.cardgame.service;
 
-import com.cardgame.model.Card;
 import com.cardgame.model.Deck;
-import com.cardgame.repository.CardRepository;
 import com.cardgame.service.player.DeckService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,7 +9,6 @@ import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 /**
  * Service responsible for initializing player decks
@@ -25,12 +22,12 @@ public class DeckInitializationService {
     private static final String POWER_3_CARD_ID = "3";
     private static final String POWER_5_CARD_ID = "5";
     
-    private final CardRepository cardRepository;
+    private final CardCatalog cardCatalog;
     private final DeckService deckService;
     
     @Autowired
-    public DeckInitializationService(CardRepository cardRepository, DeckService deckService) {
-        this.cardRepository = cardRepository;
+    public DeckInitializationService(CardCatalog cardCatalog, DeckService deckService) {
+        this.cardCatalog = cardCatalog;
         this.deckService = deckService;
     }
     
@@ -40,56 +37,37 @@ public class DeckInitializationService {
      * @return The created deck
      */
     public Deck createDefaultDeckForPlayer(String playerId) {
-        List<Card> defaultCards = createDefaultCards();
-        return deckService.createDeck(playerId, defaultCards);
+        List<String> defaultCardIds = createDefaultCardIds();
+        return deckService.createDeck(playerId, defaultCardIds);
     }
     
     /**
-     * Creates the default set of cards for a new player's deck
-     * Distribution: 1 power-1 card, 2 power-3 cards, 1 power-5 card, 1 additional power-1 card (total 5)
-     * @return List of default cards
+     * Creates the default set of card IDs for a new player's deck
+     * Distribution: 2 power-1 cards, 2 power-3 cards, 1 power-5 card (total 5)
+     * @return List of catalog card IDs
      */
-    private List<Card> createDefaultCards() {
-        List<Card> defaultCards = new ArrayList<>();
-        
-        // Get the template cards from the database
-        Card sparkCard = cardRepository.findById(DEFAULT_CARD_ID)
-                .orElseThrow(() -> new RuntimeException("Spark card (power 1) with ID " + DEFAULT_CARD_ID + " not found. Please ensure database is initialized."));
-        Card lightningCard = cardRepository.findById(POWER_3_CARD_ID)
-                .orElseThrow(() -> new RuntimeException("Lightning card (power 3) with ID " + POWER_3_CARD_ID + " not found. Please ensure database is initialized."));
-        Card thunderCard = cardRepository.findById(POWER_5_CARD_ID)
-                .orElseThrow(() -> new RuntimeException("Thunder card (power 5) with ID " + POWER_5_CARD_ID + " not found. Please ensure database is initialized."));
-        
-        // Create 2 Spark cards (power 1)
-        for (int i = 0; i < 2; i++) {
-            Card uniqueCard = new Card();
-            uniqueCard.setId("spark_" + UUID.randomUUID().toString());
-            uniqueCard.setPower(sparkCard.getPower());
-            uniqueCard.setName(sparkCard.getName());
-            uniqueCard.setImageUrl(sparkCard.getImageUrl());
-            defaultCards.add(uniqueCard);
-        }
-        
-        // Create 2 Lightning cards (power 3)
-        for (int i = 0; i < 2; i++) {
-            Card uniqueCard = new Card();
-            uniqueCard.setId("lightning_" + UUID.randomUUID().toString());
-            uniqueCard.setPower(lightningCard.getPower());
-            uniqueCard.setName(lightningCard.getName());
-            uniqueCard.setImageUrl(lightningCard.getImageUrl());
-            defaultCards.add(uniqueCard);
+    private List<String> createDefaultCardIds() {
+        // Make sure the template cards exist in the card catalog
+        requireCard(DEFAULT_CARD_ID, "Spark card (power 1)");
+        requireCard(POWER_3_CARD_ID, "Lightning card (power 3)");
+        requireCard(POWER_5_CARD_ID, "Thunder card (power 5)");
+
+        // Copies of the same card share its catalog ID
+        List<String> defaultCardIds = new ArrayList<>(DEFAULT_DECK_SIZE);
+        defaultCardIds.add(DEFAULT_CARD_ID);
+        defaultCardIds.add(DEFAULT_CARD_ID);
+        defaultCardIds.add(POWER_3_CARD_ID);
+        defaultCardIds.add(POWER_3_CARD_ID);
+        defaultCardIds.add(POWER_5_CARD_ID);
+
+        logger.debug("Created {} default cards for new deck (2 Spark, 2 Lightning, 1 Thunder)", defaultCardIds.size());
+        return defaultCardIds;
+    }
+
+    private void requireCard(String cardId, String description) {
+        if (cardCatalog.findCard(cardId).isEmpty()) {
+            throw new RuntimeException(description + " with ID " + cardId + " not found. Please ensure database is initialized.");
         }
-        
-        // Create 1 Thunder card (power 5)
-        Card uniqueCard = new Card();
-        uniqueCard.setId("thunder_" + UUID.randomUUID().toString());
-        uniqueCard.setPower(thunderCard.getPower());
-        uniqueCard.setName(thunderCard.getName());
-        uniqueCard.setImageUrl(thunderCard.getImageUrl());
-        defaultCards.add(uniqueCard);
-        
-        logger.debug("Created {} default cards for new deck (2 Spark, 2 Lightning, 1 Thunder)", defaultCards.size());
-        return defaultCards;
     }
     
     /**
@@ -102,14 +80,14 @@ public class DeckInitializationService {
             return false;
         }
         
-        if (deck.getCards() == null || deck.getCards().isEmpty()) {
+        if (deck.getCardIds() == null || deck.getCardIds().isEmpty()) {
             logger.warn("Deck {} has no cards", deck.getId());
             return false;
         }
         
-        if (deck.getCards().size() != DEFAULT_DECK_SIZE) {
+        if (deck.getCardIds().size() != DEFAULT_DECK_SIZE) {
             logger.warn("Deck {} has incorrect number of cards: {} != {}", 
-                deck.getId(), deck.getCards().size(), DEFAULT_DECK_SIZE);
+                deck.getId(), deck.getCardIds().size(), DEFAULT_DECK_SIZE);
             return false;
         }
         
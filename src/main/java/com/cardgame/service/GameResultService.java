@@ -1,19 +1,38 @@
 package com.cardgame.service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import com.cardgame.dto.CursorPage;
+import com.cardgame.dto.GameHistoryEntryDto;
+import com.cardgame.dto.ImmutableGameHistoryEntryDto;
 import com.cardgame.model.EndCondition;
+import com.cardgame.model.GameModel;
 import com.cardgame.model.GameResult;
 import com.cardgame.model.GameScore;
 import com.cardgame.repository.GameResultRepository;
+import com.cardgame.service.util.CursorCodec;
+import com.mongodb.client.result.UpdateResult;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 @Service
 public class GameResultService {
+    public static final int DEFAULT_HISTORY_PAGE_SIZE = 20;
+    public static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     private final GameResultRepository gameResultRepository;
+    private final MongoTemplate mongoTemplate;
 
-    public GameResultService(GameResultRepository gameResultRepository) {
+    public GameResultService(GameResultRepository gameResultRepository, MongoTemplate mongoTemplate) {
         this.gameResultRepository = gameResultRepository;
+        this.mongoTemplate = mongoTemplate;
     }
 
     public GameResult createGameResult(GameScore gameScore, EndCondition endCondition, String winnerId) {
@@ -66,6 +85,133 @@ public class GameResultService {
         return gameResultRepository.save(result);
     }
 
+    /**
+     * Record the result of a completed game, with columns won as the per-player score.
+     * Upserted on the (unique) gameId, so recording the same game again leaves the first result in place.
+     * @param gameModel The completed game
+     * @param columnsWon Columns won per player
+     * @return The inserted result, or null if the game had already been recorded
+     */
+    public GameResult recordCompletedGame(GameModel gameModel, Map<String, Integer> columnsWon) {
+        String player1Id = gameModel.getPlayerIds().get(0);
+        String player2Id = gameModel.getPlayerIds().get(1);
+        String winnerId = gameModel.isTie() ? null : gameModel.getWinnerId();
+
+        GameResult result = new GameResult(gameModel.getId(), player1Id, player2Id);
+        result.setPlayer1Score(columnsWon.getOrDefault(player1Id, 0));
+        result.setPlayer2Score(columnsWon.getOrDefault(player2Id, 0));
+        result.setWinnerId(winnerId);
+        if (winnerId == null) {
+            result.setEndCondition(EndCondition.TIE);
+        } else {
+            result.setEndCondition(winnerId.equals(player1Id) ? EndCondition.PLAYER1_WIN : EndCondition.PLAYER2_WIN);
+        }
+
+        Update update = new Update()
+                .setOnInsert("player1Id", player1Id)
+                .setOnInsert("player2Id", player2Id)
+                .setOnInsert("player1Score", result.getPlayer1Score())
+                .setOnInsert("player2Score", result.getPlayer2Score())
+                .setOnInsert("winnerId", winnerId)
+                .setOnInsert("endCondition", result.getEndCondition())
+                .setOnInsert("timestamp", result.getTimestampInGameResult());
+        UpdateResult upserted = mongoTemplate.upsert(
+                Query.query(Criteria.where("gameId").is(gameModel.getId())), update, GameResult.class);
+        if (upserted.getUpsertedId() == null) {
+            return null;
+        }
+        result.setId(upserted.getUpsertedId().asObjectId().getValue().toHexString());
+        return result;
+    }
+
+    /**
+     * Get one page of a player's game history, newest first.
+     * Keyset-paginated on (timestamp, id) so every page costs the same regardless of its depth.
+     *
+     * @param playerId The player ID
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param limit Requested page size (capped at MAX_HISTORY_PAGE_SIZE)
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public CursorPage<GameHistoryEntryDto> getPlayerHistoryPage(String playerId, String cursor, int limit) {
+        int pageSize = limit <= 0 ? DEFAULT_HISTORY_PAGE_SIZE : Math.min(limit, MAX_HISTORY_PAGE_SIZE);
+
+        Criteria criteria = playerCriteria(playerId);
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] parts = CursorCodec.decode(cursor, 2);
+            long timestamp;
+            try {
+                timestamp = Long.parseLong(parts[0]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+            }
+            criteria = new Criteria().andOperator(criteria, new Criteria().orOperator(
+                    Criteria.where("timestamp").lt(timestamp),
+                    Criteria.where("timestamp").is(timestamp).and("id").lt(parts[1])));
+        }
+
+        Query query = historyQuery(criteria).limit(pageSize + 1);
+        List<GameResult> results = mongoTemplate.find(query, GameResult.class);
+
+        List<GameHistoryEntryDto> items = new ArrayList<>(Math.min(results.size(), pageSize));
+        for (int i = 0; i < results.size() && i < pageSize; i++) {
+            items.add(convertToHistoryEntry(results.get(i), playerId));
+        }
+
+        String nextCursor = null;
+        if (results.size() > pageSize) {
+            GameResult last = results.get(pageSize - 1);
+            nextCursor = CursorCodec.encode(String.valueOf(last.getTimestampInGameResult()), last.getId());
+        }
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    /**
+     * Stream a player's whole game history, newest first, straight from a MongoDB cursor.
+     * No list is built, so memory use does not depend on the number of games.
+     *
+     * @param playerId The player ID
+     * @param consumer Receives each entry in order
+     */
+    public void streamPlayerHistory(String playerId, Consumer<GameHistoryEntryDto> consumer) {
+        try (Stream<GameResult> results = mongoTemplate.stream(historyQuery(playerCriteria(playerId)), GameResult.class)) {
+            results.forEach(result -> consumer.accept(convertToHistoryEntry(result, playerId)));
+        }
+    }
+
+    private Criteria playerCriteria(String playerId) {
+        return new Criteria().orOperator(
+                Criteria.where("player1Id").is(playerId),
+                Criteria.where("player2Id").is(playerId));
+    }
+
+    private Query historyQuery(Criteria criteria) {
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "timestamp").and(Sort.by(Sort.Direction.DESC, "id")));
+        // Lean projection: only what a history entry needs
+        query.fields().include("gameId", "winnerId", "endCondition",
+                "player1Id", "player2Id", "player1Score", "player2Score", "timestamp");
+        return query;
+    }
+
+    private GameHistoryEntryDto convertToHistoryEntry(GameResult result, String playerId) {
+        boolean isPlayer1 = playerId.equals(result.getPlayer1Id());
+        return ImmutableGameHistoryEntryDto.builder()
+                .gameId(result.getGameId())
+                .opponentId(isPlayer1 ? result.getPlayer2Id() : result.getPlayer1Id())
+                .winnerId(result.getWinnerId())
+                .endCondition(result.getEndCondition())
+                .columnsWon(isPlayer1 ? result.getPlayer1Score() : result.getPlayer2Score())
+                .opponentColumnsWon(isPlayer1 ? result.getPlayer2Score() : result.getPlayer1Score())
+                .timestamp(result.getTimestampInGameResult())
+                .build();
+    }
+
+    /**
+     * @deprecated Loads the whole history into memory; use {@link #getPlayerHistoryPage} or
+     * {@link #streamPlayerHistory} instead
+     */
+    @Deprecated
     public List<GameResult> getPlayerGameHistory(String playerId) {
         return gameResultRepository.findByPlayer1IdOrPlayer2Id(playerId, playerId);
     }
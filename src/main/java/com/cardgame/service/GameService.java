@@ -4,35 +4,48 @@ import com.cardgame.dto.*;
 import com.cardgame.exception.game.GameNotFoundException;
 import com.cardgame.exception.game.InvalidMoveException;
 import com.cardgame.model.Board;
-import com.cardgame.model.Card;
-import com.cardgame.model.Deck;
+import com.cardgame.model.BotDifficulty;
+import com.cardgame.model.DeckSnapshot;
+import com.cardgame.model.GameMode;
 import com.cardgame.model.GameModel;
+import com.cardgame.model.GameResult;
 import com.cardgame.model.GameState;
+import com.cardgame.model.Hand;
 import com.cardgame.model.Player;
+import com.cardgame.model.PlayerGameState;
 import com.cardgame.model.Position;
 import com.cardgame.repository.GameRepository;
 import com.cardgame.service.factory.MoveStrategyFactory;
 import com.cardgame.service.manager.BoardManager;
+import com.cardgame.service.metrics.GameEndCondition;
+import com.cardgame.service.metrics.GameLifecycleMetrics;
+import com.cardgame.service.metrics.MovePhase;
+import com.cardgame.service.metrics.MovePhaseMetrics;
+import com.cardgame.service.metrics.MoveTrace;
 import com.cardgame.service.nakama.NakamaLeaderBoardService;
 import com.cardgame.service.player.DeckService;
 import com.cardgame.service.player.PlayerService;
+import com.cardgame.service.util.LookupExecutor;
 import com.cardgame.service.util.ScoreCalculator;
 import com.cardgame.service.validator.GameValidator;
 import com.cardgame.config.MetricsConfig;
 import io.micrometer.core.instrument.Counter;
-import org.checkerframework.checker.units.qual.C;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 public class GameService {
@@ -41,37 +54,61 @@ public class GameService {
     private final GameRepository gameRepository;
     private final PlayerService playerService;
     private final CardService cardService;
+    private final CardCatalog cardCatalog;
     private final DeckService deckService;
     private final BoardManager boardManager;
     private final GameValidator gameValidator;
     private final MoveStrategyFactory moveStrategyFactory;
     private final NakamaLeaderBoardService nakamaLeaderBoardService;
+    private final GameResultService gameResultService;
+    private final PlayerStatsService playerStatsService;
     private final MetricsConfig metricsConfig;
     private final Counter gameCreatedCounter;
     private final Counter gameCompletedCounter;
+    private final Timer gameInitializeTimer;
+    private final MovePhaseMetrics movePhaseMetrics;
+    private final GameLifecycleMetrics gameLifecycleMetrics;
+    private final ObservationRegistry observationRegistry;
+    private final LookupExecutor lookupExecutor;
 
     public GameService(GameRepository gameRepository,
                        PlayerService playerService,
                        CardService cardService,
+                       CardCatalog cardCatalog,
                        DeckService deckService,
                        BoardManager boardManager,
                        GameValidator gameValidator,
                        MoveStrategyFactory moveStrategyFactory,
                        NakamaLeaderBoardService nakamaLeaderBoardService,
+                       GameResultService gameResultService,
+                       PlayerStatsService playerStatsService,
                        MetricsConfig metricsConfig,
                        Counter gameCreatedCounter,
-                       Counter gameCompletedCounter) {
+                       Counter gameCompletedCounter,
+                       Timer gameInitializeTimer,
+                       MovePhaseMetrics movePhaseMetrics,
+                       GameLifecycleMetrics gameLifecycleMetrics,
+                       ObservationRegistry observationRegistry,
+                       LookupExecutor lookupExecutor) {
         this.gameRepository = gameRepository;
         this.playerService = playerService;
         this.cardService = cardService;
+        this.cardCatalog = cardCatalog;
         this.deckService = deckService;
         this.boardManager = boardManager;
         this.gameValidator = gameValidator;
         this.moveStrategyFactory = moveStrategyFactory;
         this.nakamaLeaderBoardService = nakamaLeaderBoardService;
+        this.gameResultService = gameResultService;
+        this.playerStatsService = playerStatsService;
         this.metricsConfig = metricsConfig;
         this.gameCreatedCounter = gameCreatedCounter;
         this.gameCompletedCounter = gameCompletedCounter;
+        this.gameInitializeTimer = gameInitializeTimer;
+        this.movePhaseMetrics = movePhaseMetrics;
+        this.gameLifecycleMetrics = gameLifecycleMetrics;
+        this.observationRegistry = observationRegistry;
+        this.lookupExecutor = lookupExecutor;
     }
 
     public GameDto convertToDto(GameModel gameModel) {
@@ -79,23 +116,38 @@ public class GameService {
     }
     
     public GameDto convertToDto(GameModel gameModel, String forPlayerId) {
-        Player currentPlayer = playerService.getPlayer(forPlayerId);
+        return convertToDto(gameModel, forPlayerId, playerService.getPlayers(gameModel.getPlayerIds()));
+    }
+
+    /**
+     * The game as a spectator sees it: the same as a player's view, without any hand
+     */
+    public GameDto convertToPublicDto(GameModel gameModel) {
+        return ImmutableGameDto.copyOf(convertToDto(gameModel)).withCurrentPlayerHand(List.of());
+    }
+
+    /**
+     * Build the DTO from players that are already loaded, so no further reads are needed
+     */
+    private GameDto convertToDto(GameModel gameModel, String forPlayerId, Map<String, Player> players) {
+        PlayerGameState currentPlayerState = gameModel.getPlayerState(forPlayerId);
 
         // Build card ownership map, collect all placed cards, and player names
         Map<String, String> cardOwnership = new HashMap<>();
         Map<String, CardDto> placedCards = new HashMap<>();
         Map<String, String> playerNames = new HashMap<>();
         for (String playerId : gameModel.getPlayerIds()) {
-            Player player = playerService.getPlayer(playerId);
+            Player player = players.get(playerId);
             // Add player name
-            playerNames.put(playerId, player.getName());
+            playerNames.put(playerId, player != null ? player.getName() : null);
             
-            if (player.getPlacedCards() != null) {
-                for (Map.Entry<String, Card> entry : player.getPlacedCards().entrySet()) {
+            Map<String, String> playerPlacedCards = gameModel.getPlayerState(playerId).getPlacedCards();
+            if (playerPlacedCards != null) {
+                for (Map.Entry<String, String> entry : playerPlacedCards.entrySet()) {
                     String position = entry.getKey();
-                    Card card = entry.getValue();
+                    String cardId = entry.getValue();
                     cardOwnership.put(position, playerId);
-                    placedCards.put(card.getId(), convertCardToDto(card));
+                    placedCards.put(cardId, cardCatalog.requireDto(cardId));
                 }
             }
         }
@@ -110,9 +162,7 @@ public class GameService {
                         .pieces(gameModel.getBoard().getPieces())  // Use string keys directly
                         .build())
                 .currentPlayerId(gameModel.getCurrentPlayerId())
-                .currentPlayerHand(currentPlayer.getHand().stream()
-                        .map(this::convertCardToDto)
-                        .collect(Collectors.toList()))
+                .currentPlayerHand(cardCatalog.dtosFor(currentPlayerState.getHand().cardIds()))
                 .playerIds(gameModel.getPlayerIds())
                 .cardOwnership(cardOwnership)
                 .placedCards(placedCards)
@@ -144,7 +194,7 @@ public class GameService {
             }
         } else {
             // Game in progress - calculate current column scores
-            Map<Integer, ScoreCalculator.ColumnScore> columnScores = ScoreCalculator.calculateColumnScores(gameModel, playerService);
+            Map<Integer, ScoreCalculator.ColumnScore> columnScores = ScoreCalculator.calculateColumnScores(gameModel, cardCatalog::powerOf);
             for (Map.Entry<Integer, ScoreCalculator.ColumnScore> entry : columnScores.entrySet()) {
                 ScoreCalculator.ColumnScore colScore = entry.getValue();
                 ColumnScoreDto dto = ImmutableColumnScoreDto.builder()
@@ -198,32 +248,45 @@ public class GameService {
         return builder.build();
     }
 
-    private CardDto convertCardToDto(Card card) {
-        ImmutableCardDto.Builder builder = ImmutableCardDto.builder()
-                .id(card.getId())
-                .power(card.getPower())
-                .name(card.getName());
-        
-        if (card.getImageUrl() != null) {
-            builder.imageUrl(card.getImageUrl());
-        }
-        
-        return builder.build();
+    /**
+     * Initialize a new game.
+     * Runs as a single pass: both players and both decks are fetched with two batched queries
+     * issued concurrently, all state is built in memory, the game is written with one insert
+     * and the DTO is built from the in-memory state.
+     */
+    public GameDto initializeGame(String player1Id, String player2Id, String deck1Id, String deck2Id) {
+        return gameInitializeTimer.record(() ->
+                doInitializeGame(player1Id, player2Id, deck1Id, deck2Id, GameMode.LOCAL, null));
     }
 
-
     /**
-     * Initialize a new game
+     * Initialize a game against the server bot. The human moves first; the bot's moves are
+     * made by BotService.
      */
-    public GameDto initializeGame(String player1Id, String player2Id, String deck1Id, String deck2Id) {
+    public GameDto initializeBotGame(String playerId, String botPlayerId, String deckId, String botDeckId,
+                                     BotDifficulty difficulty) {
+        return gameInitializeTimer.record(() ->
+                doInitializeGame(playerId, botPlayerId, deckId, botDeckId, GameMode.BOT, difficulty));
+    }
 
-//        validatePlayersAndDecks(player1Id, player2Id, deck1Id, deck2Id);
-        gameValidator.validatePlayerAndDecks(player1Id, player2Id, deck1Id, deck2Id);
+    private GameDto doInitializeGame(String player1Id, String player2Id, String deck1Id, String deck2Id,
+                                     GameMode gameMode, BotDifficulty botDifficulty) {
+        CompletableFuture<Map<String, Player>> playersFuture =
+                lookupExecutor.supplyAsync(() -> playerService.getPlayers(List.of(player1Id, player2Id)));
+        CompletableFuture<Map<String, DeckSnapshot>> decksFuture =
+                lookupExecutor.supplyAsync(() -> deckService.getDeckSnapshots(List.of(deck1Id, deck2Id)));
+        Map<String, Player> players = join(playersFuture);
+        Map<String, DeckSnapshot> decks = join(decksFuture);
+
+        gameValidator.validatePlayerAndDecks(players.get(player1Id), players.get(player2Id),
+                decks.get(deck1Id), decks.get(deck2Id));
 
         // create a new game model
         GameModel gameModel = new GameModel();
         gameModel.setId(UUID.randomUUID().toString());
         gameModel.setGameState(GameState.INITIALIZED);
+        gameModel.setGameMode(gameMode);
+        gameModel.setBotDifficulty(botDifficulty);
 
         // initialize the board (3*5)
         gameModel.setBoard(new Board());
@@ -234,80 +297,91 @@ public class GameService {
         gameModel.setCurrentPlayerId(player1Id); // player1 starts first
 
         // set up players' game state with their chosen decks
-        setupPlayerGameState(player1Id, deck1Id);
-        setupPlayerGameState(player2Id, deck2Id);
+        setupPlayerGameState(gameModel, player1Id, decks.get(deck1Id));
+        setupPlayerGameState(gameModel, player2Id, decks.get(deck2Id));
 
         placeInitialCards(gameModel, player1Id, player2Id);
 
         gameModel.setGameState(GameState.IN_PROGRESS);
-        gameRepository.save(gameModel);
+        gameRepository.insert(gameModel);
         
         // Track metrics
         gameCreatedCounter.increment();
         metricsConfig.incrementActiveGames();
         logger.info("Game created with ID: {}", gameModel.getId());
 
-        return convertToDto(gameModel);
+        return convertToDto(gameModel, gameModel.getCurrentPlayerId(), players);
     }
 
-    private void setupPlayerGameState(String playerId, String deckId) {
-        Player player = playerService.getPlayer(playerId);
-        Deck originalDeck = deckService.getDeck(deckId);
-
-        // Store reference to original deck for restoration after game
-        player.setOriginalDeck(originalDeck);
-
-        // Create a temporary copy of the deck for this game (in memory only - don't save to DB)
-        Deck gameDeck = new Deck();
-        gameDeck.setId(UUID.randomUUID().toString());
-        gameDeck.setOwnerId(playerId);
-        gameDeck.setCards(new ArrayList<>(originalDeck.getCards())); // Copy cards from original deck
-        gameDeck.setRemainingCards(originalDeck.getCards().size());
-
-        // Note: NOT saving gameDeck to database - it's temporary for this game only
-
-        // Draw initial hand (5 cards)
-        List<Card> initialHand = new ArrayList<>(gameDeck.getCards().subList(0, 5));
-        gameDeck.getCards().subList(0, 5).clear();
-        gameDeck.setRemainingCards(gameDeck.getCards().size());
-
-        // Update player's game state with temporary deck
-        player.setCurrentDeck(gameDeck);
-        player.setHand(initialHand);
-        player.setScore(0);
-        player.setPlacedCards(new HashMap<>());
+    /**
+     * Wait for a lookup, rethrowing its own exception (e.g. DeckNotFoundException) rather than a wrapper
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
 
-        // Save updated player state (includes originalDeck reference)
-        playerService.savePlayer(player);
+    private void setupPlayerGameState(GameModel gameModel, String playerId, DeckSnapshot deck) {
+        // The game plays from its own copy of the deck's card IDs, so the player's
+        // profile and saved deck are left untouched
+        gameModel.setPlayerState(playerId, PlayerGameState.fromDeck(deck.getId(), deck.getCardIds()));
     }
 
     private void placeInitialCards(GameModel gameModel, String player1Id, String player2Id) {
-        Board board = gameModel.getBoard();
-
-        placeInitialCardForPlayer(player1Id, new Position(1, 3), board);
-        placeInitialCardForPlayer(player2Id, new Position(1, 1), board);
+        placeInitialCardForPlayer(gameModel, player1Id, new Position(1, 3));
+        placeInitialCardForPlayer(gameModel, player2Id, new Position(1, 1));
     }
 
-    private void placeInitialCardForPlayer(String playerId, Position position, Board board) {
-        Player player = playerService.getPlayer(playerId);
+    private void placeInitialCardForPlayer(GameModel gameModel, String playerId, Position position) {
+        PlayerGameState playerState = gameModel.getPlayerState(playerId);
         // Randomly select a card from the player's hand
-        int randomIndex = (int) (Math.random() * player.getHand().size());
-        Card card = player.getHand().remove(randomIndex);
-        boardManager.placeCard(board, position, card.getId());
-        player.getPlacedCards().put(position.toStorageString(), card);
-        playerService.savePlayer(player);
+        int randomIndex = (int) (Math.random() * playerState.getHand().size());
+        String cardId = playerState.getHand().removeAt(randomIndex);
+        boardManager.placeCard(gameModel.getBoard(), position, cardId);
+        playerState.getPlacedCards().put(position.toStorageString(), cardId);
     }
 
     /**
      * Process a player's move
      */
     public GameDto processMove(String gameId, PlayerAction action) {
+        MoveTrace trace = movePhaseMetrics.start(action.getType());
+        boolean succeeded = false;
+        try {
+            GameDto result = processMove(gameId, action, trace);
+            succeeded = true;
+            return result;
+        } finally {
+            movePhaseMetrics.finish(trace, succeeded);
+        }
+    }
+
+    /**
+     * Process a player's move as part of a larger request, timing its phases on the caller's trace.
+     * The caller finishes the trace.
+     */
+    public GameDto processMove(String gameId, PlayerAction action, MoveTrace trace) {
+        return Observation.createNotStarted("game.move", observationRegistry)
+                .lowCardinalityKeyValue("action", action.getType().name())
+                .highCardinalityKeyValue("game.id", gameId)
+                .observe(() -> doProcessMove(gameId, action, trace));
+    }
+
+    private GameDto doProcessMove(String gameId, PlayerAction action, MoveTrace trace) {
         GameModel gameModel = gameRepository.findById(gameId)
                 .orElseThrow(() -> new GameNotFoundException("Game not found: " + gameId));
+        trace.setGame(gameModel);
+        trace.lap(MovePhase.LOAD);
 
         // Special handling for win request response
         if (action.getType() == PlayerAction.ActionType.RESPOND_TO_WIN_REQUEST) {
-            return handleWinRequestResponse(gameModel, action);
+            return handleWinRequestResponse(gameModel, action, trace);
         }
 
         // For other actions, validate it's the player's turn
@@ -317,37 +391,56 @@ public class GameService {
         if (action.getType() == PlayerAction.ActionType.PLACE_CARD) {
             gameValidator.validateMove(gameModel, action);
         }
+        trace.lap(MovePhase.VALIDATE);
 
         // Use strategy pattern to execute the move
         var strategy = moveStrategyFactory.createStrategy(action.getType());
         strategy.executeMove(gameModel, action);
+        if (gameModel.getFirstMoveAt() == null && action.getType() != PlayerAction.ActionType.REQUEST_WIN_CALCULATION) {
+            gameModel.setFirstMoveAt(Instant.now());
+            gameLifecycleMetrics.recordFirstMove(gameModel);
+        }
+        trace.lap(MovePhase.EXECUTE);
 
         // Special post-processing for win request
         if (action.getType() == PlayerAction.ActionType.REQUEST_WIN_CALCULATION) {
             // For win requests, we switch to the next player and return
             switchToNextPlayer(gameModel);
             gameModel.setUpdatedAt(Instant.now());
+            trace.lap(MovePhase.RESOLVE);
             gameModel = gameRepository.save(gameModel);
-            return convertToDto(gameModel);
+            trace.lap(MovePhase.SAVE);
+            GameDto result = convertToDto(gameModel);
+            trace.lap(MovePhase.CONVERT);
+            return result;
         }
 
         // Check if game is over (for regular moves)
-        if (isGameOver(gameModel)) {
-            finalizeGame(gameModel);
+        GameEndCondition endCondition = endCondition(gameModel);
+        Map<String, Integer> columnsWon = null;
+        if (endCondition != null) {
+            columnsWon = finalizeGame(gameModel, endCondition);
         } else {
             handleTurnSwitching(gameModel);
         }
 
         // Update timestamp
         gameModel.setUpdatedAt(Instant.now());
+        trace.lap(MovePhase.RESOLVE);
 
         // Save and return updated game state
         gameModel = gameRepository.save(gameModel);
+        trace.lap(MovePhase.SAVE);
+        if (columnsWon != null) {
+            recordCompletion(gameModel, columnsWon);
+        }
 
-        return convertToDto(gameModel);
+        GameDto result = convertToDto(gameModel);
+        trace.lap(MovePhase.CONVERT);
+        return result;
     }
 
-    private GameDto handleWinRequestResponse(GameModel gameModel, PlayerAction action) {
+    private GameDto handleWinRequestResponse(GameModel gameModel, PlayerAction action, MoveTrace trace) {
         String respondingPlayerId = action.getPlayerId();
 
         // Validate that there's a pending win request
@@ -357,6 +450,7 @@ public class GameService {
 
         // Validate it's this player's turn
         gameValidator.validatePlayerTurn(gameModel, respondingPlayerId);
+        trace.lap(MovePhase.VALIDATE);
 
         // Use strategy to handle the response
         var strategy = moveStrategyFactory.createStrategy(action.getType());
@@ -369,50 +463,63 @@ public class GameService {
         } else {
             throw new InvalidMoveException("Response action must include a boolean acceptance value");
         }
+        trace.lap(MovePhase.EXECUTE);
+        gameLifecycleMetrics.recordWinRequestResponse(gameModel, accepted);
 
+        Map<String, Integer> columnsWon = null;
         if (accepted) {
             // If request is accepted, finalize the game
-            finalizeGame(gameModel);
+            columnsWon = finalizeGame(gameModel, GameEndCondition.WIN_REQUEST_ACCEPTED);
         }
 
         // Update timestamp
         gameModel.setUpdatedAt(Instant.now());
+        trace.lap(MovePhase.RESOLVE);
 
         // Save and return updated game state
         gameModel = gameRepository.save(gameModel);
+        trace.lap(MovePhase.SAVE);
+        if (columnsWon != null) {
+            recordCompletion(gameModel, columnsWon);
+        }
 
-        return convertToDto(gameModel);
+        GameDto result = convertToDto(gameModel);
+        trace.lap(MovePhase.CONVERT);
+        return result;
     }
 
-    private boolean isGameOver(GameModel gameModel) {
+    /**
+     * @return How the game ended, or null if it is not over
+     */
+    private GameEndCondition endCondition(GameModel gameModel) {
         if (boardManager.isFull(gameModel.getBoard())) {
-            return true;
+            return GameEndCondition.BOARD_FULL;
         }
 
         // Check if both players have no valid moves
-        return !anyPlayerHasValidMoves(gameModel);
+        return anyPlayerHasValidMoves(gameModel) ? null : GameEndCondition.NO_VALID_MOVES;
     }
 
     private boolean anyPlayerHasValidMoves(GameModel gameModel) {
         for (String playerId : gameModel.getPlayerIds()) {
-            Player player = playerService.getPlayer(playerId);
-            if (!player.getHand().isEmpty() && hasValidMoves(gameModel, player)) {
+            if (hasValidMoves(gameModel, playerId)) {
                 return true;
             }
         }
         return false;
     }
 
-    private boolean hasValidMoves(GameModel gameModel, Player player) {
+    private boolean hasValidMoves(GameModel gameModel, String playerId) {
+        Hand hand = gameModel.getPlayerState(playerId).getHand();
         List<Position> emptyPositions = gameModel.getBoard().getEmptyPositions();
 
         for (Position pos : emptyPositions) {
-            if (!player.getHand().isEmpty()) {
+            if (!hand.isEmpty()) {
                 PlayerAction testAction = ImmutablePlayerAction.builder()
                         .type(PlayerAction.ActionType.PLACE_CARD)
-                        .playerId(player.getId())
+                        .playerId(playerId)
                         .targetPosition(pos)
-                        .card(player.getHand().get(0))
+                        .card(cardCatalog.requireCard(hand.get(0)))
                         .timestamp(System.currentTimeMillis())
                         .build();
 
@@ -431,18 +538,20 @@ public class GameService {
      * Finalizes a game when it's over, calculating scores and determining the winner.
      *
      * @param gameModel The game model to finalize
+     * @param endCondition How the game ended, for metrics
+     * @return Columns won per player, to record once the completed game is saved
      */
-    private void finalizeGame(GameModel gameModel) {
+    private Map<String, Integer> finalizeGame(GameModel gameModel, GameEndCondition endCondition) {
         // Set game state to completed
         gameModel.setGameState(GameState.COMPLETED);
         
         // Track metrics
         gameCompletedCounter.increment();
         metricsConfig.decrementActiveGames();
+        gameLifecycleMetrics.recordEnded(gameModel, endCondition);
         logger.info("Game completed with ID: {}", gameModel.getId());
 
-        // IMPORTANT: Calculate column scores BEFORE restoring player state (which clears placedCards)
-        Map<Integer, ScoreCalculator.ColumnScore> columnScores = ScoreCalculator.calculateColumnScores(gameModel, playerService);
+        Map<Integer, ScoreCalculator.ColumnScore> columnScores = ScoreCalculator.calculateColumnScores(gameModel, cardCatalog::powerOf);
         
         // Store column scores in the game model for final display
         Map<Integer, Map<String, Integer>> finalColumnScores = new HashMap<>();
@@ -450,42 +559,40 @@ public class GameService {
             finalColumnScores.put(entry.getKey(), entry.getValue().playerScores);
         }
         gameModel.setFinalColumnScores(finalColumnScores);
+
+        // Count columns won per player for the result history and statistics
+        Map<String, Integer> columnsWon = new HashMap<>();
+        for (String playerId : gameModel.getPlayerIds()) {
+            columnsWon.put(playerId, 0);
+        }
+        for (ScoreCalculator.ColumnScore colScore : columnScores.values()) {
+            if (colScore.winnerId != null && !colScore.isTie) {
+                columnsWon.merge(colScore.winnerId, 1, Integer::sum);
+            }
+        }
         
         // Determine winner using column-based scoring
-        String winnerId = ScoreCalculator.determineWinner(gameModel, playerService);
+        String winnerId = ScoreCalculator.determineWinner(gameModel, cardCatalog::powerOf);
         gameModel.setWinnerId(winnerId);
         gameModel.setTie(winnerId == null);
 
-        // Get all players for this game
-        Map<String, Player> players = new HashMap<>();
+        // The per-game state stays on the game document; only lifetime scores touch the player profiles
+        int victoryBonus = 10;
         for (String playerId : gameModel.getPlayerIds()) {
-            Player player = playerService.getPlayer(playerId);
-            players.put(playerId, player);
+            PlayerGameState playerState = gameModel.getPlayerState(playerId);
 
             // Calculate and update player scores for this game
-            ScoreCalculator.updatePlayerScore(player, gameModel);
-
-            // Add the current game score to lifetime score
-            int gameScore = player.getScore();
-            player.addLifetimeScore(gameScore);
+            ScoreCalculator.updatePlayerScore(playerState, gameModel);
 
             // Store scores in the game model
+            int gameScore = playerState.getScore();
             gameModel.updatePlayerScore(playerId, gameScore);
 
-            // Restore player's original deck and clean up temporary game state
-            restorePlayerOriginalState(player);
+            // Add the game score, plus the victory bonus for the winner, to the lifetime score
+            int points = gameScore + (playerId.equals(winnerId) && !gameModel.isTie() ? victoryBonus : 0);
 
-            // Save player with updated lifetime score and restored original deck
             // Use updatePlayerSafely to prevent accidental data loss
-            playerService.updatePlayerSafely(player.getId(), p -> {
-                // Copy the updated state from the player object
-                p.setLifetimeScore(player.getLifetimeScore());
-                p.setCurrentDeck(player.getCurrentDeck());
-                p.setOriginalDeck(player.getOriginalDeck());
-                p.setHand(player.getHand());
-                p.setPlacedCards(player.getPlacedCards());
-                p.setScore(player.getScore());
-            });
+            Player player = playerService.updatePlayerSafely(playerId, p -> p.addLifetimeScore(points));
 
             // Submit lifetime score to leaderboard if player has a Nakama user ID
             if (player.getNakamaUserId() != null && !player.getNakamaUserId().isEmpty()) {
@@ -494,63 +601,43 @@ public class GameService {
             }
         }
 
-        // Award bonus points to the winner's lifetime score
-        if (winnerId != null && !gameModel.isTie()) {
-            Player winner = players.get(winnerId);
-            if (winner != null) {
-                // Add a victory bonus to lifetime score (e.g., 10 points)
-                int victoryBonus = 10;
-                winner.addLifetimeScore(victoryBonus);
-                
-                // Use updatePlayerSafely to prevent accidental data loss
-                playerService.updatePlayerSafely(winner.getId(), p -> {
-                    p.setLifetimeScore(winner.getLifetimeScore());
-                });
-
-                // Update leaderboard with the new lifetime score including victory bonus
-                if (winner.getNakamaUserId() != null && !winner.getNakamaUserId().isEmpty()) {
-                    nakamaLeaderBoardService.submitPlayerScore(winner.getNakamaUserId(), winner.getLifetimeScore(), 
-                        winner.getName());
-                }
+        return columnsWon;
+    }
+
+    /**
+     * Record history and update the per-player statistics read model for a saved, completed game.
+     * The result is inserted at most once per game, and the statistics only move when it was,
+     * so a retried or concurrent completion cannot count the game twice.
+     * These are derived data, so a failure here must not fail the move that finished the game.
+     */
+    private void recordCompletion(GameModel gameModel, Map<String, Integer> columnsWon) {
+        try {
+            GameResult result = gameResultService.recordCompletedGame(gameModel, columnsWon);
+            if (result != null) {
+                playerStatsService.recordGameCompletion(gameModel, columnsWon, result.getTimestampInGameResult());
             }
+        } catch (Exception e) {
+            logger.error("Failed to record result/statistics for game {}", gameModel.getId(), e);
         }
     }
 
     private void handleTurnSwitching(GameModel gameModel) {
         String currentPlayerId = gameModel.getCurrentPlayerId();
-        Player currentPlayer = playerService.getPlayer(currentPlayerId);
         
         // Try to switch to next player first
         switchToNextPlayer(gameModel);
         String nextPlayerId = gameModel.getCurrentPlayerId();
-        Player nextPlayer = playerService.getPlayer(nextPlayerId);
         
         // If next player has no valid moves, check if current player can continue
-        if (nextPlayer.getHand().isEmpty() || !hasValidMoves(gameModel, nextPlayer)) {
+        if (!hasValidMoves(gameModel, nextPlayerId)) {
             // Switch back to current player if they still have valid moves
-            if (!currentPlayer.getHand().isEmpty() && hasValidMoves(gameModel, currentPlayer)) {
+            if (hasValidMoves(gameModel, currentPlayerId)) {
                 gameModel.setCurrentPlayerId(currentPlayerId);
             }
             // If both players have no valid moves, the game will end on next check
         }
     }
 
-    /**
-     * Restore player's original deck and clean up temporary game state
-     */
-    private void restorePlayerOriginalState(Player player) {
-        // Restore original deck reference
-        if (player.getOriginalDeck() != null) {
-            player.setCurrentDeck(player.getOriginalDeck());
-            player.setOriginalDeck(null); // Clear temporary reference
-        }
-
-        // Clean up temporary game state
-        player.setHand(new ArrayList<>()); // Clear hand
-        player.setPlacedCards(new HashMap<>()); // Clear placed cards
-        player.setScore(0); // Reset game score (lifetime score already updated)
-    }
-
     private void switchToNextPlayer(GameModel gameModel) {
         List<String> playerIds = gameModel.getPlayerIds();
         int currentIndex = playerIds.indexOf(gameModel.getCurrentPlayerId());
@@ -568,6 +655,14 @@ public class GameService {
                 .orElseThrow(() -> new GameNotFoundException("Game not found: " + gameId));
     }
 
+    /**
+     * Find the player's most recently updated game that is still being played
+     */
+    public Optional<GameModel> findLatestActiveGame(String playerId) {
+        return gameRepository.findFirstByPlayerIdsContainingAndGameStateInOrderByUpdatedAtDesc(
+                playerId, List.of(GameState.INITIALIZED, GameState.IN_PROGRESS));
+    }
+
     /**
      * Get the formatted game results for a completed game
      *
@@ -0,0 +1,125 @@
+package com.cardgame.service;
+
+import com.cardgame.model.GameModel;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The latest state version and current player of recently used games, so polls can be answered
+ * (304, or the current player) without reading the game from MongoDB.
+ * <p>
+ * Every save stamps the game with a new {@link GameModel#getStateVersion() state version}: wall
+ * clock microseconds, bumped past the last stamp handed out, so versions only grow and two saves
+ * never share one even when they race. Saves, deletes and every game read from MongoDB update the
+ * cache; a version is only ever replaced by a higher one, so a read of an older copy cannot make
+ * the cache claim that copy is current.
+ * <p>
+ * Writes from other nodes are not seen, which is fine while one node serves all games (the
+ * WebSocket sessions assume the same).
+ */
+@Component
+public class GameVersionCache extends AbstractMongoEventListener<GameModel> implements BeforeConvertCallback<GameModel> {
+    private final AtomicLong lastStamp = new AtomicLong();
+    private final Cache<String, GameVersion> versions;
+
+    public GameVersionCache(@Value("${game.version-cache.max-games:100000}") long maxGames) {
+        this.versions = CacheBuilder.newBuilder().maximumSize(maxGames).build();
+    }
+
+    /**
+     * @return The latest known version of a game, or null if it has not been seen recently
+     */
+    public GameVersion get(String gameId) {
+        return versions.getIfPresent(gameId);
+    }
+
+    @Override
+    public GameModel onBeforeConvert(GameModel gameModel, String collection) {
+        long now = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+        gameModel.setStateVersion(lastStamp.updateAndGet(last -> Math.max(last + 1, now)));
+        return gameModel;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<GameModel> event) {
+        record(event.getSource());
+    }
+
+    @Override
+    public void onAfterConvert(AfterConvertEvent<GameModel> event) {
+        record(event.getSource());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<GameModel> event) {
+        // Deletes come by query (repository deletes by _id, admin cleanup by state or player)
+        Object id = event.getSource().get("_id");
+        if (id instanceof String gameId) {
+            versions.invalidate(gameId);
+        } else {
+            versions.invalidateAll();
+        }
+    }
+
+    /**
+     * Remember a game's version unless a newer one is already known
+     */
+    public void record(GameModel gameModel) {
+        if (gameModel.getId() == null) {
+            return;
+        }
+        GameVersion version = new GameVersion(gameModel.getStateVersion(), gameModel.getCurrentPlayerId());
+        versions.asMap().merge(gameModel.getId(), version,
+                (known, candidate) -> candidate.getVersion() > known.getVersion() ? candidate : known);
+    }
+
+    /**
+     * What a poll needs to know about a game without loading it
+     */
+    public static final class GameVersion {
+        private final long version;
+        private final String currentPlayerId;
+
+        public GameVersion(long version, String currentPlayerId) {
+            this.version = version;
+            this.currentPlayerId = currentPlayerId;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public String getCurrentPlayerId() {
+            return currentPlayerId;
+        }
+
+        /**
+         * ETag of the version alone, for answers that are the same for every player
+         */
+        public String etag() {
+            return "\"" + version + "\"";
+        }
+
+        /**
+         * ETag of the game as one player sees it (the DTO includes that player's hand)
+         */
+        public String etag(String viewerId) {
+            return etag(version, viewerId);
+        }
+
+        public static String etag(long version, String viewerId) {
+            return "\"" + version + "-" + viewerId + "\"";
+        }
+    }
+}
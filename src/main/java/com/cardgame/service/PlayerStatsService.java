@@ -0,0 +1,249 @@
+package com.cardgame.service;
+
+import com.cardgame.dto.ImmutablePlayerStatsDto;
+import com.cardgame.dto.PlayerStatsDto;
+import com.cardgame.model.GameModel;
+import com.cardgame.model.GameResult;
+import com.cardgame.model.PlayerStats;
+import com.cardgame.repository.PlayerStatsRepository;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the PlayerStats read model so that profile statistics are a single document read
+ */
+@Service
+public class PlayerStatsService {
+    private static final Logger logger = LoggerFactory.getLogger(PlayerStatsService.class);
+    private static final int REBUILD_CHUNK_SIZE = 100;
+    private static final int MAX_SWAP_ATTEMPTS = 5;
+
+    private final MongoTemplate mongoTemplate;
+    private final PlayerStatsRepository playerStatsRepository;
+    private final ExecutorService rebuildExecutor;
+
+    public PlayerStatsService(MongoTemplate mongoTemplate, PlayerStatsRepository playerStatsRepository,
+                              @Value("${stats.rebuild-threads:4}") int rebuildThreads) {
+        this.mongoTemplate = mongoTemplate;
+        this.playerStatsRepository = playerStatsRepository;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.rebuildExecutor = Executors.newFixedThreadPool(rebuildThreads, runnable -> {
+            Thread thread = new Thread(runnable, "stats-rebuild-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Record a completed game for every participant.
+     * Each player's statistics are changed by one pipeline update, so the longest streak is
+     * computed from the streak the same write produced and concurrent completions cannot lose it.
+     * A game at or before the player's rebuiltThrough mark was already counted by a rebuild and is skipped.
+     *
+     * @param gameModel The completed game
+     * @param columnsWon Columns won per player in this game
+     * @param completedAt Timestamp of the game's result
+     */
+    public void recordGameCompletion(GameModel gameModel, Map<String, Integer> columnsWon, long completedAt) {
+        String winnerId = gameModel.isTie() ? null : gameModel.getWinnerId();
+
+        for (String playerId : gameModel.getPlayerIds()) {
+            boolean won = playerId.equals(winnerId);
+            boolean tie = winnerId == null;
+            Document counted = new Document("$gt", List.of(completedAt, ifNull("rebuiltThrough", -1L)));
+
+            Document counters = new Document()
+                    .append("gamesPlayed", add(counted, "gamesPlayed", 1))
+                    .append("wins", add(counted, "wins", won ? 1 : 0))
+                    .append("losses", add(counted, "losses", !won && !tie ? 1 : 0))
+                    .append("ties", add(counted, "ties", tie ? 1 : 0))
+                    .append("columnsWon", add(counted, "columnsWon", columnsWon.getOrDefault(playerId, 0)))
+                    .append("currentWinStreak", cond(counted,
+                            won ? new Document("$add", List.of(ifNull("currentWinStreak", 0), 1)) : 0,
+                            "currentWinStreak"))
+                    .append("lastGameAt", new Document("$max", List.of(ifNull("lastGameAt", 0L), completedAt)));
+            // Later stages see the fields set by earlier ones
+            Document longest = new Document("longestWinStreak",
+                    new Document("$max", List.of(ifNull("longestWinStreak", 0), ifNull("currentWinStreak", 0))));
+
+            AggregationUpdate update = AggregationUpdate.from(List.of(
+                    context -> new Document("$set", counters),
+                    context -> new Document("$set", longest)));
+            mongoTemplate.upsert(Query.query(Criteria.where("id").is(playerId)), update, PlayerStats.class);
+        }
+    }
+
+    private static Document ifNull(String field, Object fallback) {
+        return new Document("$ifNull", Arrays.asList("$" + field, fallback));
+    }
+
+    private static Document add(Document counted, String field, int delta) {
+        return cond(counted, new Document("$add", List.of(ifNull(field, 0), delta)), field);
+    }
+
+    private static Document cond(Document counted, Object value, String field) {
+        return new Document("$cond", Arrays.asList(counted, value, ifNull(field, 0)));
+    }
+
+    /**
+     * Get a player's statistics with a single document read
+     * @param playerId The player ID
+     * @return The statistics, all zero if the player has not finished a game
+     */
+    public PlayerStatsDto getStats(String playerId) {
+        PlayerStats stats = playerStatsRepository.findById(playerId).orElseGet(() -> new PlayerStats(playerId));
+        return convertToDto(playerId, stats);
+    }
+
+    /**
+     * Recompute every player's statistics from the game result history.
+     * Players are processed in parallel chunks on the shared rebuild pool. Each player's statistics
+     * are built into a fresh document, marked rebuiltThrough its newest game, and swapped in only if
+     * no later game was recorded meanwhile; otherwise the player is rebuilt again. Completions at or
+     * before the mark are skipped by recordGameCompletion, so games finishing during a rebuild are
+     * counted exactly once.
+     *
+     * @return Number of players whose statistics were rebuilt
+     */
+    public int rebuildAll() {
+        TreeSet<String> playerIds = new TreeSet<>();
+        playerIds.addAll(mongoTemplate.findDistinct(new Query(), "player1Id", GameResult.class, String.class));
+        playerIds.addAll(mongoTemplate.findDistinct(new Query(), "player2Id", GameResult.class, String.class));
+
+        List<List<String>> chunks = new ArrayList<>();
+        List<String> current = new ArrayList<>(REBUILD_CHUNK_SIZE);
+        for (String playerId : playerIds) {
+            current.add(playerId);
+            if (current.size() == REBUILD_CHUNK_SIZE) {
+                chunks.add(current);
+                current = new ArrayList<>(REBUILD_CHUNK_SIZE);
+            }
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (List<String> chunk : chunks) {
+            futures.add(CompletableFuture.runAsync(() -> rebuildChunk(chunk), rebuildExecutor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        logger.info("Rebuilt player statistics for {} players in {} chunks", playerIds.size(), chunks.size());
+        return playerIds.size();
+    }
+
+    private void rebuildChunk(List<String> playerIds) {
+        List<String> pending = playerIds;
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            if (attempt > MAX_SWAP_ATTEMPTS) {
+                logger.warn("Gave up rebuilding statistics of {} players still receiving games: {}", pending.size(), pending);
+                return;
+            }
+            pending = swapIn(pending);
+        }
+    }
+
+    /**
+     * Replace each player's statistics with ones rebuilt from history, unless a game newer than
+     * the history read was recorded in the meantime
+     * @return The players whose swap was refused and who must be rebuilt again
+     */
+    private List<String> swapIn(List<String> playerIds) {
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PlayerStats.class);
+
+        for (String playerId : playerIds) {
+            PlayerStats stats = rebuild(playerId);
+            Query unchangedSince = Query.query(new Criteria().andOperator(
+                    Criteria.where("id").is(playerId),
+                    new Criteria().orOperator(
+                            Criteria.where("lastGameAt").lte(stats.getLastGameAt()),
+                            Criteria.where("lastGameAt").exists(false))));
+            bulkOps.replaceOne(unchangedSince, stats, FindAndReplaceOptions.options().upsert());
+        }
+
+        try {
+            bulkOps.execute();
+            return List.of();
+        } catch (BulkOperationException e) {
+            // A refused swap falls through to the upsert, which collides with the existing document
+            List<String> refused = new ArrayList<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCategory() != ErrorCategory.DUPLICATE_KEY) {
+                    throw e;
+                }
+                refused.add(playerIds.get(error.getIndex()));
+            }
+            return refused;
+        }
+    }
+
+    private PlayerStats rebuild(String playerId) {
+        PlayerStats stats = new PlayerStats(playerId);
+
+        Query history = Query.query(new Criteria().orOperator(
+                        Criteria.where("player1Id").is(playerId),
+                        Criteria.where("player2Id").is(playerId)))
+                .with(Sort.by(Sort.Direction.ASC, "timestamp"));
+        history.fields().include("winnerId", "player1Id", "player2Id", "player1Score", "player2Score", "timestamp");
+
+        try (Stream<GameResult> results = mongoTemplate.stream(history, GameResult.class)) {
+            results.forEach(result -> {
+                int columnsWon = playerId.equals(result.getPlayer1Id())
+                        ? result.getPlayer1Score()
+                        : result.getPlayer2Score();
+                stats.applyGame(result.getWinnerId(), columnsWon, result.getTimestampInGameResult());
+            });
+        }
+        stats.setRebuiltThrough(stats.getLastGameAt());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private PlayerStatsDto convertToDto(String playerId, PlayerStats stats) {
+        double averageColumnsWon = stats.getGamesPlayed() == 0
+                ? 0.0
+                : (double) stats.getColumnsWon() / stats.getGamesPlayed();
+
+        return ImmutablePlayerStatsDto.builder()
+                .playerId(playerId)
+                .gamesPlayed(stats.getGamesPlayed())
+                .wins(stats.getWins())
+                .losses(stats.getLosses())
+                .ties(stats.getTies())
+                .currentWinStreak(stats.getCurrentWinStreak())
+                .longestWinStreak(stats.getLongestWinStreak())
+                .averageColumnsWon(averageColumnsWon)
+                .lastGameAt(stats.getLastGameAt())
+                .build();
+    }
+}
@@ -0,0 +1,213 @@
+package com.cardgame.service.admin;
+
+import com.cardgame.dto.CursorPage;
+import com.cardgame.model.Card;
+import com.cardgame.model.Deck;
+import com.cardgame.model.GameModel;
+import com.cardgame.model.GameResult;
+import com.cardgame.model.GameScore;
+import com.cardgame.model.GameState;
+import com.cardgame.model.Player;
+import com.cardgame.model.PlayerStats;
+import com.cardgame.service.util.CursorCodec;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Admin listing and cleanup operations. Listings are keyset-paginated with
+ * projections and cleanups run as server-side deleteMany, so memory use does
+ * not grow with collection size.
+ */
+@Service
+public class AdminService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    private static final long COUNTS_CACHE_TTL_MILLIS = 10_000;
+
+    private final MongoTemplate mongoTemplate;
+
+    private volatile Map<String, Long> cachedCounts;
+    private volatile long cachedCountsExpiresAt;
+
+    public AdminService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * List player summaries ordered by ID
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param limit Requested page size (capped at MAX_PAGE_SIZE)
+     */
+    public CursorPage<Map<String, Object>> listPlayers(String cursor, int limit) {
+        Query query = pageQuery(cursor, limit);
+        query.fields().include("name", "email", "lifetime_score", "nakamaUserId");
+
+        return toPage(mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Player.class)),
+                limit, doc -> {
+                    Map<String, Object> item = new LinkedHashMap<>();
+                    item.put("id", doc.get("_id").toString());
+                    item.put("name", doc.getString("name"));
+                    item.put("email", doc.getString("email"));
+                    item.put("lifetimeScore", doc.get("lifetime_score", 0));
+                    item.put("hasNakamaAccount", doc.get("nakamaUserId") != null);
+                    return item;
+                });
+    }
+
+    /**
+     * List game summaries ordered by ID, optionally filtered by state
+     * @param state Game state to filter on, or null for all games
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param limit Requested page size (capped at MAX_PAGE_SIZE)
+     */
+    public CursorPage<Map<String, Object>> listGames(GameState state, String cursor, int limit) {
+        Query query = pageQuery(cursor, limit);
+        if (state != null) {
+            query.addCriteria(Criteria.where("gameState").is(state.name()));
+        }
+        query.fields().include("gameState", "gameMode", "playerIds", "currentPlayerId", "winnerId", "updatedAt");
+
+        return toPage(mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(GameModel.class)),
+                limit, doc -> {
+                    Map<String, Object> item = new LinkedHashMap<>();
+                    item.put("id", doc.get("_id").toString());
+                    item.put("gameState", doc.getString("gameState"));
+                    item.put("gameMode", doc.getString("gameMode"));
+                    item.put("playerIds", doc.getList("playerIds", String.class));
+                    item.put("currentPlayerId", doc.getString("currentPlayerId"));
+                    item.put("winnerId", doc.getString("winnerId"));
+                    item.put("updatedAt", doc.getDate("updatedAt"));
+                    return item;
+                });
+    }
+
+    /**
+     * Delete all games in the given state with a single deleteMany
+     * @return Number of deleted games
+     */
+    public long deleteGamesInState(GameState state) {
+        long deleted = mongoTemplate.remove(Query.query(Criteria.where("gameState").is(state)), GameModel.class)
+                .getDeletedCount();
+        invalidateCounts();
+        return deleted;
+    }
+
+    /**
+     * Delete a player together with their statistics, the games and game results they take part in
+     * and the decks they own
+     * @return Deleted document counts by collection
+     */
+    public Map<String, Long> deletePlayerData(String playerId) {
+        Map<String, Long> deleted = new LinkedHashMap<>();
+        deleted.put("playerStats", mongoTemplate.remove(
+                Query.query(Criteria.where("id").is(playerId)), PlayerStats.class).getDeletedCount());
+        deleted.put("gameResults", mongoTemplate.remove(Query.query(new Criteria().orOperator(
+                Criteria.where("player1Id").is(playerId),
+                Criteria.where("player2Id").is(playerId))), GameResult.class).getDeletedCount());
+        deleted.put("games", mongoTemplate.remove(
+                Query.query(Criteria.where("playerIds").is(playerId)), GameModel.class).getDeletedCount());
+        deleted.put("decks", mongoTemplate.remove(
+                Query.query(Criteria.where("ownerId").is(playerId)), Deck.class).getDeletedCount());
+        deleted.put("players", mongoTemplate.remove(
+                Query.query(Criteria.where("id").is(playerId)), Player.class).getDeletedCount());
+        invalidateCounts();
+        return deleted;
+    }
+
+    /**
+     * Delete every player, deck, game, game result, game score and player statistics document
+     * @return Deleted document counts by collection
+     */
+    public Map<String, Long> deleteAllPlayerData() {
+        Map<String, Long> deleted = new LinkedHashMap<>();
+        deleted.put("playerStats", mongoTemplate.remove(new Query(), PlayerStats.class).getDeletedCount());
+        deleted.put("gameScores", mongoTemplate.remove(new Query(), GameScore.class).getDeletedCount());
+        deleted.put("gameResults", mongoTemplate.remove(new Query(), GameResult.class).getDeletedCount());
+        deleted.put("games", mongoTemplate.remove(new Query(), GameModel.class).getDeletedCount());
+        deleted.put("decks", mongoTemplate.remove(new Query(), Deck.class).getDeletedCount());
+        deleted.put("players", mongoTemplate.remove(new Query(), Player.class).getDeletedCount());
+        invalidateCounts();
+        return deleted;
+    }
+
+    /**
+     * Approximate document counts from collection metadata, cached for a few seconds
+     */
+    public Map<String, Long> getDataCounts() {
+        Map<String, Long> counts = cachedCounts;
+        if (counts != null && System.currentTimeMillis() < cachedCountsExpiresAt) {
+            return counts;
+        }
+
+        counts = new LinkedHashMap<>();
+        counts.put("players", mongoTemplate.estimatedCount(Player.class));
+        counts.put("decks", mongoTemplate.estimatedCount(Deck.class));
+        counts.put("games", mongoTemplate.estimatedCount(GameModel.class));
+        counts.put("gameResults", mongoTemplate.estimatedCount(GameResult.class));
+        counts.put("gameScores", mongoTemplate.estimatedCount(GameScore.class));
+        counts.put("cards", mongoTemplate.estimatedCount(Card.class));
+
+        cachedCounts = counts;
+        cachedCountsExpiresAt = System.currentTimeMillis() + COUNTS_CACHE_TTL_MILLIS;
+        return counts;
+    }
+
+    private void invalidateCounts() {
+        cachedCounts = null;
+    }
+
+    private Query pageQuery(String cursor, int limit) {
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(clampPageSize(limit) + 1);  // one extra to know whether there is a next page
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] parts = CursorCodec.decode(cursor, 2);
+            if ("o".equals(parts[0])) {
+                query.addCriteria(Criteria.where("_id").gt(new ObjectId(parts[1])));
+            } else {
+                // String IDs sort before ObjectIds, so the remaining ObjectId documents still follow
+                query.addCriteria(new Criteria().orOperator(
+                        Criteria.where("_id").gt(parts[1]),
+                        Criteria.where("_id").type(7)));
+            }
+        }
+        return query;
+    }
+
+    private CursorPage<Map<String, Object>> toPage(List<Document> documents, int limit,
+                                                   Function<Document, Map<String, Object>> mapper) {
+        int pageSize = clampPageSize(limit);
+        boolean hasMore = documents.size() > pageSize;
+        List<Map<String, Object>> items = new ArrayList<>(Math.min(documents.size(), pageSize));
+        for (int i = 0; i < documents.size() && i < pageSize; i++) {
+            items.add(mapper.apply(documents.get(i)));
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            Object lastId = documents.get(pageSize - 1).get("_id");
+            nextCursor = lastId instanceof ObjectId objectId
+                    ? CursorCodec.encode("o", objectId.toHexString())
+                    : CursorCodec.encode("s", lastId.toString());
+        }
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    private int clampPageSize(int limit) {
+        if (limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+}
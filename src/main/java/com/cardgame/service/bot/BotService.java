@@ -0,0 +1,205 @@
+package com.cardgame.service.bot;
+
+import com.cardgame.dto.CardDto;
+import com.cardgame.dto.GameDto;
+import com.cardgame.dto.ImmutablePlayerAction;
+import com.cardgame.dto.PlayerAction;
+import com.cardgame.model.BotDifficulty;
+import com.cardgame.model.GameMode;
+import com.cardgame.model.GameModel;
+import com.cardgame.model.GameState;
+import com.cardgame.model.Player;
+import com.cardgame.service.CardCatalog;
+import com.cardgame.service.GameService;
+import com.cardgame.service.player.PlayerService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plays the second seat of BOT mode games.
+ * Bot turns never run on request threads: controllers call {@link #onGameUpdated(GameDto)} after
+ * a move, which queues the bot's turn on a bounded worker pool and returns immediately. Each
+ * worker runs the search on a shared fork-join pool, so the number of games thinking at once is
+ * capped by bot.workers and the CPU used per move by bot.search-parallelism. When the queue is
+ * full, the turn is handed to a single fallback thread that plays a cheap greedy move rather than
+ * dropping it.
+ */
+@Service
+public class BotService {
+    private static final Logger logger = LoggerFactory.getLogger(BotService.class);
+
+    public static final String BOT_PLAYER_ID = "bot";
+    private static final String BOT_PLAYER_NAME = "CardGame Bot";
+    private static final String BOT_PLAYER_EMAIL = "bot@cardgame.local";
+
+    private final GameService gameService;
+    private final PlayerService playerService;
+    private final CardCatalog cardCatalog;
+    private final ThreadPoolExecutor botWorkers;
+    // Greedy turns for games the workers had no room for; at most one entry per game, see gamesInFlight
+    private final ExecutorService fallbackWorker;
+    private final ForkJoinPool searchPool;
+    private final MctsBot mctsBot;
+
+    // Games with a bot turn queued or running, so repeated updates don't queue duplicate turns
+    private final Set<String> gamesInFlight = ConcurrentHashMap.newKeySet();
+
+    public BotService(GameService gameService,
+                      PlayerService playerService,
+                      CardCatalog cardCatalog,
+                      @Value("${bot.workers:2}") int workers,
+                      @Value("${bot.queue-capacity:100}") int queueCapacity,
+                      @Value("${bot.search-parallelism:0}") int searchParallelism) {
+        this.gameService = gameService;
+        this.playerService = playerService;
+        this.cardCatalog = cardCatalog;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.botWorkers = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bot-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.fallbackWorker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bot-fallback");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 0 means one search thread per core
+        this.searchPool = new ForkJoinPool(searchParallelism > 0
+                ? searchParallelism : Runtime.getRuntime().availableProcessors());
+        this.mctsBot = new MctsBot(searchPool);
+    }
+
+    /**
+     * Start a game in which the given player plays against the bot
+     */
+    public GameDto startBotGame(String playerId, String deckId, BotDifficulty difficulty) {
+        Player bot = getOrCreateBotPlayer();
+        return gameService.initializeBotGame(playerId, bot.getId(), deckId, bot.getCurrentDeckId(), difficulty);
+    }
+
+    /**
+     * Queue the bot's turn if it is the bot's move in a BOT mode game. Returns without waiting.
+     */
+    public void onGameUpdated(GameDto game) {
+        if (game.getState() != GameState.IN_PROGRESS || !BOT_PLAYER_ID.equals(game.getCurrentPlayerId())) {
+            return;
+        }
+        String gameId = game.getId();
+        if (!gamesInFlight.add(gameId)) {
+            return;
+        }
+        try {
+            botWorkers.execute(() -> playQueuedTurns(gameId, true));
+        } catch (RejectedExecutionException e) {
+            // Dropping the turn would leave the game waiting on the bot forever, so play a
+            // quick greedy move on the fallback thread instead of searching
+            logger.warn("Bot worker queue is full, queueing a greedy move for game {}", gameId);
+            try {
+                fallbackWorker.execute(() -> playQueuedTurns(gameId, false));
+            } catch (RejectedExecutionException shuttingDown) {
+                gamesInFlight.remove(gameId);
+            }
+        }
+    }
+
+    private void playQueuedTurns(String gameId, boolean search) {
+        try {
+            playBotTurns(gameId, search);
+        } catch (Exception e) {
+            logger.error("Bot failed to move in game {}", gameId, e);
+        } finally {
+            gamesInFlight.remove(gameId);
+        }
+    }
+
+    /**
+     * Move for the bot until it is the human's turn or the game is over.
+     * The bot may move several times in a row when the human has no valid placement.
+     * @param search Whether to search for moves, or play greedy ones
+     */
+    private void playBotTurns(String gameId, boolean search) {
+        while (true) {
+            GameModel gameModel = gameService.getGameModel(gameId);
+            if (gameModel.getGameMode() != GameMode.BOT
+                    || gameModel.getGameState() != GameState.IN_PROGRESS
+                    || !BOT_PLAYER_ID.equals(gameModel.getCurrentPlayerId())) {
+                return;
+            }
+            gameService.processMove(gameId, chooseAction(gameModel, search));
+        }
+    }
+
+    private PlayerAction chooseAction(GameModel gameModel, boolean search) {
+        ImmutablePlayerAction.Builder action = ImmutablePlayerAction.builder()
+                .playerId(BOT_PLAYER_ID)
+                .timestamp(System.currentTimeMillis());
+
+        // The bot always plays on rather than settling early
+        if (gameModel.hasPendingWinRequest()) {
+            return action.type(PlayerAction.ActionType.RESPOND_TO_WIN_REQUEST).actionData(false).build();
+        }
+
+        BotDifficulty difficulty = gameModel.getBotDifficulty() != null
+                ? gameModel.getBotDifficulty() : BotDifficulty.MEDIUM;
+        MctsBot.BotMove move = search
+                ? mctsBot.chooseMove(gameModel, difficulty, cardCatalog::powerOf, unseenPool())
+                : MctsBot.greedyMove(gameModel, cardCatalog::powerOf);
+        if (move == null) {
+            return action.type(PlayerAction.ActionType.PASS).build();
+        }
+        return action.type(PlayerAction.ActionType.PLACE_CARD)
+                .card(cardCatalog.requireCard(move.getCardId()))
+                .targetPosition(move.getPosition())
+                .build();
+    }
+
+    /**
+     * The human's hidden cards may be any catalog card
+     */
+    private int[] unseenPool() {
+        return cardCatalog.allDtos().stream().mapToInt(CardDto::getPower).toArray();
+    }
+
+    private synchronized Player getOrCreateBotPlayer() {
+        Player bot = playerService.getPlayers(List.of(BOT_PLAYER_ID)).get(BOT_PLAYER_ID);
+        if (bot == null) {
+            bot = new Player();
+            bot.setId(BOT_PLAYER_ID);
+            bot.setName(BOT_PLAYER_NAME);
+            bot.setEmail(BOT_PLAYER_EMAIL);
+            playerService.savePlayer(bot);
+            logger.info("Created bot player");
+        }
+        if (bot.getCurrentDeckId() == null) {
+            playerService.createDefaultDeckForPlayer(BOT_PLAYER_ID);
+            bot = playerService.getPlayer(BOT_PLAYER_ID);
+        }
+        return bot;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        botWorkers.shutdownNow();
+        fallbackWorker.shutdownNow();
+        searchPool.shutdownNow();
+    }
+}
@@ -0,0 +1,155 @@
+package com.cardgame.service.bot;
+
+import com.cardgame.model.BotDifficulty;
+import com.cardgame.model.GameModel;
+import com.cardgame.model.Position;
+import com.cardgame.service.simulation.GreedyPolicy;
+import com.cardgame.service.util.PlayoutState;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToIntFunction;
+
+/**
+ * Chooses the bot's move with root-parallel Monte-Carlo tree search: every worker of the
+ * fork-join pool grows its own tree from the current position under the same deadline, and
+ * the move with the most visits summed over all trees is played. Trees share nothing while
+ * searching, so there is no locking on the hot path.
+ * <p>
+ * The bot does not see its opponent's hand: each tree searches a determinization in which the
+ * opponent's hand is dealt at random from the unseen card pool, so the merged visits weigh a move
+ * over several possible hands instead of the real one.
+ */
+public class MctsBot {
+    private static final GreedyPolicy GREEDY = new GreedyPolicy();
+
+    private final ForkJoinPool searchPool;
+
+    public MctsBot(ForkJoinPool searchPool) {
+        this.searchPool = searchPool;
+    }
+
+    /**
+     * Choose a move for the current player of a game
+     * @param cardPower Power of a card by card ID
+     * @param unseenPool Powers the opponent's hidden cards may have (e.g. those of every catalog card)
+     * @return The move, or null if the current player has no legal move
+     */
+    public BotMove chooseMove(GameModel gameModel, BotDifficulty difficulty, ToIntFunction<String> cardPower,
+                              int[] unseenPool) {
+        long deadlineNanos = System.nanoTime() + difficulty.getMoveTimeBudget().toNanos();
+        PlayoutState rootState = PlayoutState.from(gameModel, cardPower);
+        if (rootState.isTerminal()) {
+            return null;
+        }
+
+        int[] legalMoves = new int[rootState.maxMoves()];
+        int legalCount = rootState.legalMoves(legalMoves);
+        if (legalCount == 0) {
+            return null;
+        }
+        if (legalCount == 1) {
+            return toBotMove(rootState, legalMoves[0]);
+        }
+
+        int opponent = 1 - rootState.currentPlayer();
+        int workers = searchPool.getParallelism();
+        int simulationsPerWorker = Math.max(1, difficulty.getMaxSimulations() / workers);
+        List<Callable<MctsSearch>> searches = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            long seed = ThreadLocalRandom.current().nextLong();
+            searches.add(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                PlayoutState determinized = rootState.withHandDealtFrom(opponent, unseenPool, random);
+                MctsSearch search = new MctsSearch(determinized, random.nextLong());
+                search.run(deadlineNanos, simulationsPerWorker);
+                return search;
+            });
+        }
+
+        Map<Integer, Integer> visitsByMove = new HashMap<>();
+        for (Future<MctsSearch> future : searchPool.invokeAll(searches)) {
+            MctsSearch search = getSearch(future);
+            int[] moves = search.rootMoves();
+            int[] visits = search.rootVisits();
+            for (int i = 0; i < moves.length; i++) {
+                visitsByMove.merge(moves[i], visits[i], Integer::sum);
+            }
+        }
+
+        // The deadline can pass before a slow worker expands anything; fall back to any legal move
+        int bestMove = legalMoves[0];
+        int bestVisits = -1;
+        for (Map.Entry<Integer, Integer> entry : visitsByMove.entrySet()) {
+            if (entry.getValue() > bestVisits) {
+                bestVisits = entry.getValue();
+                bestMove = entry.getKey();
+            }
+        }
+        return toBotMove(rootState, bestMove);
+    }
+
+    /**
+     * Choose a move for the current player with GreedyPolicy, without searching.
+     * Used when there is no capacity for a search.
+     * @return The move, or null if the current player has no legal move
+     */
+    public static BotMove greedyMove(GameModel gameModel, ToIntFunction<String> cardPower) {
+        PlayoutState rootState = PlayoutState.from(gameModel, cardPower);
+        if (rootState.isTerminal()) {
+            return null;
+        }
+        int[] legalMoves = new int[rootState.maxMoves()];
+        int legalCount = rootState.legalMoves(legalMoves);
+        if (legalCount == 0) {
+            return null;
+        }
+        SplittableRandom random = new SplittableRandom(ThreadLocalRandom.current().nextLong());
+        return toBotMove(rootState, GREEDY.chooseMove(rootState, legalMoves, legalCount, random));
+    }
+
+    private static MctsSearch getSearch(Future<MctsSearch> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while searching for a bot move", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Bot search failed", e.getCause());
+        }
+    }
+
+    private static BotMove toBotMove(PlayoutState rootState, int move) {
+        String cardId = rootState.handCardIds(rootState.currentPlayer())[move / rootState.cellCount()];
+        return new BotMove(cardId, rootState.positionOf(move));
+    }
+
+    /**
+     * A card from the bot's hand and where to place it
+     */
+    public static class BotMove {
+        private final String cardId;
+        private final Position position;
+
+        public BotMove(String cardId, Position position) {
+            this.cardId = cardId;
+            this.position = position;
+        }
+
+        public String getCardId() {
+            return cardId;
+        }
+
+        public Position getPosition() {
+            return position;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.cardgame.service.bot;
+
+import com.cardgame.service.util.PlayoutState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Single-threaded UCT search over one tree. Each simulation selects down the tree by UCB1,
+ * expands one untried move, plays the rest of the game out at random and backs the result
+ * up from the point of view of the player who moved into each node.
+ * Instances are not thread safe; MctsBot runs one per worker and merges their root statistics.
+ */
+final class MctsSearch {
+    private static final double EXPLORATION = Math.sqrt(2);
+
+    private final PlayoutState rootState;
+    private final SplittableRandom random;
+    private final Node root;
+    private final int[] moveBuffer;
+
+    MctsSearch(PlayoutState rootState, long seed) {
+        this.rootState = rootState;
+        this.random = new SplittableRandom(seed);
+        this.moveBuffer = new int[rootState.maxMoves()];
+        this.root = new Node(null, -1, -1, rootState);
+    }
+
+    /**
+     * Run simulations until the deadline passes or the simulation cap is reached
+     * @param deadlineNanos A System.nanoTime() value
+     * @return The number of simulations run
+     */
+    int run(long deadlineNanos, int maxSimulations) {
+        int simulations = 0;
+        while (simulations < maxSimulations && System.nanoTime() < deadlineNanos) {
+            simulate();
+            simulations++;
+        }
+        return simulations;
+    }
+
+    /**
+     * Root moves and their visit counts, in matching order
+     */
+    int[] rootMoves() {
+        int[] moves = new int[root.children.size()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = root.children.get(i).move;
+        }
+        return moves;
+    }
+
+    int[] rootVisits() {
+        int[] visits = new int[root.children.size()];
+        for (int i = 0; i < visits.length; i++) {
+            visits[i] = root.children.get(i).visits;
+        }
+        return visits;
+    }
+
+    private void simulate() {
+        PlayoutState state = rootState.copy();
+        Node node = root;
+
+        // Selection
+        while (node.untriedCount == 0 && !node.children.isEmpty()) {
+            node = node.selectChild();
+            state.apply(node.move);
+        }
+
+        // Expansion
+        if (node.untriedCount > 0) {
+            int pick = random.nextInt(node.untriedCount);
+            int move = node.untried[pick];
+            node.untried[pick] = node.untried[--node.untriedCount];
+            int mover = state.currentPlayer();
+            state.apply(move);
+            Node child = new Node(node, move, mover, state);
+            node.children.add(child);
+            node = child;
+        }
+
+        // Playout
+        while (!state.isTerminal()) {
+            int count = state.legalMoves(moveBuffer);
+            state.apply(moveBuffer[random.nextInt(count)]);
+        }
+
+        // Backpropagation
+        double firstPlayerResult = state.outcome(0);
+        for (Node n = node; n != null; n = n.parent) {
+            n.visits++;
+            if (n.mover >= 0) {
+                n.wins += n.mover == 0 ? firstPlayerResult : 1.0 - firstPlayerResult;
+            }
+        }
+    }
+
+    private static final class Node {
+        final Node parent;
+        final int move;
+        final int mover;   // player who made the move leading here, -1 at the root
+        final List<Node> children = new ArrayList<>();
+        final int[] untried;
+        int untriedCount;
+        int visits;
+        double wins;
+
+        Node(Node parent, int move, int mover, PlayoutState state) {
+            this.parent = parent;
+            this.move = move;
+            this.mover = mover;
+            if (state.isTerminal()) {
+                this.untried = new int[0];
+            } else {
+                int[] buffer = new int[state.maxMoves()];
+                this.untriedCount = state.legalMoves(buffer);
+                this.untried = Arrays.copyOf(buffer, untriedCount);
+            }
+        }
+
+        Node selectChild() {
+            double logVisits = Math.log(visits);
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (Node child : children) {
+                double value = child.wins / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.cardgame.service.metrics;
+
+/**
+ * How a game ended, the "end" tag of the game lifecycle metrics
+ */
+public enum GameEndCondition {
+    BOARD_FULL,
+    NO_VALID_MOVES,         // neither player can place a card
+    WIN_REQUEST_ACCEPTED,
+    ABANDONED               // cleared by a player before it finished
+}
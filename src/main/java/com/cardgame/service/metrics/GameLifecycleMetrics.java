@@ -0,0 +1,136 @@
+package com.cardgame.service.metrics;
+
+import com.cardgame.model.GameModel;
+import com.cardgame.model.PlayerGameState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * The shape of games, for capacity planning (concurrent games x moves per second):
+ * <ul>
+ *   <li>game.ended.total, game.duration, game.moves and game.passes, tagged by game mode and
+ *   end condition. Abandonment rate is game.ended.total{end="ABANDONED"} over all ended games.</li>
+ *   <li>game.first.move.duration, from creation to the first move, by game mode.</li>
+ *   <li>game.win.request.responses.total, by game mode and whether the request was accepted.</li>
+ *   <li>match.wait.duration, from createMatch until the match is joined or given up.</li>
+ * </ul>
+ */
+public class GameLifecycleMetrics {
+    private final MeterRegistry meterRegistry;
+
+    public GameLifecycleMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Record a game that has just ended
+     */
+    public void recordEnded(GameModel gameModel, GameEndCondition endCondition) {
+        String mode = modeTag(gameModel);
+        String end = endCondition.name();
+
+        Counter.builder("game.ended.total")
+                .description("Games that ended, by how they ended")
+                .tag("mode", mode)
+                .tag("end", end)
+                .register(meterRegistry)
+                .increment();
+
+        if (gameModel.getCreatedAt() != null) {
+            Timer.builder("game.duration")
+                    .description("Time from creating a game to its end")
+                    .tag("mode", mode)
+                    .tag("end", end)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofSeconds(1))
+                    .maximumExpectedValue(Duration.ofHours(2))
+                    .register(meterRegistry)
+                    .record(Duration.between(gameModel.getCreatedAt(), Instant.now()));
+        }
+
+        DistributionSummary.builder("game.moves")
+                .description("Cards placed by players per game, not counting the opening cards")
+                .tag("mode", mode)
+                .tag("end", end)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(64.0)
+                .register(meterRegistry)
+                .record(cardsPlayed(gameModel));
+
+        DistributionSummary.builder("game.passes")
+                .description("Passes per game")
+                .tag("mode", mode)
+                .tag("end", end)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(64.0)
+                .register(meterRegistry)
+                .record(gameModel.getPassCount());
+    }
+
+    /**
+     * Record a game's first move; call once, when its firstMoveAt is set
+     */
+    public void recordFirstMove(GameModel gameModel) {
+        if (gameModel.getCreatedAt() == null || gameModel.getFirstMoveAt() == null) {
+            return;
+        }
+        Timer.builder("game.first.move.duration")
+                .description("Time from creating a game to its first move")
+                .tag("mode", modeTag(gameModel))
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(100))
+                .maximumExpectedValue(Duration.ofMinutes(10))
+                .register(meterRegistry)
+                .record(Duration.between(gameModel.getCreatedAt(), gameModel.getFirstMoveAt()));
+    }
+
+    public void recordWinRequestResponse(GameModel gameModel, boolean accepted) {
+        Counter.builder("game.win.request.responses.total")
+                .description("Responses to win requests")
+                .tag("mode", modeTag(gameModel))
+                .tag("accepted", Boolean.toString(accepted))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Record how long an online match waited for its second player
+     * @param joined False if the match was removed before anyone joined
+     */
+    public void recordMatchWait(Instant matchCreatedAt, boolean joined) {
+        if (matchCreatedAt == null) {
+            return;
+        }
+        Timer.builder("match.wait.duration")
+                .description("Time from createMatch until the match was joined or given up")
+                .tag("outcome", joined ? "joined" : "abandoned")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(100))
+                .maximumExpectedValue(Duration.ofMinutes(30))
+                .register(meterRegistry)
+                .record(Duration.between(matchCreatedAt, Instant.now()));
+    }
+
+    private static int cardsPlayed(GameModel gameModel) {
+        if (gameModel.getPlayerStates() == null) {
+            return 0;
+        }
+        int placed = 0;
+        for (PlayerGameState playerState : gameModel.getPlayerStates().values()) {
+            if (playerState.getPlacedCards() != null) {
+                // Each player's first card is placed by the game, not played
+                placed += Math.max(0, playerState.getPlacedCards().size() - 1);
+            }
+        }
+        return placed;
+    }
+
+    private static String modeTag(GameModel gameModel) {
+        return gameModel.getGameMode() != null ? gameModel.getGameMode().name() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,121 @@
+package com.cardgame.service.metrics;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Size of Mongo replies: documents returned per cursor batch (find, aggregate, getMore) and
+ * bytes per reply, tagged like mongodb.driver.commands with command, collection and the
+ * repository method that sent the command. Together with the command timer this shows which
+ * call sites read many or large documents, and which issue many small reads.
+ * <p>
+ * Replies that are not already raw BSON are re-encoded to measure them, which costs about as much
+ * as decoding them did; metrics.mongo.replies.enabled=false turns the listener off.
+ */
+public class MongoReplyMetricsListener implements CommandListener {
+    private static final BsonDocumentCodec CODEC = new BsonDocumentCodec();
+    private static final EncoderContext ENCODER_CONTEXT = EncoderContext.builder().build();
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Integer, Tags> startedCommands = new ConcurrentHashMap<>();
+
+    public MongoReplyMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        startedCommands.put(event.getRequestId(), Tags.of(
+                "command", event.getCommandName(),
+                "collection", collectionName(event),
+                "repository", RepositoryCallContext.current()));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Tags tags = startedCommands.remove(event.getRequestId());
+        if (tags == null || event.getResponse() == null) {
+            return;
+        }
+        BsonDocument response = event.getResponse();
+
+        DistributionSummary.builder("mongodb.driver.reply.bytes")
+                .description("Size of Mongo command replies")
+                .baseUnit("bytes")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(sizeInBytes(response));
+
+        int documents = batchSize(response);
+        if (documents >= 0) {
+            DistributionSummary.builder("mongodb.driver.reply.documents")
+                    .description("Documents returned per cursor batch")
+                    .baseUnit("documents")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(documents);
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        startedCommands.remove(event.getRequestId());
+    }
+
+    /**
+     * The collection a command targets: the value of the command name for most commands, the
+     * collection field for getMore
+     */
+    public static String collectionName(CommandStartedEvent event) {
+        BsonDocument command = event.getCommand();
+        BsonValue target = command.get(event.getCommandName());
+        if (target != null && target.isString()) {
+            return target.asString().getValue();
+        }
+        BsonValue collection = command.get("collection");
+        return collection != null && collection.isString() ? collection.asString().getValue() : "unknown";
+    }
+
+    /**
+     * @return Documents in a cursor reply's batch, or -1 if the reply has no cursor
+     */
+    static int batchSize(BsonDocument response) {
+        BsonValue cursor = response.get("cursor");
+        if (cursor == null || !cursor.isDocument()) {
+            return -1;
+        }
+        BsonValue batch = cursor.asDocument().get("firstBatch");
+        if (batch == null) {
+            batch = cursor.asDocument().get("nextBatch");
+        }
+        return batch != null && batch.isArray() ? batch.asArray().size() : -1;
+    }
+
+    static int sizeInBytes(BsonDocument document) {
+        if (document instanceof RawBsonDocument raw) {
+            return raw.getByteBuffer().remaining();
+        }
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            CODEC.encode(writer, document, ENCODER_CONTEXT);
+        }
+        return buffer.getPosition();
+    }
+}
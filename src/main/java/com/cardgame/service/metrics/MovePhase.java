@@ -0,0 +1,26 @@
+package com.cardgame.service.metrics;
+
+/**
+ * Phases of handling a move, in the order they run. Each becomes the "phase" tag of
+ * game.move.phase.duration.
+ */
+public enum MovePhase {
+    LOAD("load"),               // gameRepository.findById (after the match lookup for WebSocket moves)
+    VALIDATE("validate"),       // turn and placement rules
+    EXECUTE("execute"),         // the move strategy
+    RESOLVE("resolve"),         // game-over check, scoring and finalization, or turn switching
+    SAVE("save"),               // gameRepository.save
+    CONVERT("convert"),         // DTO returned by processMove
+    RELOAD("reload"),           // the WebSocket handler reading the game back after the move
+    FANOUT("fanout");           // per-player DTOs and GAME_STATE_UPDATE sends
+
+    private final String tag;
+
+    MovePhase(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
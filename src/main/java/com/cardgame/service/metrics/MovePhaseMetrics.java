@@ -0,0 +1,181 @@
+package com.cardgame.service.metrics;
+
+import com.cardgame.dto.PlayerAction;
+import com.cardgame.jfr.MoveEvent;
+import com.cardgame.model.GameMode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Per-phase latency of moves (see {@link MovePhase}), tagged by action type and game mode, plus a
+ * warning with the phase breakdown for every move slower than a threshold.
+ * <p>
+ * Whoever receives a move calls {@link #start} and {@link #finish}; code in between laps the
+ * trace. Timers are registered the first time a phase/action/mode combination is seen and looked
+ * up by array index afterwards, so recording a move does not allocate. Every move is also a
+ * {@link MoveEvent} for flight recordings, created only while a recording has the event enabled.
+ * When timers are disabled and no recording wants move events, start returns a shared trace that
+ * does nothing and finish returns immediately.
+ */
+public class MovePhaseMetrics {
+    private static final Logger logger = LoggerFactory.getLogger(MovePhaseMetrics.class);
+
+    private static final MovePhase[] PHASES = MovePhase.values();
+    private static final PlayerAction.ActionType[] ACTION_TYPES = PlayerAction.ActionType.values();
+    private static final GameMode[] GAME_MODES = GameMode.values();
+    private static final int MODE_SLOTS = GAME_MODES.length + 1;   // last slot: game never loaded
+    // Checking the type instead of a new event keeps moves allocation-free while nothing records them
+    private static final EventType MOVE_EVENT = EventType.getEventType(MoveEvent.class);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long slowMoveThresholdNanos;
+    private final AtomicReferenceArray<Timer> phaseTimers;
+    private final AtomicReferenceArray<Timer> moveTimers;
+
+    /**
+     * @param slowMoveThreshold Moves taking longer are logged with their phases; zero turns the log off
+     */
+    public MovePhaseMetrics(MeterRegistry meterRegistry, boolean enabled, Duration slowMoveThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.slowMoveThresholdNanos = slowMoveThreshold.isZero() || slowMoveThreshold.isNegative()
+                ? Long.MAX_VALUE : slowMoveThreshold.toNanos();
+        this.phaseTimers = new AtomicReferenceArray<>(PHASES.length * ACTION_TYPES.length * MODE_SLOTS);
+        this.moveTimers = new AtomicReferenceArray<>(ACTION_TYPES.length * MODE_SLOTS * 2);
+    }
+
+    /**
+     * Start timing a move at the point it was received
+     */
+    public MoveTrace start(PlayerAction.ActionType actionType) {
+        MoveEvent event = null;
+        if (MOVE_EVENT.isEnabled()) {
+            event = new MoveEvent();
+            event.begin();
+        } else if (!enabled) {
+            return MoveTrace.DISABLED;
+        }
+        return new MoveTrace(actionType, System.nanoTime(), event);
+    }
+
+    /**
+     * Record a move's phases and total time
+     * @param succeeded False if the move was rejected or failed part way
+     */
+    public void finish(MoveTrace trace, boolean succeeded) {
+        if (!trace.isEnabled()) {
+            return;
+        }
+        long totalNanos = System.nanoTime() - trace.getStartNanos();
+        int action = trace.getActionType().ordinal();
+        int mode = trace.getGameMode() != null ? trace.getGameMode().ordinal() : GAME_MODES.length;
+
+        commitEvent(trace, modeTag(mode), succeeded);
+        if (!enabled) {
+            return;
+        }
+
+        for (MovePhase phase : PHASES) {
+            if (trace.hasRun(phase)) {
+                phaseTimer(phase, action, mode).record(trace.getPhaseNanos(phase), TimeUnit.NANOSECONDS);
+            }
+        }
+        moveTimer(action, mode, succeeded).record(totalNanos, TimeUnit.NANOSECONDS);
+
+        if (totalNanos > slowMoveThresholdNanos) {
+            logger.warn("Slow move: {} in game {} ({}) took {} ms{} [{}]",
+                    trace.getActionType(), trace.getGameId(), modeTag(mode), millis(totalNanos),
+                    succeeded ? "" : " and failed", breakdown(trace));
+        }
+    }
+
+    private static void commitEvent(MoveTrace trace, String mode, boolean succeeded) {
+        MoveEvent event = trace.getEvent();
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.gameId = trace.getGameId();
+        event.actionType = trace.getActionType().name();
+        event.gameMode = mode;
+        event.succeeded = succeeded;
+        event.load = trace.getPhaseNanos(MovePhase.LOAD);
+        event.validate = trace.getPhaseNanos(MovePhase.VALIDATE);
+        event.execute = trace.getPhaseNanos(MovePhase.EXECUTE);
+        event.resolve = trace.getPhaseNanos(MovePhase.RESOLVE);
+        event.save = trace.getPhaseNanos(MovePhase.SAVE);
+        event.convert = trace.getPhaseNanos(MovePhase.CONVERT);
+        event.reload = trace.getPhaseNanos(MovePhase.RELOAD);
+        event.fanout = trace.getPhaseNanos(MovePhase.FANOUT);
+        event.commit();
+    }
+
+    private Timer phaseTimer(MovePhase phase, int action, int mode) {
+        int index = (phase.ordinal() * ACTION_TYPES.length + action) * MODE_SLOTS + mode;
+        Timer timer = phaseTimers.get(index);
+        if (timer == null) {
+            // Registering is idempotent, so a race here ends with both threads holding the same timer
+            timer = Timer.builder("game.move.phase.duration")
+                    .description("Time spent in one phase of handling a move")
+                    .tag("phase", phase.getTag())
+                    .tag("action", ACTION_TYPES[action].name())
+                    .tag("mode", modeTag(mode))
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(100_000))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(meterRegistry);
+            phaseTimers.set(index, timer);
+        }
+        return timer;
+    }
+
+    private Timer moveTimer(int action, int mode, boolean succeeded) {
+        int index = (action * MODE_SLOTS + mode) * 2 + (succeeded ? 0 : 1);
+        Timer timer = moveTimers.get(index);
+        if (timer == null) {
+            timer = Timer.builder("game.move.duration")
+                    .description("Time to handle a move, from receiving it to the last update sent")
+                    .tag("action", ACTION_TYPES[action].name())
+                    .tag("mode", modeTag(mode))
+                    .tag("outcome", succeeded ? "success" : "error")
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(100_000))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(meterRegistry);
+            moveTimers.set(index, timer);
+        }
+        return timer;
+    }
+
+    private static String modeTag(int mode) {
+        return mode < GAME_MODES.length ? GAME_MODES[mode].name() : "UNKNOWN";
+    }
+
+    private static String breakdown(MoveTrace trace) {
+        StringBuilder breakdown = new StringBuilder();
+        for (MovePhase phase : PHASES) {
+            if (trace.hasRun(phase)) {
+                if (breakdown.length() > 0) {
+                    breakdown.append(", ");
+                }
+                breakdown.append(phase.getTag()).append('=').append(millis(trace.getPhaseNanos(phase))).append(" ms");
+            }
+        }
+        return breakdown.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,94 @@
+package com.cardgame.service.metrics;
+
+import com.cardgame.dto.PlayerAction;
+import com.cardgame.jfr.MoveEvent;
+import com.cardgame.model.GameMode;
+import com.cardgame.model.GameModel;
+
+/**
+ * Phase timings of one move. Each {@link #lap(MovePhase)} charges the time since the previous
+ * lap to a phase, so the phases add up to the whole move. A trace belongs to the thread handling
+ * the move and is not thread-safe.
+ * <p>
+ * When phase timing is disabled and no flight recording wants move events, every move shares
+ * {@link #DISABLED}, whose methods return without reading the clock.
+ */
+public final class MoveTrace {
+    static final MoveTrace DISABLED = new MoveTrace(null, 0, null);
+
+    private final PlayerAction.ActionType actionType;
+    private final long startNanos;
+    private final long[] phaseNanos;
+    private final MoveEvent event;
+    private int phasesRun;              // bit per MovePhase ordinal
+    private long lastLapNanos;
+    private String gameId;
+    private GameMode gameMode;
+
+    MoveTrace(PlayerAction.ActionType actionType, long startNanos, MoveEvent event) {
+        this.actionType = actionType;
+        this.startNanos = startNanos;
+        this.lastLapNanos = startNanos;
+        this.phaseNanos = actionType != null ? new long[MovePhase.values().length] : null;
+        this.event = event;
+    }
+
+    public boolean isEnabled() {
+        return phaseNanos != null;
+    }
+
+    /**
+     * Charge the time since the previous lap (or the start of the move) to a phase
+     */
+    public void lap(MovePhase phase) {
+        if (phaseNanos == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        phaseNanos[phase.ordinal()] += now - lastLapNanos;
+        phasesRun |= 1 << phase.ordinal();
+        lastLapNanos = now;
+    }
+
+    /**
+     * Record which game the move is for, once it is loaded
+     */
+    public void setGame(GameModel gameModel) {
+        if (phaseNanos == null) {
+            return;
+        }
+        this.gameId = gameModel.getId();
+        this.gameMode = gameModel.getGameMode();
+    }
+
+    PlayerAction.ActionType getActionType() {
+        return actionType;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    boolean hasRun(MovePhase phase) {
+        return (phasesRun & (1 << phase.ordinal())) != 0;
+    }
+
+    long getPhaseNanos(MovePhase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    String getGameId() {
+        return gameId;
+    }
+
+    GameMode getGameMode() {
+        return gameMode;
+    }
+
+    /**
+     * @return The flight recording event, or null if no recording wanted it when the move started
+     */
+    MoveEvent getEvent() {
+        return event;
+    }
+}
@@ -0,0 +1,69 @@
+package com.cardgame.service.metrics;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Tracks which repository method the current thread is in, so the Mongo commands it sends can be
+ * attributed to it. Repository proxies get an {@link Interceptor} (see MongoMetricsConfig);
+ * commands sent outside any repository, for example through MongoTemplate, report {@link #NONE}.
+ * The outermost repository call is also a "repository.call" observation, so its commands are
+ * grouped under one span.
+ */
+public final class RepositoryCallContext {
+    public static final String NONE = "none";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private RepositoryCallContext() {
+    }
+
+    /**
+     * @return "Repository.method" of the outermost repository call on this thread, or NONE
+     */
+    public static String current() {
+        String method = CURRENT.get();
+        return method != null ? method : NONE;
+    }
+
+    /**
+     * Marks calls through one repository proxy. Nested calls (a default method calling another
+     * repository method) keep the outer name, since that is the call site worth looking at.
+     */
+    public static class Interceptor implements MethodInterceptor {
+        private final String repositoryName;
+        private final Supplier<ObservationRegistry> observationRegistry;
+        private final Map<Method, String> names = new ConcurrentHashMap<>();
+
+        /**
+         * @param observationRegistry Resolved on first use, since repositories can be created before it
+         */
+        public Interceptor(Class<?> repositoryInterface, Supplier<ObservationRegistry> observationRegistry) {
+            this.repositoryName = repositoryInterface.getSimpleName();
+            this.observationRegistry = observationRegistry;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            if (CURRENT.get() != null) {
+                return invocation.proceed();
+            }
+            String name = names.computeIfAbsent(invocation.getMethod(), method -> repositoryName + "." + method.getName());
+            CURRENT.set(name);
+            try {
+                return Observation.createNotStarted("repository.call", observationRegistry.get())
+                        .lowCardinalityKeyValue("method", name)
+                        .observeChecked(invocation::proceed);
+            } finally {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.cardgame.service.metrics;
+
+import com.mongodb.event.CommandEvent;
+import com.mongodb.event.CommandStartedEvent;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.mongodb.DefaultMongoCommandTagsProvider;
+import io.micrometer.core.instrument.binder.mongodb.MongoCommandTagsProvider;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Micrometer's default mongodb.driver.commands tags (command, collection, cluster, server,
+ * status) plus the repository method that sent the command. The method is captured when the
+ * command starts, on the calling thread, and looked up by request ID when it completes.
+ */
+public class RepositoryMongoCommandTagsProvider implements MongoCommandTagsProvider {
+    private final DefaultMongoCommandTagsProvider defaultTags = new DefaultMongoCommandTagsProvider();
+    private final Map<Integer, String> repositoryMethods = new ConcurrentHashMap<>();
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        defaultTags.commandStarted(event);
+        repositoryMethods.put(event.getRequestId(), RepositoryCallContext.current());
+    }
+
+    @Override
+    public Iterable<Tag> commandTags(CommandEvent event) {
+        String repositoryMethod = repositoryMethods.remove(event.getRequestId());
+        return Tags.of(defaultTags.commandTags(event))
+                .and("repository", repositoryMethod != null ? repositoryMethod : RepositoryCallContext.NONE);
+    }
+}
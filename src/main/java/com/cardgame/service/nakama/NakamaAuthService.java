@@ -18,11 +18,13 @@ public class NakamaAuthService {
     private static final Logger logger = LoggerFactory.getLogger(NakamaAuthService.class);
 
     private final Client nakamaClient;
+    private final NakamaCalls nakamaCalls;
     private final Map<String, Session> tokenToSessionMap = new ConcurrentHashMap<>();
 
     @Autowired
-    public NakamaAuthService(Client nakamaClient) {
+    public NakamaAuthService(Client nakamaClient, NakamaCalls nakamaCalls) {
         this.nakamaClient = nakamaClient;
+        this.nakamaCalls = nakamaCalls;
     }
 
     /**
@@ -30,7 +32,8 @@ public class NakamaAuthService {
      */
     public Session authenticateEmail(String email, String password, boolean createIfMissing, String username) {
         try {
-            Session session = nakamaClient.authenticateEmail(email, password, createIfMissing, username).get();
+            Session session = nakamaCalls.call("authenticateEmail",
+                    () -> nakamaClient.authenticateEmail(email, password, createIfMissing, username));
             tokenToSessionMap.put(session.getAuthToken(), session);
             logger.info("User authenticated with email: {}", email);
             return session;
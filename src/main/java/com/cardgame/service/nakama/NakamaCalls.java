@@ -0,0 +1,187 @@
+package com.cardgame.service.nakama;
+
+import com.cardgame.jfr.NakamaCallEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Blocking calls to the Nakama server, the one way services reach the Nakama Client, so a slow or
+ * unreachable Nakama cannot hold request threads:
+ * <ul>
+ *   <li>every call waits at most its operation's timeout (nakama.calls.timeout-ms, overridable per
+ *   operation), and the request is cancelled when it runs out</li>
+ *   <li>a bulkhead caps the calls in flight; a call that cannot get a slot in time is rejected</li>
+ *   <li>timeouts and server errors feed a {@link NakamaCircuitBreaker}, which fails calls fast
+ *   while Nakama looks down</li>
+ * </ul>
+ * Unanswered calls throw {@link NakamaUnavailableException} and count in nakama.calls.rejected
+ * (tagged with the reason). Every call is also a "nakama.call" observation, so it shows up as a
+ * span in the caller's trace, and a {@link NakamaCallEvent} for flight recordings.
+ */
+public class NakamaCalls {
+    // Nakama answers bad requests (unknown user, wrong password) with these gRPC statuses; they say
+    // nothing about Nakama's health. Matched on the "CODE: description" message so there is no
+    // compile dependency on gRPC.
+    private static final Set<String> CLIENT_ERRORS = Set.of("NOT_FOUND", "INVALID_ARGUMENT", "ALREADY_EXISTS",
+            "UNAUTHENTICATED", "PERMISSION_DENIED", "FAILED_PRECONDITION", "OUT_OF_RANGE");
+
+    private final ObservationRegistry observationRegistry;
+    private final long defaultTimeoutNanos;
+    private final Map<String, Duration> operationTimeouts;
+    private final Semaphore bulkhead;
+    private final long bulkheadWaitNanos;
+    private final NakamaCircuitBreaker circuitBreaker;
+    private final Map<NakamaUnavailableException.Reason, Counter> rejections =
+            new EnumMap<>(NakamaUnavailableException.Reason.class);
+
+    /**
+     * @param operationTimeouts Timeouts that replace the default for some operations
+     * @param maxConcurrentCalls Bulkhead size
+     * @param bulkheadWait How long a call may wait for a bulkhead slot
+     */
+    public NakamaCalls(ObservationRegistry observationRegistry, MeterRegistry meterRegistry,
+                       Duration defaultTimeout, Map<String, Duration> operationTimeouts,
+                       int maxConcurrentCalls, Duration bulkheadWait, NakamaCircuitBreaker circuitBreaker) {
+        this.observationRegistry = observationRegistry;
+        this.defaultTimeoutNanos = defaultTimeout.toNanos();
+        this.operationTimeouts = Map.copyOf(operationTimeouts);
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.bulkheadWaitNanos = bulkheadWait.toNanos();
+        this.circuitBreaker = circuitBreaker;
+
+        for (NakamaUnavailableException.Reason reason : NakamaUnavailableException.Reason.values()) {
+            rejections.put(reason, Counter.builder("nakama.calls.rejected")
+                    .description("Nakama calls that got no answer: circuit open, bulkhead full or timed out")
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("nakama.calls.in.flight", bulkhead, semaphore -> maxConcurrentCalls - semaphore.availablePermits())
+                .description("Nakama calls holding a bulkhead slot")
+                .register(meterRegistry);
+    }
+
+    public NakamaCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Send a request and wait for its response
+     * @param operation Name of the Nakama API call, for timeouts, the span and the event
+     * @param call Sends the request, e.g. {@code () -> client.writeLeaderboardRecord(...)}
+     * @throws NakamaUnavailableException If the call was rejected or timed out
+     * @throws ExecutionException If Nakama answered with an error
+     */
+    public <T> T call(String operation, Supplier<? extends Future<T>> call)
+            throws ExecutionException, InterruptedException {
+        Observation observation = Observation.createNotStarted("nakama.call", observationRegistry)
+                .lowCardinalityKeyValue("operation", operation)
+                .start();
+        NakamaCallEvent event = new NakamaCallEvent();
+        event.begin();
+        boolean succeeded = false;
+        try (Observation.Scope scope = observation.openScope()) {
+            T result = guardedCall(operation, call);
+            succeeded = true;
+            return result;
+        } catch (ExecutionException e) {
+            observation.error(e.getCause() != null ? e.getCause() : e);
+            throw e;
+        } catch (InterruptedException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.succeeded = succeeded;
+                event.commit();
+            }
+        }
+    }
+
+    private <T> T guardedCall(String operation, Supplier<? extends Future<T>> call)
+            throws ExecutionException, InterruptedException {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw reject(operation, NakamaUnavailableException.Reason.CIRCUIT_OPEN);
+        }
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(bulkheadWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            circuitBreaker.releasePermission();
+            throw e;
+        }
+        if (!acquired) {
+            // A full bulkhead is our own backlog and says nothing about Nakama either way
+            circuitBreaker.releasePermission();
+            throw reject(operation, NakamaUnavailableException.Reason.BULKHEAD_FULL);
+        }
+
+        try {
+            Future<T> future = call.get();
+            try {
+                T result = future.get(timeoutNanos(operation), TimeUnit.NANOSECONDS);
+                circuitBreaker.onSuccess();
+                return result;
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                circuitBreaker.onFailure();
+                NakamaUnavailableException timeout = reject(operation, NakamaUnavailableException.Reason.TIMEOUT);
+                timeout.addSuppressed(e);
+                throw timeout;
+            } catch (ExecutionException e) {
+                if (isClientError(e.getCause())) {
+                    circuitBreaker.onSuccess();
+                } else {
+                    circuitBreaker.onFailure();
+                }
+                throw e;
+            } catch (InterruptedException e) {
+                // We gave up, not Nakama
+                future.cancel(true);
+                circuitBreaker.releasePermission();
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            // The client failed to send the request at all
+            circuitBreaker.onFailure();
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private long timeoutNanos(String operation) {
+        Duration timeout = operationTimeouts.get(operation);
+        return timeout != null ? timeout.toNanos() : defaultTimeoutNanos;
+    }
+
+    private NakamaUnavailableException reject(String operation, NakamaUnavailableException.Reason reason) {
+        rejections.get(reason).increment();
+        return new NakamaUnavailableException(operation, reason);
+    }
+
+    static boolean isClientError(Throwable cause) {
+        String message = cause != null ? cause.getMessage() : null;
+        if (message == null) {
+            return false;
+        }
+        int colon = message.indexOf(':');
+        return colon > 0 && CLIENT_ERRORS.contains(message.substring(0, colon));
+    }
+}
@@ -24,12 +24,14 @@ public class NakamaChatService {
 
     private final Client nakamaClient;
     private final NakamaAuthService nakamaAuthService;
+    private final NakamaCalls nakamaCalls;
     private final Map<String, SocketClient> userSocketClients = new ConcurrentHashMap<>();
 
     @Autowired
-    public NakamaChatService(Client nakamaClient, NakamaAuthService nakamaAuthService) {
+    public NakamaChatService(Client nakamaClient, NakamaAuthService nakamaAuthService, NakamaCalls nakamaCalls) {
         this.nakamaClient = nakamaClient;
         this.nakamaAuthService = nakamaAuthService;
+        this.nakamaCalls = nakamaCalls;
     }
 
     /**
@@ -54,7 +56,7 @@ public class NakamaChatService {
             ChatSocketListener chatSocketListener = new ChatSocketListener();
 
             // Connect to the socket with the session and listener
-            socketClient.connect(session, chatSocketListener).get();
+            nakamaCalls.call("connect", () -> socketClient.connect(session, chatSocketListener));
 
             userSocketClients.put(authToken, socketClient);
             logger.info("Socket connected for user");
@@ -98,12 +100,12 @@ public class NakamaChatService {
             logger.debug("Joining chat channel with type: '{}', target: '{}', persistence: {}",
                     channelType, target, persistence);
 
-            Channel channel = socketClient.joinChat(
+            boolean persist = persistence;
+            Channel channel = nakamaCalls.call("joinChat", () -> socketClient.joinChat(
                             target,
                             ChannelType.valueOf(channelType),
-                            persistence,  // This must be true to see messages in console
-                            false)
-                    .get();
+                            persist,  // This must be true to see messages in console
+                            false));
 
             logger.info("Successfully joined chat channel: ID='{}', Target='{}', Persistence='{}'",
                     channel.getId(), target, persistence);
@@ -126,7 +128,7 @@ public class NakamaChatService {
         }
 
         try {
-            socketClient.leaveChat(channelId).get();
+            nakamaCalls.call("leaveChat", () -> socketClient.leaveChat(channelId));
             logger.info("Left chat channel: {}", channelId);
             return true;
         } catch (ExecutionException | InterruptedException e) {
@@ -164,7 +166,8 @@ public class NakamaChatService {
             logger.debug("Sending message to channel '{}': {}", channelId, jsonContent);
 
             // Send the message without trying to reconnect
-            ChannelMessageAck ack = socketClient.writeChatMessage(channelId, jsonContent).get();
+            ChannelMessageAck ack = nakamaCalls.call("writeChatMessage",
+                    () -> socketClient.writeChatMessage(channelId, jsonContent));
             logger.info("Successfully sent chat message to channel: {}, message ID: {}",
                     channelId, ack.getMessageId());
             return true;
@@ -190,13 +193,13 @@ public class NakamaChatService {
             }
 
             // Use the Client API instead of SocketClient
-            ChannelMessageList messages = nakamaClient.listChannelMessages(
+            ChannelMessageList messages = nakamaCalls.call("listChannelMessages", () -> nakamaClient.listChannelMessages(
                     session,
                     channelId,
                     limit,
                     null,  // cursor
                     true   // forward
-            ).get();
+            ));
 
             // Convert to your DTOs
             List<ChatMessageDto> messageDtos = new ArrayList<>();
@@ -243,7 +246,7 @@ public class NakamaChatService {
             // Replace the existing socket client with a new one with the new listener
             userSocketClients.remove(authToken);
             SocketClient newSocketClient = nakamaClient.createSocket();
-            newSocketClient.connect(session, listener).get();
+            nakamaCalls.call("connect", () -> newSocketClient.connect(session, listener));
             userSocketClients.put(authToken, newSocketClient);
 
             logger.info("Registered channel message listener for user");
@@ -0,0 +1,171 @@
+package com.cardgame.service.nakama;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker for Nakama calls. While CLOSED, the outcomes of the last
+ * windowSize calls are kept; once at least minimumCalls are in the window and the failure rate
+ * reaches the threshold, the breaker OPENs and rejects every call for openDuration. It then lets
+ * halfOpenCalls trial calls through (HALF_OPEN): if they all succeed it closes with an empty
+ * window, and any failure opens it again.
+ * <p>
+ * The state is exported as nakama.circuit.state (0 closed, 1 open, 2 half-open) and every
+ * transition counts in nakama.circuit.transitions.
+ */
+public class NakamaCircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(NakamaCircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final boolean[] window;         // true for a failed call, ring buffer
+    private final int minimumCalls;
+    private final int failureRatePercent;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int windowStart;
+    private int windowCount;
+    private int windowFailures;
+    private long openedAtNanos;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    /**
+     * @param failureRatePercent Failure rate over the window at which the breaker opens
+     * @param nanoClock Time source, System::nanoTime outside tests
+     */
+    public NakamaCircuitBreaker(MeterRegistry meterRegistry, int windowSize, int minimumCalls, int failureRatePercent,
+                                Duration openDuration, int halfOpenCalls, LongSupplier nanoClock) {
+        if (windowSize <= 0 || minimumCalls <= 0 || minimumCalls > windowSize || halfOpenCalls <= 0) {
+            throw new IllegalArgumentException("Invalid circuit breaker window: size " + windowSize
+                    + ", minimum calls " + minimumCalls + ", half-open calls " + halfOpenCalls);
+        }
+        this.meterRegistry = meterRegistry;
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRatePercent = failureRatePercent;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.nanoClock = nanoClock;
+        Gauge.builder("nakama.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("Nakama circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Ask to make a call. A caller that gets true must report the outcome with
+     * {@link #onSuccess()} or {@link #onFailure()}, or hand the permission back with
+     * {@link #releasePermission()} if the call was never made.
+     * @return False if the call should fail fast
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAtNanos < openNanos) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    /**
+     * Return a permission without an outcome, for a call that never reached Nakama (e.g. the
+     * bulkhead was full). A half-open breaker gets its trial slot back instead of counting a
+     * success it never saw.
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN) {
+            // A permission taken before the breaker last reopened must not add a slot
+            halfOpenPermits = Math.min(halfOpenPermits + 1, halfOpenCalls - halfOpenSuccesses);
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses == halfOpenCalls) {
+                transitionTo(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (windowCount >= minimumCalls && windowFailures * 100 >= failureRatePercent * windowCount) {
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    private void record(boolean failed) {
+        if (windowCount == window.length) {
+            if (window[windowStart]) {
+                windowFailures--;
+            }
+            window[windowStart] = failed;
+            windowStart = (windowStart + 1) % window.length;
+        } else {
+            window[(windowStart + windowCount) % window.length] = failed;
+            windowCount++;
+        }
+        if (failed) {
+            windowFailures++;
+        }
+    }
+
+    private void transitionTo(State next) {
+        State previous = state;
+        state = next;
+        switch (next) {
+            case OPEN -> openedAtNanos = nanoClock.getAsLong();
+            case HALF_OPEN -> {
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                windowStart = 0;
+                windowCount = 0;
+                windowFailures = 0;
+            }
+        }
+        // Transitions are rare, so the counter is looked up each time rather than cached
+        Counter.builder("nakama.circuit.transitions")
+                .description("Nakama circuit breaker state changes")
+                .tag("from", previous.name())
+                .tag("to", next.name())
+                .register(meterRegistry)
+                .increment();
+        if (next == State.OPEN) {
+            logger.warn("Nakama circuit breaker opened (was {}); calls fail fast for {} ms",
+                    previous, openNanos / 1_000_000);
+        } else {
+            logger.info("Nakama circuit breaker {} (was {})", next, previous);
+        }
+    }
+}
@@ -4,14 +4,14 @@ import com.cardgame.dto.nakama.ImmutableLeaderboardRecordDto;
 import com.cardgame.dto.nakama.ImmutableLeaderboardResponseDto;
 import com.cardgame.dto.nakama.LeaderboardRecordDto;
 import com.cardgame.dto.nakama.LeaderboardResponseDto;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.heroiclabs.nakama.Client;
-import com.heroiclabs.nakama.DefaultClient;
 import com.heroiclabs.nakama.Session;
 import com.heroiclabs.nakama.api.LeaderboardRecord;
 import com.heroiclabs.nakama.api.LeaderboardRecordList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
@@ -29,36 +29,32 @@ public class NakamaLeaderBoardService {
     private static final String WEEKLY_LEADERBOARD = "weekly_score";
     private static final String ALLTIME_LEADERBOARD = "all_time_score";
 
-    @Value("${nakama.host:localhost}")
-    private String host;
-
-    @Value("${nakama.port:7349}")
-    private int port;
-
-    @Value("${nakama.serverKey:defaultkey}")
-    private String serverKey;
-
-    @Value("${nakama.ssl:false}")
-    private boolean ssl;
-
-    private Client client;
+    private final Client client;
+    private final NakamaCalls nakamaCalls;
+    // Last answers to leaderboard queries, served while Nakama is unavailable
+    private final Cache<String, LeaderboardResponseDto> lastLeaderboards =
+            CacheBuilder.newBuilder().maximumSize(1000).build();
     private Session adminSession;
     private boolean initialized = false;
 
+    public NakamaLeaderBoardService(Client client, NakamaCalls nakamaCalls) {
+        this.client = client;
+        this.nakamaCalls = nakamaCalls;
+    }
+
     @PostConstruct
     public void init() {
         try {
-            // Initialize the Nakama client
-            logger.info("Initializing Nakama client with host: {}, port: {}, ssl: {}", host, port, ssl);
-            this.client = new DefaultClient(serverKey, host, port, ssl);
-
             // Create an admin session with a unique device ID
             String uniqueDeviceId = UUID.randomUUID().toString();
             logger.info("Authenticating with device ID: {}", uniqueDeviceId);
-            this.adminSession = client.authenticateDevice(uniqueDeviceId).get();
+            this.adminSession = nakamaCalls.call("authenticateDevice", () -> client.authenticateDevice(uniqueDeviceId));
             this.initialized = true;
 
             logger.info("Nakama client initialized successfully with device ID: {}", uniqueDeviceId);
+        } catch (NakamaUnavailableException e) {
+            logger.warn("Failed to initialize Nakama client: {}", e.getMessage());
+            this.initialized = false;
         } catch (Exception e) {
             logger.error("Failed to initialize Nakama client: {}", e.getMessage(), e);
             this.initialized = false;
@@ -70,7 +66,7 @@ public class NakamaLeaderBoardService {
      */
     private void ensureSession() {
         if (!initialized) {
-            // Reinitialize the client completely
+            // Retry authenticating the admin session
             init();
             if (!initialized) {
                 throw new RuntimeException("Failed to initialize Nakama client");
@@ -79,7 +75,7 @@ public class NakamaLeaderBoardService {
             try {
                 logger.info("Re-initializing Nakama session");
                 String uniqueDeviceId = UUID.randomUUID().toString();
-                this.adminSession = client.authenticateDevice(uniqueDeviceId).get();
+                this.adminSession = nakamaCalls.call("authenticateDevice", () -> client.authenticateDevice(uniqueDeviceId));
             } catch (Exception e) {
                 logger.error("Failed to re-initialize Nakama session", e);
                 this.initialized = false;
@@ -101,25 +97,39 @@ public class NakamaLeaderBoardService {
             return;
         }
 
-        ensureSession();
+        try {
+            ensureSession();
+        } catch (RuntimeException e) {
+            // The lifetime score is already saved and is submitted in full with the player's next game
+            logger.warn("Skipping leaderboard update for user '{}' (ID: {}): Nakama is unavailable",
+                    userName, nakamaUserId);
+            return;
+        }
 
         try {
             // Try to authenticate existing user first, then create if needed
             Session playerSession;
             try {
                 // First try to authenticate existing user
-                playerSession = client.authenticateDevice(nakamaUserId, false, userName).get();
+                playerSession = nakamaCalls.call("authenticateDevice",
+                        () -> client.authenticateDevice(nakamaUserId, false, userName));
+            } catch (NakamaUnavailableException e) {
+                throw e;
             } catch (ExecutionException e) {
                 // If user doesn't exist, create new one with unique username
                 String uniqueUsername = userName + "_" + nakamaUserId.substring(0, 8);
                 logger.info("User doesn't exist, creating new Nakama user: {}", uniqueUsername);
-                playerSession = client.authenticateDevice(nakamaUserId, true, uniqueUsername).get();
+                playerSession = nakamaCalls.call("authenticateDevice",
+                        () -> client.authenticateDevice(nakamaUserId, true, uniqueUsername));
             }
             
+            Session session = playerSession;
             // Submit to weekly leaderboard using player's session
-            client.writeLeaderboardRecord(playerSession, WEEKLY_LEADERBOARD, lifetimeScore).get();
+            nakamaCalls.call("writeLeaderboardRecord",
+                    () -> client.writeLeaderboardRecord(session, WEEKLY_LEADERBOARD, lifetimeScore));
             // Submit to all-time leaderboard using player's session
-            client.writeLeaderboardRecord(playerSession, ALLTIME_LEADERBOARD, lifetimeScore).get();
+            nakamaCalls.call("writeLeaderboardRecord",
+                    () -> client.writeLeaderboardRecord(session, ALLTIME_LEADERBOARD, lifetimeScore));
 
             logger.info("Successfully submitted lifetime score {} for user '{}' (ID: {})", lifetimeScore, userName, nakamaUserId);
         } catch (ExecutionException | InterruptedException e) {
@@ -177,16 +187,15 @@ public class NakamaLeaderBoardService {
         int expiry = 0;                // 0 for no expiration filtering
         String cursor = null;          // null for first page
 
-        LeaderboardRecordList recordList = client.listLeaderboardRecords(
-                adminSession,
-                leaderboardId,
-                ownerIds,     // List<String> or null
-                expiry,       // int
-                limit,        // int
-                cursor        // String or null
-        ).get();
-
-        return convertToDto(recordList);
+        return withFallback(leaderboardId + "/" + limit, () -> convertToDto(
+                nakamaCalls.call("listLeaderboardRecords", () -> client.listLeaderboardRecords(
+                        adminSession,
+                        leaderboardId,
+                        ownerIds,     // List<String> or null
+                        expiry,       // int
+                        limit,        // int
+                        cursor        // String or null
+                ))));
     }
 
     public LeaderboardResponseDto getLeaderboardRecordsAroundPlayer(
@@ -195,15 +204,40 @@ public class NakamaLeaderBoardService {
 
 //        long ownerId = convertUuidToLong(nakamaUserId);
 
-        LeaderboardRecordList recordList = client.listLeaderboardRecordsAroundOwner(
-                adminSession,
-                leaderboardId,
-//                ownerId
-                nakamaUserId,
-                limit
-        ).get();
+        return withFallback(leaderboardId + "/" + nakamaUserId + "/" + limit, () -> convertToDto(
+                nakamaCalls.call("listLeaderboardRecordsAroundOwner",
+                        () -> client.listLeaderboardRecordsAroundOwner(
+                                adminSession,
+                                leaderboardId,
+//                                ownerId
+                                nakamaUserId,
+                                limit
+                        ))));
+    }
+
+    /**
+     * Run a leaderboard query, remembering its answer; while Nakama is unavailable, answer with the
+     * last one instead (if there is one)
+     */
+    private LeaderboardResponseDto withFallback(String key, LeaderboardQuery query)
+            throws ExecutionException, InterruptedException {
+        try {
+            LeaderboardResponseDto response = query.run();
+            lastLeaderboards.put(key, response);
+            return response;
+        } catch (NakamaUnavailableException e) {
+            LeaderboardResponseDto cached = lastLeaderboards.getIfPresent(key);
+            if (cached == null) {
+                throw e;
+            }
+            logger.warn("Serving cached leaderboard {}: {}", key, e.getMessage());
+            return cached;
+        }
+    }
 
-        return convertToDto(recordList);
+    @FunctionalInterface
+    private interface LeaderboardQuery {
+        LeaderboardResponseDto run() throws ExecutionException, InterruptedException;
     }
 
     private LeaderboardResponseDto convertToDto(LeaderboardRecordList recordList) {
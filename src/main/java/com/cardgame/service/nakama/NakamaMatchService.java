@@ -1,10 +1,15 @@
 package com.cardgame.service.nakama;
 
+import com.cardgame.exception.player.PlayerNotFoundException;
 import com.cardgame.model.*;
 import com.cardgame.repository.GameRepository;
 import com.cardgame.service.GameService;
+import com.cardgame.service.metrics.GameEndCondition;
+import com.cardgame.service.metrics.GameLifecycleMetrics;
 import com.cardgame.service.player.PlayerService;
+import com.cardgame.tracing.ContextExecutors;
 import com.cardgame.websocket.GameWebSocketHandler;
+import com.cardgame.websocket.MatchReplayBuffers;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.heroiclabs.nakama.Client;
 import com.heroiclabs.nakama.Session;
@@ -44,10 +49,16 @@ public class NakamaMatchService {
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private GameLifecycleMetrics gameLifecycleMetrics;
+    
     @Autowired
     @Lazy  // Use @Lazy to avoid circular dependency
     private GameWebSocketHandler gameWebSocketHandler;
     
+    @Autowired
+    private MatchReplayBuffers replayBuffers;
+    
     // Store active socket connections
     private final Map<String, SocketClient> activeSockets = new ConcurrentHashMap<>();
     
@@ -93,7 +104,7 @@ public class NakamaMatchService {
                 logger.error("Failed to create match for player {}", playerId, e);
                 throw new RuntimeException("Failed to create match", e);
             }
-        });
+        }, ContextExecutors.commonPool());
     }
     
     /**
@@ -133,43 +144,20 @@ public class NakamaMatchService {
                 
                 // Create the actual game in our backend
                 logger.info("Looking up players - creator: {}, joiner: {}", creatorId, playerId);
-                Player player1 = playerService.getPlayer(creatorId);
-                Player player2 = playerService.getPlayer(playerId);
-                
-                // Ensure players have current decks set
-                if (player1.getCurrentDeck() == null && player1.getOriginalDeck() != null) {
-                    player1.setCurrentDeck(player1.getOriginalDeck());
-                    playerService.savePlayer(player1);
-                    logger.info("Set current deck for player1 from original deck");
-                }
-                
-                if (player2.getCurrentDeck() == null && player2.getOriginalDeck() != null) {
-                    player2.setCurrentDeck(player2.getOriginalDeck());
-                    playerService.savePlayer(player2);
-                    logger.info("Set current deck for player2 from original deck");
+                Map<String, Player> players = playerService.getPlayers(List.of(creatorId, playerId));
+                Player player1 = players.get(creatorId);
+                Player player2 = players.get(playerId);
+                if (player1 == null || player2 == null) {
+                    throw new PlayerNotFoundException("Player not found: " + (player1 == null ? creatorId : playerId));
                 }
                 
-                // Get deck IDs - handle lazy loading issues
-                String deck1Id = null;
-                String deck2Id = null;
-                
-                // For player 1
-                if (player1.getCurrentDeck() != null && player1.getCurrentDeck().getId() != null) {
-                    deck1Id = player1.getCurrentDeck().getId();
-                } else if (player1.getOriginalDeck() != null && player1.getOriginalDeck().getId() != null) {
-                    deck1Id = player1.getOriginalDeck().getId();
-                    logger.info("Using original deck ID for player1 due to lazy loading");
-                } else {
+                // Deck references are plain IDs; the decks themselves are loaded together by initializeGame
+                String deck1Id = player1.getCurrentDeckId();
+                String deck2Id = player2.getCurrentDeckId();
+                if (deck1Id == null) {
                     throw new RuntimeException("Player 1 has no deck available");
                 }
-                
-                // For player 2
-                if (player2.getCurrentDeck() != null && player2.getCurrentDeck().getId() != null) {
-                    deck2Id = player2.getCurrentDeck().getId();
-                } else if (player2.getOriginalDeck() != null && player2.getOriginalDeck().getId() != null) {
-                    deck2Id = player2.getOriginalDeck().getId();
-                    logger.info("Using original deck ID for player2 due to lazy loading");
-                } else {
+                if (deck2Id == null) {
                     throw new RuntimeException("Player 2 has no deck available");
                 }
                 
@@ -204,6 +192,7 @@ public class NakamaMatchService {
                 // Update match metadata
                 metadata.status = "IN_PROGRESS";
                 metadata.gameId = game.getId();
+                gameLifecycleMetrics.recordMatchWait(metadata.createdAt, true);
                 
                 // Notify both players that the game has started
                 broadcastMatchStart(matchId, game);
@@ -226,7 +215,7 @@ public class NakamaMatchService {
                 logger.error("Failed to join match {} for player {}", matchId, playerId, e);
                 throw new RuntimeException("Failed to join match", e);
             }
-        });
+        }, ContextExecutors.commonPool());
     }
     
     /**
@@ -264,7 +253,7 @@ public class NakamaMatchService {
                 logger.error("Failed to send game action to match {}", matchId, e);
                 throw new RuntimeException("Failed to send game action", e);
             }
-        });
+        }, ContextExecutors.commonPool());
     }
     
     /**
@@ -292,10 +281,11 @@ public class NakamaMatchService {
      * @return The current game state
      */
     public GameModel getMatchState(String matchId) {
-        // Find game by Nakama match ID
-        Optional<GameModel> game = gameRepository.findAll().stream()
-            .filter(g -> g.getNakamaMatchId() != null && g.getNakamaMatchId().contains(matchId))
-            .findFirst();
+        // Matches started on this node know their game; otherwise find it by Nakama match ID
+        MatchMetadata metadata = matchMetadata.get(matchId);
+        Optional<GameModel> game = metadata != null && metadata.gameId != null
+            ? gameRepository.findById(metadata.gameId)
+            : gameRepository.findFirstByNakamaMatchId("nakama_" + matchId);
             
         return game.orElseThrow(() -> new IllegalArgumentException("Match not found"));
     }
@@ -333,6 +323,11 @@ public class NakamaMatchService {
                 event.put("type", "PLAYER_DISCONNECTED");
                 event.put("playerId", playerId);
                 broadcastEvent(matchId, event);
+                
+                // Past the resume grace period with nobody left, no one will RESUME this match
+                if (subscribers.isEmpty()) {
+                    replayBuffers.remove(matchId);
+                }
             }
             
             logger.info("Player {} disconnected from match {}", playerId, matchId);
@@ -366,6 +361,7 @@ public class NakamaMatchService {
                 activeSockets.remove(playerId);
             }
         }
+        replayBuffers.remove(matchId);
         logger.info("Cleaned up match {}", matchId);
     }
     
@@ -404,6 +400,7 @@ public class NakamaMatchService {
             logger.info("Marking game {} as ABANDONED for player {}", activeGame.getId(), playerId);
             activeGame.setGameState(GameState.ABANDONED);
             gameRepository.save(activeGame);
+            gameLifecycleMetrics.recordEnded(activeGame, GameEndCondition.ABANDONED);
         }
         
         // Only remove matches that are at least 5 seconds old to prevent race conditions
@@ -418,6 +415,10 @@ public class NakamaMatchService {
                                    meta.createdAt.isBefore(cutoffTime);
             if (shouldRemove) {
                 logger.info("Removing match {} created by {} at {}", entry.getKey(), playerId, meta.createdAt);
+                if ("WAITING".equals(meta.status)) {
+                    gameLifecycleMetrics.recordMatchWait(meta.createdAt, false);
+                }
+                replayBuffers.remove(entry.getKey());
             }
             return shouldRemove;
         });
@@ -502,8 +503,12 @@ public class NakamaMatchService {
         
         // Remove those matches
         for (String matchId : matchesToRemove) {
-            matchMetadata.remove(matchId);
+            MatchMetadata removed = matchMetadata.remove(matchId);
+            if (removed != null) {
+                gameLifecycleMetrics.recordMatchWait(removed.createdAt, false);
+            }
             matchSubscriptions.remove(matchId);
+            replayBuffers.remove(matchId);
             logger.info("Removed waiting match {} created by player {}", matchId, playerId);
         }
         
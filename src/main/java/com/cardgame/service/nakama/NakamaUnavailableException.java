@@ -0,0 +1,25 @@
+package com.cardgame.service.nakama;
+
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A Nakama call that was not answered: rejected by the circuit breaker or bulkhead, or timed out.
+ * It is an ExecutionException so callers already handling failed calls handle it too; catch it
+ * first to fall back (e.g. to cached data) without waiting on Nakama again.
+ */
+public class NakamaUnavailableException extends ExecutionException {
+    public enum Reason {
+        CIRCUIT_OPEN, BULKHEAD_FULL, TIMEOUT
+    }
+
+    private final Reason reason;
+
+    public NakamaUnavailableException(String operation, Reason reason) {
+        super("Nakama call " + operation + " failed: " + reason, null);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -1,43 +1,52 @@
 package com.cardgame.service.player;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import com.cardgame.dto.DeckDto;
 import com.cardgame.dto.ImmutableDeckDto;
 import com.cardgame.exception.player.DeckNotFoundException;
 import com.cardgame.exception.player.InvalidDeckException;
-import com.cardgame.model.Card;
 import com.cardgame.model.Deck;
+import com.cardgame.model.DeckSnapshot;
 import com.cardgame.repository.DeckRepository;
+import com.cardgame.service.CardCatalog;
 import org.springframework.stereotype.Service;
 
 @Service
 public class DeckService {
 
     private final DeckRepository deckRepository;
+    private final CardCatalog cardCatalog;
 
-    public DeckService(DeckRepository deckRepository) {
+    public DeckService(DeckRepository deckRepository, CardCatalog cardCatalog) {
         this.deckRepository = deckRepository;
+        this.cardCatalog = cardCatalog;
     }
 
-    public Deck createDeck(String ownerId, List<Card> cards) {
-        validateDeckSize(cards);
+    /**
+     * Create a deck from catalog card IDs (duplicates allowed)
+     */
+    public Deck createDeck(String ownerId, List<String> cardIds) {
+        validateDeckSize(cardIds);
 
         Deck deck = new Deck();
         deck.setId(UUID.randomUUID().toString());
         deck.setOwnerId(ownerId);
-        deck.setCards(new ArrayList<>(cards)); // Create a new list to avoid reference issues
-        deck.setRemainingCards(cards.size());
+        deck.setCardIds(new ArrayList<>(cardIds)); // Create a new list to avoid reference issues
+        deck.setRemainingCards(cardIds.size());
         deck.validate(); // Set the isValid flag
 
         return deckRepository.save(deck);
     }
 
-    public Deck addCardToDeck(String deckId, String ownerId, Card card) {
+    public Deck addCardToDeck(String deckId, String ownerId, String cardId) {
         Deck deck = getDeckWithOwner(deckId, ownerId);
 
-        if (!deck.addCard(card)) {
+        if (!deck.addCard(cardId)) {
             throw new InvalidDeckException("Cannot add card: deck is full");
         }
 
@@ -62,6 +71,35 @@ public class DeckService {
                 .orElseThrow(() -> new DeckNotFoundException("Deck not found with ID: " + deckId));
     }
 
+    /**
+     * Get several decks in one query
+     * @return Decks by ID; IDs with no deck are left out
+     */
+    public Map<String, Deck> getDecks(Collection<String> deckIds) {
+        Map<String, Deck> decks = new HashMap<>();
+        for (Deck deck : deckRepository.findAllById(deckIds)) {
+            decks.put(deck.getId(), deck);
+        }
+        return decks;
+    }
+
+    /**
+     * Get immutable snapshots of several decks in one query, e.g. both players' decks for a new game
+     * @throws DeckNotFoundException if any of the decks does not exist
+     */
+    public Map<String, DeckSnapshot> getDeckSnapshots(Collection<String> deckIds) {
+        Map<String, Deck> decks = getDecks(deckIds);
+        Map<String, DeckSnapshot> snapshots = new HashMap<>();
+        for (String deckId : deckIds) {
+            Deck deck = decks.get(deckId);
+            if (deck == null) {
+                throw new DeckNotFoundException("Deck not found with ID: " + deckId);
+            }
+            snapshots.put(deckId, DeckSnapshot.of(deck));
+        }
+        return snapshots;
+    }
+
     /**
      * Get a deck ensuring it belongs to the specified owner
      */
@@ -82,7 +120,7 @@ public class DeckService {
      * Save or update a deck
      */
     public Deck saveDeck(Deck deck) {
-        validateDeckSize(deck.getCards());
+        validateDeckSize(deck.getCardIds());
         return deckRepository.save(deck);
     }
 
@@ -95,8 +133,8 @@ public class DeckService {
         Deck gameDeck = new Deck();
         gameDeck.setId(UUID.randomUUID().toString());
         gameDeck.setOwnerId(ownerId);
-        gameDeck.setCards(new ArrayList<>(originalDeck.getCards()));
-        gameDeck.setRemainingCards(originalDeck.getCards().size());
+        gameDeck.setCardIds(new ArrayList<>(originalDeck.getCardIds()));
+        gameDeck.setRemainingCards(originalDeck.getCardIds().size());
 
         return deckRepository.save(gameDeck);
     }
@@ -104,23 +142,23 @@ public class DeckService {
     /**
      * Draw a specific number of cards from the deck
      */
-    public List<Card> drawCards(String deckId, int count) {
+    public List<String> drawCards(String deckId, int count) {
         Deck deck = getDeck(deckId);
 
         if (deck.getRemainingCards() < count) {
             throw new InvalidDeckException("Not enough cards remaining in deck");
         }
 
-        List<Card> drawnCards = new ArrayList<>(deck.getCards().subList(0, count));
-        deck.getCards().subList(0, count).clear();
-        deck.setRemainingCards(deck.getCards().size());
+        List<String> drawnCards = new ArrayList<>(deck.getCardIds().subList(0, count));
+        deck.getCardIds().subList(0, count).clear();
+        deck.setRemainingCards(deck.getCardIds().size());
 
         deckRepository.save(deck);
         return drawnCards;
     }
 
-    private void validateDeckSize(List<Card> cards) {
-        if (cards == null || cards.size() != 5) {
+    private void validateDeckSize(List<String> cardIds) {
+        if (cardIds == null || cardIds.size() != 5) {
             throw new InvalidDeckException("Deck must contain exactly 5 cards");
         }
     }
@@ -132,7 +170,7 @@ public class DeckService {
         return ImmutableDeckDto.builder()
                 .id(deck.getId())
                 .ownerId(deck.getOwnerId())
-                .cards(deck.getCards())
+                .cards(cardCatalog.dtosFor(deck.getCardIds()))
                 .remainingCards(deck.getRemainingCards())
                 .isValid(deck.isValid())
                 .build();
@@ -12,6 +12,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,13 +25,16 @@ public class PlayerService {
     private final PlayerActionService playerActionService;
     private final PlayerRepository playerRepository;
     private final DeckInitializationService deckInitializationService;
+    private final DeckService deckService;
 
     public PlayerService(PlayerActionService playerActionService, 
                         PlayerRepository playerRepository, 
-                        DeckInitializationService deckInitializationService) {
+                        DeckInitializationService deckInitializationService,
+                        DeckService deckService) {
         this.playerActionService = playerActionService;
         this.playerRepository = playerRepository;
         this.deckInitializationService = deckInitializationService;
+        this.deckService = deckService;
     }
 
     public Player getPlayer(String playerId) {
@@ -38,6 +42,18 @@ public class PlayerService {
                 .orElseThrow(() -> new PlayerNotFoundException("Player not found: " + playerId));
     }
 
+    /**
+     * Get several players in one query
+     * @return Players by ID; IDs with no player are left out
+     */
+    public Map<String, Player> getPlayers(Collection<String> playerIds) {
+        Map<String, Player> players = new HashMap<>();
+        for (Player player : playerRepository.findAllById(playerIds)) {
+            players.put(player.getId(), player);
+        }
+        return players;
+    }
+
     /**
      * @deprecated Use createPlayer(String, String, String, String) instead
      */
@@ -53,22 +69,14 @@ public class PlayerService {
 
         // Convert the Deck to DeckDto
         DeckDto deckDto = null;
-        if (player.getCurrentDeck() != null && player.getCurrentDeck().getId() != null) {
-            deckDto = ImmutableDeckDto.builder()
-                    .id(player.getCurrentDeck().getId())
-                    .ownerId(player.getCurrentDeck().getOwnerId())
-                    .remainingCards(player.getCurrentDeck().getRemainingCards())
-                    .cards(player.getCurrentDeck().getCards())
-                    .isValid(player.getCurrentDeck().isValid())
-                    .build();
+        if (player.getCurrentDeckId() != null) {
+            deckDto = deckService.convertToDto(deckService.getDeck(player.getCurrentDeckId()));
         }
 
         return ImmutablePlayerDto.builder()
                 .id(player.getId())
                 .name(player.getName())
-                .score(player.getScore())
                 .lifetimeScore(player.getLifetimeScore()) // Include lifetime score in DTO
-                .handSize(player.getHand().size())
                 .currentDeck(deckDto)
                 .playerCardCounts(calculatePlayerCardCounts(player))
                 .build();
@@ -183,8 +191,9 @@ public class PlayerService {
      * Safe update method that only updates specific fields without risking data loss
      * @param playerId The player ID to update
      * @param updateAction The update action to perform on the player
+     * @return The updated player
      */
-    public void updatePlayerSafely(String playerId, java.util.function.Consumer<Player> updateAction) {
+    public Player updatePlayerSafely(String playerId, java.util.function.Consumer<Player> updateAction) {
         Player player = getPlayer(playerId);
         
         // Store critical fields before update
@@ -218,6 +227,7 @@ public class PlayerService {
         }
         
         savePlayer(player);
+        return player;
     }
     
     public Player findPlayerByName(String name) {
@@ -321,10 +331,7 @@ public class PlayerService {
             player.setEmail(email);
             player.setSupabaseUserId(supabaseUserId);
             player.setNakamaUserId(nakamaUserId);
-            player.setScore(0);
             player.setLifetimeScore(0);
-            player.setHand(new ArrayList<>());
-            player.setPlacedCards(new HashMap<>());
 
             // Save player first to get the ID
             player = playerRepository.save(player);
@@ -335,7 +342,7 @@ public class PlayerService {
             logger.info("Created default deck for player: {}", player.getId());
 
             // Set the deck reference and save player again
-            player.setCurrentDeck(defaultDeck);
+            player.setCurrentDeckId(defaultDeck.getId());
             return playerRepository.save(player);
             
         } catch (org.springframework.dao.DuplicateKeyException e) {
@@ -400,9 +407,9 @@ public class PlayerService {
     
     public void createDefaultDeckForPlayer(String playerId) {
         Player player = getPlayer(playerId);
-        if (player.getCurrentDeck() == null) {
+        if (player.getCurrentDeckId() == null) {
             Deck defaultDeck = deckInitializationService.createDefaultDeckForPlayer(playerId);
-            player.setCurrentDeck(defaultDeck);
+            player.setCurrentDeckId(defaultDeck.getId());
             playerRepository.save(player);
         }
     }
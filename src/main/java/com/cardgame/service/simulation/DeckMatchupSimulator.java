@@ -0,0 +1,155 @@
+package com.cardgame.service.simulation;
+
+import com.cardgame.dto.simulation.ImmutableMatchupResultDto;
+import com.cardgame.dto.simulation.ImmutableRateDto;
+import com.cardgame.dto.simulation.MatchupResultDto;
+import com.cardgame.dto.simulation.RateDto;
+import com.cardgame.model.Board;
+import com.cardgame.service.util.PlayoutState;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays many headless games between two decks on a fork-join pool, entirely in memory.
+ * Games use {@link PlayoutState}, which follows the same rules as GameService, so nothing
+ * touches the database and a core plays hundreds of thousands of games per second.
+ * The game count is split in halves until a batch is small enough to play in one task;
+ * each batch has its own split of the random generator, so a seed reproduces a run exactly.
+ */
+public class DeckMatchupSimulator {
+    private static final int BATCH_SIZE = 4_096;
+    private static final double Z_95 = 1.96;
+    private static final int COLUMNS = new Board().getWidth();
+
+    private final ForkJoinPool pool;
+
+    public DeckMatchupSimulator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @param firstDeck Card powers of the first deck, in deck order
+     * @param secondDeck Card powers of the second deck, in deck order
+     * @param alternateFirstPlayer Whether the decks take turns moving first; otherwise the first deck always starts
+     */
+    public MatchupResultDto simulate(int[] firstDeck, int[] secondDeck, long games,
+                                     MovePolicy firstPolicy, MovePolicy secondPolicy,
+                                     boolean alternateFirstPlayer, long seed) {
+        long start = System.nanoTime();
+        Matchup matchup = new Matchup(firstDeck, secondDeck, firstPolicy, secondPolicy, alternateFirstPlayer);
+        MatchupTally tally = pool.invoke(new SimulationTask(matchup, 0, games, new SplittableRandom(seed)));
+        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+
+        return ImmutableMatchupResultDto.builder()
+                .games(tally.games)
+                .firstDeckWins(rate(tally.firstDeckWins, tally.games))
+                .secondDeckWins(rate(tally.secondDeckWins, tally.games))
+                .ties(rate(tally.ties, tally.games))
+                .firstDeckColumnsWon(distribution(tally.columnsWon[0], tally.games))
+                .secondDeckColumnsWon(distribution(tally.columnsWon[1], tally.games))
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .gamesPerSecond(tally.games * 1e9 / elapsedNanos)
+                .build();
+    }
+
+    /**
+     * A rate with its 95% Wilson score interval, which stays inside [0, 1] for rare events
+     */
+    static RateDto rate(long count, long total) {
+        if (total == 0) {
+            return ImmutableRateDto.builder().count(0).rate(0).lower(0).upper(1).build();
+        }
+        double p = (double) count / total;
+        double z2 = Z_95 * Z_95;
+        double denominator = 1 + z2 / total;
+        double centre = (p + z2 / (2.0 * total)) / denominator;
+        double halfWidth = Z_95 * Math.sqrt(p * (1 - p) / total + z2 / (4.0 * total * total)) / denominator;
+        return ImmutableRateDto.builder()
+                .count(count)
+                .rate(p)
+                .lower(Math.max(0, centre - halfWidth))
+                .upper(Math.min(1, centre + halfWidth))
+                .build();
+    }
+
+    private static Map<Integer, RateDto> distribution(long[] counts, long total) {
+        Map<Integer, RateDto> distribution = new LinkedHashMap<>();
+        for (int columns = 0; columns < counts.length; columns++) {
+            distribution.put(columns, rate(counts[columns], total));
+        }
+        return distribution;
+    }
+
+    private static final class Matchup {
+        final int[][] decks;
+        final MovePolicy[] policies;
+        final boolean alternateFirstPlayer;
+
+        Matchup(int[] firstDeck, int[] secondDeck, MovePolicy firstPolicy, MovePolicy secondPolicy,
+                boolean alternateFirstPlayer) {
+            this.decks = new int[][] {firstDeck.clone(), secondDeck.clone()};
+            this.policies = new MovePolicy[] {firstPolicy, secondPolicy};
+            this.alternateFirstPlayer = alternateFirstPlayer;
+        }
+    }
+
+    private static final class SimulationTask extends RecursiveTask<MatchupTally> {
+        private final Matchup matchup;
+        private final long firstGame;   // index of the first game, used to alternate who starts
+        private final long games;
+        private final SplittableRandom random;
+
+        SimulationTask(Matchup matchup, long firstGame, long games, SplittableRandom random) {
+            this.matchup = matchup;
+            this.firstGame = firstGame;
+            this.games = games;
+            this.random = random;
+        }
+
+        @Override
+        protected MatchupTally compute() {
+            if (games <= BATCH_SIZE) {
+                return playBatch();
+            }
+            long half = games / 2;
+            SimulationTask left = new SimulationTask(matchup, firstGame, half, random.split());
+            left.fork();
+            MatchupTally right = new SimulationTask(matchup, firstGame + half, games - half, random).compute();
+            return right.merge(left.join());
+        }
+
+        private MatchupTally playBatch() {
+            MatchupTally tally = new MatchupTally(COLUMNS);
+            int[] moves = null;
+            for (long game = firstGame; game < firstGame + games; game++) {
+                // Seat 0 moves first; with alternation the second deck takes seat 0 in odd games
+                int firstSeatDeck = matchup.alternateFirstPlayer && (game & 1) == 1 ? 1 : 0;
+                PlayoutState state = PlayoutState.newGame(
+                        matchup.decks[firstSeatDeck], matchup.decks[1 - firstSeatDeck], random);
+                if (moves == null) {
+                    moves = new int[state.maxMoves()];
+                }
+                while (!state.isTerminal()) {
+                    int count = state.legalMoves(moves);
+                    if (count == 0) {
+                        break;
+                    }
+                    int deck = state.currentPlayer() == 0 ? firstSeatDeck : 1 - firstSeatDeck;
+                    state.apply(matchup.policies[deck].chooseMove(state, moves, count, random));
+                }
+                int firstSeatColumns = state.columnsWon(0);
+                int secondSeatColumns = state.columnsWon(1);
+                if (firstSeatDeck == 0) {
+                    tally.record(firstSeatColumns, secondSeatColumns);
+                } else {
+                    tally.record(secondSeatColumns, firstSeatColumns);
+                }
+            }
+            return tally;
+        }
+    }
+}
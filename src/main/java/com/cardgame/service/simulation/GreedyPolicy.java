@@ -0,0 +1,56 @@
+package com.cardgame.service.simulation;
+
+import com.cardgame.service.util.PlayoutState;
+import com.cardgame.service.util.ScoreCalculator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays the move that leaves the mover winning the most columns right now, preferring the
+ * weakest card that does it so stronger cards are kept for later. Remaining ties are broken at random.
+ */
+public class GreedyPolicy implements MovePolicy {
+    // Column totals of the mover and the opponent, reused by each worker thread across moves
+    private static final ThreadLocal<int[][]> COLUMN_TOTALS = ThreadLocal.withInitial(() -> new int[2][0]);
+
+    @Override
+    public int chooseMove(PlayoutState state, int[] legalMoves, int count, SplittableRandom random) {
+        int mover = state.currentPlayer();
+        int width = state.width();
+        int[][] totals = COLUMN_TOTALS.get();
+        if (totals[0].length < width) {
+            totals[0] = new int[width];
+            totals[1] = new int[width];
+        }
+        int[] mine = totals[0];
+        int[] theirs = totals[1];
+        int balance = 0;
+        for (int column = 0; column < width; column++) {
+            mine[column] = state.columnTotal(mover, column);
+            theirs[column] = state.columnTotal(1 - mover, column);
+            balance += ScoreCalculator.columnWinner(mine[column], theirs[column]);
+        }
+
+        int best = legalMoves[0];
+        int bestBalance = Integer.MIN_VALUE;
+        int bestPower = Integer.MAX_VALUE;
+        int ties = 0;
+        for (int i = 0; i < count; i++) {
+            int move = legalMoves[i];
+            int column = (move % state.cellCount()) % width;
+            int power = state.powerOf(move);
+            int after = balance - ScoreCalculator.columnWinner(mine[column], theirs[column])
+                    + ScoreCalculator.columnWinner(mine[column] + power, theirs[column]);
+
+            if (after > bestBalance || (after == bestBalance && power < bestPower)) {
+                best = move;
+                bestBalance = after;
+                bestPower = power;
+                ties = 1;
+            } else if (after == bestBalance && power == bestPower && random.nextInt(++ties) == 0) {
+                best = move;
+            }
+        }
+        return best;
+    }
+}
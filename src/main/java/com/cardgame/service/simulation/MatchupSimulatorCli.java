@@ -0,0 +1,65 @@
+package com.cardgame.service.simulation;
+
+import com.cardgame.dto.simulation.MatchupResultDto;
+import com.cardgame.dto.simulation.RateDto;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Command-line deck matchups, without Spring or a database. Decks are given as card powers.
+ * <pre>
+ * ./gradlew simulateMatchup -Pmatchup="1,1,3,3,5 1,3,3,5,5 1000000 GREEDY RANDOM"
+ * </pre>
+ * Arguments: first deck, second deck, then optionally the game count (default 1,000,000) and the
+ * policy of each deck (default RANDOM).
+ */
+public class MatchupSimulatorCli {
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: <first deck powers> <second deck powers> [games] [first policy] [second policy]");
+            System.exit(2);
+        }
+        int[] firstDeck = parseDeck(args[0]);
+        int[] secondDeck = parseDeck(args[1]);
+        long games = args.length > 2 ? Long.parseLong(args[2]) : 1_000_000;
+        PolicyType firstPolicy = args.length > 3 ? PolicyType.valueOf(args[3].toUpperCase(Locale.ROOT)) : PolicyType.RANDOM;
+        PolicyType secondPolicy = args.length > 4 ? PolicyType.valueOf(args[4].toUpperCase(Locale.ROOT)) : PolicyType.RANDOM;
+
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            MatchupResultDto result = new DeckMatchupSimulator(pool).simulate(firstDeck, secondDeck, games,
+                    firstPolicy.getPolicy(), secondPolicy.getPolicy(), true, ThreadLocalRandom.current().nextLong());
+            print(result, args[0] + " (" + firstPolicy + ")", args[1] + " (" + secondPolicy + ")");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static int[] parseDeck(String powers) {
+        return Arrays.stream(powers.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private static void print(MatchupResultDto result, String firstName, String secondName) {
+        System.out.printf("%,d games in %,d ms (%,.0f games/s)%n",
+                result.getGames(), result.getElapsedMillis(), result.getGamesPerSecond());
+        System.out.println("  " + firstName + " wins  " + format(result.getFirstDeckWins()));
+        System.out.println("  " + secondName + " wins  " + format(result.getSecondDeckWins()));
+        System.out.println("  ties  " + format(result.getTies()));
+        printColumns(firstName, result.getFirstDeckColumnsWon());
+        printColumns(secondName, result.getSecondDeckColumnsWon());
+    }
+
+    private static void printColumns(String name, Map<Integer, RateDto> columnsWon) {
+        System.out.println("  " + name + " columns won:");
+        columnsWon.forEach((columns, rate) -> System.out.println("    " + columns + ": " + format(rate)));
+    }
+
+    private static String format(RateDto rate) {
+        return String.format(Locale.ROOT, "%.4f [%.4f, %.4f]", rate.getRate(), rate.getLower(), rate.getUpper());
+    }
+}
@@ -0,0 +1,43 @@
+package com.cardgame.service.simulation;
+
+/**
+ * Counts from a batch of headless games, per deck rather than per seat.
+ * Each fork-join leaf fills its own tally and the tallies are merged on the way back up.
+ */
+final class MatchupTally {
+    long games;
+    long firstDeckWins;
+    long secondDeckWins;
+    long ties;
+    final long[][] columnsWon;   // [deck][columns won]
+
+    MatchupTally(int columns) {
+        this.columnsWon = new long[2][columns + 1];
+    }
+
+    void record(int firstDeckColumns, int secondDeckColumns) {
+        games++;
+        if (firstDeckColumns > secondDeckColumns) {
+            firstDeckWins++;
+        } else if (secondDeckColumns > firstDeckColumns) {
+            secondDeckWins++;
+        } else {
+            ties++;
+        }
+        columnsWon[0][firstDeckColumns]++;
+        columnsWon[1][secondDeckColumns]++;
+    }
+
+    MatchupTally merge(MatchupTally other) {
+        games += other.games;
+        firstDeckWins += other.firstDeckWins;
+        secondDeckWins += other.secondDeckWins;
+        ties += other.ties;
+        for (int deck = 0; deck < 2; deck++) {
+            for (int columns = 0; columns < columnsWon[deck].length; columns++) {
+                columnsWon[deck][columns] += other.columnsWon[deck][columns];
+            }
+        }
+        return this;
+    }
+}
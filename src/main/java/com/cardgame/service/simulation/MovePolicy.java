@@ -0,0 +1,19 @@
+package com.cardgame.service.simulation;
+
+import com.cardgame.service.util.PlayoutState;
+
+import java.util.SplittableRandom;
+
+/**
+ * Chooses moves in headless games. Implementations are shared between worker threads, so they
+ * must keep no state of their own; all randomness comes from the worker's generator.
+ */
+public interface MovePolicy {
+
+    /**
+     * @param state The game, with the player to move as its current player
+     * @param legalMoves The legal moves, in the first {@code count} entries
+     * @return One of the legal moves
+     */
+    int chooseMove(PlayoutState state, int[] legalMoves, int count, SplittableRandom random);
+}
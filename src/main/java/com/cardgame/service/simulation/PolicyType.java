@@ -0,0 +1,19 @@
+package com.cardgame.service.simulation;
+
+/**
+ * The built-in move policies, selectable by name in requests and on the command line
+ */
+public enum PolicyType {
+    RANDOM(new RandomPolicy()),
+    GREEDY(new GreedyPolicy());
+
+    private final MovePolicy policy;
+
+    PolicyType(MovePolicy policy) {
+        this.policy = policy;
+    }
+
+    public MovePolicy getPolicy() {
+        return policy;
+    }
+}
@@ -0,0 +1,16 @@
+package com.cardgame.service.simulation;
+
+import com.cardgame.service.util.PlayoutState;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays a uniformly random legal move
+ */
+public class RandomPolicy implements MovePolicy {
+
+    @Override
+    public int chooseMove(PlayoutState state, int[] legalMoves, int count, SplittableRandom random) {
+        return legalMoves[random.nextInt(count)];
+    }
+}
@@ -0,0 +1,79 @@
+package com.cardgame.service.simulation;
+
+import com.cardgame.dto.simulation.MatchupRequest;
+import com.cardgame.dto.simulation.MatchupResultDto;
+import com.cardgame.model.Card;
+import com.cardgame.service.CardCatalog;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Deck matchup simulations for balancing. Decks are resolved through the in-memory card catalog,
+ * and the games run on a dedicated fork-join pool so they never compete with the common pool.
+ */
+@Service
+public class SimulationService {
+    private static final Logger logger = LoggerFactory.getLogger(SimulationService.class);
+
+    public static final int MAX_GAMES = 10_000_000;
+    // Same deck size DefaultGameValidator enforces for real games
+    private static final int DECK_SIZE = 5;
+
+    private final CardCatalog cardCatalog;
+    private final ForkJoinPool pool;
+    private final DeckMatchupSimulator simulator;
+
+    public SimulationService(CardCatalog cardCatalog,
+                             @Value("${simulation.parallelism:0}") int parallelism) {
+        this.cardCatalog = cardCatalog;
+        // 0 means one worker per core
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.simulator = new DeckMatchupSimulator(pool);
+    }
+
+    /**
+     * Play the requested number of headless games between two decks
+     * @throws IllegalArgumentException if a deck or the game count is invalid
+     */
+    public MatchupResultDto simulateMatchup(MatchupRequest request) {
+        if (request.getGames() < 1 || request.getGames() > MAX_GAMES) {
+            throw new IllegalArgumentException("Game count must be between 1 and " + MAX_GAMES);
+        }
+        int[] firstDeck = powersOf(request.getFirstDeck());
+        int[] secondDeck = powersOf(request.getSecondDeck());
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+
+        MatchupResultDto result = simulator.simulate(firstDeck, secondDeck, request.getGames(),
+                request.getFirstPolicy().getPolicy(), request.getSecondPolicy().getPolicy(),
+                request.isAlternateFirstPlayer(), seed);
+        logger.info("Simulated {} games of {} vs {} in {} ms (seed {})", result.getGames(),
+                request.getFirstDeck(), request.getSecondDeck(), result.getElapsedMillis(), seed);
+        return result;
+    }
+
+    private int[] powersOf(List<String> cardIds) {
+        if (cardIds.size() != DECK_SIZE) {
+            throw new IllegalArgumentException("Decks must contain exactly " + DECK_SIZE + " cards");
+        }
+        int[] powers = new int[cardIds.size()];
+        for (int i = 0; i < powers.length; i++) {
+            String cardId = cardIds.get(i);
+            Card card = cardCatalog.findCard(cardId)
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown card: " + cardId));
+            powers[i] = card.getPower();
+        }
+        return powers;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
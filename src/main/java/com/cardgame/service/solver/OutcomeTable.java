@@ -0,0 +1,195 @@
+package com.cardgame.service.solver;
+
+import com.cardgame.service.util.PlayoutState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only view of a solved-position file produced by {@link OutcomeTableBuilder}, memory-mapped
+ * so the table costs no heap and pages are loaded by the OS on demand.
+ * <p>
+ * The file is an open-addressing hash table with linear probing over canonical positions
+ * (see {@link Positions}): a header, then one long key per slot, then one value byte per slot.
+ * A value is the game-theoretic result for the player to move under perfect play by both sides.
+ * Lookups are a hash, a few probes and, for best moves, the legal moves of the position played out on
+ * per-thread scratch states; none of them allocate once a thread has made its first lookup.
+ */
+public final class OutcomeTable implements Closeable {
+    public static final int UNKNOWN = 0;
+    public static final int LOSS = 1;
+    public static final int DRAW = 2;
+    public static final int WIN = 3;
+
+    /**
+     * Returned by bestMove when there is no move; otherwise a move is cell * TIERS + tier
+     */
+    public static final int NO_MOVE = -1;
+
+    static final int MAGIC = 0x43475354;   // "CGST"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 64;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int[] powers;
+    private final int mask;
+    private final long entries;
+    private final int valuesOffset;
+    // Position being looked up, a child of it, and its legal moves
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    private OutcomeTable(FileChannel channel, MappedByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a solved-position table (version " + VERSION + ")");
+        }
+        if (buffer.getInt(8) != Positions.WIDTH || buffer.getInt(12) != Positions.HEIGHT) {
+            throw new IllegalArgumentException("Table was built for a " + buffer.getInt(8) + "x"
+                    + buffer.getInt(12) + " board");
+        }
+        this.powers = new int[Positions.TIERS];
+        for (int tier = 0; tier < Positions.TIERS; tier++) {
+            powers[tier] = buffer.getInt(16 + tier * 4);
+        }
+        int capacity = buffer.getInt(28);
+        this.mask = capacity - 1;
+        this.entries = buffer.getLong(32);
+        this.valuesOffset = HEADER_BYTES + capacity * Long.BYTES;
+        if (Integer.bitCount(capacity) != 1 || buffer.capacity() != valuesOffset + capacity) {
+            throw new IllegalArgumentException("Solved-position table is truncated or corrupt");
+        }
+    }
+
+    /**
+     * Map a table file read-only
+     */
+    public static OutcomeTable open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Solved-position table is too large to map: " + channel.size());
+            }
+            return new OutcomeTable(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (RuntimeException | IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The tier of a card power, or -1 if the table was not built for it
+     */
+    public int tierOf(int power) {
+        return Positions.tierOf(powers, power);
+    }
+
+    /**
+     * Card power of each tier, as the table was built
+     */
+    public int[] powers() {
+        return powers.clone();
+    }
+
+    public long size() {
+        return entries;
+    }
+
+    /**
+     * Result for the player to move
+     * @return WIN, DRAW or LOSS, or UNKNOWN if the position is not in the table
+     */
+    public int value(long position) {
+        PlayoutState state = scratch.get().position;
+        Positions.load(position, powers, state);
+        if (state.isTerminal()) {
+            return Positions.terminalValue(state);
+        }
+        return lookup(position);
+    }
+
+    /**
+     * Stored value of a non-terminal position
+     */
+    private int lookup(long position) {
+        long key = Positions.canonical(position);
+        int slot = slot(key, mask);
+        for (int probes = 0; probes <= mask; probes++) {
+            long stored = buffer.getLong(HEADER_BYTES + slot * Long.BYTES);
+            if (stored == key) {
+                return buffer.get(valuesOffset + slot);
+            }
+            if (stored == 0) {
+                return UNKNOWN;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * A move that achieves the position's value for the player to move
+     * @return cell * TIERS + tier, or NO_MOVE if the player cannot move or the position is unknown
+     */
+    public int bestMove(long position) {
+        Scratch scratch = this.scratch.get();
+        PlayoutState state = scratch.position;
+        Positions.load(position, powers, state);
+        int player = state.currentPlayer();
+        int count = state.isTerminal() ? 0 : state.legalMoves(scratch.moves);
+        int bestMove = NO_MOVE;
+        int bestValue = UNKNOWN;
+        for (int i = 0; i < count; i++) {
+            int move = scratch.moves[i];
+            int tableMove = (move % Positions.CELLS) * Positions.TIERS + tierOf(state.powerOf(move));
+            PlayoutState next = scratch.next;
+            next.copyFrom(state);
+            next.apply(move);
+            int value = next.isTerminal() ? Positions.terminalValue(next) : lookup(Positions.pack(next, powers));
+            if (value == UNKNOWN) {
+                return NO_MOVE;
+            }
+            int forMover = next.currentPlayer() == player ? value : opposite(value);
+            if (forMover > bestValue) {
+                bestValue = forMover;
+                bestMove = tableMove;
+                if (bestValue == WIN) {
+                    return bestMove;
+                }
+            }
+        }
+        return bestMove;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // The mapping itself is released when the buffer is garbage collected
+        channel.close();
+    }
+
+    static int opposite(int value) {
+        return value == UNKNOWN ? UNKNOWN : WIN + LOSS - value;
+    }
+
+    private static final class Scratch {
+        final PlayoutState position = PlayoutState.emptyDefaultBoard();
+        final PlayoutState next = PlayoutState.emptyDefaultBoard();
+        final int[] moves = new int[position.maxMoves()];
+    }
+
+    static int slot(long key, int mask) {
+        // SplitMix64 finalizer: keys differ mostly in a few low cell bits, so spread them before masking
+        long z = key;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        z = z ^ (z >>> 31);
+        return (int) z & mask;
+    }
+}
@@ -0,0 +1,269 @@
+package com.cardgame.service.solver;
+
+import com.cardgame.service.util.PlayoutState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Offline solver that fills an {@link OutcomeTable} file.
+ * Every opening (both decks and both opening cards) is solved by memoized minimax over all
+ * reachable positions; openings run in parallel on a fork-join pool and share one lock-free hash
+ * table, so a position reached from several openings is solved once. Only non-terminal positions
+ * are stored, since a finished position is scored directly on lookup.
+ * <p>
+ * Run with {@code ./gradlew buildSolverTable}; the full table for the 1/3/5 catalog is about 51M
+ * positions and a 600 MB file.
+ */
+public class OutcomeTableBuilder {
+    private static final Logger logger = LoggerFactory.getLogger(OutcomeTableBuilder.class);
+
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    // Cards placed automatically when a game starts, see GameService.placeInitialCards
+    private static final int FIRST_OPENING_CELL = Positions.cellIndex(1, 3);
+    private static final int SECOND_OPENING_CELL = Positions.cellIndex(1, 1);
+
+    public static final int DEFAULT_CAPACITY = 1 << 26;
+    public static final int DEFAULT_DECK_SIZE = 5;
+
+    private final int[] powers;
+    private final long[] keys;
+    private final byte[] values;
+    private final int mask;
+    private final AtomicInteger entries = new AtomicInteger();
+
+    /**
+     * @param powers Card power of each tier
+     * @param capacity Hash table slots, a power of two comfortably above the number of positions
+     */
+    public OutcomeTableBuilder(int[] powers, int capacity) {
+        if (powers.length != Positions.TIERS) {
+            throw new IllegalArgumentException("Expected " + Positions.TIERS + " card powers, got " + powers.length);
+        }
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.powers = powers.clone();
+        this.keys = new long[capacity];
+        this.values = new byte[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Positions right after GameService sets up a game: each player holds their deck minus the
+     * opening card placed for them, and the first player is to move
+     * @param deckSize Cards per deck; every split of that many cards over the tiers is included
+     */
+    public static long[] openingPositions(int deckSize) {
+        List<int[]> decks = new ArrayList<>();
+        for (int a = 0; a <= deckSize; a++) {
+            for (int b = 0; a + b <= deckSize; b++) {
+                decks.add(new int[] {a, b, deckSize - a - b});
+            }
+        }
+        List<Long> openings = new ArrayList<>();
+        for (int[] firstDeck : decks) {
+            for (int[] secondDeck : decks) {
+                for (int firstTier = 0; firstTier < Positions.TIERS; firstTier++) {
+                    for (int secondTier = 0; secondTier < Positions.TIERS; secondTier++) {
+                        if (firstDeck[firstTier] > 0 && secondDeck[secondTier] > 0) {
+                            openings.add(opening(firstDeck, secondDeck, firstTier, secondTier));
+                        }
+                    }
+                }
+            }
+        }
+        return openings.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * One opening position
+     * @param firstDeck Cards per tier in the first player's deck
+     * @param secondDeck Cards per tier in the second player's deck
+     */
+    public static long opening(int[] firstDeck, int[] secondDeck, int firstOpeningTier, int secondOpeningTier) {
+        long position = 0;
+        for (int tier = 0; tier < Positions.TIERS; tier++) {
+            position = Positions.withHandCount(position, 0, tier, firstDeck[tier] - (tier == firstOpeningTier ? 1 : 0));
+            position = Positions.withHandCount(position, 1, tier, secondDeck[tier] - (tier == secondOpeningTier ? 1 : 0));
+        }
+        position = Positions.withCard(position, FIRST_OPENING_CELL, 0, firstOpeningTier);
+        position = Positions.withCard(position, SECOND_OPENING_CELL, 1, secondOpeningTier);
+        return Positions.withTurn(position, 0);
+    }
+
+    /**
+     * Solve the given positions and everything reachable from them, using every worker of the pool
+     */
+    public void solve(long[] positions, ForkJoinPool pool) {
+        AtomicInteger done = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>(positions.length);
+        for (long position : positions) {
+            tasks.add(() -> {
+                PlayoutState state = PlayoutState.emptyDefaultBoard();
+                Positions.load(position, powers, state);
+                if (!state.isTerminal()) {
+                    solvePosition(position, state);
+                }
+                int solved = done.incrementAndGet();
+                if (solved % 100 == 0 || solved == positions.length) {
+                    logger.info("Solved {}/{} openings, {} positions", solved, positions.length, entries.get());
+                }
+                return null;
+            });
+        }
+        for (Future<Void> future : pool.invokeAll(tasks)) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while solving", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Solving failed", e.getCause());
+            }
+        }
+    }
+
+    public int size() {
+        return entries.get();
+    }
+
+    /**
+     * Write the table in the format read by {@link OutcomeTable#open(Path)}
+     */
+    public void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(OutcomeTable.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(OutcomeTable.MAGIC).putInt(OutcomeTable.VERSION)
+                    .putInt(Positions.WIDTH).putInt(Positions.HEIGHT);
+            for (int power : powers) {
+                header.putInt(power);
+            }
+            header.putInt(keys.length).putLong(entries.get());
+            header.clear();
+            writeFully(channel, header);
+
+            ByteBuffer chunk = ByteBuffer.allocate(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            for (long key : keys) {
+                if (!chunk.hasRemaining()) {
+                    chunk.flip();
+                    writeFully(channel, chunk);
+                    chunk.clear();
+                }
+                chunk.putLong(key);
+            }
+            chunk.flip();
+            writeFully(channel, chunk);
+            writeFully(channel, ByteBuffer.wrap(values));
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Value of a non-terminal position for the player to move, memoized in the shared table.
+     * There is no pruning: every reachable position is stored, including ones perfect play avoids,
+     * because real games reach them. Another worker may be solving the same position; both
+     * reach the same value, so the race is harmless.
+     * @param state The same position, to play moves on
+     */
+    private int solvePosition(long position, PlayoutState state) {
+        int slot = slotFor(Positions.canonical(position));
+        int stored = (byte) VALUES.getAcquire(values, slot);
+        if (stored != OutcomeTable.UNKNOWN) {
+            return stored;
+        }
+
+        int player = state.currentPlayer();
+        int[] moves = new int[state.maxMoves()];
+        int count = state.legalMoves(moves);
+        int best = OutcomeTable.LOSS;
+        for (int i = 0; i < count; i++) {
+            PlayoutState next = state.copy();
+            next.apply(moves[i]);
+            int value = next.isTerminal()
+                    ? Positions.terminalValue(next)
+                    : solvePosition(Positions.pack(next, powers), next);
+            best = Math.max(best, next.currentPlayer() == player ? value : OutcomeTable.opposite(value));
+        }
+        VALUES.setRelease(values, slot, (byte) best);
+        return best;
+    }
+
+    /**
+     * Find or claim the slot of a canonical position
+     */
+    private int slotFor(long key) {
+        int slot = OutcomeTable.slot(key, mask);
+        for (int probes = 0; probes <= mask; probes++) {
+            long stored = (long) KEYS.getVolatile(keys, slot);
+            if (stored == key) {
+                return slot;
+            }
+            if (stored == 0) {
+                long witness = (long) KEYS.compareAndExchange(keys, slot, 0L, key);
+                if (witness == 0) {
+                    entries.incrementAndGet();
+                    return slot;
+                }
+                if (witness == key) {
+                    return slot;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+        throw new IllegalStateException("Solved-position table is full at " + keys.length + " slots");
+    }
+
+    /**
+     * Build the table for the default board and decks
+     * Arguments: output file, then optionally the three card powers (default 1,3,5, the catalog's
+     * Spark, Lightning and Thunder cards)
+     */
+    public static void main(String[] args) throws IOException {
+        Path output = Paths.get(args.length > 0 ? args[0] : "build/solver/outcomes.bin");
+        int[] powers = args.length > 1
+                ? Arrays.stream(args[1].split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray()
+                : new int[] {1, 3, 5};
+
+        long start = System.nanoTime();
+        OutcomeTableBuilder builder = new OutcomeTableBuilder(powers, DEFAULT_CAPACITY);
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            builder.solve(openingPositions(DEFAULT_DECK_SIZE), pool);
+        } finally {
+            pool.shutdown();
+        }
+        builder.write(output);
+        logger.info("Wrote {} positions to {} in {} s", builder.size(), output,
+                (System.nanoTime() - start) / 1_000_000_000);
+    }
+}
@@ -0,0 +1,194 @@
+package com.cardgame.service.solver;
+
+import com.cardgame.service.util.PlayoutState;
+
+/**
+ * Game positions on the default 3x5 board packed into a single long, for the solved-position table.
+ * This is only an encoding: to apply the rules, a position is loaded into a {@link PlayoutState},
+ * which the bot and the simulations play by too, and the result is packed again. Loading into
+ * and packing from a reused state do not allocate.
+ * <p>
+ * Layout, low bits first:
+ * <ul>
+ *   <li>bits 0-44: 3 bits per cell (index y * WIDTH + x); 0 is empty, otherwise 1 + owner * TIERS + tier</li>
+ *   <li>bits 45-62: 3 bits per (player, tier) holding how many cards of that power tier are in the hand</li>
+ *   <li>bit 63: the player to move</li>
+ * </ul>
+ * A tier is the index of a card's power in the table's power list, so a position only records
+ * what the rules look at: who owns each cell and how strong each card is.
+ * The value 0 is never a real position (every game starts with one card per player on the board).
+ */
+public final class Positions {
+    public static final int WIDTH = 3;
+    public static final int HEIGHT = 5;
+    public static final int CELLS = WIDTH * HEIGHT;
+    public static final int TIERS = 3;
+    public static final int MAX_HAND_TIER_COUNT = 7;
+
+    private static final int CELL_BITS = 3;
+    private static final int HAND_SHIFT = CELLS * CELL_BITS;
+    private static final int TURN_SHIFT = 63;
+    private static final long CELL_MASK = (1L << CELL_BITS) - 1;
+    private static final long BOARD_MASK = (1L << HAND_SHIFT) - 1;
+
+    // Board symmetries that keep columns as columns: identity, mirror left-right, mirror top-bottom, both
+    private static final int[][] SYMMETRIES = new int[4][CELLS];
+
+    static {
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                int cell = y * WIDTH + x;
+                SYMMETRIES[0][cell] = cell;
+                SYMMETRIES[1][cell] = y * WIDTH + (WIDTH - 1 - x);
+                SYMMETRIES[2][cell] = (HEIGHT - 1 - y) * WIDTH + x;
+                SYMMETRIES[3][cell] = (HEIGHT - 1 - y) * WIDTH + (WIDTH - 1 - x);
+            }
+        }
+    }
+
+    private Positions() {
+    }
+
+    public static int cellIndex(int x, int y) {
+        return y * WIDTH + x;
+    }
+
+    /**
+     * @return The index of a card power in a table's power list, or -1 if it is not there
+     */
+    public static int tierOf(int[] powers, int power) {
+        for (int tier = 0; tier < powers.length; tier++) {
+            if (powers[tier] == power) {
+                return tier;
+            }
+        }
+        return -1;
+    }
+
+    public static int turn(long position) {
+        return (int) (position >>> TURN_SHIFT);
+    }
+
+    public static long withTurn(long position, int player) {
+        return (position & ~(1L << TURN_SHIFT)) | ((long) player << TURN_SHIFT);
+    }
+
+    /**
+     * @return The owning player of a cell, or -1 if it is empty
+     */
+    public static int owner(long position, int cell) {
+        int value = cellValue(position, cell);
+        return value == 0 ? -1 : (value - 1) / TIERS;
+    }
+
+    public static int tier(long position, int cell) {
+        return (cellValue(position, cell) - 1) % TIERS;
+    }
+
+    public static long withCard(long position, int cell, int player, int tier) {
+        int shift = cell * CELL_BITS;
+        return (position & ~(CELL_MASK << shift)) | ((long) (1 + player * TIERS + tier) << shift);
+    }
+
+    public static int handCount(long position, int player, int tier) {
+        return (int) ((position >>> handShift(player, tier)) & CELL_MASK);
+    }
+
+    public static long withHandCount(long position, int player, int tier, int count) {
+        if (count < 0 || count > MAX_HAND_TIER_COUNT) {
+            throw new IllegalArgumentException("Hand tier count out of range: " + count);
+        }
+        int shift = handShift(player, tier);
+        return (position & ~(CELL_MASK << shift)) | ((long) count << shift);
+    }
+
+    /**
+     * Load a position into a state on the default board (see {@link PlayoutState#emptyDefaultBoard()}),
+     * hands in tier order
+     * @param powers Card power of each tier
+     */
+    public static void load(long position, int[] powers, PlayoutState state) {
+        state.clear();
+        for (int cell = 0; cell < CELLS; cell++) {
+            int owner = owner(position, cell);
+            if (owner >= 0) {
+                state.putCard(owner, cell, powers[tier(position, cell)]);
+            }
+        }
+        for (int player = 0; player < 2; player++) {
+            for (int tier = 0; tier < TIERS; tier++) {
+                for (int count = handCount(position, player, tier); count > 0; count--) {
+                    state.addToHand(player, powers[tier]);
+                }
+            }
+        }
+        state.setCurrentPlayer(turn(position));
+    }
+
+    /**
+     * Pack a state on the default board
+     * @param powers Card power of each tier
+     * @return The position, or 0 if a card's power is not one of the tiers
+     */
+    public static long pack(PlayoutState state, int[] powers) {
+        if (state.cellCount() != CELLS || state.width() != WIDTH) {
+            return 0;
+        }
+        long position = 0;
+        for (int cell = 0; cell < CELLS; cell++) {
+            int owner = state.ownerOf(cell);
+            if (owner >= 0) {
+                int tier = tierOf(powers, state.powerAt(cell));
+                if (tier < 0) {
+                    return 0;
+                }
+                position = withCard(position, cell, owner, tier);
+            }
+        }
+        for (int player = 0; player < 2; player++) {
+            for (int h = 0; h < state.handSize(player); h++) {
+                int tier = tierOf(powers, state.handPower(player, h));
+                if (tier < 0) {
+                    return 0;
+                }
+                position = withHandCount(position, player, tier, handCount(position, player, tier) + 1);
+            }
+        }
+        return withTurn(position, state.currentPlayer());
+    }
+
+    /**
+     * The smallest of a position's symmetric images, so mirrored positions share one table entry
+     */
+    public static long canonical(long position) {
+        long best = position;
+        for (int s = 1; s < SYMMETRIES.length; s++) {
+            long image = position & ~BOARD_MASK;
+            int[] map = SYMMETRIES[s];
+            for (int cell = 0; cell < CELLS; cell++) {
+                image |= (long) cellValue(position, map[cell]) << (cell * CELL_BITS);
+            }
+            if (Long.compareUnsigned(image, best) < 0) {
+                best = image;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Result of a finished game for the player to move, by the state's column scoring
+     * @return One of OutcomeTable.WIN, DRAW or LOSS
+     */
+    public static int terminalValue(PlayoutState state) {
+        double outcome = state.outcome(state.currentPlayer());
+        return outcome == 1.0 ? OutcomeTable.WIN : outcome == 0.0 ? OutcomeTable.LOSS : OutcomeTable.DRAW;
+    }
+
+    private static int cellValue(long position, int cell) {
+        return (int) ((position >>> (cell * CELL_BITS)) & CELL_MASK);
+    }
+
+    private static int handShift(int player, int tier) {
+        return HAND_SHIFT + (player * TIERS + tier) * CELL_BITS;
+    }
+}
@@ -0,0 +1,120 @@
+package com.cardgame.service.solver;
+
+import com.cardgame.dto.ImmutablePositionDto;
+import com.cardgame.dto.game.ImmutableSolvedPositionDto;
+import com.cardgame.dto.game.SolvedPositionDto;
+import com.cardgame.model.GameModel;
+import com.cardgame.model.GameState;
+import com.cardgame.model.PlayerGameState;
+import com.cardgame.service.CardCatalog;
+import com.cardgame.service.util.PlayoutState;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.function.ToIntFunction;
+
+/**
+ * Answers "who wins from here, and how" for games on the default board from the precomputed
+ * table built by {@link OutcomeTableBuilder}. The table is optional: without solver.table-path
+ * every query reports the solver as unavailable.
+ */
+@Service
+public class SolverService {
+    private static final Logger logger = LoggerFactory.getLogger(SolverService.class);
+
+    private final CardCatalog cardCatalog;
+    private final OutcomeTable table;
+    private final int[] powers;
+
+    public SolverService(CardCatalog cardCatalog, @Value("${solver.table-path:}") String tablePath) {
+        this.cardCatalog = cardCatalog;
+        this.table = openTable(tablePath);
+        this.powers = table != null ? table.powers() : new int[0];
+    }
+
+    private static OutcomeTable openTable(String tablePath) {
+        if (tablePath == null || tablePath.isBlank()) {
+            logger.info("No solved-position table configured");
+            return null;
+        }
+        try {
+            OutcomeTable table = OutcomeTable.open(Paths.get(tablePath));
+            logger.info("Mapped solved-position table {} with {} positions", tablePath, table.size());
+            return table;
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Could not open solved-position table {}", tablePath, e);
+            return null;
+        }
+    }
+
+    public boolean isAvailable() {
+        return table != null;
+    }
+
+    /**
+     * Solve a game's current position
+     * @return Empty if the solver is unavailable, the game is not in progress, or the position
+     * is outside the table (another board size, card powers the table was not built for)
+     */
+    public Optional<SolvedPositionDto> solve(GameModel gameModel) {
+        if (table == null || gameModel.getGameState() != GameState.IN_PROGRESS || gameModel.hasPendingWinRequest()) {
+            return Optional.empty();
+        }
+        long position = encode(gameModel, cardCatalog::powerOf, powers);
+        if (position == 0) {
+            return Optional.empty();
+        }
+        int value = table.value(position);
+        if (value == OutcomeTable.UNKNOWN) {
+            return Optional.empty();
+        }
+
+        ImmutableSolvedPositionDto.Builder result = ImmutableSolvedPositionDto.builder()
+                .gameId(gameModel.getId())
+                .playerId(gameModel.getCurrentPlayerId())
+                .outcome(value == OutcomeTable.WIN ? "WIN" : value == OutcomeTable.DRAW ? "DRAW" : "LOSS");
+
+        int move = table.bestMove(position);
+        if (move != OutcomeTable.NO_MOVE) {
+            int cell = move / Positions.TIERS;
+            int power = powers[move % Positions.TIERS];
+            PlayerGameState playerState = gameModel.getPlayerState(gameModel.getCurrentPlayerId());
+            playerState.getHand().cardIds().stream()
+                    .filter(cardId -> cardCatalog.powerOf(cardId) == power)
+                    .findFirst()
+                    .ifPresent(result::bestCardId);
+            result.bestPosition(ImmutablePositionDto.builder()
+                    .x(cell % Positions.WIDTH)
+                    .y(cell / Positions.WIDTH)
+                    .build());
+        }
+        return Optional.of(result.build());
+    }
+
+    /**
+     * Pack a two-player game on the default board into a position (see {@link Positions})
+     * @param powers Card power of each tier
+     * @return The position, or 0 if the game cannot be expressed with these tiers
+     */
+    public static long encode(GameModel gameModel, ToIntFunction<String> cardPower, int[] powers) {
+        if (gameModel.getPlayerIds().size() != 2
+                || gameModel.getBoard().getWidth() != Positions.WIDTH
+                || gameModel.getBoard().getHeight() != Positions.HEIGHT) {
+            return 0;
+        }
+        return Positions.pack(PlayoutState.from(gameModel, cardPower), powers);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (table != null) {
+            table.close();
+        }
+    }
+}
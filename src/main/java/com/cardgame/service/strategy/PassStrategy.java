@@ -8,6 +8,6 @@ import org.springframework.stereotype.Service;
 public class PassStrategy implements MoveStrategy {
     @Override
     public void executeMove(GameModel gameModel, PlayerAction action) {
-        // Handle pass logic
+        gameModel.setPassCount(gameModel.getPassCount() + 1);
     }
 }
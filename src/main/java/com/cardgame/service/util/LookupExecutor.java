@@ -0,0 +1,52 @@
+package com.cardgame.service.util;
+
+import com.cardgame.tracing.ContextExecutors;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool for blocking database lookups that a request runs side by side (e.g. the players
+ * and decks of a new game). Kept apart from the common fork-join pool so blocked lookups can't
+ * starve CPU-bound work there. When every thread is busy and the queue is full, the lookup runs
+ * on the calling thread instead of failing.
+ */
+@Component
+public class LookupExecutor {
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+
+    public LookupExecutor(@Value("${lookup.threads:8}") int threads,
+                          @Value("${lookup.queue-capacity:200}") int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "lookup-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor = ContextExecutors.wrap(pool);
+    }
+
+    /**
+     * Run a lookup on the pool, in the caller's trace
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> lookup) {
+        return CompletableFuture.supplyAsync(lookup, executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
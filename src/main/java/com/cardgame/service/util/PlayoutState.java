@@ -0,0 +1,433 @@
+package com.cardgame.service.util;
+
+import com.cardgame.model.Board;
+import com.cardgame.model.GameModel;
+import com.cardgame.model.Hand;
+import com.cardgame.model.PlayerGameState;
+import com.cardgame.model.Position;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.ToIntFunction;
+
+/**
+ * Compact, copyable two-player game state for playing many games quickly (bot search, headless
+ * simulations). Cells are indexed y * width + x and cards are reduced to their power, so a move
+ * is a few array writes.
+ * The rules mirror GameService and DefaultGameValidator: a card goes on an empty cell
+ * orthogonally adjacent to one of the player's own cards, the game ends when the board is full or
+ * nobody can move, and a player who cannot move is skipped. Scoring follows ScoreCalculator's
+ * column rules.
+ * <p>
+ * This is the one compact implementation of those rules: the bot, the simulations and the solved-position
+ * table (through {@link com.cardgame.service.solver.Positions}) all play by it.
+ * <p>
+ * A move is encoded as handIndex * cellCount + cell. For states built with
+ * {@link #from(GameModel, ToIntFunction)}, hand indexes at that state refer to the order of
+ * {@link #handCardIds(int)}.
+ */
+public final class PlayoutState {
+    private static final int EMPTY = -1;
+    private static final Board DEFAULT_BOARD = new Board();
+    private static final int[][] DEFAULT_NEIGHBOURS = neighbours(DEFAULT_BOARD.getWidth(), DEFAULT_BOARD.getHeight());
+
+    private final int width;
+    private final int cellCount;
+    private final int[][] neighbours;   // shared between copies, never modified
+    private final String[][] rootHandCardIds;  // shared, hand order when built from a GameModel
+
+    private final int[] owner;
+    private final int[] power;
+    private final int[][] hands;
+    private final int[] handSizes;
+    private int emptyCells;
+    private int current;
+    private boolean terminal;
+
+    private PlayoutState(int width, int height, String[][] rootHandCardIds) {
+        this.width = width;
+        this.cellCount = width * height;
+        this.neighbours = width == DEFAULT_BOARD.getWidth() && height == DEFAULT_BOARD.getHeight()
+                ? DEFAULT_NEIGHBOURS : neighbours(width, height);
+        this.rootHandCardIds = rootHandCardIds;
+        this.owner = new int[cellCount];
+        this.power = new int[cellCount];
+        this.hands = new int[2][Hand.CAPACITY];
+        this.handSizes = new int[2];
+        Arrays.fill(owner, EMPTY);
+        this.emptyCells = cellCount;
+    }
+
+    private PlayoutState(PlayoutState other) {
+        this.width = other.width;
+        this.cellCount = other.cellCount;
+        this.neighbours = other.neighbours;
+        this.rootHandCardIds = other.rootHandCardIds;
+        this.owner = other.owner.clone();
+        this.power = other.power.clone();
+        this.hands = new int[][] {other.hands[0].clone(), other.hands[1].clone()};
+        this.handSizes = other.handSizes.clone();
+        this.emptyCells = other.emptyCells;
+        this.current = other.current;
+        this.terminal = other.terminal;
+    }
+
+    /**
+     * Build the state of a two-player game
+     * @param cardPower Power of a card by card ID (usually CardCatalog::powerOf)
+     */
+    public static PlayoutState from(GameModel gameModel, ToIntFunction<String> cardPower) {
+        List<String> playerIds = gameModel.getPlayerIds();
+        String[][] handCardIds = new String[2][];
+        for (int p = 0; p < 2; p++) {
+            handCardIds[p] = gameModel.getPlayerState(playerIds.get(p)).getHand().cardIds().toArray(new String[0]);
+        }
+
+        PlayoutState state = new PlayoutState(
+                gameModel.getBoard().getWidth(), gameModel.getBoard().getHeight(), handCardIds);
+        for (int p = 0; p < 2; p++) {
+            PlayerGameState playerState = gameModel.getPlayerState(playerIds.get(p));
+            for (Map.Entry<String, String> placed : playerState.getPlacedCards().entrySet()) {
+                Position position = Position.fromStorageString(placed.getKey());
+                state.place(p, position.getY() * state.width + position.getX(), cardPower.applyAsInt(placed.getValue()));
+            }
+            for (String cardId : handCardIds[p]) {
+                state.hands[p][state.handSizes[p]++] = cardPower.applyAsInt(cardId);
+            }
+        }
+        state.setCurrentPlayer(playerIds.indexOf(gameModel.getCurrentPlayerId()));
+        return state;
+    }
+
+    /**
+     * A new game on the default board, set up the way GameService does it: each player's hand is
+     * the first Hand.CAPACITY cards of their deck, one random card from it is placed for the first
+     * player at (1,3) and for the second at (1,1), and the first player moves
+     * @param firstDeck Card powers of the first player's deck, in deck order
+     * @param secondDeck Card powers of the second player's deck, in deck order
+     */
+    public static PlayoutState newGame(int[] firstDeck, int[] secondDeck, SplittableRandom random) {
+        PlayoutState state = new PlayoutState(DEFAULT_BOARD.getWidth(), DEFAULT_BOARD.getHeight(), null);
+        int[][] decks = {firstDeck, secondDeck};
+        for (int p = 0; p < 2; p++) {
+            int handSize = Math.min(Hand.CAPACITY, decks[p].length);
+            System.arraycopy(decks[p], 0, state.hands[p], 0, handSize);
+            state.handSizes[p] = handSize;
+        }
+        state.place(0, 3 * state.width + 1, state.removeFromHand(0, random.nextInt(state.handSizes[0])));
+        state.place(1, state.width + 1, state.removeFromHand(1, random.nextInt(state.handSizes[1])));
+        state.setCurrentPlayer(0);
+        return state;
+    }
+
+    /**
+     * An empty default board with empty hands, to be filled in with {@link #putCard}, {@link #addToHand}
+     * and {@link #setCurrentPlayer} by callers that keep positions in another form
+     */
+    public static PlayoutState emptyDefaultBoard() {
+        return new PlayoutState(DEFAULT_BOARD.getWidth(), DEFAULT_BOARD.getHeight(), null);
+    }
+
+    public PlayoutState copy() {
+        return new PlayoutState(this);
+    }
+
+    /**
+     * Overwrite this state with another of the same board size, without allocating
+     */
+    public void copyFrom(PlayoutState other) {
+        if (other.cellCount != cellCount || other.width != width) {
+            throw new IllegalArgumentException("Board sizes differ");
+        }
+        System.arraycopy(other.owner, 0, owner, 0, cellCount);
+        System.arraycopy(other.power, 0, power, 0, cellCount);
+        for (int p = 0; p < 2; p++) {
+            System.arraycopy(other.hands[p], 0, hands[p], 0, other.handSizes[p]);
+            handSizes[p] = other.handSizes[p];
+        }
+        emptyCells = other.emptyCells;
+        current = other.current;
+        terminal = other.terminal;
+    }
+
+    /**
+     * Empty the board and both hands
+     */
+    public void clear() {
+        Arrays.fill(owner, EMPTY);
+        handSizes[0] = 0;
+        handSizes[1] = 0;
+        emptyCells = cellCount;
+        current = 0;
+        terminal = false;
+    }
+
+    /**
+     * Put a card on an empty cell while setting up a position
+     */
+    public void putCard(int player, int cell, int cardPower) {
+        if (owner[cell] != EMPTY) {
+            throw new IllegalArgumentException("Cell " + cell + " is already taken");
+        }
+        place(player, cell, cardPower);
+    }
+
+    /**
+     * Add a card to a player's hand while setting up a position
+     */
+    public void addToHand(int player, int cardPower) {
+        if (handSizes[player] == Hand.CAPACITY) {
+            throw new IllegalArgumentException("Hand holds at most " + Hand.CAPACITY + " cards");
+        }
+        hands[player][handSizes[player]++] = cardPower;
+    }
+
+    /**
+     * Set the player to move once the board and hands are set up, which also decides whether the game is over
+     */
+    public void setCurrentPlayer(int player) {
+        current = player;
+        terminal = emptyCells == 0 || (!hasValidMove(0) && !hasValidMove(1));
+    }
+
+    /**
+     * A copy in which a player's hand is replaced by cards dealt at random from a pool, so a search
+     * from it does not know that player's actual hand. The hand keeps its size; its card IDs from
+     * {@link #handCardIds(int)} no longer apply.
+     * @param pool Powers the hidden cards may have; with an empty pool the hand is kept
+     */
+    public PlayoutState withHandDealtFrom(int player, int[] pool, SplittableRandom random) {
+        PlayoutState copy = copy();
+        if (pool.length > 0) {
+            for (int i = 0; i < copy.handSizes[player]; i++) {
+                copy.hands[player][i] = pool[random.nextInt(pool.length)];
+            }
+        }
+        return copy;
+    }
+
+    public int currentPlayer() {
+        return current;
+    }
+
+    public boolean isTerminal() {
+        return terminal;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int cellCount() {
+        return cellCount;
+    }
+
+    /**
+     * @return The player owning a cell, or -1 if it is empty
+     */
+    public int ownerOf(int cell) {
+        return owner[cell];
+    }
+
+    /**
+     * Power of the card on an occupied cell
+     */
+    public int powerAt(int cell) {
+        return power[cell];
+    }
+
+    public int handSize(int player) {
+        return handSizes[player];
+    }
+
+    public int handPower(int player, int handIndex) {
+        return hands[player][handIndex];
+    }
+
+    /**
+     * Whether a player may place a card on a cell: it is empty and orthogonally adjacent to one of their cards
+     */
+    public boolean isPlayable(int player, int cell) {
+        if (owner[cell] != EMPTY) {
+            return false;
+        }
+        for (int neighbour : neighbours[cell]) {
+            if (owner[neighbour] == player) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The move placing a card of the given power from the current player's hand on a cell
+     * @return The move, or -1 if the hand holds no card of that power
+     */
+    public int moveFor(int cell, int cardPower) {
+        for (int h = 0; h < handSizes[current]; h++) {
+            if (hands[current][h] == cardPower) {
+                return h * cellCount + cell;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Card IDs of a player's hand in move-encoding order, for states built from a GameModel
+     */
+    public String[] handCardIds(int player) {
+        return rootHandCardIds[player];
+    }
+
+    public Position positionOf(int move) {
+        int cell = move % cellCount;
+        return new Position(cell % width, cell / width);
+    }
+
+    /**
+     * Power of the card a move would place
+     */
+    public int powerOf(int move) {
+        return hands[current][move / cellCount];
+    }
+
+    /**
+     * Total power a player has in a column
+     */
+    public int columnTotal(int player, int column) {
+        int total = 0;
+        for (int cell = column; cell < cellCount; cell += width) {
+            if (owner[cell] == player) {
+                total += power[cell];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Columns a player currently wins outright (ties and empty columns count for nobody)
+     */
+    public int columnsWon(int player) {
+        int won = 0;
+        for (int column = 0; column < width; column++) {
+            int winner = ScoreCalculator.columnWinner(columnTotal(0, column), columnTotal(1, column));
+            if (winner == (player == 0 ? 1 : -1)) {
+                won++;
+            }
+        }
+        return won;
+    }
+
+    /**
+     * Write the current player's legal moves into {@code moves}. Cards of equal power are
+     * interchangeable, so only the first hand index per power is generated.
+     * @return The number of moves written
+     */
+    public int legalMoves(int[] moves) {
+        int count = 0;
+        int[] hand = hands[current];
+        int handSize = handSizes[current];
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (!isPlayable(current, cell)) {
+                continue;
+            }
+            for (int h = 0; h < handSize; h++) {
+                if (!seenEarlier(hand, h)) {
+                    moves[count++] = h * cellCount + cell;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Upper bound on the number of legal moves, for sizing move buffers
+     */
+    public int maxMoves() {
+        return Hand.CAPACITY * cellCount;
+    }
+
+    public void apply(int move) {
+        int player = current;
+        int cell = move % cellCount;
+        // Swap-remove keeps the hand dense; hand indexes of later states no longer match the root order
+        place(player, cell, removeFromHand(player, move / cellCount));
+
+        if (emptyCells == 0 || (!hasValidMove(0) && !hasValidMove(1))) {
+            terminal = true;
+            return;
+        }
+        int next = 1 - player;
+        if (hasValidMove(next)) {
+            current = next;
+        }
+    }
+
+    /**
+     * Result of a finished game for a player: 1 for a win, 0.5 for a tie, 0 for a loss
+     */
+    public double outcome(int player) {
+        int columnBalance = columnsWon(0) - columnsWon(1);
+        if (columnBalance == 0) {
+            return 0.5;
+        }
+        boolean firstPlayerWins = columnBalance > 0;
+        return firstPlayerWins == (player == 0) ? 1.0 : 0.0;
+    }
+
+    private void place(int player, int cell, int cardPower) {
+        owner[cell] = player;
+        power[cell] = cardPower;
+        emptyCells--;
+    }
+
+    private int removeFromHand(int player, int handIndex) {
+        int cardPower = hands[player][handIndex];
+        hands[player][handIndex] = hands[player][--handSizes[player]];
+        return cardPower;
+    }
+
+    private boolean hasValidMove(int player) {
+        if (handSizes[player] == 0) {
+            return false;
+        }
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (isPlayable(player, cell)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean seenEarlier(int[] hand, int index) {
+        for (int i = 0; i < index; i++) {
+            if (hand[i] == hand[index]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[][] neighbours(int width, int height) {
+        int[][] result = new int[width * height][];
+        int[] dx = {0, 0, 1, -1};
+        int[] dy = {1, -1, 0, 0};
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int[] cells = new int[4];
+                int count = 0;
+                for (int d = 0; d < 4; d++) {
+                    int nx = x + dx[d];
+                    int ny = y + dy[d];
+                    if (nx >= 0 && nx < width && ny >= 0 && ny < height) {
+                        cells[count++] = ny * width + nx;
+                    }
+                }
+                result[y * width + x] = Arrays.copyOf(cells, count);
+            }
+        }
+        return result;
+    }
+}
@@ -1,14 +1,13 @@
 package com.cardgame.service.util;
 
-import com.cardgame.model.Card;
 import com.cardgame.model.GameModel;
-import com.cardgame.model.Player;
+import com.cardgame.model.PlayerGameState;
 import com.cardgame.model.Position;
-import com.cardgame.service.player.PlayerService;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.ToIntFunction;
 
 /**
  * Utility class to calculate and update player scores using column-based scoring.
@@ -31,11 +30,12 @@ public class ScoreCalculator {
     
     /**
      * Calculate column scores for the current game state
-     * @param gameModel The game model
-     * @param playerService Service to retrieve player data
+     * @param gameModel The game model, holding each player's placed cards
+     * @param cardPower Power of a placed card by card ID (usually CardCatalog::powerOf)
      * @return Map of column index to ColumnScore
      */
-    public static Map<Integer, ColumnScore> calculateColumnScores(GameModel gameModel, PlayerService playerService) {
+    public static Map<Integer, ColumnScore> calculateColumnScores(GameModel gameModel,
+                                                                  ToIntFunction<String> cardPower) {
         Map<Integer, ColumnScore> columnScores = new HashMap<>();
         
         // Get board width dynamically from the game model
@@ -53,13 +53,12 @@ public class ScoreCalculator {
         
         // Calculate scores for each player
         for (String playerId : gameModel.getPlayerIds()) {
-            Player player = playerService.getPlayer(playerId);
-            Map<String, Card> placedCards = player.getPlacedCards();
+            Map<String, String> placedCards = gameModel.getPlayerState(playerId).getPlacedCards();
             
             if (placedCards != null) {
-                for (Map.Entry<String, Card> entry : placedCards.entrySet()) {
+                for (Map.Entry<String, String> entry : placedCards.entrySet()) {
                     String positionKey = entry.getKey();
-                    Card card = entry.getValue();
+                    String cardId = entry.getValue();
                     
                     // Parse position to get column
                     Position pos = Position.fromStorageString(positionKey);
@@ -67,7 +66,7 @@ public class ScoreCalculator {
                     
                     // Add card power to player's column score
                     ColumnScore colScore = columnScores.get(column);
-                    colScore.playerScores.merge(playerId, card.getPower(), Integer::sum);
+                    colScore.playerScores.merge(playerId, cardPower.applyAsInt(cardId), Integer::sum);
                 }
             }
         }
@@ -117,11 +116,23 @@ public class ScoreCalculator {
         columnScore.isTie = isTie;
     }
 
+    /**
+     * Two-player form of {@link #determineColumnWinner(ColumnScore)} on plain column totals,
+     * for callers that score many positions without building ColumnScore maps
+     * @return 1 if the first player wins the column, -1 if the second does, 0 for a tie or an empty column
+     */
+    public static int columnWinner(int firstScore, int secondScore) {
+        if (Math.max(firstScore, secondScore) == 0) {
+            return 0;
+        }
+        return Integer.compare(firstScore, secondScore);
+    }
+
     /**
      * Updates player scores based on column wins.
      * The score is now the number of columns won.
      */
-    public static void updatePlayerScore(Player player, GameModel gameModel) {
+    public static void updatePlayerScore(PlayerGameState playerState, GameModel gameModel) {
         // This method is called for backward compatibility
         // Actual scoring is now based on columns won, calculated in determineWinner
     }
@@ -131,11 +142,11 @@ public class ScoreCalculator {
      * The player who wins the most columns (2 out of 3) wins the game.
      *
      * @param gameModel The game model
-     * @param playerService Service to retrieve player data
+     * @param cardPower Power of a placed card by card ID (usually CardCatalog::powerOf)
      * @return The ID of the winning player, or null if there's a tie
      */
-    public static String determineWinner(GameModel gameModel, PlayerService playerService) {
-        Map<Integer, ColumnScore> columnScores = calculateColumnScores(gameModel, playerService);
+    public static String determineWinner(GameModel gameModel, ToIntFunction<String> cardPower) {
+        Map<Integer, ColumnScore> columnScores = calculateColumnScores(gameModel, cardPower);
         
         // Count columns won by each player
         Map<String, Integer> columnsWon = new HashMap<>();
@@ -176,11 +187,11 @@ public class ScoreCalculator {
     
     /**
      * @deprecated This method is retained for backward compatibility but does nothing.
-     * Use {@link #determineWinner(GameModel, PlayerService)} for scoring logic.
+     * Use {@link #determineWinner(GameModel, ToIntFunction)} for scoring logic.
      */
     @Deprecated
     public static String determineWinner(GameModel gameModel) {
         // This should not be called anymore, but kept for compatibility
-        throw new UnsupportedOperationException("Use determineWinner(GameModel, PlayerService) instead");
+        throw new UnsupportedOperationException("Use determineWinner(GameModel, ToIntFunction) instead");
     }
 }
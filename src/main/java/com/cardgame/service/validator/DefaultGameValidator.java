@@ -1,55 +1,42 @@
 package com.cardgame.service.validator;
 
 import java.util.List;
-import java.util.Objects;
 import com.cardgame.dto.PlayerAction;
 import com.cardgame.exception.game.InvalidMoveException;
 import com.cardgame.model.Card;
-import com.cardgame.model.Deck;
+import com.cardgame.model.DeckSnapshot;
 import com.cardgame.model.GameModel;
 import com.cardgame.model.GameState;
 import com.cardgame.model.Player;
+import com.cardgame.model.PlayerGameState;
 import com.cardgame.model.Position;
 import com.cardgame.service.manager.BoardManager;
-import com.cardgame.service.player.DeckService;
-import com.cardgame.service.player.PlayerService;
 import org.springframework.stereotype.Service;
 
 @Service
 public class DefaultGameValidator implements GameValidator {
-    private final PlayerService playerService;
-    private final DeckService deckService;
     private final BoardManager boardManager;
 
-    public DefaultGameValidator(
-            PlayerService playerService,
-            DeckService deckService,
-            BoardManager boardManager) {
-        this.playerService = playerService;
-        this.deckService = deckService;
+    public DefaultGameValidator(BoardManager boardManager) {
         this.boardManager = boardManager;
     }
 
     @Override
-    public void validatePlayerAndDecks(String player1Id, String player2Id, String deck1Id, String deck2Id) {
+    public void validatePlayerAndDecks(Player player1, Player player2, DeckSnapshot deck1, DeckSnapshot deck2) {
         // Implementation of validation logic
-        Player player1 = playerService.getPlayer(player1Id);
-        Player player2 = playerService.getPlayer(player2Id);
         if (player1 == null || player2 == null) {
             throw new IllegalArgumentException("One or both players not found");
         }
 
-        Deck deck1 = deckService.getDeck(deck1Id);
-        Deck deck2 = deckService.getDeck(deck2Id);
         if (deck1 == null || deck2 == null) {
             throw new IllegalArgumentException("One or both decks not found");
         }
 
-        if (!deck1.getOwnerId().equals(player1Id) || !deck2.getOwnerId().equals(player2Id)) {
+        if (!deck1.getOwnerId().equals(player1.getId()) || !deck2.getOwnerId().equals(player2.getId())) {
             throw new IllegalArgumentException("Deck ownership mismatch");
         }
 
-        if (deck1.getCards().size() != 5 || deck2.getCards().size() != 5) {
+        if (deck1.getCardIds().size() != 5 || deck2.getCardIds().size() != 5) {
             throw new IllegalArgumentException("Decks must contain exactly 5 cards");
         }
     }
@@ -68,22 +55,22 @@ public class DefaultGameValidator implements GameValidator {
     public void validateMove(GameModel gameModel, PlayerAction action) {
         Position targetPos = action.getTargetPosition();
         Card card = action.getCard();
-        Player player = playerService.getPlayer(action.getPlayerId());
+        PlayerGameState playerState = gameModel.getPlayerState(action.getPlayerId());
 
         if (!boardManager.isValidPosition(gameModel.getBoard(), targetPos)) {
             throw new InvalidMoveException("Invalid or occupied position");
         }
 
-        if (!player.getHand().contains(card)) {
+        if (card == null || !playerState.getHand().contains(card.getId())) {
             throw new InvalidMoveException("Card not in player's hand");
         }
 
-        validateCardPlacement(gameModel, player, targetPos);
+        validateCardPlacement(gameModel, playerState, targetPos);
     }
 
-    private void validateCardPlacement(GameModel gameModel, Player player, Position targetPos) {
+    private void validateCardPlacement(GameModel gameModel, PlayerGameState playerState, Position targetPos) {
         // After game initialization, players always have cards on board, so adjacency rules always apply
-        validateAdjacentPlacement(gameModel, player, targetPos);
+        validateAdjacentPlacement(gameModel, playerState, targetPos);
     }
 
     private void validateFirstMove(Position pos, String playerId, GameModel gameModel) {
@@ -92,13 +79,11 @@ public class DefaultGameValidator implements GameValidator {
         // The adjacency rule will apply from the second move onwards
     }
 
-    private void validateAdjacentPlacement(GameModel gameModel, Player player, Position targetPos) {
+    private void validateAdjacentPlacement(GameModel gameModel, PlayerGameState playerState, Position targetPos) {
+        // Ownership is by position: card IDs repeat now that they reference the card catalog
         List<Position> adjacentPositions = boardManager.getAdjacentPositions(gameModel.getBoard(), targetPos);
         boolean hasAdjacentCard = adjacentPositions.stream()
-                .map(pos -> gameModel.getBoard().getCardIdAt(pos))
-                .filter(Objects::nonNull)
-                .anyMatch(cardId -> player.getPlacedCards().values().stream()
-                        .anyMatch(c -> c.getId().equals(cardId)));
+                .anyMatch(pos -> playerState.getPlacedCards().containsKey(pos.toStorageString()));
 
         if (!hasAdjacentCard) {
             throw new InvalidMoveException("Must place card adjacent to your existing cards");
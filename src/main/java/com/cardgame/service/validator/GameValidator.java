@@ -1,10 +1,16 @@
 package com.cardgame.service.validator;
 
 import com.cardgame.dto.PlayerAction;
+import com.cardgame.model.DeckSnapshot;
 import com.cardgame.model.GameModel;
+import com.cardgame.model.Player;
 
 public interface GameValidator {
-    void validatePlayerAndDecks(String player1Id, String player2Id, String deck1Id, String deck2Id);
+    /**
+     * Check the players and decks for a new game. Callers load both of each in one query;
+     * a player or deck that was not found is passed as null.
+     */
+    void validatePlayerAndDecks(Player player1, Player player2, DeckSnapshot deck1, DeckSnapshot deck2);
     void validatePlayerTurn(GameModel gameModel, String playerId);
     void validateMove(GameModel gameModel, PlayerAction action);
 }
@@ -0,0 +1,463 @@
+package com.cardgame.sse;
+
+import com.cardgame.dto.game.GameStateEventDto;
+import com.cardgame.dto.game.ImmutableGameStateEventDto;
+import com.cardgame.model.GameModel;
+import com.cardgame.model.PlayerGameState;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Server-Sent Event streams of game state changes, for clients without a WebSocket (LOCAL mode).
+ * Every save of a game someone is watching becomes a "state" event whose ID is the game's state
+ * version (see GameVersionCache), serialized once and shared by all of the game's subscribers.
+ * <p>
+ * Subscribers hold no thread: each has a small bounded queue drained by a shared pool of sender
+ * threads, so a save never waits on a client. A subscriber whose queue overflows is closed; its
+ * EventSource reconnects with Last-Event-ID and resumes from the game's recent event history,
+ * or gets the latest state if it missed more than the history holds. A heartbeat comment keeps
+ * idle connections open through proxies, and a game's history is kept for a while after its last
+ * subscriber leaves so reconnects can resume.
+ * <p>
+ * A write to a client that stops reading blocks its sender thread until the container's write
+ * timeout. A subscriber whose write has taken longer than sse.write-timeout-ms is closed and
+ * dropped from its game, and the pool gets an extra thread until that write returns, so the
+ * other subscribers keep their full set of senders. Its emitter is completed by the stuck thread
+ * once the write ends, since completing waits for the write.
+ */
+@Component
+public class GameEventStreams extends AbstractMongoEventListener<GameModel> {
+    private static final Logger logger = LoggerFactory.getLogger(GameEventStreams.class);
+
+    private static final String HEARTBEAT = "heartbeat";
+
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+    private final int bufferSize;
+    private final int historySize;
+    private final long retentionNanos;
+    private final long writeTimeoutNanos;
+    private final Map<String, GameChannel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter overflowCounter;
+    private final Counter stalledCounter;
+    private final ThreadPoolExecutor senders;
+    private final int baseSenderThreads;
+    private final ScheduledExecutorService heartbeats;
+
+    public GameEventStreams(ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${sse.timeout-ms:1800000}") long timeoutMs,
+                            @Value("${sse.buffer-size:16}") int bufferSize,
+                            @Value("${sse.history-size:32}") int historySize,
+                            @Value("${sse.heartbeat-seconds:15}") int heartbeatSeconds,
+                            @Value("${sse.retention-seconds:120}") int retentionSeconds,
+                            @Value("${sse.sender-threads:2}") int senderThreads,
+                            @Value("${sse.write-timeout-ms:10000}") long writeTimeoutMs) {
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+        this.bufferSize = bufferSize;
+        this.historySize = historySize;
+        this.retentionNanos = TimeUnit.SECONDS.toNanos(retentionSeconds);
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+
+        Gauge.builder("sse.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open game event streams")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("sse.subscribers.overflowed")
+                .description("Event streams closed because the client fell too far behind")
+                .register(meterRegistry);
+        this.stalledCounter = Counter.builder("sse.subscribers.stalled")
+                .description("Event streams closed because a write to the client took longer than the write timeout")
+                .register(meterRegistry);
+
+        this.baseSenderThreads = Math.max(1, senderThreads);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(baseSenderThreads, baseSenderThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "sse-sender-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sse-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        long stallCheckMs = Math.max(100, writeTimeoutMs / 2);
+        heartbeats.scheduleWithFixedDelay(this::closeStalledSubscribers, stallCheckMs, stallCheckMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Open a stream for a game
+     * @param loadGame Loads the game as it is now, sent first unless the client is already up to date.
+     *                 Called after the game's channel exists, so no save can fall between the two.
+     * @param lastEventId The client's Last-Event-ID, or null for a new stream
+     */
+    public SseEmitter subscribe(String gameId, Supplier<GameModel> loadGame, Long lastEventId) {
+        GameChannel channel = channels.computeIfAbsent(gameId, GameChannel::new);
+        GameModel gameModel = loadGame.get();
+        SseEmitter emitter = createEmitter();
+        Subscriber subscriber = new Subscriber(emitter);
+        synchronized (channel) {
+            for (Event event : channel.catchUp(toEvent(gameModel), lastEventId)) {
+                subscriber.offer(event);
+            }
+            channel.subscribers.add(subscriber);
+            // The channel may have been swept between computeIfAbsent and the lock; put it back
+            channels.putIfAbsent(gameId, channel);
+        }
+        subscriberCount.incrementAndGet();
+
+        Runnable unsubscribe = () -> unsubscribe(channel, subscriber);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        return emitter;
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    boolean hasChannel(String gameId) {
+        return channels.containsKey(gameId);
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<GameModel> event) {
+        GameModel gameModel = event.getSource();
+        GameChannel channel = channels.get(gameModel.getId());
+        if (channel == null) {
+            return;
+        }
+        Event stateEvent = toEvent(gameModel);
+        synchronized (channel) {
+            channel.remember(stateEvent);
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.offer(stateEvent);
+            }
+        }
+    }
+
+    private void unsubscribe(GameChannel channel, Subscriber subscriber) {
+        synchronized (channel) {
+            if (channel.subscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+                if (channel.subscribers.isEmpty()) {
+                    channel.idleSinceNanos = System.nanoTime();
+                }
+            }
+        }
+    }
+
+    void heartbeat() {
+        try {
+            long now = System.nanoTime();
+            for (GameChannel channel : channels.values()) {
+                synchronized (channel) {
+                    if (channel.subscribers.isEmpty()) {
+                        if (now - channel.idleSinceNanos > retentionNanos) {
+                            channels.remove(channel.gameId, channel);
+                        }
+                        continue;
+                    }
+                    for (Subscriber subscriber : channel.subscribers) {
+                        subscriber.offerHeartbeat();
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            // An exception would cancel the schedule
+            logger.error("Event stream heartbeat failed", e);
+        }
+    }
+
+    void closeStalledSubscribers() {
+        try {
+            long now = System.nanoTime();
+            for (GameChannel channel : channels.values()) {
+                for (Subscriber subscriber : channel.subscribers) {
+                    if (subscriber.closeIfStalled(now)) {
+                        stalledCounter.increment();
+                        unsubscribe(channel, subscriber);
+                        // The stuck thread is written off until its write returns
+                        resizeSenders(1);
+                        logger.warn("Closed an event stream for game {}: a write blocked for over {} ms",
+                                channel.gameId, TimeUnit.NANOSECONDS.toMillis(writeTimeoutNanos));
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Event stream write check failed", e);
+        }
+    }
+
+    /**
+     * Grow or shrink the sender pool, never below the configured sender-threads.
+     * Core and maximum are kept equal and are read and set under one lock.
+     */
+    private void resizeSenders(int delta) {
+        synchronized (senders) {
+            int size = Math.max(baseSenderThreads, senders.getMaximumPoolSize() + delta);
+            // The maximum may never drop below the core size, so set them in the order that keeps it above
+            if (size >= senders.getMaximumPoolSize()) {
+                senders.setMaximumPoolSize(size);
+                senders.setCorePoolSize(size);
+            } else {
+                senders.setCorePoolSize(size);
+                senders.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    private Event toEvent(GameModel gameModel) {
+        int placedCards = 0;
+        for (PlayerGameState playerState : gameModel.getPlayerStates().values()) {
+            placedCards += playerState.getPlacedCards().size();
+        }
+        GameStateEventDto dto = ImmutableGameStateEventDto.builder()
+                .gameId(gameModel.getId())
+                .version(gameModel.getStateVersion())
+                .gameState(gameModel.getGameState())
+                .currentPlayerId(gameModel.getCurrentPlayerId())
+                .pendingWinRequest(gameModel.hasPendingWinRequest())
+                .placedCards(placedCards)
+                .winnerId(gameModel.getWinnerId())
+                .tie(gameModel.isTie())
+                .build();
+        try {
+            return new Event(gameModel.getStateVersion(), objectMapper.writeValueAsString(dto));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize state event for game " + gameModel.getId(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        for (GameChannel channel : channels.values()) {
+            synchronized (channel) {
+                for (Subscriber subscriber : channel.subscribers) {
+                    subscriber.emitter.complete();
+                }
+            }
+        }
+    }
+
+    private static final class Event {
+        final long version;
+        final String json;
+
+        Event(long version, String json) {
+            this.version = version;
+            this.json = json;
+        }
+    }
+
+    /**
+     * Subscribers and recent events of one game. Guarded by its own monitor, so events are
+     * queued to every subscriber in version order.
+     */
+    private final class GameChannel {
+        final String gameId;
+        final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        final ArrayDeque<Event> history = new ArrayDeque<>();
+        long idleSinceNanos = System.nanoTime();
+
+        GameChannel(String gameId) {
+            this.gameId = gameId;
+        }
+
+        void remember(Event event) {
+            if (history.size() == historySize) {
+                history.pollFirst();
+            }
+            history.addLast(event);
+        }
+
+        /**
+         * Events a new subscriber needs: what it missed since lastEventId if the history still
+         * holds that event, otherwise the latest state (nothing if it is already current)
+         */
+        List<Event> catchUp(Event current, Long lastEventId) {
+            Event latest = history.isEmpty() || current.version > history.peekLast().version
+                    ? current : history.peekLast();
+            List<Event> events = new ArrayList<>();
+            if (lastEventId == null) {
+                events.add(latest);
+                return events;
+            }
+            if (lastEventId >= latest.version) {
+                return events;
+            }
+            boolean found = false;
+            for (Event event : history) {
+                if (found) {
+                    events.add(event);
+                } else if (event.version == lastEventId) {
+                    found = true;
+                }
+            }
+            if (!found) {
+                events.add(latest);
+            } else if (latest != history.peekLast()) {
+                events.add(latest);
+            }
+            return events;
+        }
+    }
+
+    /**
+     * One open stream. The queue is drained by at most one sender thread at a time.
+     */
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final ArrayDeque<Object> queue = new ArrayDeque<>();   // Events and heartbeats
+        boolean draining;
+        boolean closed;
+        boolean stalled;
+        long sendStartedNanos;      // 0 while no write is in flight
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized void offer(Event event) {
+            if (closed) {
+                return;
+            }
+            if (queue.size() >= bufferSize) {
+                // Too far behind; it reconnects with Last-Event-ID and catches up from there
+                overflowCounter.increment();
+                close();
+                return;
+            }
+            queue.addLast(event);
+            scheduleDrain();
+        }
+
+        synchronized void offerHeartbeat() {
+            if (!closed && queue.isEmpty()) {
+                queue.addLast(HEARTBEAT);
+                scheduleDrain();
+            }
+        }
+
+        /**
+         * Close the stream if a write has been in flight for longer than the write timeout
+         * @return True if it was closed now
+         */
+        synchronized boolean closeIfStalled(long now) {
+            if (stalled || sendStartedNanos == 0 || now - sendStartedNanos < writeTimeoutNanos) {
+                return false;
+            }
+            stalled = true;
+            close();
+            return true;
+        }
+
+        /**
+         * Stop queueing. Completing the emitter waits for a write in flight, so while one is
+         * the sender completes it afterwards.
+         */
+        private void close() {
+            closed = true;
+            queue.clear();
+            if (!draining) {
+                emitter.complete();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (!draining) {
+                draining = true;
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Object item;
+                boolean complete;
+                synchronized (this) {
+                    item = queue.pollFirst();
+                    complete = item == null && closed;
+                    if (item == null) {
+                        draining = false;
+                    } else {
+                        sendStartedNanos = System.nanoTime();
+                    }
+                }
+                if (item == null) {
+                    // Closed while this thread was writing
+                    if (complete) {
+                        emitter.complete();
+                    }
+                    return;
+                }
+                boolean sent = false;
+                try {
+                    if (item instanceof Event event) {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(event.version))
+                                .name("state")
+                                .data(event.json, MediaType.APPLICATION_JSON));
+                    } else {
+                        emitter.send(SseEmitter.event().comment(HEARTBEAT));
+                    }
+                    sent = true;
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away; the emitter's callbacks unsubscribe it
+                    synchronized (this) {
+                        closed = true;
+                        queue.clear();
+                        draining = false;
+                    }
+                    emitter.completeWithError(e);
+                } finally {
+                    boolean wasStalled;
+                    synchronized (this) {
+                        sendStartedNanos = 0;
+                        wasStalled = stalled;
+                    }
+                    if (wasStalled) {
+                        resizeSenders(-1);
+                    }
+                }
+                if (!sent) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.cardgame.tracing;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Executors that carry the submitting thread's context (the current observation, and with it the
+ * trace) over to the task, so work handed to CompletableFuture.supplyAsync stays in the same trace.
+ */
+public final class ContextExecutors {
+    private static final ContextSnapshotFactory SNAPSHOTS = ContextSnapshotFactory.builder().build();
+    private static final ExecutorService COMMON_POOL = wrap(ForkJoinPool.commonPool());
+
+    private ContextExecutors() {
+    }
+
+    /**
+     * The common fork-join pool, which the default supplyAsync/runAsync overloads use
+     */
+    public static Executor commonPool() {
+        return COMMON_POOL;
+    }
+
+    /**
+     * Wrap an executor so its tasks run with the submitting thread's context.
+     * Shutting down the wrapper shuts down the executor.
+     */
+    public static ExecutorService wrap(ExecutorService executor) {
+        return ContextExecutorService.wrap(executor, SNAPSHOTS::captureAll);
+    }
+}
@@ -0,0 +1,57 @@
+package com.cardgame.tracing;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps the most recent finished spans in memory for {@link TracesEndpoint}, so traces can be
+ * looked at without a collector. Spring Boot hands every SpanExporter bean to the tracer, next to
+ * the OTLP exporter when one is configured. Once full, the oldest spans are dropped first.
+ */
+public class InMemorySpanExporter implements SpanExporter {
+    private final int maxSpans;
+    private final ArrayDeque<SpanData> spans;
+
+    public InMemorySpanExporter(int maxSpans) {
+        if (maxSpans <= 0) {
+            throw new IllegalArgumentException("maxSpans must be positive: " + maxSpans);
+        }
+        this.maxSpans = maxSpans;
+        this.spans = new ArrayDeque<>(Math.min(maxSpans, 1024));
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> batch) {
+        for (SpanData span : batch) {
+            if (spans.size() == maxSpans) {
+                spans.pollFirst();
+            }
+            spans.addLast(span);
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /**
+     * @return The stored spans, oldest first
+     */
+    public synchronized List<SpanData> snapshot() {
+        return new ArrayList<>(spans);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        spans.clear();
+        return CompletableResultCode.ofSuccess();
+    }
+}
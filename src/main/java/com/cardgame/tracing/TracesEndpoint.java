@@ -0,0 +1,124 @@
+package com.cardgame.tracing;
+
+import com.cardgame.dto.tracing.ImmutableSpanDto;
+import com.cardgame.dto.tracing.ImmutableTraceDto;
+import com.cardgame.dto.tracing.SpanDto;
+import com.cardgame.dto.tracing.TraceDto;
+import io.opentelemetry.api.trace.SpanId;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Recent traces from {@link InMemorySpanExporter}, at /actuator/traces:
+ * <ul>
+ *   <li>GET ?limit=20&amp;minDurationMs=50&amp;name=game.move lists the newest traces, optionally only
+ *   those at least that slow or containing a span whose name starts with the given prefix</li>
+ *   <li>GET /{traceId} returns one trace</li>
+ * </ul>
+ * Every request needs tracing.memory.token in the X-Management-Token header (see
+ * ManagementEndpointConfig); with no token configured the endpoint refuses everything.
+ */
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 200;
+
+    private final InMemorySpanExporter exporter;
+
+    public TracesEndpoint(InMemorySpanExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @ReadOperation
+    public List<TraceDto> traces(@Nullable Integer limit, @Nullable Long minDurationMs, @Nullable String name) {
+        int max = limit != null ? Math.max(1, Math.min(limit, MAX_LIMIT)) : DEFAULT_LIMIT;
+        long minDurationMicros = minDurationMs != null ? minDurationMs * 1000 : 0;
+
+        List<TraceDto> traces = new ArrayList<>();
+        for (List<SpanData> spans : groupByTrace(exporter.snapshot()).values()) {
+            if (name != null && spans.stream().noneMatch(span -> span.getName().startsWith(name))) {
+                continue;
+            }
+            TraceDto trace = toTrace(spans);
+            if (trace.getDurationMicros() >= minDurationMicros) {
+                traces.add(trace);
+            }
+        }
+        traces.sort(Comparator.comparing(TraceDto::getStart).reversed());
+        return traces.size() > max ? traces.subList(0, max) : traces;
+    }
+
+    /**
+     * @return The trace, or null (404) if none of its spans are stored
+     */
+    @ReadOperation
+    public TraceDto trace(@Selector String traceId) {
+        List<SpanData> spans = groupByTrace(exporter.snapshot()).get(traceId);
+        return spans != null ? toTrace(spans) : null;
+    }
+
+    private static Map<String, List<SpanData>> groupByTrace(List<SpanData> spans) {
+        Map<String, List<SpanData>> byTrace = new LinkedHashMap<>();
+        for (SpanData span : spans) {
+            byTrace.computeIfAbsent(span.getTraceId(), traceId -> new ArrayList<>()).add(span);
+        }
+        return byTrace;
+    }
+
+    private static TraceDto toTrace(List<SpanData> spans) {
+        spans.sort(Comparator.comparingLong(SpanData::getStartEpochNanos));
+        SpanData root = spans.stream()
+                .filter(span -> !SpanId.isValid(span.getParentSpanId()))
+                .findFirst()
+                .orElse(spans.get(0));
+        long start = spans.get(0).getStartEpochNanos();
+        long end = spans.stream().mapToLong(SpanData::getEndEpochNanos).max().orElse(start);
+
+        List<SpanDto> spanDtos = new ArrayList<>(spans.size());
+        boolean error = false;
+        for (SpanData span : spans) {
+            SpanDto spanDto = toSpan(span);
+            error |= spanDto.isError();
+            spanDtos.add(spanDto);
+        }
+        return ImmutableTraceDto.builder()
+                .traceId(root.getTraceId())
+                .name(root.getName())
+                .start(toInstant(start))
+                .durationMicros((end - start) / 1000)
+                .error(error)
+                .spans(spanDtos)
+                .build();
+    }
+
+    private static SpanDto toSpan(SpanData span) {
+        Map<String, String> attributes = new TreeMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+        return ImmutableSpanDto.builder()
+                .spanId(span.getSpanId())
+                .parentSpanId(SpanId.isValid(span.getParentSpanId()) ? span.getParentSpanId() : null)
+                .name(span.getName())
+                .kind(span.getKind().name())
+                .start(toInstant(span.getStartEpochNanos()))
+                .durationMicros((span.getEndEpochNanos() - span.getStartEpochNanos()) / 1000)
+                .error(span.getStatus().getStatusCode() == StatusCode.ERROR)
+                .attributes(attributes)
+                .build();
+    }
+
+    private static Instant toInstant(long epochNanos) {
+        return Instant.ofEpochSecond(0, epochNanos);
+    }
+}
@@ -3,28 +3,45 @@ package com.cardgame.websocket;
 import com.cardgame.dto.ImmutablePlayerAction;
 import com.cardgame.dto.PlayerAction;
 import com.cardgame.dto.PlayerAction.ActionType;
+import com.cardgame.jfr.WebSocketBroadcastEvent;
 import com.cardgame.model.Card;
+import com.cardgame.model.GameModel;
 import com.cardgame.model.Position;
 import com.cardgame.service.GameService;
+import com.cardgame.service.metrics.MovePhase;
+import com.cardgame.service.metrics.MovePhaseMetrics;
+import com.cardgame.service.metrics.MoveTrace;
 import com.cardgame.service.nakama.NakamaMatchService;
 import com.cardgame.config.MetricsConfig;
 import com.cardgame.websocket.message.WebSocketMessage;
 import com.cardgame.websocket.message.MessageType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class GameWebSocketHandler extends TextWebSocketHandler {
@@ -42,16 +59,56 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
     @Autowired
     private MetricsConfig metricsConfig;
     
+    @Autowired
+    private MovePhaseMetrics movePhaseMetrics;
+    
+    @Autowired
+    private WebSocketTrafficMetrics trafficMetrics;
+    
+    @Autowired
+    private ObservationRegistry observationRegistry;
+    
+    @Autowired
+    private SpectatorHub spectatorHub;
+    
+    @Autowired
+    private MatchReplayBuffers replayBuffers;
+    
+    // How long a dropped player has to RESUME before the match records them as disconnected
+    @Value("${websocket.resume.grace-seconds:30}")
+    private long reconnectGraceSeconds;
+    
+    @Value("${websocket.send.time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+    
+    @Value("${websocket.send.buffer-limit-bytes:524288}")
+    private int sendBufferLimitBytes;
+    
+    // Every send goes through the session's decorator, which lets one thread write at a time and
+    // queues the others' messages; a client that stops reading is disconnected once a send has
+    // blocked for the time limit or the queue outgrows the buffer limit
+    private final Map<String, ConcurrentWebSocketSessionDecorator> outboundSessions = new ConcurrentHashMap<>();
+    
     // Store sessions by match ID
     private final Map<String, Set<WebSocketSession>> matchSessions = new ConcurrentHashMap<>();
     
     // Store session to player/match mapping
     private final Map<String, SessionInfo> sessionInfoMap = new ConcurrentHashMap<>();
     
+    // Disconnections waiting out the grace period, by match and player
+    private final Map<String, ScheduledFuture<?>> pendingDisconnections = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService disconnectionScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "websocket-disconnections");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
         logger.info("WebSocket connection established: {}", session.getId());
         metricsConfig.incrementWebSocketConnections();
+        outboundSessions.put(session.getId(),
+            new ConcurrentWebSocketSessionDecorator(session, sendTimeLimitMs, sendBufferLimitBytes));
         
         // Send connection success message
         WebSocketMessage message = new WebSocketMessage();
@@ -63,17 +120,34 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
     
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
-        try {
+        // Spring only traces the handshake, so each message gets its own observation
+        Observation observation = Observation.createNotStarted("websocket.message", observationRegistry)
+                .lowCardinalityKeyValue("type", "INVALID")
+                .highCardinalityKeyValue("session.id", session.getId())
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
             String payload = message.getPayload();
             logger.debug("Received message: {}", payload);
             
-            WebSocketMessage wsMessage = objectMapper.readValue(payload, WebSocketMessage.class);
+            WebSocketMessage wsMessage = null;
+            try {
+                wsMessage = objectMapper.readValue(payload, WebSocketMessage.class);
+            } finally {
+                trafficMetrics.recordReceived(wsMessage != null ? wsMessage.getType() : null, payload);
+            }
+            if (wsMessage.getType() != null) {
+                observation.lowCardinalityKeyValue("type", wsMessage.getType().name());
+            }
             
             switch (wsMessage.getType()) {
                 case JOIN_MATCH:
                     handleJoinMatch(session, wsMessage);
                     break;
                     
+                case SPECTATE_MATCH:
+                    handleSpectateMatch(session, wsMessage);
+                    break;
+                    
                 case LEAVE_MATCH:
                     handleLeaveMatch(session, wsMessage);
                     break;
@@ -86,12 +160,19 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
                     handleGameStateRequest(session, wsMessage);
                     break;
                     
+                case RESUME:
+                    handleResume(session, wsMessage);
+                    break;
+                    
                 default:
                     logger.warn("Unknown message type: {}", wsMessage.getType());
             }
         } catch (Exception e) {
+            observation.error(e);
             logger.error("Error handling message", e);
             sendError(session, "Failed to process message: " + e.getMessage());
+        } finally {
+            observation.stop();
         }
     }
     
@@ -99,6 +180,9 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
         logger.info("WebSocket connection closed: {} - {}", session.getId(), status);
         metricsConfig.decrementWebSocketConnections();
+        trafficMetrics.recordSessionClosed(session);
+        spectatorHub.unwatch(session);
+        outboundSessions.remove(session.getId());
         
         // Remove session from all data structures
         SessionInfo info = sessionInfoMap.remove(session.getId());
@@ -112,16 +196,9 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
                 }
             }
             
-            // Notify Nakama about disconnection - only if match still exists
-            try {
-                // Check if match is still active before handling disconnection
-                if (nakamaMatchService.getMatchMetadata(info.matchId) != null || 
-                    nakamaMatchService.doesGameExistForMatch(info.matchId)) {
-                    nakamaMatchService.handleDisconnection(info.playerId, info.matchId);
-                }
-            } catch (Exception e) {
-                logger.warn("Could not handle disconnection for match {} - match may no longer exist", info.matchId);
-            }
+            // Dropped mobile connections usually come straight back with RESUME, so the
+            // disconnection is only recorded if the player is still gone after the grace period
+            scheduleDisconnection(info.matchId, info.playerId);
             
             // Notify other players in the match
             broadcastToMatch(info.matchId, new WebSocketMessage(
@@ -150,6 +227,11 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
             return;
         }
         
+        ScheduledFuture<?> disconnection = pendingDisconnections.remove(disconnectionKey(matchId, playerId));
+        if (disconnection != null) {
+            disconnection.cancel(false);
+        }
+        
         // Store session info
         SessionInfo info = new SessionInfo(matchId, playerId);
         sessionInfoMap.put(session.getId(), info);
@@ -180,7 +262,107 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
         ), session.getId());
     }
     
+    /**
+     * Watch a match without playing in it. Spectators get the public view (no hands) of every
+     * state, shared with all of the match's spectators; see SpectatorHub.
+     */
+    private void handleSpectateMatch(WebSocketSession session, WebSocketMessage message) {
+        Map<String, Object> data = (Map<String, Object>) message.getData();
+        String matchId = data != null ? (String) data.get("matchId") : null;
+        if (matchId == null) {
+            sendError(session, "Missing matchId");
+            return;
+        }
+        if (sessionInfoMap.containsKey(session.getId())) {
+            sendError(session, "Players cannot spectate");
+            return;
+        }
+        
+        NakamaMatchService.MatchMetadata metadata = nakamaMatchService.getMatchMetadata(matchId);
+        if (metadata == null || metadata.gameId == null) {
+            sendError(session, "Match has not started");
+            return;
+        }
+        if (!spectatorHub.watch(outbound(session), matchId, metadata.gameId)) {
+            sendError(session, "Match is full of spectators");
+            return;
+        }
+        
+        WebSocketMessage response = new WebSocketMessage();
+        response.setType(MessageType.SPECTATE_SUCCESS);
+        response.setData(Map.of(
+            "matchId", matchId,
+            "spectatorCount", spectatorHub.spectatorCount(metadata.gameId)
+        ));
+        sendMessage(session, response);
+    }
+    
+    /**
+     * A player coming back after a dropped connection. The client sends the last state version it
+     * saw and gets only the messages it missed, or a snapshot if those are no longer buffered.
+     */
+    private void handleResume(WebSocketSession session, WebSocketMessage message) {
+        Map<String, Object> data = (Map<String, Object>) message.getData();
+        String matchId = data != null ? (String) data.get("matchId") : null;
+        String playerId = data != null ? (String) data.get("playerId") : null;
+        Number lastSeenVersion = data != null ? (Number) data.get("version") : null;
+        
+        if (matchId == null || playerId == null) {
+            sendError(session, "Missing matchId or playerId");
+            return;
+        }
+        
+        ScheduledFuture<?> disconnection = pendingDisconnections.remove(disconnectionKey(matchId, playerId));
+        if (disconnection != null) {
+            disconnection.cancel(false);
+        }
+        
+        SessionInfo info = new SessionInfo(matchId, playerId);
+        NavigableMap<Long, TextMessage> missed;
+        // Broadcasts send states under the session's monitor too, so one that finds the session
+        // in the match waits for the replay, and is skipped if the replay already covered it
+        synchronized (session) {
+            sessionInfoMap.put(session.getId(), info);
+            matchSessions.computeIfAbsent(matchId, k -> new CopyOnWriteArraySet<>()).add(session);
+            
+            missed = lastSeenVersion != null
+                    ? replayBuffers.missedSince(matchId, playerId, lastSeenVersion.longValue())
+                    : null;
+            
+            WebSocketMessage response = new WebSocketMessage();
+            response.setType(MessageType.RESUME_SUCCESS);
+            response.setData(Map.of(
+                "matchId", matchId,
+                "playerId", playerId,
+                "replayed", missed != null ? missed.size() : 0,
+                "snapshot", missed == null
+            ));
+            sendMessage(session, response);
+            
+            if (missed != null) {
+                info.sentVersion = lastSeenVersion.longValue();
+                missed.forEach((version, missedMessage) -> sendState(session, info, version, missedMessage));
+            } else {
+                handleGameStateRequest(session, message);
+            }
+        }
+        logger.info("Player {} resumed match {} ({})", playerId, matchId,
+            missed != null ? missed.size() + " messages replayed" : "snapshot");
+        
+        broadcastToMatch(matchId, new WebSocketMessage(
+            MessageType.PLAYER_RECONNECTED,
+            Map.of("playerId", playerId)
+        ), session.getId());
+    }
+    
     private void handleLeaveMatch(WebSocketSession session, WebSocketMessage message) {
+        if (spectatorHub.unwatch(session) != null) {
+            WebSocketMessage response = new WebSocketMessage();
+            response.setType(MessageType.LEAVE_SUCCESS);
+            sendMessage(session, response);
+            return;
+        }
+        
         SessionInfo info = sessionInfoMap.get(session.getId());
         if (info == null) {
             sendError(session, "Not in a match");
@@ -222,6 +404,7 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
             
             // Build PlayerAction
             PlayerAction playerAction = null;
+            GameModel updatedGame;
             
             if ("PLACE_CARD".equals(actionType)) {
                 // Extract card data
@@ -257,33 +440,29 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
                 return;
             }
             
-            // Get the game from the match
-            NakamaMatchService.MatchMetadata metadata = nakamaMatchService.getMatchMetadata(matchId);
-            if (metadata == null || metadata.gameId == null) {
-                sendError(session, "Game not found for match");
-                return;
-            }
-            
-            // Process the move
-            gameService.processMove(metadata.gameId, playerAction);
-            
-            // Get the updated game model for checking end state
-            var updatedGame = gameService.getGameModel(metadata.gameId);
-            
-            // Broadcast updated game state to all players in the match
-            Set<WebSocketSession> sessions = matchSessions.get(info.matchId);
-            if (sessions != null) {
-                for (WebSocketSession s : sessions) {
-                    SessionInfo sInfo = sessionInfoMap.get(s.getId());
-                    if (sInfo != null) {
-                        // Get game DTO specific to each player
-                        var playerGameDto = gameService.convertToDto(updatedGame, sInfo.playerId);
-                        sendMessage(s, new WebSocketMessage(
-                            MessageType.GAME_STATE_UPDATE,
-                            playerGameDto
-                        ));
-                    }
+            MoveTrace trace = movePhaseMetrics.start(playerAction.getType());
+            boolean succeeded = false;
+            try {
+                // Get the game from the match
+                NakamaMatchService.MatchMetadata metadata = nakamaMatchService.getMatchMetadata(matchId);
+                if (metadata == null || metadata.gameId == null) {
+                    sendError(session, "Game not found for match");
+                    return;
                 }
+
+                // Process the move
+                gameService.processMove(metadata.gameId, playerAction, trace);
+
+                // Get the updated game model for checking end state
+                updatedGame = gameService.getGameModel(metadata.gameId);
+                trace.lap(MovePhase.RELOAD);
+
+                // Broadcast updated game state to all players in the match
+                broadcastGameState(info.matchId, updatedGame);
+                trace.lap(MovePhase.FANOUT);
+                succeeded = true;
+            } finally {
+                movePhaseMetrics.finish(trace, succeeded);
             }
             
             // Check if game ended
@@ -331,8 +510,12 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
             WebSocketMessage response = new WebSocketMessage();
             response.setType(MessageType.GAME_STATE_UPDATE);
             response.setData(gameDto);
+            response.setVersion(gameModel.getStateVersion());
             
-            sendMessage(session, response);
+            TextMessage view = serialize(response);
+            if (view != null) {
+                sendState(session, info, gameModel.getStateVersion(), view);
+            }
         } catch (Exception e) {
             logger.error("Failed to get game state", e);
             sendError(session, "Failed to get game state");
@@ -341,19 +524,87 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
     
     // Utility methods
     
-    private void sendMessage(WebSocketSession session, WebSocketMessage message) {
+    /**
+     * @return Payload bytes handed to the session, or -1 if the message was not sent
+     */
+    private int sendMessage(WebSocketSession session, WebSocketMessage message) {
+        TextMessage text = serialize(message);
+        return text != null ? sendText(session, message.getType(), text) : -1;
+    }
+    
+    /**
+     * @return The message as JSON, or null if it could not be serialized
+     */
+    private TextMessage serialize(WebSocketMessage message) {
         try {
+            long serializeStart = System.nanoTime();
             String json = objectMapper.writeValueAsString(message);
-            synchronized (session) {
-                if (session.isOpen()) {
-                    session.sendMessage(new TextMessage(json));
-                }
+            trafficMetrics.recordSerialization(message.getType(), System.nanoTime() - serializeStart);
+            return new TextMessage(json);
+        } catch (IOException e) {
+            logger.error("Failed to serialize {} message", message.getType(), e);
+            return null;
+        }
+    }
+    
+    /**
+     * Send an already serialized message
+     * @return Payload bytes handed to the session, or -1 if the message was not sent
+     */
+    private int sendText(WebSocketSession session, MessageType type, TextMessage text) {
+        WebSocketSession outbound = outbound(session);
+        try {
+            if (!outbound.isOpen()) {
+                trafficMetrics.recordSendFailure(session, "closed");
+                return -1;
+            }
+            long sendStart = System.nanoTime();
+            outbound.sendMessage(text);
+            int bytes = WebSocketTrafficMetrics.utf8Length(text.getPayload());
+            trafficMetrics.recordSent(type, bytes, System.nanoTime() - sendStart);
+            return bytes;
+        } catch (SessionLimitExceededException e) {
+            logger.warn("Closing session {}: {}", session.getId(), e.getMessage());
+            trafficMetrics.recordSendFailure(session, "limit");
+            try {
+                outbound.close(e.getStatus());
+            } catch (IOException closeError) {
+                logger.debug("Failed to close session {}", session.getId(), closeError);
             }
         } catch (IOException e) {
             logger.error("Failed to send message to session {}", session.getId(), e);
+            trafficMetrics.recordSendFailure(session, "io");
         } catch (IllegalStateException e) {
             logger.warn("WebSocket in invalid state for session {}: {}", session.getId(), e.getMessage());
+            trafficMetrics.recordSendFailure(session, "state");
         }
+        return -1;
+    }
+    
+    /**
+     * Send a view of the game at one state version, unless the session was already sent that
+     * state or a newer one. Holds the session's monitor, like RESUME's replay.
+     * @return Payload bytes handed to the session, or -1 if the view was not sent
+     */
+    private int sendState(WebSocketSession session, SessionInfo info, long version, TextMessage view) {
+        synchronized (session) {
+            if (version <= info.sentVersion) {
+                return -1;
+            }
+            int bytes = sendText(session, MessageType.GAME_STATE_UPDATE, view);
+            if (bytes >= 0) {
+                info.sentVersion = version;
+            }
+            return bytes;
+        }
+    }
+    
+    /**
+     * @return The session's decorator, or the session itself if it has none (already closed)
+     */
+    private WebSocketSession outbound(WebSocketSession session) {
+        WebSocketSession outbound = outboundSessions.get(session.getId());
+        return outbound != null ? outbound : session;
     }
     
     private void sendError(WebSocketSession session, String error) {
@@ -367,12 +618,14 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
         Set<WebSocketSession> sessions = matchSessions.get(matchId);
         if (sessions == null) return;
         
+        Broadcast broadcast = new Broadcast(matchId, message.getType());
         for (WebSocketSession session : sessions) {
             if (excludeSessionId != null && session.getId().equals(excludeSessionId)) {
                 continue;
             }
-            sendMessage(session, message);
+            broadcast.sent(sendMessage(session, message));
         }
+        broadcast.finish();
     }
     
     public void broadcastGameUpdate(String matchId, Object gameState) {
@@ -380,45 +633,106 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
         message.setType(MessageType.GAME_STATE_UPDATE);
         message.setData(gameState);
         
-        // Find all sessions in this match and send appropriate game state to each
         Set<WebSocketSession> sessions = matchSessions.get(matchId);
-        if (sessions != null && !sessions.isEmpty()) {
-            logger.info("Broadcasting game update to {} players in match {}", sessions.size(), matchId);
+        if (sessions == null || sessions.isEmpty()) {
+            logger.warn("No sessions found for match {} when trying to broadcast", matchId);
+        }
+        
+        // If gameState is a GameDto, we need to send player-specific views
+        if (gameState instanceof com.cardgame.dto.GameDto) {
+            com.cardgame.dto.GameDto gameDto = (com.cardgame.dto.GameDto) gameState;
             
-            // If gameState is a GameDto, we need to send player-specific views
-            if (gameState instanceof com.cardgame.dto.GameDto) {
-                com.cardgame.dto.GameDto gameDto = (com.cardgame.dto.GameDto) gameState;
-                
-                // Get the game ID from the DTO to fetch the game model
-                String gameId = gameDto.getId();
-                var gameModel = gameService.getGameModel(gameId);
-                
-                // Send player-specific views to each session
-                for (WebSocketSession session : sessions) {
-                    SessionInfo sInfo = sessionInfoMap.get(session.getId());
-                    if (sInfo != null) {
-                        // Convert game state to player-specific view
-                        var playerSpecificDto = gameService.convertToDto(gameModel, sInfo.playerId);
-                        
-                        // Log column scores being sent
-                        logger.info("Sending game update to player {} with column scores: {}", 
-                            sInfo.playerId, playerSpecificDto.getColumnScores());
-                        
-                        WebSocketMessage playerMessage = new WebSocketMessage();
-                        playerMessage.setType(MessageType.GAME_STATE_UPDATE);
-                        playerMessage.setData(playerSpecificDto);
-                        
-                        sendMessage(session, playerMessage);
-                        logger.debug("Sent player-specific game view to player {}", sInfo.playerId);
-                    }
+            // Get the game ID from the DTO to fetch the game model
+            String gameId = gameDto.getId();
+            var gameModel = gameService.getGameModel(gameId);
+            
+            // Views are built even for players without a session, so they can RESUME
+            broadcastGameState(matchId, gameModel);
+        } else if (sessions != null) {
+            // For non-GameDto data, broadcast to all
+            broadcastToMatch(matchId, message, null);
+        }
+    }
+    
+    /**
+     * Send each player in the match their own view of the game. Every view is serialized once,
+     * whatever the player's number of sessions, and kept for players who RESUME later.
+     */
+    private void broadcastGameState(String matchId, GameModel gameModel) {
+        Map<String, TextMessage> views = new HashMap<>();
+        for (String playerId : gameModel.getPlayerIds()) {
+            WebSocketMessage playerMessage = new WebSocketMessage(
+                MessageType.GAME_STATE_UPDATE,
+                gameService.convertToDto(gameModel, playerId)
+            );
+            playerMessage.setVersion(gameModel.getStateVersion());
+            TextMessage view = serialize(playerMessage);
+            if (view != null) {
+                views.put(playerId, view);
+                replayBuffers.record(matchId, gameModel.getStateVersion(), playerId, view);
+            }
+        }
+        
+        Set<WebSocketSession> sessions = matchSessions.get(matchId);
+        if (sessions == null) {
+            return;
+        }
+        Broadcast broadcast = new Broadcast(matchId, MessageType.GAME_STATE_UPDATE);
+        for (WebSocketSession session : sessions) {
+            SessionInfo sInfo = sessionInfoMap.get(session.getId());
+            TextMessage view = sInfo != null ? views.get(sInfo.playerId) : null;
+            if (view != null) {
+                broadcast.sent(sendState(session, sInfo, gameModel.getStateVersion(), view));
+                logger.debug("Sent player-specific game view to player {}", sInfo.playerId);
+            }
+        }
+        broadcast.finish();
+    }
+    
+    private void scheduleDisconnection(String matchId, String playerId) {
+        String key = disconnectionKey(matchId, playerId);
+        ScheduledFuture<?> previous = pendingDisconnections.put(key, disconnectionScheduler.schedule(() -> {
+            pendingDisconnections.remove(key);
+            if (hasSession(matchId, playerId)) {
+                return;
+            }
+            // Notify Nakama about disconnection - only if match still exists
+            try {
+                // Check if match is still active before handling disconnection
+                if (nakamaMatchService.getMatchMetadata(matchId) != null || 
+                    nakamaMatchService.doesGameExistForMatch(matchId)) {
+                    nakamaMatchService.handleDisconnection(playerId, matchId);
                 }
-            } else {
-                // For non-GameDto data, broadcast to all
-                broadcastToMatch(matchId, message, null);
+            } catch (Exception e) {
+                logger.warn("Could not handle disconnection for match {} - match may no longer exist", matchId);
+            }
+        }, reconnectGraceSeconds, TimeUnit.SECONDS));
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+    
+    private boolean hasSession(String matchId, String playerId) {
+        Set<WebSocketSession> sessions = matchSessions.get(matchId);
+        if (sessions == null) {
+            return false;
+        }
+        for (WebSocketSession session : sessions) {
+            SessionInfo sInfo = sessionInfoMap.get(session.getId());
+            if (sInfo != null && sInfo.playerId.equals(playerId) && session.isOpen()) {
+                return true;
             }
-        } else {
-            logger.warn("No sessions found for match {} when trying to broadcast", matchId);
         }
+        return false;
+    }
+    
+    private static String disconnectionKey(String matchId, String playerId) {
+        return matchId + ":" + playerId;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        disconnectionScheduler.shutdownNow();
     }
     
     /**
@@ -437,6 +751,10 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
         // Clear maps
         sessionInfoMap.clear();
         matchSessions.clear();
+        spectatorHub.clear();
+        replayBuffers.clear();
+        pendingDisconnections.values().forEach(disconnection -> disconnection.cancel(false));
+        pendingDisconnections.clear();
         
         logger.info("All WebSocket sessions cleared");
     }
@@ -468,10 +786,52 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
     private static class SessionInfo {
         final String matchId;
         final String playerId;
+        // Newest game state sent to the session; guarded by the session's monitor
+        long sentVersion = Long.MIN_VALUE;
         
         SessionInfo(String matchId, String playerId) {
             this.matchId = matchId;
             this.playerId = playerId;
         }
     }
+    
+    /**
+     * One message sent to the sessions of a match: recorded as broadcast width in the metrics and
+     * as a WebSocketBroadcastEvent for flight recordings
+     */
+    private class Broadcast {
+        private final WebSocketBroadcastEvent event = new WebSocketBroadcastEvent();
+        private final String matchId;
+        private final MessageType type;
+        private int recipients;
+        private long bytes;
+        
+        Broadcast(String matchId, MessageType type) {
+            this.matchId = matchId;
+            this.type = type;
+            event.begin();
+        }
+        
+        /**
+         * @param payloadBytes What sendMessage returned
+         */
+        void sent(int payloadBytes) {
+            if (payloadBytes >= 0) {
+                recipients++;
+                bytes += payloadBytes;
+            }
+        }
+        
+        void finish() {
+            trafficMetrics.recordBroadcast(type, recipients);
+            event.end();
+            if (event.shouldCommit()) {
+                event.matchId = matchId;
+                event.messageType = type != null ? type.name() : null;
+                event.recipients = recipients;
+                event.bytes = bytes;
+                event.commit();
+            }
+        }
+    }
 }
@@ -0,0 +1,144 @@
+package com.cardgame.websocket;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+
+import java.time.Duration;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Recent game state messages of each match, so a player whose connection dropped can RESUME from
+ * the last state version it saw: it is sent just the messages it missed, already serialized,
+ * instead of a state rebuilt from the database.
+ * <p>
+ * Each match keeps a ring of its last websocket.resume.buffer-size messages, tagged with the
+ * state version they were built from and the player they were built for. A resume can be served
+ * from the ring only if the ring still holds the version the client last saw; otherwise some
+ * message after it was dropped, and the client needs a snapshot. Rings of matches that have gone
+ * quiet expire.
+ */
+@Component
+public class MatchReplayBuffers {
+    private final int bufferSize;
+    private final Cache<String, Ring> rings;
+    private final Counter replayedCounter;
+    private final Counter currentCounter;
+    private final Counter snapshotCounter;
+
+    public MatchReplayBuffers(MeterRegistry meterRegistry,
+                              @Value("${websocket.resume.buffer-size:32}") int bufferSize,
+                              @Value("${websocket.resume.retention-minutes:30}") long retentionMinutes) {
+        this.bufferSize = bufferSize;
+        this.rings = CacheBuilder.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(retentionMinutes))
+                .build();
+        this.replayedCounter = resumeCounter(meterRegistry, "replayed");
+        this.currentCounter = resumeCounter(meterRegistry, "current");
+        this.snapshotCounter = resumeCounter(meterRegistry, "snapshot");
+    }
+
+    /**
+     * Remember a message sent to a player of a match
+     * @param version State version the message was built from
+     * @param playerId The player it was built for
+     */
+    public void record(String matchId, long version, String playerId, TextMessage message) {
+        ring(matchId).append(new Entry(version, playerId, message));
+    }
+
+    /**
+     * The messages a player missed after the given version
+     * @return The messages by state version (empty if the player is up to date), or null if some
+     *         were dropped and the player needs a snapshot
+     */
+    public NavigableMap<Long, TextMessage> missedSince(String matchId, String playerId, long lastSeenVersion) {
+        Ring ring = rings.getIfPresent(matchId);
+        NavigableMap<Long, TextMessage> missed = ring != null ? ring.since(playerId, lastSeenVersion) : null;
+        if (missed == null) {
+            snapshotCounter.increment();
+        } else if (missed.isEmpty()) {
+            currentCounter.increment();
+        } else {
+            replayedCounter.increment();
+        }
+        return missed;
+    }
+
+    public void remove(String matchId) {
+        rings.invalidate(matchId);
+    }
+
+    public void clear() {
+        rings.invalidateAll();
+    }
+
+    private Ring ring(String matchId) {
+        try {
+            return rings.get(matchId, () -> new Ring(bufferSize));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Counter resumeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("websocket.resumes")
+                .description("RESUME requests by outcome: missed messages replayed, already current, or snapshot sent")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class Entry {
+        final long version;
+        final String playerId;
+        final TextMessage message;
+
+        Entry(long version, String playerId, TextMessage message) {
+            this.version = version;
+            this.playerId = playerId;
+            this.message = message;
+        }
+    }
+
+    private static final class Ring {
+        private final Entry[] entries;
+        private int next;
+        private int size;
+
+        Ring(int capacity) {
+            this.entries = new Entry[capacity];
+        }
+
+        synchronized void append(Entry entry) {
+            entries[next] = entry;
+            next = (next + 1) % entries.length;
+            size = Math.min(size + 1, entries.length);
+        }
+
+        synchronized NavigableMap<Long, TextMessage> since(String playerId, long lastSeenVersion) {
+            NavigableMap<Long, TextMessage> missed = new TreeMap<>();
+            boolean seen = false;
+            long newest = Long.MIN_VALUE;
+            for (int i = 0; i < size; i++) {
+                Entry entry = entries[(next - size + i + entries.length) % entries.length];
+                newest = Math.max(newest, entry.version);
+                if (entry.version == lastSeenVersion) {
+                    seen = true;
+                } else if (entry.version > lastSeenVersion && entry.playerId.equals(playerId)) {
+                    // A state broadcast twice keeps its latest message
+                    missed.put(entry.version, entry.message);
+                }
+            }
+            if (seen || (size > 0 && newest <= lastSeenVersion)) {
+                return missed;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package com.cardgame.websocket;
+
+import com.cardgame.model.GameModel;
+import com.cardgame.service.GameService;
+import com.cardgame.websocket.message.MessageType;
+import com.cardgame.websocket.message.WebSocketMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Spectators of matches: sessions that watch a game without playing it.
+ * <p>
+ * Spectators all see the same hand-free public view, so each state version of a game is
+ * converted and serialized once, off the move's thread, and the one frame is handed to every
+ * spectator. Each spectator holds at most one pending frame: a spectator that is still sending
+ * when the next version arrives skips straight to the newest (conflation), so slow connections
+ * never queue up stale states. Spectator sets are concurrent hash sets, cheap to join and leave
+ * under churn, and capped per match.
+ * <p>
+ * Frames are built on their own threads, so a spectator whose socket stops draining cannot hold
+ * up the views of other games. Sessions arrive wrapped in a ConcurrentWebSocketSessionDecorator
+ * (see GameWebSocketHandler); a spectator whose send has been in flight past the decorator's
+ * send time limit when a newer frame arrives is dropped and its session closed.
+ */
+@Component
+public class SpectatorHub extends AbstractMongoEventListener<GameModel> {
+    private static final Logger logger = LoggerFactory.getLogger(SpectatorHub.class);
+
+    private final GameService gameService;
+    private final ObjectMapper objectMapper;
+    private final WebSocketTrafficMetrics trafficMetrics;
+    private final int maxPerMatch;
+    private final ThreadPoolExecutor builders;
+    private final ThreadPoolExecutor senders;
+    private final ThreadPoolExecutor closers;
+
+    private final Map<String, WatchedGame> games = new ConcurrentHashMap<>();
+    private final Map<String, Spectator> spectatorsBySession = new ConcurrentHashMap<>();
+    private final Counter rejectedCounter;
+    private final Counter framesCounter;
+    private final Counter conflatedCounter;
+    private final Counter droppedCounter;
+
+    public SpectatorHub(GameService gameService,
+                        ObjectMapper objectMapper,
+                        WebSocketTrafficMetrics trafficMetrics,
+                        MeterRegistry meterRegistry,
+                        @Value("${websocket.spectators.max-per-match:500}") int maxPerMatch,
+                        @Value("${websocket.spectators.builder-threads:2}") int builderThreads,
+                        @Value("${websocket.spectators.sender-threads:2}") int senderThreads) {
+        this.gameService = gameService;
+        this.objectMapper = objectMapper;
+        this.trafficMetrics = trafficMetrics;
+        this.maxPerMatch = maxPerMatch;
+
+        // Both unbounded, but hold at most one task per watched game and one per spectator
+        this.builders = newPool("spectator-builder-", builderThreads);
+        this.senders = newPool("spectator-sender-", senderThreads);
+        // Closing a stalled session can block as long as its stuck send, so each close gets a thread
+        // of its own rather than waiting behind, or occupying, the senders
+        AtomicInteger closerCount = new AtomicInteger();
+        this.closers = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "spectator-closer-" + closerCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Gauge.builder("websocket.spectators", spectatorsBySession, Map::size)
+                .description("Sessions watching a match")
+                .register(meterRegistry);
+        Gauge.builder("websocket.spectators.matches", games, Map::size)
+                .description("Matches with at least one spectator")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("websocket.spectators.rejected")
+                .description("Spectators turned away because the match was full")
+                .register(meterRegistry);
+        this.framesCounter = Counter.builder("websocket.spectators.frames")
+                .description("Public game views built and serialized for spectators")
+                .register(meterRegistry);
+        this.conflatedCounter = Counter.builder("websocket.spectators.conflated")
+                .description("Frames a slow spectator skipped because a newer one replaced them")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("websocket.spectators.dropped")
+                .description("Spectators closed because a send took longer than the send time limit")
+                .register(meterRegistry);
+    }
+
+    private static ThreadPoolExecutor newPool(String namePrefix, int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Start sending a game's public view to a session. The current state follows shortly.
+     * @return False if the match already has the maximum number of spectators
+     */
+    public boolean watch(WebSocketSession session, String matchId, String gameId) {
+        unwatch(session);
+        Spectator spectator = new Spectator(session, matchId, gameId);
+        AtomicBoolean admitted = new AtomicBoolean();
+        WatchedGame game = games.compute(gameId, (id, watched) -> {
+            WatchedGame target = watched != null ? watched : new WatchedGame(id);
+            if (target.spectators.size() < maxPerMatch) {
+                target.spectators.add(spectator);
+                admitted.set(true);
+            }
+            return target.spectators.isEmpty() ? null : target;
+        });
+        if (!admitted.get()) {
+            rejectedCounter.increment();
+            return false;
+        }
+        spectatorsBySession.put(session.getId(), spectator);
+
+        Frame frame = game.frame;
+        if (frame != null) {
+            spectator.offer(frame);
+        } else {
+            game.rebuild();
+        }
+        return true;
+    }
+
+    /**
+     * Stop sending to a session, if it is watching anything
+     * @return The match it was watching, or null
+     */
+    public String unwatch(WebSocketSession session) {
+        Spectator spectator = spectatorsBySession.remove(session.getId());
+        if (spectator == null) {
+            return null;
+        }
+        leave(spectator);
+        return spectator.matchId;
+    }
+
+    private void leave(Spectator spectator) {
+        games.computeIfPresent(spectator.gameId, (id, watched) -> {
+            watched.spectators.remove(spectator);
+            return watched.spectators.isEmpty() ? null : watched;
+        });
+    }
+
+    public int spectatorCount(String gameId) {
+        WatchedGame game = games.get(gameId);
+        return game != null ? game.spectators.size() : 0;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<GameModel> event) {
+        WatchedGame game = games.get(event.getSource().getId());
+        if (game != null) {
+            game.rebuild();
+        }
+    }
+
+    public void clear() {
+        spectatorsBySession.clear();
+        games.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        builders.shutdownNow();
+        senders.shutdownNow();
+        closers.shutdownNow();
+    }
+
+    /**
+     * A game's public view at one state version, ready to send
+     */
+    private static final class Frame {
+        final long version;
+        final TextMessage message;
+        final int bytes;
+
+        Frame(long version, TextMessage message, int bytes) {
+            this.version = version;
+            this.message = message;
+            this.bytes = bytes;
+        }
+    }
+
+    private final class WatchedGame {
+        final String gameId;
+        final Set<Spectator> spectators = ConcurrentHashMap.newKeySet();
+        volatile Frame frame;
+        // Saves while a rebuild is running fold into one more rebuild
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+        WatchedGame(String gameId) {
+            this.gameId = gameId;
+        }
+
+        void rebuild() {
+            dirty.set(true);
+            if (rebuilding.compareAndSet(false, true)) {
+                execute(builders, this::runRebuilds, () -> rebuilding.set(false));
+            }
+        }
+
+        private void runRebuilds() {
+            try {
+                while (dirty.getAndSet(false)) {
+                    Frame latest = buildFrame();
+                    if (latest != null) {
+                        for (Spectator spectator : spectators) {
+                            spectator.offer(latest);
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                logger.error("Failed to build the spectator view of game {}", gameId, e);
+            } finally {
+                rebuilding.set(false);
+            }
+            // A save that landed after the loop's last check but before the flag was cleared
+            if (dirty.get() && !spectators.isEmpty() && rebuilding.compareAndSet(false, true)) {
+                execute(builders, this::runRebuilds, () -> rebuilding.set(false));
+            }
+        }
+
+        /**
+         * @return The newest frame, or null if the game is gone
+         */
+        private Frame buildFrame() {
+            // Read back from the store rather than sharing the saver's model, which it may keep changing
+            GameModel gameModel = gameService.getGameModel(gameId);
+            Frame current = frame;
+            if (current != null && current.version >= gameModel.getStateVersion()) {
+                return current;
+            }
+            WebSocketMessage message = new WebSocketMessage(MessageType.GAME_STATE_UPDATE,
+                    gameService.convertToPublicDto(gameModel));
+            message.setVersion(gameModel.getStateVersion());
+            try {
+                long serializeStart = System.nanoTime();
+                String json = objectMapper.writeValueAsString(message);
+                trafficMetrics.recordSerialization(MessageType.GAME_STATE_UPDATE, System.nanoTime() - serializeStart);
+                current = new Frame(gameModel.getStateVersion(), new TextMessage(json),
+                        WebSocketTrafficMetrics.utf8Length(json));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize the spectator view of game " + gameId, e);
+            }
+            frame = current;
+            framesCounter.increment();
+            return current;
+        }
+    }
+
+    private final class Spectator {
+        final WebSocketSession session;
+        final String matchId;
+        final String gameId;
+        private final AtomicReference<Frame> pending = new AtomicReference<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private long sentVersion;   // Only touched by the thread holding sending
+
+        Spectator(WebSocketSession session, String matchId, String gameId) {
+            this.session = session;
+            this.matchId = matchId;
+            this.gameId = gameId;
+        }
+
+        void offer(Frame frame) {
+            Frame replaced = pending.getAndUpdate(waiting ->
+                    waiting == null || frame.version > waiting.version ? frame : waiting);
+            if (replaced != null) {
+                conflatedCounter.increment();
+            }
+            if (sending.compareAndSet(false, true)) {
+                execute(senders, this::send, () -> sending.set(false));
+            } else if (isStalled()) {
+                drop();
+            }
+        }
+
+        private boolean isStalled() {
+            return session instanceof ConcurrentWebSocketSessionDecorator decorator
+                    && decorator.getTimeSinceSendStarted() > decorator.getSendTimeLimit();
+        }
+
+        private void drop() {
+            if (!spectatorsBySession.remove(session.getId(), this)) {
+                return;
+            }
+            leave(this);
+            droppedCounter.increment();
+            trafficMetrics.recordSendFailure(session, "limit");
+            logger.warn("Dropped spectator session {} of game {}: a send took over {} ms", session.getId(), gameId,
+                    ((ConcurrentWebSocketSessionDecorator) session).getSendTimeLimit());
+            // Closing may wait for the stuck send, so it is kept off the builders and senders
+            execute(closers, () -> close(CloseStatus.SESSION_NOT_RELIABLE), () -> { });
+        }
+
+        private void close(CloseStatus status) {
+            try {
+                session.close(status);
+            } catch (IOException e) {
+                logger.debug("Failed to close spectator session {}", session.getId(), e);
+            }
+        }
+
+        private void send() {
+            try {
+                Frame frame;
+                while ((frame = pending.getAndSet(null)) != null) {
+                    if (frame.version <= sentVersion) {
+                        continue;
+                    }
+                    if (!write(frame)) {
+                        unwatch(session);
+                        return;
+                    }
+                    sentVersion = frame.version;
+                }
+            } finally {
+                sending.set(false);
+            }
+            if (pending.get() != null && sending.compareAndSet(false, true)) {
+                execute(senders, this::send, () -> sending.set(false));
+            }
+        }
+
+        private boolean write(Frame frame) {
+            try {
+                // The decorator serializes this with the handler's sends to the same session
+                if (!session.isOpen()) {
+                    trafficMetrics.recordSendFailure(session, "closed");
+                    return false;
+                }
+                long sendStart = System.nanoTime();
+                session.sendMessage(frame.message);
+                trafficMetrics.recordSent(MessageType.GAME_STATE_UPDATE, frame.bytes, System.nanoTime() - sendStart);
+                return true;
+            } catch (SessionLimitExceededException e) {
+                logger.warn("Closing spectator session {}: {}", session.getId(), e.getMessage());
+                trafficMetrics.recordSendFailure(session, "limit");
+                close(e.getStatus());
+            } catch (IOException e) {
+                logger.warn("Failed to send game {} to spectator session {}", gameId, session.getId(), e);
+                trafficMetrics.recordSendFailure(session, "io");
+            } catch (IllegalStateException e) {
+                logger.warn("WebSocket in invalid state for spectator session {}: {}", session.getId(), e.getMessage());
+                trafficMetrics.recordSendFailure(session, "state");
+            }
+            return false;
+        }
+    }
+
+    private static void execute(ThreadPoolExecutor pool, Runnable task, Runnable onRejected) {
+        try {
+            pool.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Only after shutdown
+            onRejected.run();
+        }
+    }
+}
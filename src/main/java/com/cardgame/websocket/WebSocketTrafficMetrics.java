@@ -0,0 +1,175 @@
+package com.cardgame.websocket;
+
+import com.cardgame.websocket.message.MessageType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * WebSocket traffic by message type: messages and payload bytes in each direction, JSON
+ * serialization and send time, broadcast width, and failed sends. A message type's meters are
+ * registered the first time it is seen and then looked up by ordinal; inbound frames that do not
+ * parse count as type INVALID.
+ */
+public class WebSocketTrafficMetrics {
+    private static final String INVALID = "INVALID";
+    private static final String SEND_FAILURES_ATTRIBUTE = WebSocketTrafficMetrics.class.getName() + ".sendFailures";
+
+    private static final MessageType[] TYPES = MessageType.values();
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicReferenceArray<Meters> meters = new AtomicReferenceArray<>(TYPES.length + 1);
+    private final Map<String, Counter> sendFailures;
+    private final DistributionSummary sessionSendFailures;
+
+    public WebSocketTrafficMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.sendFailures = Map.of(
+                "closed", sendFailureCounter(meterRegistry, "closed"),
+                "io", sendFailureCounter(meterRegistry, "io"),
+                "state", sendFailureCounter(meterRegistry, "state"),
+                "limit", sendFailureCounter(meterRegistry, "limit"));
+        this.sessionSendFailures = DistributionSummary.builder("websocket.session.send.failures")
+                .description("Failed sends per session, recorded when the session closes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param type Null if the frame could not be parsed
+     */
+    public void recordReceived(MessageType type, CharSequence payload) {
+        Meters typeMeters = meters(type);
+        typeMeters.received.increment();
+        typeMeters.receivedBytes.record(utf8Length(payload));
+    }
+
+    public void recordSerialization(MessageType type, long nanos) {
+        meters(type).serialization.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param payloadBytes UTF-8 size of the payload, see {@link #utf8Length}
+     */
+    public void recordSent(MessageType type, int payloadBytes, long sendNanos) {
+        Meters typeMeters = meters(type);
+        typeMeters.sent.increment();
+        typeMeters.sentBytes.record(payloadBytes);
+        typeMeters.send.record(sendNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param reason closed (session already closed), io (transport error), state (invalid session state)
+     *               or limit (send time or buffer limit exceeded, the session is closed)
+     */
+    public void recordSendFailure(WebSocketSession session, String reason) {
+        sendFailures.get(reason).increment();
+        ((AtomicInteger) session.getAttributes().computeIfAbsent(SEND_FAILURES_ATTRIBUTE, key -> new AtomicInteger()))
+                .incrementAndGet();
+    }
+
+    /**
+     * Number of sessions one message was sent to
+     */
+    public void recordBroadcast(MessageType type, int recipients) {
+        meters(type).broadcastWidth.record(recipients);
+    }
+
+    public void recordSessionClosed(WebSocketSession session) {
+        Object failures = session.getAttributes().get(SEND_FAILURES_ATTRIBUTE);
+        sessionSendFailures.record(failures != null ? ((AtomicInteger) failures).get() : 0);
+    }
+
+    private Meters meters(MessageType type) {
+        int index = type != null ? type.ordinal() : TYPES.length;
+        Meters typeMeters = meters.get(index);
+        if (typeMeters == null) {
+            // Registering is idempotent, so threads racing here end up sharing the same meters
+            typeMeters = new Meters(meterRegistry, type != null ? type.name() : INVALID);
+            meters.set(index, typeMeters);
+        }
+        return typeMeters;
+    }
+
+    private static Counter sendFailureCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("websocket.send.failures")
+                .description("Messages that could not be sent")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Bytes a string takes as UTF-8, without encoding it
+     */
+    static int utf8Length(CharSequence text) {
+        int length = text.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes++;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    bytes += 2;     // a surrogate pair is four bytes
+                    i++;
+                } else {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private static class Meters {
+        final Counter received;
+        final Counter sent;
+        final DistributionSummary receivedBytes;
+        final DistributionSummary sentBytes;
+        final Timer serialization;
+        final Timer send;
+        final DistributionSummary broadcastWidth;
+
+        Meters(MeterRegistry meterRegistry, String type) {
+            this.received = Counter.builder("websocket.messages.received")
+                    .description("WebSocket messages received")
+                    .tag("type", type)
+                    .register(meterRegistry);
+            this.sent = Counter.builder("websocket.messages.sent")
+                    .description("WebSocket messages sent")
+                    .tag("type", type)
+                    .register(meterRegistry);
+            this.receivedBytes = payloadBytes(meterRegistry, type, "in");
+            this.sentBytes = payloadBytes(meterRegistry, type, "out");
+            this.serialization = Timer.builder("websocket.message.serialization")
+                    .description("Time to serialize an outbound message to JSON")
+                    .tag("type", type)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.send = Timer.builder("websocket.message.send")
+                    .description("Time in session.sendMessage for one message")
+                    .tag("type", type)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.broadcastWidth = DistributionSummary.builder("websocket.broadcast.recipients")
+                    .description("Sessions one broadcast was sent to")
+                    .tag("type", type)
+                    .register(meterRegistry);
+        }
+
+        private static DistributionSummary payloadBytes(MeterRegistry meterRegistry, String type, String direction) {
+            return DistributionSummary.builder("websocket.message.payload")
+                    .description("Serialized WebSocket payload size")
+                    .baseUnit("bytes")
+                    .tag("type", type)
+                    .tag("direction", direction)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -10,6 +10,10 @@ public enum MessageType {
     JOIN_SUCCESS,
     LEAVE_MATCH,
     LEAVE_SUCCESS,
+    SPECTATE_MATCH,
+    SPECTATE_SUCCESS,
+    RESUME,
+    RESUME_SUCCESS,
     
     // Game events
     GAME_ACTION,
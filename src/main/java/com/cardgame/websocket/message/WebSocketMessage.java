@@ -1,9 +1,14 @@
 package com.cardgame.websocket.message;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class WebSocketMessage {
     private MessageType type;
     private Object data;
     private Long timestamp;
+    // State version of the game the message was built from, for messages that carry game state
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long version;
     
     public WebSocketMessage() {
         this.timestamp = System.currentTimeMillis();
@@ -38,4 +43,12 @@ public class WebSocketMessage {
     public void setTimestamp(Long timestamp) {
         this.timestamp = timestamp;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -74,14 +74,14 @@ class GameFlowIntegrationTest {
         deck1 = new Deck();
         deck1.setId(UUID.randomUUID().toString());
         deck1.setOwnerId(player1.getId());
-        deck1.setCards(testCards1);
+        deck1.setCardIds(cardIds(testCards1));
         deck1.setRemainingCards(15);
         deck1 = deckRepository.save(deck1);
 
         deck2 = new Deck();
         deck2.setId(UUID.randomUUID().toString());
         deck2.setOwnerId(player2.getId());
-        deck2.setCards(testCards2);
+        deck2.setCardIds(cardIds(testCards2));
         deck2.setRemainingCards(15);
         deck2 = deckRepository.save(deck2);
     }
@@ -98,6 +98,14 @@ class GameFlowIntegrationTest {
         return cards;
     }
 
+    private List<String> cardIds(List<Card> cards) {
+        List<String> cardIds = new ArrayList<>();
+        for (Card card : cards) {
+            cardIds.add(card.getId());
+        }
+        return cardIds;
+    }
+
     @Test
     void testGameInitialization() {
         // Initialize game
@@ -334,23 +342,27 @@ class GameFlowIntegrationTest {
     @Test
     void testOriginalDeckPreservation() {
         // Store original deck states before game
-        List<Card> originalDeck1Cards = new ArrayList<>(deck1.getCards());
-        List<Card> originalDeck2Cards = new ArrayList<>(deck2.getCards());
+        List<String> originalDeck1Cards = new ArrayList<>(deck1.getCardIds());
+        List<String> originalDeck2Cards = new ArrayList<>(deck2.getCardIds());
         String originalDeck1Id = deck1.getId();
         String originalDeck2Id = deck2.getId();
 
         // Initialize and play a game
         GameDto game = gameService.initializeGame(player1.getId(), player2.getId(), deck1.getId(), deck2.getId());
 
-        // Verify that during game, players have temporary decks
-        Player gamePlayer1 = playerRepository.findById(player1.getId()).orElseThrow();
-        Player gamePlayer2 = playerRepository.findById(player2.getId()).orElseThrow();
-        
-        // During game, currentDeck should be temporary, originalDeck should reference original
-        assertNotEquals(originalDeck1Id, gamePlayer1.getCurrentDeck().getId()); // Temporary deck has different ID
-        assertNotEquals(originalDeck2Id, gamePlayer2.getCurrentDeck().getId()); // Temporary deck has different ID
-        assertEquals(originalDeck1Id, gamePlayer1.getOriginalDeck().getId()); // Original deck stored
-        assertEquals(originalDeck2Id, gamePlayer2.getOriginalDeck().getId()); // Original deck stored
+        // Verify that during game, the game holds its own copy of each deck
+        GameModel gameModel = gameRepository.findById(game.getId()).orElseThrow();
+        PlayerGameState gamePlayer1 = gameModel.getPlayerState(player1.getId());
+        PlayerGameState gamePlayer2 = gameModel.getPlayerState(player2.getId());
+
+        assertEquals(originalDeck1Id, gamePlayer1.getDeckId());
+        assertEquals(originalDeck2Id, gamePlayer2.getDeckId());
+        assertEquals(originalDeck1Cards.subList(Hand.CAPACITY, originalDeck1Cards.size()), gamePlayer1.getDrawPile());
+        assertEquals(originalDeck2Cards.subList(Hand.CAPACITY, originalDeck2Cards.size()), gamePlayer2.getDrawPile());
+
+        // The player profiles are not touched by starting a game
+        assertNull(playerRepository.findById(player1.getId()).orElseThrow().getCurrentDeckId());
+        assertNull(playerRepository.findById(player2.getId()).orElseThrow().getCurrentDeckId());
 
         // Play some moves to modify game state
         CardDto cardDto1 = game.getCurrentPlayerHand().get(0);
@@ -378,23 +390,13 @@ class GameFlowIntegrationTest {
         Deck storedDeck1 = deckRepository.findById(originalDeck1Id).orElseThrow();
         Deck storedDeck2 = deckRepository.findById(originalDeck2Id).orElseThrow();
 
-        assertEquals(originalDeck1Cards.size(), storedDeck1.getCards().size());
-        assertEquals(originalDeck2Cards.size(), storedDeck2.getCards().size());
-        
         // Verify original deck content is unchanged
-        for (int i = 0; i < originalDeck1Cards.size(); i++) {
-            assertEquals(originalDeck1Cards.get(i).getId(), storedDeck1.getCards().get(i).getId());
-            assertEquals(originalDeck1Cards.get(i).getPower(), storedDeck1.getCards().get(i).getPower());
-        }
-        
-        for (int i = 0; i < originalDeck2Cards.size(); i++) {
-            assertEquals(originalDeck2Cards.get(i).getId(), storedDeck2.getCards().get(i).getId());
-            assertEquals(originalDeck2Cards.get(i).getPower(), storedDeck2.getCards().get(i).getPower());
-        }
+        assertEquals(originalDeck1Cards, storedDeck1.getCardIds());
+        assertEquals(originalDeck2Cards, storedDeck2.getCardIds());
     }
 
     @Test 
-    void testDeckRestorationAfterGameCompletion() {
+    void testPlayerProfilesUntouchedByGame() {
         // Store original deck references
         String originalDeck1Id = deck1.getId();
         String originalDeck2Id = deck2.getId();
@@ -402,11 +404,10 @@ class GameFlowIntegrationTest {
         // Initialize game
         GameDto game = gameService.initializeGame(player1.getId(), player2.getId(), deck1.getId(), deck2.getId());
 
-        // Verify players have temporary decks during game
-        Player player1InGame = playerRepository.findById(player1.getId()).orElseThrow();
-        assertNotNull(player1InGame.getOriginalDeck());
-        assertEquals(originalDeck1Id, player1InGame.getOriginalDeck().getId());
-        assertNotEquals(originalDeck1Id, player1InGame.getCurrentDeck().getId());
+        // Verify the game references the chosen decks
+        GameModel gameModel = gameRepository.findById(game.getId()).orElseThrow();
+        assertEquals(originalDeck1Id, gameModel.getPlayerState(player1.getId()).getDeckId());
+        assertEquals(originalDeck2Id, gameModel.getPlayerState(player2.getId()).getDeckId());
 
         // Play enough moves to fill the board and complete the game
         // This is a simple way to trigger game completion
@@ -470,25 +471,23 @@ class GameFlowIntegrationTest {
         Deck storedDeck1 = deckRepository.findById(originalDeck1Id).orElseThrow();
         Deck storedDeck2 = deckRepository.findById(originalDeck2Id).orElseThrow();
 
-        assertEquals(15, storedDeck1.getCards().size()); // Original deck intact
-        assertEquals(15, storedDeck2.getCards().size()); // Original deck intact
+        assertEquals(15, storedDeck1.getCardIds().size()); // Original deck intact
+        assertEquals(15, storedDeck2.getCardIds().size()); // Original deck intact
         
-        // Verify that players still have their originalDeck references during active games
+        // Verify that in-game state stayed on the game and the profiles only gained lifetime score
         Player player1Final = playerRepository.findById(player1.getId()).orElseThrow();
         Player player2Final = playerRepository.findById(player2.getId()).orElseThrow();
-        
+        assertNull(player1Final.getCurrentDeckId());
+        assertNull(player2Final.getCurrentDeckId());
+
+        GameModel finalModel = gameRepository.findById(game.getId()).orElseThrow();
+        int placedCards = finalModel.getPlayerState(player1.getId()).getPlacedCards().size()
+                + finalModel.getPlayerState(player2.getId()).getPlacedCards().size();
+        assertEquals(game.getBoard().getPieces().size(), placedCards);
+
         if (game.getState() == GameState.IN_PROGRESS) {
-            // Game still active - should have originalDeck references
-            assertNotNull(player1Final.getOriginalDeck());
-            assertNotNull(player2Final.getOriginalDeck());
-            assertEquals(originalDeck1Id, player1Final.getOriginalDeck().getId());
-            assertEquals(originalDeck2Id, player2Final.getOriginalDeck().getId());
-        } else if (game.getState() == GameState.COMPLETED) {
-            // Game completed - original decks should be restored
-            assertEquals(originalDeck1Id, player1Final.getCurrentDeck().getId());
-            assertEquals(originalDeck2Id, player2Final.getCurrentDeck().getId());
-            assertNull(player1Final.getOriginalDeck()); // Cleaned up
-            assertNull(player2Final.getOriginalDeck()); // Cleaned up
+            assertEquals(0, player1Final.getLifetimeScore());
+            assertEquals(0, player2Final.getLifetimeScore());
         }
     }
 }
\ No newline at end of file
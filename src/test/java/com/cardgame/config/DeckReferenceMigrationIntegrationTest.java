@@ -0,0 +1,77 @@
+package com.cardgame.config;
+
+import com.cardgame.model.Deck;
+import com.cardgame.model.Player;
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Requires a local MongoDB, like the other integration tests
+ */
+@SpringBootTest
+@DisplayName("Migration of deck DBRefs to deck IDs")
+class DeckReferenceMigrationIntegrationTest {
+
+    @Autowired
+    private DeckReferenceMigration migration;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private String players;
+    private String decks;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.remove(new Query(), Player.class);
+        mongoTemplate.remove(new Query(), Deck.class);
+        players = mongoTemplate.getCollectionName(Player.class);
+        decks = mongoTemplate.getCollectionName(Deck.class);
+    }
+
+    @Test
+    @DisplayName("Only references to existing decks become deck IDs, falling back to original_deck")
+    void testDanglingReferences() {
+        ObjectId deckId = new ObjectId();
+        mongoTemplate.insert(new Document("_id", deckId), decks);
+        DBRef dangling = new DBRef(decks, UUID.randomUUID().toString());
+        mongoTemplate.insert(new Document("_id", "valid").append("currentDeck", new DBRef(decks, deckId)), players);
+        mongoTemplate.insert(new Document("_id", "fallback").append("currentDeck", dangling)
+                .append("original_deck", new DBRef(decks, deckId)), players);
+        mongoTemplate.insert(new Document("_id", "dangling").append("currentDeck", dangling)
+                .append("current_deck_id", "stale"), players);
+
+        migration.run();
+
+        assertEquals(deckId.toHexString(), player("valid").getString("current_deck_id"));
+        assertEquals(deckId.toHexString(), player("fallback").getString("current_deck_id"));
+        assertFalse(player("dangling").containsKey("current_deck_id"));
+        assertFalse(mongoTemplate.exists(Query.query(Criteria.where("currentDeck").exists(true)), players));
+    }
+
+    @Test
+    @DisplayName("Migrations run card references, then per-game state, then deck references")
+    void testOrder() {
+        assertTrue(CardReferenceMigration.class.getAnnotation(Order.class).value()
+                < PlayerGameStateMigration.ORDER);
+        assertTrue(PlayerGameStateMigration.ORDER < DeckReferenceMigration.ORDER);
+    }
+
+    private Document player(String id) {
+        return mongoTemplate.findOne(Query.query(Criteria.where("_id").is(id)), Document.class, players);
+    }
+}
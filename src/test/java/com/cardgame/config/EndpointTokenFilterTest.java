@@ -0,0 +1,67 @@
+package com.cardgame.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndpointTokenFilterTest {
+
+    @Test
+    @DisplayName("With no token configured every request is refused, even one sending an empty token")
+    void testRefusesWithoutConfiguredToken() throws Exception {
+        MockHttpServletRequest request = request();
+        request.addHeader(EndpointTokenFilter.HEADER, "");
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = filter(new EndpointTokenFilter(""), request, chain);
+
+        assertEquals(403, response.getStatus());
+        assertTrue(response.getContentAsString().contains("no token is configured"));
+        assertNull(chain.getRequest(), "the endpoint must not be reached");
+    }
+
+    @Test
+    @DisplayName("A wrong or missing header is refused, and a token in the query string is ignored")
+    void testRefusesWrongToken() throws Exception {
+        EndpointTokenFilter filter = new EndpointTokenFilter("secret");
+
+        MockHttpServletRequest wrong = request();
+        wrong.addHeader(EndpointTokenFilter.HEADER, "guess");
+        MockHttpServletRequest inQuery = request();
+        inQuery.setParameter("token", "secret");
+
+        for (MockHttpServletRequest request : new MockHttpServletRequest[] {wrong, inQuery, request()}) {
+            MockFilterChain chain = new MockFilterChain();
+            assertEquals(403, filter(filter, request, chain).getStatus());
+            assertNull(chain.getRequest());
+        }
+    }
+
+    @Test
+    @DisplayName("The right header reaches the endpoint")
+    void testAcceptsHeader() throws Exception {
+        MockHttpServletRequest request = request();
+        request.addHeader(EndpointTokenFilter.HEADER, "secret");
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = filter(new EndpointTokenFilter("secret"), request, chain);
+
+        assertEquals(200, response.getStatus());
+        assertSame(request, chain.getRequest());
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/actuator/flightrecording");
+    }
+
+    private static MockHttpServletResponse filter(EndpointTokenFilter filter, MockHttpServletRequest request,
+                                                  MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,43 @@
+package com.cardgame.config;
+
+import com.cardgame.model.Player;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Requires a local MongoDB, like the other integration tests
+ */
+@SpringBootTest
+@DisplayName("Index catalog")
+class MongoIndexConfigIntegrationTest {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    @DisplayName("An index whose options changed in the catalog is dropped and recreated")
+    void testRecreatesChangedIndex() throws Exception {
+        IndexOperations indexOps = mongoTemplate.indexOps(Player.class);
+        indexOps.dropIndex("email");
+        // As created by an older catalog, without sparse
+        indexOps.ensureIndex(new Index().on("email", Sort.Direction.ASC).unique().named("email"));
+
+        new MongoIndexConfig().ensureIndexes(mongoTemplate).run();
+
+        IndexInfo email = indexOps.getIndexInfo().stream()
+                .filter(info -> info.getName().equals("email"))
+                .findFirst()
+                .orElseThrow();
+        assertTrue(email.isSparse());
+        assertTrue(email.isUnique());
+    }
+}
@@ -0,0 +1,98 @@
+package com.cardgame.config;
+
+import com.cardgame.model.Deck;
+import com.cardgame.model.GameModel;
+import com.cardgame.model.GameState;
+import com.cardgame.model.Player;
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Requires a local MongoDB, like the other integration tests
+ */
+@SpringBootTest
+@DisplayName("Migration of in-game state off player documents")
+class PlayerGameStateMigrationIntegrationTest {
+
+    @Autowired
+    private PlayerGameStateMigration migration;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private String players;
+    private String decks;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.remove(new Query(), Player.class);
+        mongoTemplate.remove(new Query(), Deck.class);
+        mongoTemplate.remove(new Query(), GameModel.class);
+        players = mongoTemplate.getCollectionName(Player.class);
+        decks = mongoTemplate.getCollectionName(Deck.class);
+    }
+
+    @Test
+    @DisplayName("A player in the middle of a game gets their own deck back and their state moves to the game")
+    void testMidGamePlayer() {
+        ObjectId deckId = new ObjectId();
+        mongoTemplate.insert(new Document("_id", deckId).append("ownerId", "p1"), decks);
+        // The game's copy of the deck was never saved, so the reference dangles
+        DBRef temporaryDeck = new DBRef(decks, UUID.randomUUID().toString());
+        mongoTemplate.insert(new Document("_id", "p1")
+                .append("name", "midGame")
+                .append("currentDeck", temporaryDeck)
+                .append("original_deck", new DBRef(decks, deckId))
+                .append("hand_slots", new Document("slots", List.of("1", "3")).append("size", 2))
+                .append("placed_card_ids", new Document("0,0", "5"))
+                .append("score", 2), players);
+        mongoTemplate.insert(new Document("_id", "g1")
+                .append("gameState", GameState.IN_PROGRESS.name())
+                .append("playerIds", List.of("p1")), mongoTemplate.getCollectionName(GameModel.class));
+
+        migration.run();
+
+        Document player = mongoTemplate.findOne(Query.query(Criteria.where("_id").is("p1")), Document.class, players);
+        assertEquals(deckId, PlayerGameStateMigration.refId(player.get("currentDeck")));
+        for (String field : List.of("original_deck", "hand_slots", "placed_card_ids", "score")) {
+            assertFalse(player.containsKey(field), field + " should have been removed");
+        }
+
+        Document game = mongoTemplate.findOne(Query.query(Criteria.where("_id").is("g1")), Document.class,
+                mongoTemplate.getCollectionName(GameModel.class));
+        Document state = game.get("playerStates", Document.class).get("p1", Document.class);
+        assertEquals(deckId.toHexString(), state.getString("deck_id"));
+        assertEquals(2, state.getInteger("score"));
+        assertEquals("5", state.get("placed_card_ids", Document.class).getString("0,0"));
+    }
+
+    @Test
+    @DisplayName("A player already moved to deck IDs has current_deck_id restored instead")
+    void testMidGamePlayerWithDeckId() {
+        ObjectId deckId = new ObjectId();
+        mongoTemplate.insert(new Document("_id", "p2")
+                .append("current_deck_id", UUID.randomUUID().toString())
+                .append("original_deck", new DBRef(decks, deckId)), players);
+
+        migration.run();
+
+        Document player = mongoTemplate.findOne(Query.query(Criteria.where("_id").is("p2")), Document.class, players);
+        assertEquals(deckId.toHexString(), player.getString("current_deck_id"));
+        assertFalse(player.containsKey("currentDeck"));
+        assertFalse(player.containsKey("original_deck"));
+    }
+}
@@ -4,10 +4,13 @@ import com.cardgame.model.Card;
 import com.cardgame.model.Deck;
 import com.cardgame.model.Player;
 import com.cardgame.model.GameModel;
+import com.cardgame.model.PlayerGameState;
 import com.cardgame.repository.CardRepository;
 import com.cardgame.repository.PlayerRepository;
 import com.cardgame.repository.GameRepository;
+import com.cardgame.service.CardCatalog;
 import com.cardgame.service.DeckInitializationService;
+import com.cardgame.service.player.DeckService;
 import com.cardgame.service.player.PlayerService;
 import com.cardgame.service.GameService;
 import com.cardgame.dto.GameDto;
@@ -37,6 +40,12 @@ public class VariedCardPowersTest {
     @Autowired
     private CardRepository cardRepository;
 
+    @Autowired
+    private CardCatalog cardCatalog;
+
+    @Autowired
+    private DeckService deckService;
+
     @Autowired
     private PlayerRepository playerRepository;
 
@@ -87,11 +96,11 @@ public class VariedCardPowersTest {
         );
 
         assertNotNull(player);
-        assertNotNull(player.getCurrentDeck());
+        assertNotNull(player.getCurrentDeckId());
 
         // Get the player's deck
-        Deck deck = player.getCurrentDeck();
-        List<Card> cards = deck.getCards();
+        Deck deck = currentDeck(player);
+        List<Card> cards = deckCards(deck);
 
         // Verify deck has exactly 5 cards
         assertEquals(5, cards.size(), "Deck should have exactly 5 cards");
@@ -123,24 +132,21 @@ public class VariedCardPowersTest {
         assertEquals(2, sparkCards.size());
         for (Card card : sparkCards) {
             assertEquals("Spark", card.getName(), "Power 1 cards should be named 'Spark'");
-            assertTrue(card.getId().startsWith("spark_"), 
-                "Spark card IDs should start with 'spark_'");
+            assertEquals("1", card.getId(), "Spark cards should reference catalog card 1");
         }
 
         // Check Lightning cards
         assertEquals(2, lightningCards.size());
         for (Card card : lightningCards) {
             assertEquals("Lightning", card.getName(), "Power 3 cards should be named 'Lightning'");
-            assertTrue(card.getId().startsWith("lightning_"), 
-                "Lightning card IDs should start with 'lightning_'");
+            assertEquals("3", card.getId(), "Lightning cards should reference catalog card 3");
         }
 
         // Check Thunder card
         assertEquals(1, thunderCards.size());
         Card thunderCard = thunderCards.get(0);
         assertEquals("Thunder", thunderCard.getName(), "Power 5 card should be named 'Thunder'");
-        assertTrue(thunderCard.getId().startsWith("thunder_"), 
-            "Thunder card ID should start with 'thunder_'");
+        assertEquals("5", thunderCard.getId(), "Thunder card should reference catalog card 5");
     }
 
     @Test
@@ -155,10 +161,10 @@ public class VariedCardPowersTest {
         Deck deck = deckInitializationService.createDefaultDeckForPlayer(player.getId());
 
         assertNotNull(deck);
-        assertEquals(5, deck.getCards().size());
+        assertEquals(5, deck.getCardIds().size());
 
         // Verify the card distribution
-        Map<Integer, List<Card>> cardsByPower = deck.getCards().stream()
+        Map<Integer, List<Card>> cardsByPower = deckCards(deck).stream()
             .collect(Collectors.groupingBy(Card::getPower));
 
         assertEquals(2, cardsByPower.get(1).size(), "Should have 2 power-1 cards");
@@ -215,8 +221,8 @@ public class VariedCardPowersTest {
         GameDto game = gameService.initializeGame(
             player1.getId(), 
             player2.getId(), 
-            player1.getCurrentDeck().getId(), 
-            player2.getCurrentDeck().getId()
+            player1.getCurrentDeckId(), 
+            player2.getCurrentDeckId()
         );
         
         assertNotNull(game);
@@ -236,21 +242,19 @@ public class VariedCardPowersTest {
     }
 
     @Test
-    void testAllCardsHaveUniqueIds() {
-        // Create multiple players to ensure card IDs are unique across players
+    void testAllCardsReferenceCatalogCards() {
+        // Decks hold card ID references, so copies of a card share the catalog ID
         Player player1 = playerService.createPlayer("UniqueTest1", "unique1@test.com", "sup1", null);
         Player player2 = playerService.createPlayer("UniqueTest2", "unique2@test.com", "sup2", null);
         Player player3 = playerService.createPlayer("UniqueTest3", "unique3@test.com", "sup3", null);
         
         // Collect all card IDs
         List<String> allCardIds = Arrays.asList(player1, player2, player3).stream()
-            .flatMap(player -> player.getCurrentDeck().getCards().stream())
-            .map(Card::getId)
+            .flatMap(player -> currentDeck(player).getCardIds().stream())
             .collect(Collectors.toList());
         
-        // Check for uniqueness
-        long uniqueCount = allCardIds.stream().distinct().count();
-        assertEquals(allCardIds.size(), uniqueCount, "All card IDs should be unique");
+        // Every reference resolves to one of the three template cards
+        assertEquals(List.of("1", "3", "5"), allCardIds.stream().distinct().sorted().collect(Collectors.toList()));
         
         // Verify total card count (3 players × 5 cards)
         assertEquals(15, allCardIds.size(), "Should have 15 total cards across 3 players");
@@ -261,7 +265,7 @@ public class VariedCardPowersTest {
         Player player = playerService.createPlayer("PowerTest", "power@test.com", "sup-power", null);
         
         // Calculate total power in deck
-        int totalPower = player.getCurrentDeck().getCards().stream()
+        int totalPower = deckCards(currentDeck(player)).stream()
             .mapToInt(Card::getPower)
             .sum();
         
@@ -269,7 +273,7 @@ public class VariedCardPowersTest {
         assertEquals(13, totalPower, "Total deck power should be 13");
         
         // Verify average power
-        double avgPower = player.getCurrentDeck().getCards().stream()
+        double avgPower = deckCards(currentDeck(player)).stream()
             .mapToInt(Card::getPower)
             .average()
             .orElse(0.0);
@@ -295,8 +299,8 @@ public class VariedCardPowersTest {
             GameDto game = gameService.initializeGame(
                 p1.getId(), 
                 p2.getId(), 
-                p1.getCurrentDeck().getId(), 
-                p2.getCurrentDeck().getId()
+                p1.getCurrentDeckId(), 
+                p2.getCurrentDeckId()
             );
             
             // Get the game model to check what cards were placed
@@ -306,15 +310,15 @@ public class VariedCardPowersTest {
             String cardId1 = gameModel.getBoard().getPieces().get("1,3");
             String cardId2 = gameModel.getBoard().getPieces().get("1,1");
             
-            // Get the placed cards from players
-            Player updatedP1 = playerRepository.findById(p1.getId()).orElseThrow();
-            Player updatedP2 = playerRepository.findById(p2.getId()).orElseThrow();
+            // Get the placed cards from the players' game state
+            PlayerGameState updatedP1 = gameModel.getPlayerState(p1.getId());
+            PlayerGameState updatedP2 = gameModel.getPlayerState(p2.getId());
             
             // Count the powers of placed cards
-            updatedP1.getPlacedCards().values().forEach(card -> 
-                placementCounts.merge(card.getPower(), 1, Integer::sum));
-            updatedP2.getPlacedCards().values().forEach(card -> 
-                placementCounts.merge(card.getPower(), 1, Integer::sum));
+            updatedP1.getPlacedCards().values().forEach(cardId -> 
+                placementCounts.merge(cardCatalog.powerOf(cardId), 1, Integer::sum));
+            updatedP2.getPlacedCards().values().forEach(cardId -> 
+                placementCounts.merge(cardCatalog.powerOf(cardId), 1, Integer::sum));
         }
         
         // Verify that all power types were placed at least once
@@ -333,16 +337,12 @@ public class VariedCardPowersTest {
         // Test that deck validation works correctly
         Player player = playerService.createPlayer("ValidationTest", "valid@test.com", "sup-valid", null);
         
-        assertTrue(deckInitializationService.validateDeck(player.getCurrentDeck()),
+        assertTrue(deckInitializationService.validateDeck(currentDeck(player)),
             "Newly created deck should be valid");
         
         // Create an invalid deck with wrong number of cards
         Deck invalidDeck = new Deck();
-        invalidDeck.setCards(Arrays.asList(
-            new Card("test1", 1, "Test"),
-            new Card("test2", 1, "Test"),
-            new Card("test3", 1, "Test")
-        )); // Only 3 cards instead of 5
+        invalidDeck.setCardIds(Arrays.asList("1", "1", "1")); // Only 3 cards instead of 5
         
         assertFalse(deckInitializationService.validateDeck(invalidDeck),
             "Deck with wrong number of cards should be invalid");
@@ -353,8 +353,18 @@ public class VariedCardPowersTest {
         
         // Test deck with null cards
         Deck nullCardsDeck = new Deck();
-        nullCardsDeck.setCards(null);
+        nullCardsDeck.setCardIds(null);
         assertFalse(deckInitializationService.validateDeck(nullCardsDeck),
             "Deck with null cards should be invalid");
     }
-}
\ No newline at end of file
+
+    private Deck currentDeck(Player player) {
+        return deckService.getDeck(player.getCurrentDeckId());
+    }
+
+    private List<Card> deckCards(Deck deck) {
+        return deck.getCardIds().stream()
+            .map(cardCatalog::requireCard)
+            .collect(Collectors.toList());
+    }
+}
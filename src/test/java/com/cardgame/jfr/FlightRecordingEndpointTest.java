@@ -0,0 +1,52 @@
+package com.cardgame.jfr;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecordingEndpointTest {
+
+    private final FlightRecordingEndpoint endpoint = new FlightRecordingEndpoint(5, 16);
+
+    @AfterEach
+    void tearDown() {
+        endpoint.close();
+    }
+
+    @Test
+    @DisplayName("Only one recording runs at a time, and its duration is capped")
+    void testOneRecordingAtATime() {
+        WebEndpointResponse<Map<String, Object>> started = endpoint.start(3600, null);
+        assertEquals(200, started.getStatus());
+        assertEquals(5, started.getBody().get("durationSeconds"));
+
+        assertEquals(409, endpoint.start(1, "profile").getStatus());
+    }
+
+    @Test
+    @DisplayName("Unknown settings are rejected without starting a recording")
+    void testRejectsUnknownSettings() {
+        assertEquals(400, endpoint.start(1, "everything").getStatus());
+        assertEquals(404, endpoint.download().getStatus());
+    }
+
+    @Test
+    @DisplayName("Downloading stops the recording and returns the file; deleting discards it")
+    void testDownloadAndDelete() throws Exception {
+        endpoint.start(5, null);
+
+        WebEndpointResponse<Resource> download = endpoint.download();
+        assertEquals(200, download.getStatus());
+        assertTrue(download.getBody().contentLength() > 0);
+        assertEquals(200, endpoint.start(1, null).getStatus(), "a stopped recording can be replaced");
+
+        assertEquals(204, endpoint.delete().getStatus());
+        assertEquals(404, endpoint.download().getStatus());
+    }
+}
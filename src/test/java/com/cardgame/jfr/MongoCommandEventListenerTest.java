@@ -0,0 +1,61 @@
+package com.cardgame.jfr;
+
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MongoCommandEventListenerTest {
+
+    private final MongoCommandEventListener listener = new MongoCommandEventListener();
+
+    @Test
+    @DisplayName("Commands are committed as events only while a recording has the event enabled")
+    void testCommitsOnlyWhileEnabled() throws Exception {
+        runCommand(1, "before");
+
+        Path file = Files.createTempFile("mongo-command-", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(MongoCommandEvent.class);
+            recording.start();
+            runCommand(2, "during");
+            recording.stop();
+            recording.dump(file);
+            runCommand(3, "after");
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("com.cardgame.MongoCommand"))
+                    .toList();
+            assertEquals(1, events.size());
+            assertEquals("during", events.get(0).getString("collection"));
+            assertEquals("find", events.get(0).getString("command"));
+            assertTrue(events.get(0).getBoolean("succeeded"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void runCommand(int requestId, String collection) {
+        CommandStartedEvent started = mock(CommandStartedEvent.class);
+        when(started.getRequestId()).thenReturn(requestId);
+        when(started.getCommandName()).thenReturn("find");
+        when(started.getCommand()).thenReturn(new BsonDocument("find", new BsonString(collection)));
+        CommandSucceededEvent succeeded = mock(CommandSucceededEvent.class);
+        when(succeeded.getRequestId()).thenReturn(requestId);
+
+        listener.commandStarted(started);
+        listener.commandSucceeded(succeeded);
+    }
+}
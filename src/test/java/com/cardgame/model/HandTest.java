@@ -0,0 +1,41 @@
+package com.cardgame.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HandTest {
+
+    @Test
+    @DisplayName("Duplicate card IDs are held and removed one copy at a time")
+    void testDuplicates() {
+        Hand hand = Hand.of(List.of("1", "1", "3", "3", "5"));
+        assertEquals(5, hand.size());
+        assertFalse(hand.add("1"), "A full hand should reject another card");
+
+        assertTrue(hand.remove("1"));
+        assertTrue(hand.contains("1"));
+        assertTrue(hand.remove("1"));
+        assertFalse(hand.contains("1"));
+        assertFalse(hand.remove("1"));
+        assertEquals(List.of("3", "3", "5"), hand.cardIds());
+    }
+
+    @Test
+    @DisplayName("Indexes count occupied slots in slot order")
+    void testIndexesSkipEmptySlots() {
+        Hand hand = Hand.of(List.of("1", "3", "5"));
+        hand.remove("1");
+
+        assertEquals("3", hand.get(0));
+        assertEquals("5", hand.removeAt(1));
+        assertEquals(List.of("3"), hand.cardIds());
+        assertThrows(IndexOutOfBoundsException.class, () -> hand.get(1));
+
+        assertTrue(hand.add("5"));
+        assertEquals(List.of("5", "3"), hand.cardIds(), "Freed slots are reused first");
+    }
+}
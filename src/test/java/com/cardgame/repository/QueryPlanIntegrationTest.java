@@ -0,0 +1,132 @@
+package com.cardgame.repository;
+
+import com.cardgame.model.Deck;
+import com.cardgame.model.GameModel;
+import com.cardgame.model.GameResult;
+import com.cardgame.model.GameScore;
+import com.cardgame.model.Player;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs explain() for the filter each derived repository query issues and fails
+ * when the winning plan is a collection scan. Requires a local MongoDB, like the
+ * other integration tests; indexes are created by MongoIndexConfig at startup.
+ */
+@SpringBootTest
+@DisplayName("Query plans - derived repository queries must be index-backed")
+class QueryPlanIntegrationTest {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    static Stream<Arguments> derivedQueries() {
+        Document noSort = new Document();
+        return Stream.of(
+                Arguments.of("GameRepository.findByPlayerIdsContainingAndGameStateIn", GameModel.class,
+                        new Document("playerIds", "player1")
+                                .append("gameState", new Document("$in", List.of("INITIALIZED", "IN_PROGRESS"))),
+                        noSort),
+                Arguments.of("GameRepository.findFirstByPlayerIdsContainingAndGameStateInOrderByUpdatedAtDesc", GameModel.class,
+                        new Document("playerIds", "player1")
+                                .append("gameState", new Document("$in", List.of("INITIALIZED", "IN_PROGRESS"))),
+                        new Document("updatedAt", -1)),
+                Arguments.of("GameRepository.findFirstByNakamaMatchId", GameModel.class,
+                        new Document("nakamaMatchId", "nakama_match1"), noSort),
+
+                Arguments.of("GameResultRepository.findByGameId", GameResult.class,
+                        new Document("gameId", "game1"), noSort),
+                Arguments.of("GameResultRepository.findByWinnerId", GameResult.class,
+                        new Document("winnerId", "player1"), noSort),
+                Arguments.of("GameResultRepository.findByPlayer1IdOrPlayer2Id", GameResult.class,
+                        new Document("$or", List.of(
+                                new Document("player1Id", "player1"),
+                                new Document("player2Id", "player1"))),
+                        noSort),
+                Arguments.of("GameResultService.getPlayerHistoryPage", GameResult.class,
+                        new Document("$or", List.of(
+                                new Document("player1Id", "player1"),
+                                new Document("player2Id", "player1"))),
+                        new Document("timestamp", -1).append("_id", -1)),
+                Arguments.of("GameResultRepository.findByTimestampGreaterThan", GameResult.class,
+                        new Document("timestamp", new Document("$gt", 0L)), noSort),
+                Arguments.of("GameResultRepository.findByTimestampBetween", GameResult.class,
+                        new Document("timestamp", new Document("$gt", 0L).append("$lt", Long.MAX_VALUE)), noSort),
+
+                Arguments.of("GameScoreRepository.findByGameId", GameScore.class,
+                        new Document("gameId", "game1"), noSort),
+                Arguments.of("GameScoreRepository.findByIsActiveTrue", GameScore.class,
+                        new Document("isActive", true), noSort),
+                Arguments.of("GameScoreRepository.findByGameIdAndIsActiveTrue", GameScore.class,
+                        new Document("gameId", "game1").append("isActive", true), noSort),
+                Arguments.of("GameScoreRepository.findByLastUpdatedGreaterThan", GameScore.class,
+                        new Document("lastUpdated", new Document("$gt", 0L)), noSort),
+
+                Arguments.of("DeckRepository.findByOwnerId", Deck.class,
+                        new Document("ownerId", "player1"), noSort),
+                Arguments.of("DeckRepository.findByIdAndOwnerId", Deck.class,
+                        new Document("_id", "deck1").append("ownerId", "player1"), noSort),
+
+                Arguments.of("PlayerRepository.findByName", Player.class,
+                        new Document("name", "Player 1"), noSort),
+                Arguments.of("PlayerRepository.findByEmail", Player.class,
+                        new Document("email", "player1@example.com"), noSort),
+                Arguments.of("PlayerRepository.findByNakamaUserId", Player.class,
+                        new Document("nakamaUserId", "nakama1"), noSort),
+                Arguments.of("PlayerRepository.findBySupabaseUserId", Player.class,
+                        new Document("supabaseUserId", "supabase1"), noSort)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("derivedQueries")
+    @DisplayName("Derived query does not use a collection scan")
+    void testDerivedQueryIsIndexed(String queryName, Class<?> entityClass, Document filter, Document sort) {
+        String collection = mongoTemplate.getCollectionName(entityClass);
+        Document explain = mongoTemplate.getCollection(collection)
+                .find(filter)
+                .sort(sort)
+                .explain();
+
+        Document queryPlanner = explain.get("queryPlanner", Document.class);
+        assertNotNull(queryPlanner, "explain() returned no queryPlanner for " + queryName);
+
+        Object winningPlan = queryPlanner.get("winningPlan");
+        assertFalse(containsStage(winningPlan, "COLLSCAN"),
+                () -> queryName + " on '" + collection + "' uses a COLLSCAN: " + ((Document) winningPlan).toJson());
+    }
+
+    /**
+     * Walks a plan tree (inputStage, inputStages, queryPlan, ...) looking for the given stage
+     */
+    private boolean containsStage(Object node, String stage) {
+        if (node instanceof Document document) {
+            if (stage.equals(document.get("stage"))) {
+                return true;
+            }
+            for (Object value : document.values()) {
+                if (containsStage(value, stage)) {
+                    return true;
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object value : list) {
+                if (containsStage(value, stage)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,10 @@
+package com.cardgame.repository.inmemory;
+
+import com.cardgame.model.Card;
+import com.cardgame.repository.CardRepository;
+
+public class InMemoryCardRepository extends InMemoryMongoRepository<Card> implements CardRepository {
+    public InMemoryCardRepository() {
+        super(Card::getId, Card::setId);
+    }
+}
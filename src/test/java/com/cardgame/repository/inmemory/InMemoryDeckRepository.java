@@ -0,0 +1,24 @@
+package com.cardgame.repository.inmemory;
+
+import com.cardgame.model.Deck;
+import com.cardgame.repository.DeckRepository;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+public class InMemoryDeckRepository extends InMemoryMongoRepository<Deck> implements DeckRepository {
+    public InMemoryDeckRepository() {
+        super(Deck::getId, Deck::setId);
+    }
+
+    @Override
+    public List<Deck> findByOwnerId(String ownerId) {
+        return matching(deck -> Objects.equals(deck.getOwnerId(), ownerId)).toList();
+    }
+
+    @Override
+    public Optional<Deck> findByIdAndOwnerId(String id, String ownerId) {
+        return findById(id).filter(deck -> Objects.equals(deck.getOwnerId(), ownerId));
+    }
+}
@@ -0,0 +1,33 @@
+package com.cardgame.repository.inmemory;
+
+import com.cardgame.model.GameModel;
+import com.cardgame.model.GameState;
+import com.cardgame.repository.GameRepository;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+public class InMemoryGameRepository extends InMemoryMongoRepository<GameModel> implements GameRepository {
+    public InMemoryGameRepository() {
+        super(GameModel::getId, GameModel::setId);
+    }
+
+    @Override
+    public List<GameModel> findByPlayerIdsContainingAndGameStateIn(String playerId, List<GameState> states) {
+        return matching(game -> game.getPlayerIds().contains(playerId) && states.contains(game.getGameState())).toList();
+    }
+
+    @Override
+    public Optional<GameModel> findFirstByPlayerIdsContainingAndGameStateInOrderByUpdatedAtDesc(
+            String playerId, List<GameState> states) {
+        return findByPlayerIdsContainingAndGameStateIn(playerId, states).stream()
+                .max(Comparator.comparing(GameModel::getUpdatedAt, Comparator.nullsFirst(Comparator.<Instant>naturalOrder())));
+    }
+
+    @Override
+    public Optional<GameModel> findFirstByNakamaMatchId(String nakamaMatchId) {
+        return first(game -> nakamaMatchId.equals(game.getNakamaMatchId()));
+    }
+}
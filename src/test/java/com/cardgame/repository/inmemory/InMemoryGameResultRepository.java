@@ -0,0 +1,42 @@
+package com.cardgame.repository.inmemory;
+
+import com.cardgame.model.GameResult;
+import com.cardgame.repository.GameResultRepository;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+public class InMemoryGameResultRepository extends InMemoryMongoRepository<GameResult> implements GameResultRepository {
+    public InMemoryGameResultRepository() {
+        super(GameResult::getId, GameResult::setId);
+    }
+
+    @Override
+    public Optional<GameResult> findByGameId(String gameId) {
+        return first(result -> Objects.equals(result.getGameId(), gameId));
+    }
+
+    @Override
+    public List<GameResult> findByWinnerId(String playerId) {
+        return matching(result -> Objects.equals(result.getWinnerId(), playerId)).toList();
+    }
+
+    @Override
+    public List<GameResult> findByPlayer1IdOrPlayer2Id(String playerId, String playerId2) {
+        return matching(result -> Objects.equals(result.getPlayer1Id(), playerId)
+                || Objects.equals(result.getPlayer2Id(), playerId2)).toList();
+    }
+
+    @Override
+    public List<GameResult> findByTimestampGreaterThan(long timestamp) {
+        return matching(result -> result.getTimestampInGameResult() > timestamp).toList();
+    }
+
+    @Override
+    public List<GameResult> findByTimestampBetween(long startTime, long endTime) {
+        // Spring Data's Between is exclusive at both ends for Mongo
+        return matching(result -> result.getTimestampInGameResult() > startTime
+                && result.getTimestampInGameResult() < endTime).toList();
+    }
+}
@@ -0,0 +1,34 @@
+package com.cardgame.repository.inmemory;
+
+import com.cardgame.model.GameScore;
+import com.cardgame.repository.GameScoreRepository;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+public class InMemoryGameScoreRepository extends InMemoryMongoRepository<GameScore> implements GameScoreRepository {
+    public InMemoryGameScoreRepository() {
+        super(GameScore::getId, GameScore::setId);
+    }
+
+    @Override
+    public Optional<GameScore> findByGameId(String gameId) {
+        return first(score -> Objects.equals(score.getGameId(), gameId));
+    }
+
+    @Override
+    public List<GameScore> findByIsActiveTrue() {
+        return matching(GameScore::isActive).toList();
+    }
+
+    @Override
+    public List<GameScore> findByGameIdAndIsActiveTrue(String gameId) {
+        return matching(score -> score.isActive() && Objects.equals(score.getGameId(), gameId)).toList();
+    }
+
+    @Override
+    public List<GameScore> findByLastUpdatedGreaterThan(long timestamp) {
+        return matching(score -> score.getLastUpdated() > timestamp).toList();
+    }
+}
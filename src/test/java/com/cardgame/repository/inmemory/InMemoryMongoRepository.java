@@ -0,0 +1,196 @@
+package com.cardgame.repository.inmemory;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * MongoRepository backed by a concurrent map, for running services without a database.
+ * Documents are stored by reference, so a document read and then modified is only changed in
+ * the store when it is saved again, as long as callers follow the usual read-modify-save flow.
+ * Saving a document without an ID assigns a new ObjectId, like MongoDB does.
+ * Query-by-example, sorting and paging are not supported.
+ */
+public abstract class InMemoryMongoRepository<T> implements MongoRepository<T, String> {
+    private final Map<String, T> documents = new ConcurrentHashMap<>();
+    private final Function<T, String> idGetter;
+    private final BiConsumer<T, String> idSetter;
+
+    protected InMemoryMongoRepository(Function<T, String> idGetter, BiConsumer<T, String> idSetter) {
+        this.idGetter = idGetter;
+        this.idSetter = idSetter;
+    }
+
+    /**
+     * Documents matching a condition, for implementing derived queries
+     */
+    protected Stream<T> matching(Predicate<T> condition) {
+        return documents.values().stream().filter(condition);
+    }
+
+    protected Optional<T> first(Predicate<T> condition) {
+        return matching(condition).findFirst();
+    }
+
+    @Override
+    public <S extends T> S save(S entity) {
+        String id = idGetter.apply(entity);
+        if (id == null) {
+            id = new ObjectId().toHexString();
+            idSetter.accept(entity, id);
+        }
+        documents.put(id, entity);
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        for (S entity : entities) {
+            saved.add(save(entity));
+        }
+        return saved;
+    }
+
+    @Override
+    public <S extends T> S insert(S entity) {
+        String id = idGetter.apply(entity);
+        if (id != null && documents.containsKey(id)) {
+            throw new IllegalStateException("Duplicate key " + id);
+        }
+        return save(entity);
+    }
+
+    @Override
+    public <S extends T> List<S> insert(Iterable<S> entities) {
+        List<S> inserted = new ArrayList<>();
+        for (S entity : entities) {
+            inserted.add(insert(entity));
+        }
+        return inserted;
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        return Optional.ofNullable(documents.get(id));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return documents.containsKey(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return new ArrayList<>(documents.values());
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<String> ids) {
+        List<T> found = new ArrayList<>();
+        for (String id : ids) {
+            T document = documents.get(id);
+            if (document != null) {
+                found.add(document);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public long count() {
+        return documents.size();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        documents.remove(id);
+    }
+
+    @Override
+    public void delete(T entity) {
+        documents.remove(idGetter.apply(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        for (String id : ids) {
+            documents.remove(id);
+        }
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        for (T entity : entities) {
+            delete(entity);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        documents.clear();
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        throw unsupported();
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw unsupported();
+    }
+
+    private static UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("Not supported by the in-memory repository");
+    }
+}
@@ -0,0 +1,54 @@
+package com.cardgame.repository.inmemory;
+
+import com.cardgame.model.Player;
+import com.cardgame.repository.PlayerRepository;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+public class InMemoryPlayerRepository extends InMemoryMongoRepository<Player> implements PlayerRepository {
+    public InMemoryPlayerRepository() {
+        super(Player::getId, Player::setId);
+    }
+
+    @Override
+    public Optional<Player> findByName(String name) {
+        return first(player -> Objects.equals(player.getName(), name));
+    }
+
+    @Override
+    public Optional<Player> findPlayerByName(String name) {
+        return findByName(name);
+    }
+
+    @Override
+    public List<Player> findPlayersByDeckId(String deckId) {
+        return matching(player -> Objects.equals(player.getCurrentDeckId(), deckId)).toList();
+    }
+
+    @Override
+    public Optional<Player> findByNakamaUserId(String nakamaUserId) {
+        return first(player -> Objects.equals(player.getNakamaUserId(), nakamaUserId));
+    }
+
+    @Override
+    public Optional<Player> findByEmail(String email) {
+        return first(player -> Objects.equals(player.getEmail(), email));
+    }
+
+    @Override
+    public Optional<Player> findBySupabaseUserId(String supabaseUserId) {
+        return first(player -> Objects.equals(player.getSupabaseUserId(), supabaseUserId));
+    }
+
+    @Override
+    public List<Player> findAllBySupabaseUserId(String supabaseUserId) {
+        return matching(player -> Objects.equals(player.getSupabaseUserId(), supabaseUserId)).toList();
+    }
+
+    @Override
+    public List<Player> findAllByEmail(String email) {
+        return matching(player -> Objects.equals(player.getEmail(), email)).toList();
+    }
+}
@@ -0,0 +1,10 @@
+package com.cardgame.repository.inmemory;
+
+import com.cardgame.model.PlayerStats;
+import com.cardgame.repository.PlayerStatsRepository;
+
+public class InMemoryPlayerStatsRepository extends InMemoryMongoRepository<PlayerStats> implements PlayerStatsRepository {
+    public InMemoryPlayerStatsRepository() {
+        super(PlayerStats::getId, PlayerStats::setId);
+    }
+}
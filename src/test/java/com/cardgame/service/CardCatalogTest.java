@@ -0,0 +1,107 @@
+package com.cardgame.service;
+
+import com.cardgame.dto.CardDto;
+import com.cardgame.model.Card;
+import com.cardgame.repository.CardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CardCatalogTest {
+
+    @Mock
+    private CardRepository cardRepository;
+
+    private CardCatalog cardCatalog;
+    private List<Card> storedCards;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        storedCards = new ArrayList<>(List.of(
+                new Card("1", 1, "Spark", "/gifs/spark.png"),
+                new Card("3", 3, "Lightning", "/gifs/lightning.png"),
+                new Card("5", 5, "Thunder", "/gifs/thunder.png")));
+        when(cardRepository.findAll()).thenAnswer(invocation -> new ArrayList<>(storedCards));
+
+        cardCatalog = new CardCatalog(cardRepository);
+        cardCatalog.refresh();
+    }
+
+    @Test
+    @DisplayName("Lookups are served from memory and return shared instances")
+    void testLookupsDoNotHitRepository() {
+        Card spark = cardCatalog.requireCard("1");
+        assertSame(spark, cardCatalog.requireCard("1"));
+        assertSame(cardCatalog.findDto("3"), cardCatalog.findDto("3"));
+        assertSame(cardCatalog.allDtos(), cardCatalog.allDtos());
+        assertEquals(List.of("1", "3", "5"), cardCatalog.allDtos().stream().map(CardDto::getId).toList());
+
+        verify(cardRepository, times(1)).findAll();
+        verify(cardRepository, never()).findById(anyString());
+    }
+
+    @Test
+    @DisplayName("Card ID references resolve to the shared DTOs, keeping duplicates")
+    void testDtosForCardIds() {
+        List<CardDto> hand = cardCatalog.dtosFor(List.of("1", "1", "5"));
+        assertEquals(3, hand.size());
+        assertSame(cardCatalog.findDto("1"), hand.get(0));
+        assertSame(hand.get(0), hand.get(1));
+        assertSame(hand, cardCatalog.dtosFor(new ArrayList<>(List.of("1", "1", "5"))));
+        assertThrows(UnsupportedOperationException.class, () -> hand.add(cardCatalog.findDto("3")));
+        assertEquals(5, cardCatalog.powerOf("5"));
+    }
+
+    @Test
+    @DisplayName("ETag changes when a card is added and the catalog is refreshed")
+    void testEtagChangesOnRefresh() {
+        String before = cardCatalog.etag();
+        cardCatalog.refresh();
+        assertEquals(before, cardCatalog.etag());
+
+        storedCards.add(new Card("6", 2, "Static"));
+        cardCatalog.refresh();
+        assertNotEquals(before, cardCatalog.etag());
+        assertEquals(4, cardCatalog.allDtos().size());
+    }
+
+    @Test
+    @DisplayName("Cards saved outside the catalog are picked up on first lookup")
+    void testMissingCardIsLoaded() {
+        Card storm = new Card("7", 4, "Storm");
+        storedCards.add(storm);
+        when(cardRepository.findById("7")).thenReturn(Optional.of(storm));
+        when(cardRepository.findById("missing")).thenReturn(Optional.empty());
+
+        assertEquals("Storm", cardCatalog.requireCard("7").getName());
+        assertNull(cardCatalog.findDto("missing"));
+        assertThrows(IllegalStateException.class, () -> cardCatalog.requireCard("missing"));
+    }
+
+    @Test
+    @DisplayName("An unknown card ID is looked up once, until the catalog is refreshed")
+    void testUnknownIdIsRemembered() {
+        when(cardRepository.findById("missing")).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 5; i++) {
+            assertNull(cardCatalog.findDto("missing"));
+            assertTrue(cardCatalog.findCard("missing").isEmpty());
+        }
+        verify(cardRepository, times(1)).findById("missing");
+
+        cardCatalog.refresh();
+        assertNull(cardCatalog.findDto("missing"));
+        verify(cardRepository, times(2)).findById("missing");
+    }
+}
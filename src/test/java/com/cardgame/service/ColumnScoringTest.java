@@ -3,25 +3,19 @@ package com.cardgame.service;
 import com.cardgame.model.*;
 import com.cardgame.dto.ColumnScoreDto;
 import com.cardgame.dto.GameDto;
-import com.cardgame.service.player.PlayerService;
 import com.cardgame.service.util.ScoreCalculator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
 
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.*;
 
 class ColumnScoringTest {
 
-    @Mock
-    private PlayerService playerService;
-
     private GameModel gameModel;
+    private final Map<String, Integer> cardPowers = new HashMap<>();
     private Player player1;
     private Player player2;
     private String player1Id = "player1";
@@ -29,28 +23,22 @@ class ColumnScoringTest {
 
     @BeforeEach
     void setUp() {
-        MockitoAnnotations.openMocks(this);
-        
         // Initialize players
         player1 = new Player();
         player1.setId(player1Id);
         player1.setName("Player 1");
-        player1.setPlacedCards(new HashMap<>());
         
         player2 = new Player();
         player2.setId(player2Id);
         player2.setName("Player 2");
-        player2.setPlacedCards(new HashMap<>());
-        
-        // Mock player service
-        when(playerService.getPlayer(player1Id)).thenReturn(player1);
-        when(playerService.getPlayer(player2Id)).thenReturn(player2);
         
         // Initialize game model
         gameModel = new GameModel();
         gameModel.setId("test-game-id");
         gameModel.setGameState(GameState.IN_PROGRESS);
         gameModel.setPlayerIds(Arrays.asList(player1Id, player2Id));
+        gameModel.setPlayerState(player1Id, new PlayerGameState());
+        gameModel.setPlayerState(player2Id, new PlayerGameState());
         
         // Initialize board
         Board board = new Board();
@@ -64,7 +52,7 @@ class ColumnScoringTest {
     @DisplayName("Test empty board returns zero scores for all columns")
     void testEmptyBoard() {
         Map<Integer, ScoreCalculator.ColumnScore> columnScores = 
-            ScoreCalculator.calculateColumnScores(gameModel, playerService);
+            ScoreCalculator.calculateColumnScores(gameModel, cardPowers::get);
         
         assertEquals(3, columnScores.size());
         
@@ -83,11 +71,11 @@ class ColumnScoringTest {
     void testSingleCardWinsColumn() {
         // Place a card with power 5 for player1 in column 0
         Card card1 = new Card("card1", 5, "Test Card");
-        player1.getPlacedCards().put("0,0", card1);
+        placeCard(player1, "0,0", card1);
         gameModel.getBoard().getPieces().put("0,0", "card1");
         
         Map<Integer, ScoreCalculator.ColumnScore> columnScores = 
-            ScoreCalculator.calculateColumnScores(gameModel, playerService);
+            ScoreCalculator.calculateColumnScores(gameModel, cardPowers::get);
         
         // Column 0: Player1 should win with 5 points
         ScoreCalculator.ColumnScore col0 = columnScores.get(0);
@@ -112,14 +100,14 @@ class ColumnScoringTest {
         // Player1 cards in column 1
         Card card1 = new Card("card1", 3, "Card 1");
         Card card2 = new Card("card2", 4, "Card 2");
-        player1.getPlacedCards().put("1,0", card1);
-        player1.getPlacedCards().put("1,1", card2);
+        placeCard(player1, "1,0", card1);
+        placeCard(player1, "1,1", card2);
         
         // Player2 cards in column 1
         Card card3 = new Card("card3", 5, "Card 3");
         Card card4 = new Card("card4", 2, "Card 4");
-        player2.getPlacedCards().put("1,2", card3);
-        player2.getPlacedCards().put("1,3", card4);
+        placeCard(player2, "1,2", card3);
+        placeCard(player2, "1,3", card4);
         
         // Update board
         gameModel.getBoard().getPieces().put("1,0", "card1");
@@ -128,7 +116,7 @@ class ColumnScoringTest {
         gameModel.getBoard().getPieces().put("1,3", "card4");
         
         Map<Integer, ScoreCalculator.ColumnScore> columnScores = 
-            ScoreCalculator.calculateColumnScores(gameModel, playerService);
+            ScoreCalculator.calculateColumnScores(gameModel, cardPowers::get);
         
         // Column 1: Player1 has 3+4=7, Player2 has 5+2=7, should be a tie
         ScoreCalculator.ColumnScore col1 = columnScores.get(1);
@@ -155,7 +143,7 @@ class ColumnScoringTest {
         
         // Calculate column scores
         Map<Integer, ScoreCalculator.ColumnScore> columnScores = 
-            ScoreCalculator.calculateColumnScores(gameModel, playerService);
+            ScoreCalculator.calculateColumnScores(gameModel, cardPowers::get);
         
         // Verify column winners
         assertEquals(player1Id, columnScores.get(0).winnerId);
@@ -163,7 +151,7 @@ class ColumnScoringTest {
         assertEquals(player1Id, columnScores.get(2).winnerId);
         
         // Determine overall winner
-        String winner = ScoreCalculator.determineWinner(gameModel, playerService);
+        String winner = ScoreCalculator.determineWinner(gameModel, cardPowers::get);
         assertEquals(player1Id, winner);
         
         // Check that scores were updated (columns won)
@@ -184,7 +172,7 @@ class ColumnScoringTest {
         // Column 2: Tie (both have 0)
         // No cards placed
         
-        String winner = ScoreCalculator.determineWinner(gameModel, playerService);
+        String winner = ScoreCalculator.determineWinner(gameModel, cardPowers::get);
         assertNull(winner); // null indicates tie
         
         // Both players should have 1 column won
@@ -201,7 +189,7 @@ class ColumnScoringTest {
         
         // Simulate game completion
         Map<Integer, ScoreCalculator.ColumnScore> columnScores = 
-            ScoreCalculator.calculateColumnScores(gameModel, playerService);
+            ScoreCalculator.calculateColumnScores(gameModel, cardPowers::get);
         
         // Convert to the format stored in GameModel
         Map<Integer, Map<String, Integer>> finalColumnScores = new HashMap<>();
@@ -237,7 +225,7 @@ class ColumnScoringTest {
         placeCard(player2, "0,3", new Card("card4", 3, "Card 4"));
         
         Map<Integer, ScoreCalculator.ColumnScore> columnScores = 
-            ScoreCalculator.calculateColumnScores(gameModel, playerService);
+            ScoreCalculator.calculateColumnScores(gameModel, cardPowers::get);
         
         ScoreCalculator.ColumnScore col0 = columnScores.get(0);
         assertEquals(10, col0.playerScores.get(player1Id));
@@ -257,7 +245,7 @@ class ColumnScoringTest {
             placeCard(player2, col + ",1", card2);
         }
         
-        String winner = ScoreCalculator.determineWinner(gameModel, playerService);
+        String winner = ScoreCalculator.determineWinner(gameModel, cardPowers::get);
         assertNull(winner); // Game is a tie
         
         // Both players should have 0 columns won (all tied)
@@ -280,7 +268,7 @@ class ColumnScoringTest {
         placeCard(player2, "2,0", new Card("c5", 3, "Card 5"));
         
         Map<Integer, ScoreCalculator.ColumnScore> columnScores = 
-            ScoreCalculator.calculateColumnScores(gameModel, playerService);
+            ScoreCalculator.calculateColumnScores(gameModel, cardPowers::get);
         
         // Verify results
         assertEquals(player1Id, columnScores.get(0).winnerId);
@@ -288,13 +276,14 @@ class ColumnScoringTest {
         assertEquals(player2Id, columnScores.get(2).winnerId);
         
         // Game should be tied (1-1 columns, with 1 empty)
-        String winner = ScoreCalculator.determineWinner(gameModel, playerService);
+        String winner = ScoreCalculator.determineWinner(gameModel, cardPowers::get);
         assertNull(winner);
     }
 
     // Helper method to place a card on the board
     private void placeCard(Player player, String position, Card card) {
-        player.getPlacedCards().put(position, card);
+        cardPowers.put(card.getId(), card.getPower());
+        gameModel.getPlayerState(player.getId()).getPlacedCards().put(position, card.getId());
         gameModel.getBoard().getPieces().put(position, card.getId());
     }
 }
\ No newline at end of file
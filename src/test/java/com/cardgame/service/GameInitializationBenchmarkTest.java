@@ -0,0 +1,146 @@
+package com.cardgame.service;
+
+import com.cardgame.dto.GameDto;
+import com.cardgame.model.Card;
+import com.cardgame.model.Deck;
+import com.cardgame.model.Player;
+import com.cardgame.repository.CardRepository;
+import com.cardgame.repository.DeckRepository;
+import com.cardgame.repository.GameRepository;
+import com.cardgame.repository.PlayerRepository;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonString;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round-trip count and latency of GameService.initializeGame against a local MongoDB.
+ * A game start is expected to issue two finds and one insert; the latency run only
+ * reports the current path's percentiles. Run with {@code ./gradlew benchmark}.
+ */
+@SpringBootTest
+@Tag("benchmark")
+@DisplayName("Game initialization - round trips and latency")
+class GameInitializationBenchmarkTest {
+
+    private static final Set<String> GAME_COLLECTIONS = Set.of("players", "deck", "games");
+    private static final Map<String, Integer> commandCounts = new ConcurrentHashMap<>();
+
+    @TestConfiguration
+    static class CommandCountingConfig {
+        @Bean
+        MongoClientSettingsBuilderCustomizer commandCounter() {
+            return builder -> builder.addCommandListener(new CommandListener() {
+                @Override
+                public void commandStarted(CommandStartedEvent event) {
+                    Object collection = event.getCommand().get(event.getCommandName());
+                    if (collection instanceof BsonString name && GAME_COLLECTIONS.contains(name.getValue())) {
+                        commandCounts.merge(event.getCommandName() + " " + name.getValue(), 1, Integer::sum);
+                    }
+                }
+            });
+        }
+    }
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private DeckRepository deckRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    private String player1Id;
+    private String player2Id;
+    private String deck1Id;
+    private String deck2Id;
+
+    @BeforeEach
+    void setUp() {
+        gameRepository.deleteAll();
+        playerRepository.deleteAll();
+        deckRepository.deleteAll();
+
+        cardRepository.saveAll(List.of(
+                new Card("1", 1, "Spark", "/gifs/spark.png"),
+                new Card("3", 3, "Lightning", "/gifs/lightning.png"),
+                new Card("5", 5, "Thunder", "/gifs/thunder.png")));
+
+        player1Id = createPlayer("bench_player1");
+        player2Id = createPlayer("bench_player2");
+        deck1Id = createDeck("bench_deck1", player1Id);
+        deck2Id = createDeck("bench_deck2", player2Id);
+    }
+
+    @Test
+    @DisplayName("One game start costs two batched reads and one write")
+    void testRoundTrips() {
+        gameService.initializeGame(player1Id, player2Id, deck1Id, deck2Id); // warm up the card catalog
+
+        commandCounts.clear();
+        GameDto game = gameService.initializeGame(player1Id, player2Id, deck1Id, deck2Id);
+
+        assertEquals(Map.of("find players", 1, "find deck", 1, "insert games", 1), Map.copyOf(commandCounts));
+        assertEquals(4, game.getCurrentPlayerHand().size());
+        assertEquals(Map.of(player1Id, "bench_player1", player2Id, "bench_player2"), game.getPlayerNames());
+    }
+
+    @Test
+    @DisplayName("Game start latency")
+    void testLatency() {
+        int warmup = 50;
+        int runs = 500;
+        for (int i = 0; i < warmup; i++) {
+            gameService.initializeGame(player1Id, player2Id, deck1Id, deck2Id);
+        }
+
+        long[] nanos = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            gameService.initializeGame(player1Id, player2Id, deck1Id, deck2Id);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+
+        System.out.printf("initializeGame over %d runs: p50 %.2f ms, p95 %.2f ms, p99 %.2f ms%n",
+                runs, nanos[runs / 2] / 1e6, nanos[runs * 95 / 100] / 1e6, nanos[runs * 99 / 100] / 1e6);
+        assertEquals(warmup + runs, gameRepository.count());
+    }
+
+    private String createPlayer(String name) {
+        Player player = new Player();
+        player.setId(name);
+        player.setName(name);
+        return playerRepository.save(player).getId();
+    }
+
+    private String createDeck(String id, String ownerId) {
+        Deck deck = new Deck(ownerId, new ArrayList<>(List.of("1", "1", "3", "3", "5")));
+        deck.setId(id);
+        return deckRepository.save(deck).getId();
+    }
+}
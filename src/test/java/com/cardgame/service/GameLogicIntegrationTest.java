@@ -75,10 +75,10 @@ class GameLogicIntegrationTest {
      * Sets up player1, player2, deck1, and deck2 for game initialization.
      */
     private void setupTestPlayers() {
-        List<Card> cards = new ArrayList<>();
+        List<String> cards = new ArrayList<>();
         for (int i = 1; i <= 15; i++) {
             Card card = new Card("card_" + i, i, "Card " + i);
-            cards.add(card);
+            cards.add(card.getId());
             cardRepository.save(card);
         }
 
@@ -97,7 +97,7 @@ class GameLogicIntegrationTest {
         Deck deck1 = new Deck();
         deck1.setId("deck1");
         deck1.setOwnerId(player1Id);
-        deck1.setCards(new ArrayList<>(cards));
+        deck1.setCardIds(new ArrayList<>(cards));
         deck1.setRemainingCards(15);
         deck1 = deckRepository.save(deck1);
         deck1Id = deck1.getId();
@@ -105,7 +105,7 @@ class GameLogicIntegrationTest {
         Deck deck2 = new Deck();
         deck2.setId("deck2");
         deck2.setOwnerId(player2Id);
-        deck2.setCards(new ArrayList<>(cards));
+        deck2.setCardIds(new ArrayList<>(cards));
         deck2.setRemainingCards(15);
         deck2 = deckRepository.save(deck2);
         deck2Id = deck2.getId();
@@ -122,10 +122,6 @@ class GameLogicIntegrationTest {
         testCard.setPower(5);
         cardRepository.save(testCard);
 
-        Player player1 = playerRepository.findById(player1Id).orElseThrow();
-        player1.getHand().add(testCard);
-        playerRepository.save(player1);
-
         gameModel = new GameModel();
         gameModel.setId("test_game_validator");
         gameModel.setGameState(GameState.IN_PROGRESS);
@@ -136,8 +132,11 @@ class GameLogicIntegrationTest {
         board.placeCard(new Position(1, 2), "validator_card");
         gameModel.setBoard(board);
 
-        player1.getPlacedCards().put("1,2", new Card("validator_card", 1, "Validator Card"));
-        playerRepository.save(player1);
+        PlayerGameState player1 = new PlayerGameState();
+        player1.getHand().add(testCard.getId());
+        player1.getPlacedCards().put("1,2", "validator_card");
+        gameModel.setPlayerState(player1Id, player1);
+        gameModel.setPlayerState(player2Id, new PlayerGameState());
     }
 
     @Nested
@@ -215,8 +214,8 @@ class GameLogicIntegrationTest {
         @Test
         @DisplayName("Invalid move - wrong player turn")
         void testInvalidMove_WrongPlayerTurn() {
-            Player player2 = playerRepository.findById(player2Id).orElseThrow();
-            Card card = player2.getHand().get(0);
+            PlayerGameState player2 = gameService.getGameModel(game.getId()).getPlayerState(player2Id);
+            Card card = cardRepository.findById(player2.getHand().get(0)).orElseThrow();
             PlayerAction action = createPlaceCardAction(player2Id,
                     ImmutableCardDto.builder()
                             .id(card.getId())
@@ -308,10 +307,9 @@ class GameLogicIntegrationTest {
         @Test
         @DisplayName("Valid orthogonal chain building")
         void testValidMove_OrthogonalChain() {
-            Player player1 = playerRepository.findById(player1Id).orElseThrow();
-            player1.getPlacedCards().put("1,1", new Card("chain_card", 2, "Chain Card"));
+            PlayerGameState player1 = gameModel.getPlayerState(player1Id);
+            player1.getPlacedCards().put("1,1", "chain_card");
             gameModel.getBoard().placeCard(new Position(1, 1), "chain_card");
-            playerRepository.save(player1);
 
             PlayerAction action = createValidatorPlaceCardAction(player1Id, new Position(1, 0));
 
@@ -327,10 +325,9 @@ class GameLogicIntegrationTest {
         @Test
         @DisplayName("Invalid diagonal placement from chain")
         void testInvalidMove_DiagonalFromChain() {
-            Player player1 = playerRepository.findById(player1Id).orElseThrow();
-            player1.getPlacedCards().put("1,1", new Card("chain_card", 2, "Chain Card"));
+            PlayerGameState player1 = gameModel.getPlayerState(player1Id);
+            player1.getPlacedCards().put("1,1", "chain_card");
             gameModel.getBoard().placeCard(new Position(1, 1), "chain_card");
-            playerRepository.save(player1);
 
             PlayerAction action = createValidatorPlaceCardAction(player1Id, new Position(0, 0));
 
@@ -347,10 +344,9 @@ class GameLogicIntegrationTest {
         @Test
         @DisplayName("Valid placement when adjacent to both own and opponent cards")
         void testValidMove_AdjacentToBothPlayers() {
-            Player player2 = playerRepository.findById(player2Id).orElseThrow();
-            player2.getPlacedCards().put("0,2", new Card("opponent_card", 3, "Opponent Card"));
+            PlayerGameState player2 = gameModel.getPlayerState(player2Id);
+            player2.getPlacedCards().put("0,2", "opponent_card");
             gameModel.getBoard().placeCard(new Position(0, 2), "opponent_card");
-            playerRepository.save(player2);
 
             PlayerAction action = createValidatorPlaceCardAction(player1Id, new Position(1, 1));
 
@@ -366,10 +362,9 @@ class GameLogicIntegrationTest {
         @Test
         @DisplayName("Invalid placement adjacent only to opponent")
         void testInvalidMove_AdjacentOnlyToOpponent() {
-            Player player2 = playerRepository.findById(player2Id).orElseThrow();
-            player2.getPlacedCards().put("0,1", new Card("opponent_card", 3, "Opponent Card"));
+            PlayerGameState player2 = gameModel.getPlayerState(player2Id);
+            player2.getPlacedCards().put("0,1", "opponent_card");
             gameModel.getBoard().placeCard(new Position(0, 1), "opponent_card");
-            playerRepository.save(player2);
 
             PlayerAction action = createValidatorPlaceCardAction(player1Id, new Position(0, 0));
 
@@ -388,10 +383,9 @@ class GameLogicIntegrationTest {
         void testValidMove_BoardBoundaries() {
             gameModel.getBoard().getPieces().clear();
             gameModel.getBoard().placeCard(new Position(0, 0), "edge_card");
-            Player player1 = playerRepository.findById(player1Id).orElseThrow();
+            PlayerGameState player1 = gameModel.getPlayerState(player1Id);
             player1.getPlacedCards().clear();
-            player1.getPlacedCards().put("0,0", new Card("edge_card", 1, "Edge Card"));
-            playerRepository.save(player1);
+            player1.getPlacedCards().put("0,0", "edge_card");
 
             PlayerAction eastAction = createValidatorPlaceCardAction(player1Id, new Position(1, 0));
             assertDoesNotThrow(() -> gameValidator.validateMove(gameModel, eastAction),
@@ -415,11 +409,10 @@ class GameLogicIntegrationTest {
             gameModel.getBoard().placeCard(new Position(0, 0), "card1");
             gameModel.getBoard().placeCard(new Position(1, 1), "card2");
 
-            Player player1 = playerRepository.findById(player1Id).orElseThrow();
+            PlayerGameState player1 = gameModel.getPlayerState(player1Id);
             player1.getPlacedCards().clear();
-            player1.getPlacedCards().put("0,0", new Card("card1", 1, "Card 1"));
-            player1.getPlacedCards().put("1,1", new Card("card2", 2, "Card 2"));
-            playerRepository.save(player1);
+            player1.getPlacedCards().put("0,0", "card1");
+            player1.getPlacedCards().put("1,1", "card2");
 
             PlayerAction action = createValidatorPlaceCardAction(player1Id, new Position(2, 2));
 
@@ -523,9 +516,8 @@ class GameLogicIntegrationTest {
         @Test
         @DisplayName("Valid first move after initialization")
         void testValidMove_FirstMoveAfterInitialization() {
-            Player player1 = playerRepository.findById(player1Id).orElseThrow();
+            PlayerGameState player1 = gameModel.getPlayerState(player1Id);
             player1.setPlacedCards(new HashMap<>());
-            playerRepository.save(player1);
 
             PlayerAction action = createValidatorPlaceCardAction(player1Id, new Position(2, 2));
 
@@ -568,10 +560,9 @@ class GameLogicIntegrationTest {
             gameModel.getBoard().getPieces().clear();
             gameModel.getBoard().placeCard(new Position(ownCardX, ownCardY), "test_own_card");
 
-            Player player1 = playerRepository.findById(player1Id).orElseThrow();
+            PlayerGameState player1 = gameModel.getPlayerState(player1Id);
             player1.getPlacedCards().clear();
-            player1.getPlacedCards().put(ownCardX + "," + ownCardY, new Card("test_own_card", 1, "Test Own Card"));
-            playerRepository.save(player1);
+            player1.getPlacedCards().put(ownCardX + "," + ownCardY, "test_own_card");
 
             PlayerAction action = createValidatorPlaceCardAction(player1Id, new Position(targetX, targetY));
 
@@ -602,10 +593,9 @@ class GameLogicIntegrationTest {
             gameModel.getBoard().getPieces().clear();
             gameModel.getBoard().placeCard(new Position(sourceX, sourceY), "source_card");
 
-            Player player1 = playerRepository.findById(player1Id).orElseThrow();
+            PlayerGameState player1 = gameModel.getPlayerState(player1Id);
             player1.getPlacedCards().clear();
-            player1.getPlacedCards().put(sourceX + "," + sourceY, new Card("source_card", 1, "Source Card"));
-            playerRepository.save(player1);
+            player1.getPlacedCards().put(sourceX + "," + sourceY, "source_card");
 
             int[][] orthogonalOffsets = {{0,1}, {0,-1}, {1,0}, {-1,0}};
 
@@ -669,15 +659,14 @@ class GameLogicIntegrationTest {
         @DisplayName("Test chain building with multiple cards")
         void testChainBuilding(int chainLength) {
             gameModel.getBoard().getPieces().clear();
-            Player player1 = playerRepository.findById(player1Id).orElseThrow();
+            PlayerGameState player1 = gameModel.getPlayerState(player1Id);
             player1.getPlacedCards().clear();
 
             for (int i = 0; i < Math.min(chainLength, 3); i++) {
                 String cardId = "chain_card_" + i;
                 gameModel.getBoard().placeCard(new Position(i, 2), cardId);
-                player1.getPlacedCards().put(i + ",2", new Card(cardId, 1, "Chain Card " + i));
+                player1.getPlacedCards().put(i + ",2", cardId);
             }
-            playerRepository.save(player1);
 
             if (chainLength <= 3) {
                 PlayerAction action = createValidatorPlaceCardAction(player1Id, new Position(0, 1));
@@ -701,8 +690,8 @@ class GameLogicIntegrationTest {
         void testNearlyFullBoardComplexOwnership() {
             // Clear board and create a complex checkerboard-like pattern
             gameModel.getBoard().getPieces().clear();
-            Player player1 = playerRepository.findById(player1Id).orElseThrow();
-            Player player2 = playerRepository.findById(player2Id).orElseThrow();
+            PlayerGameState player1 = gameModel.getPlayerState(player1Id);
+            PlayerGameState player2 = gameModel.getPlayerState(player2Id);
             player1.getPlacedCards().clear();
             player2.getPlacedCards().clear();
 
@@ -716,15 +705,13 @@ class GameLogicIntegrationTest {
                     gameModel.getBoard().placeCard(new Position(x, y), cardId);
 
                     if ((x + y) % 2 == 0) {
-                        player1.getPlacedCards().put(x + "," + y, new Card(cardId, 1, "P1 Card " + cardCounter));
+                        player1.getPlacedCards().put(x + "," + y, cardId);
                     } else {
-                        player2.getPlacedCards().put(x + "," + y, new Card(cardId, 1, "P2 Card " + cardCounter));
+                        player2.getPlacedCards().put(x + "," + y, cardId);
                     }
                     cardCounter++;
                 }
             }
-            playerRepository.save(player1);
-            playerRepository.save(player2);
 
             // Find empty positions and test adjacency rules
             List<Position> emptyPositions = gameModel.getBoard().getEmptyPositions();
@@ -764,14 +751,14 @@ class GameLogicIntegrationTest {
         void testMaximumChainLengthScenarios() {
             // Test maximum possible horizontal chain (3 cards)
             gameModel.getBoard().getPieces().clear();
-            Player player1 = playerRepository.findById(player1Id).orElseThrow();
+            PlayerGameState player1 = gameModel.getPlayerState(player1Id);
             player1.getPlacedCards().clear();
 
             // Create maximum horizontal chain
             for (int x = 0; x < 3; x++) {
                 String cardId = "h_chain_" + x;
                 gameModel.getBoard().placeCard(new Position(x, 2), cardId);
-                player1.getPlacedCards().put(x + ",2", new Card(cardId, 1, "H Chain " + x));
+                player1.getPlacedCards().put(x + ",2", cardId);
             }
 
             // Test maximum vertical chain (5 cards)
@@ -781,9 +768,8 @@ class GameLogicIntegrationTest {
             for (int y = 0; y < 5; y++) {
                 String cardId = "v_chain_" + y;
                 gameModel.getBoard().placeCard(new Position(1, y), cardId);
-                player1.getPlacedCards().put("1," + y, new Card(cardId, 1, "V Chain " + y));
+                player1.getPlacedCards().put("1," + y, cardId);
             }
-            playerRepository.save(player1);
 
             // Should not be able to place anywhere now (board column is full)
             for (int x = 0; x < 3; x++) {
@@ -802,22 +788,21 @@ class GameLogicIntegrationTest {
         void testIsolatedCardGroups() {
             // Create two separate groups of player1 cards with no connection
             gameModel.getBoard().getPieces().clear();
-            Player player1 = playerRepository.findById(player1Id).orElseThrow();
+            PlayerGameState player1 = gameModel.getPlayerState(player1Id);
             player1.getPlacedCards().clear();
 
             // Group 1: Top-left corner
             gameModel.getBoard().placeCard(new Position(0, 0), "group1_card1");
             gameModel.getBoard().placeCard(new Position(0, 1), "group1_card2");
-            player1.getPlacedCards().put("0,0", new Card("group1_card1", 1, "Group 1 Card 1"));
-            player1.getPlacedCards().put("0,1", new Card("group1_card2", 1, "Group 1 Card 2"));
+            player1.getPlacedCards().put("0,0", "group1_card1");
+            player1.getPlacedCards().put("0,1", "group1_card2");
 
             // Group 2: Bottom-right corner (separated by gaps)
             gameModel.getBoard().placeCard(new Position(2, 3), "group2_card1");
             gameModel.getBoard().placeCard(new Position(2, 4), "group2_card2");
-            player1.getPlacedCards().put("2,3", new Card("group2_card1", 1, "Group 2 Card 1"));
-            player1.getPlacedCards().put("2,4", new Card("group2_card2", 1, "Group 2 Card 2"));
+            player1.getPlacedCards().put("2,3", "group2_card1");
+            player1.getPlacedCards().put("2,4", "group2_card2");
 
-            playerRepository.save(player1);
 
             // Should be able to place adjacent to either group
             // Adjacent to group 1
@@ -842,7 +827,7 @@ class GameLogicIntegrationTest {
         void testPerformanceWithManyChecks() {
             // Create a scenario that requires checking many positions
             gameModel.getBoard().getPieces().clear();
-            Player player1 = playerRepository.findById(player1Id).orElseThrow();
+            PlayerGameState player1 = gameModel.getPlayerState(player1Id);
             player1.getPlacedCards().clear();
 
             // Place cards in a specific pattern that maximizes adjacency calculations
@@ -851,9 +836,8 @@ class GameLogicIntegrationTest {
                 String cardId = "perf_card_" + i;
                 Position pos = new Position(positions[i][0], positions[i][1]);
                 gameModel.getBoard().placeCard(pos, cardId);
-                player1.getPlacedCards().put(pos.toStorageString(), new Card(cardId, 1, "Perf Card " + i));
+                player1.getPlacedCards().put(pos.toStorageString(), cardId);
             }
-            playerRepository.save(player1);
 
             // Test performance by validating moves at all remaining positions
             long startTime = System.currentTimeMillis();
@@ -901,13 +885,12 @@ class GameLogicIntegrationTest {
             for (Position corner : corners) {
                 // Clear board and place card at corner
                 gameModel.getBoard().getPieces().clear();
-                Player player1 = playerRepository.findById(player1Id).orElseThrow();
+                PlayerGameState player1 = gameModel.getPlayerState(player1Id);
                 player1.getPlacedCards().clear();
 
                 String cardId = "corner_card_" + corner.toStorageString();
                 gameModel.getBoard().placeCard(corner, cardId);
-                player1.getPlacedCards().put(corner.toStorageString(), new Card(cardId, 1, "Corner Card"));
-                playerRepository.save(player1);
+                player1.getPlacedCards().put(corner.toStorageString(), cardId);
 
                 // Test all orthogonal positions from corner
                 int[][] orthogonalOffsets = {{0,1}, {0,-1}, {1,0}, {-1,0}};
@@ -944,13 +927,12 @@ class GameLogicIntegrationTest {
 
             for (Position edge : edges) {
                 gameModel.getBoard().getPieces().clear();
-                Player player1 = playerRepository.findById(player1Id).orElseThrow();
+                PlayerGameState player1 = gameModel.getPlayerState(player1Id);
                 player1.getPlacedCards().clear();
 
                 String cardId = "edge_card_" + edge.toStorageString();
                 gameModel.getBoard().placeCard(edge, cardId);
-                player1.getPlacedCards().put(edge.toStorageString(), new Card(cardId, 1, "Edge Card"));
-                playerRepository.save(player1);
+                player1.getPlacedCards().put(edge.toStorageString(), cardId);
 
                 // Count valid orthogonal moves from edge
                 int validMoves = 0;
@@ -0,0 +1,182 @@
+package com.cardgame.service;
+
+import com.cardgame.dto.GameDto;
+import com.cardgame.dto.ImmutablePlayerAction;
+import com.cardgame.dto.PlayerAction;
+import com.cardgame.model.GameModel;
+import com.cardgame.model.GameState;
+import com.cardgame.model.PlayerGameState;
+import com.cardgame.model.Position;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Capacity of one node: complete games played concurrently through GameService.initializeGame
+ * and processMove on the in-memory stack (see {@link HeadlessGameStack}), so the number measures
+ * the game logic and services rather than the database or the network.
+ * <p>
+ * Each worker thread keeps its share of the games in flight at once and makes one move in each
+ * in turn, so all games are live together. Run with {@code ./gradlew benchmark}; sizes can be set
+ * with -Dbenchmark.games, -Dbenchmark.workers and -Dbenchmark.warmup-games.
+ */
+@Tag("benchmark")
+@DisplayName("Game throughput - full stack with in-memory repositories")
+class GameThroughputBenchmarkTest {
+
+    private static final int GAMES = Integer.getInteger("benchmark.games", 20_000);
+    private static final int WORKERS = Integer.getInteger("benchmark.workers", Runtime.getRuntime().availableProcessors());
+    private static final int WARMUP_GAMES = Integer.getInteger("benchmark.warmup-games", 5_000);
+    private static final List<String> DECK = List.of("1", "1", "3", "3", "5");
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    @DisplayName("Games/s, moves/s, move latency and allocation per move")
+    void testThroughput() throws Exception {
+        HeadlessGameStack stack = new HeadlessGameStack();
+
+        run(stack, "warmup", WARMUP_GAMES);
+        RunResult result = run(stack, "measured", GAMES);
+
+        Histogram latency = result.latency;
+        System.out.printf("%d games on %d workers in %.2f s: %.0f games/s, %.0f moves/s%n",
+                GAMES, WORKERS, result.elapsedNanos / 1e9,
+                GAMES * 1e9 / result.elapsedNanos, result.moves * 1e9 / result.elapsedNanos);
+        System.out.printf("processMove latency: p50 %.1f us, p99 %.1f us, p99.9 %.1f us, max %.1f us%n",
+                latency.getValueAtPercentile(50) / 1e3, latency.getValueAtPercentile(99) / 1e3,
+                latency.getValueAtPercentile(99.9) / 1e3, latency.getMaxValue() / 1e3);
+        System.out.printf("Allocated per move: %d bytes%n", result.allocatedBytes / result.moves);
+
+        assertEquals(0, result.failures);
+        assertEquals(WARMUP_GAMES + GAMES, stack.gameResultRepository.count());
+    }
+
+    private static RunResult run(HeadlessGameStack stack, String label, int games) throws Exception {
+        // Every game gets its own two players, as in production a player is in one game at a time
+        List<List<String[]>> seats = new ArrayList<>();
+        for (int w = 0; w < WORKERS; w++) {
+            List<String[]> workerSeats = new ArrayList<>();
+            for (int g = w; g < games; g += WORKERS) {
+                String player1 = stack.createPlayer(label + "-" + g + "-a");
+                String player2 = stack.createPlayer(label + "-" + g + "-b");
+                workerSeats.add(new String[] {player1, player2,
+                        stack.createDeck(player1, DECK), stack.createDeck(player2, DECK)});
+            }
+            seats.add(workerSeats);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(WORKERS);
+        try {
+            long start = System.nanoTime();
+            List<Future<RunResult>> futures = new ArrayList<>();
+            for (int w = 0; w < WORKERS; w++) {
+                List<String[]> workerSeats = seats.get(w);
+                long seed = w;
+                futures.add(executor.submit(() -> playAll(stack, workerSeats, new SplittableRandom(seed))));
+            }
+            RunResult total = new RunResult();
+            for (Future<RunResult> future : futures) {
+                total.add(future.get());
+            }
+            total.elapsedNanos = System.nanoTime() - start;
+            return total;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Start every game, then make one move in each unfinished game in turn until all are over
+     */
+    private static RunResult playAll(HeadlessGameStack stack, List<String[]> seats, SplittableRandom random) {
+        RunResult result = new RunResult();
+        List<String> live = new ArrayList<>();
+        for (String[] seat : seats) {
+            live.add(stack.gameService.initializeGame(seat[0], seat[1], seat[2], seat[3]).getId());
+        }
+
+        while (!live.isEmpty()) {
+            List<String> stillLive = new ArrayList<>(live.size());
+            for (String gameId : live) {
+                PlayerAction action = chooseMove(stack, stack.gameRepository.findById(gameId).orElseThrow(), random);
+
+                long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+                long start = System.nanoTime();
+                GameDto game;
+                try {
+                    game = stack.gameService.processMove(gameId, action);
+                } catch (RuntimeException e) {
+                    result.failures++;
+                    continue;
+                }
+                result.latency.recordValue(System.nanoTime() - start);
+                result.allocatedBytes += THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+                result.moves++;
+
+                if (game.getState() != GameState.COMPLETED) {
+                    stillLive.add(gameId);
+                }
+            }
+            live = stillLive;
+        }
+        return result;
+    }
+
+    /**
+     * A random legal move for the player to move: a card from their hand on an empty cell next
+     * to one of their cards, or a pass if there is none
+     */
+    private static PlayerAction chooseMove(HeadlessGameStack stack, GameModel game, SplittableRandom random) {
+        String playerId = game.getCurrentPlayerId();
+        PlayerGameState playerState = game.getPlayerState(playerId);
+
+        List<Position> targets = new ArrayList<>();
+        for (Position empty : game.getBoard().getEmptyPositions()) {
+            boolean adjacent = game.getBoard().getAdjacentPositions(empty).stream()
+                    .anyMatch(neighbour -> playerState.getPlacedCards().containsKey(neighbour.toStorageString()));
+            if (adjacent) {
+                targets.add(empty);
+            }
+        }
+
+        ImmutablePlayerAction.Builder action = ImmutablePlayerAction.builder()
+                .playerId(playerId)
+                .timestamp(System.currentTimeMillis());
+        if (targets.isEmpty() || playerState.getHand().isEmpty()) {
+            return action.type(PlayerAction.ActionType.PASS).build();
+        }
+        String cardId = playerState.getHand().get(random.nextInt(playerState.getHand().size()));
+        return action.type(PlayerAction.ActionType.PLACE_CARD)
+                .card(stack.cardCatalog.requireCard(cardId))
+                .targetPosition(targets.get(random.nextInt(targets.size())))
+                .build();
+    }
+
+    private static final class RunResult {
+        final Histogram latency = new Histogram(3);
+        long moves;
+        long failures;
+        long allocatedBytes;
+        long elapsedNanos;
+
+        void add(RunResult other) {
+            latency.add(other.latency);
+            moves += other.moves;
+            failures += other.failures;
+            allocatedBytes += other.allocatedBytes;
+        }
+    }
+}
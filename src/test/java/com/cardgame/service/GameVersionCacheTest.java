@@ -0,0 +1,70 @@
+package com.cardgame.service;
+
+import com.cardgame.model.GameModel;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameVersionCacheTest {
+
+    private final GameVersionCache cache = new GameVersionCache(1000);
+
+    @Test
+    @DisplayName("Every save stamps a higher version, even within the same microsecond")
+    void testStampsIncrease() {
+        GameModel game = game("g1", "p1");
+        long previous = 0;
+        for (int i = 0; i < 1000; i++) {
+            cache.onBeforeConvert(game, "games");
+            assertTrue(game.getStateVersion() > previous);
+            previous = game.getStateVersion();
+        }
+    }
+
+    @Test
+    @DisplayName("Saves update the cache, but reading an older copy does not roll it back")
+    void testOnlyNewerVersionsReplace() {
+        GameModel saved = game("g1", "p1");
+        cache.onBeforeConvert(saved, "games");
+        long first = saved.getStateVersion();
+        cache.onAfterSave(new AfterSaveEvent<>(saved, new Document(), "games"));
+
+        GameModel older = game("g1", "p1");
+        older.setStateVersion(first);
+        saved.setCurrentPlayerId("p2");
+        cache.onBeforeConvert(saved, "games");
+        cache.onAfterSave(new AfterSaveEvent<>(saved, new Document(), "games"));
+        cache.onAfterConvert(new AfterConvertEvent<>(new Document(), older, "games"));
+
+        GameVersionCache.GameVersion version = cache.get("g1");
+        assertEquals(saved.getStateVersion(), version.getVersion());
+        assertEquals("p2", version.getCurrentPlayerId());
+        assertNotEquals(version.etag("p1"), version.etag("p2"));
+    }
+
+    @Test
+    @DisplayName("Deleting by ID forgets that game; deleting by any other query forgets all")
+    void testDeletes() {
+        cache.record(game("g1", "p1"));
+        cache.record(game("g2", "p1"));
+
+        cache.onAfterDelete(new AfterDeleteEvent<>(new Document("_id", "g1"), GameModel.class, "games"));
+        assertNull(cache.get("g1"));
+        assertNotNull(cache.get("g2"));
+
+        cache.onAfterDelete(new AfterDeleteEvent<>(new Document("gameState", "COMPLETED"), GameModel.class, "games"));
+        assertNull(cache.get("g2"));
+    }
+
+    private static GameModel game(String id, String currentPlayerId) {
+        GameModel game = new GameModel();
+        game.setId(id);
+        game.setCurrentPlayerId(currentPlayerId);
+        return game;
+    }
+}
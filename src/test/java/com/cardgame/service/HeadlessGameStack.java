@@ -0,0 +1,129 @@
+package com.cardgame.service;
+
+import com.cardgame.config.MetricsConfig;
+import com.cardgame.model.Card;
+import com.cardgame.model.Deck;
+import com.cardgame.model.GameResult;
+import com.cardgame.model.Player;
+import com.cardgame.repository.inmemory.InMemoryCardRepository;
+import com.cardgame.repository.inmemory.InMemoryDeckRepository;
+import com.cardgame.repository.inmemory.InMemoryGameRepository;
+import com.cardgame.repository.inmemory.InMemoryGameResultRepository;
+import com.cardgame.repository.inmemory.InMemoryGameScoreRepository;
+import com.cardgame.repository.inmemory.InMemoryPlayerRepository;
+import com.cardgame.repository.inmemory.InMemoryPlayerStatsRepository;
+import com.cardgame.service.factory.MoveStrategyFactory;
+import com.cardgame.service.manager.BoardManager;
+import com.cardgame.service.nakama.NakamaCalls;
+import com.cardgame.service.nakama.NakamaCircuitBreaker;
+import com.cardgame.service.nakama.NakamaLeaderBoardService;
+import com.cardgame.service.nakama.StubNakamaClient;
+import com.cardgame.service.player.DeckService;
+import com.cardgame.service.player.PlayerActionService;
+import com.cardgame.service.player.PlayerService;
+import com.cardgame.service.util.LookupExecutor;
+import com.cardgame.service.validator.DefaultGameValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.observation.ObservationRegistry;
+import org.bson.BsonObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * The real game services wired by hand over in-memory repositories and a stub Nakama client,
+ * so complete games can be played without MongoDB, Nakama or a Spring context.
+ * <p>
+ * MongoTemplate is a stub that returns nothing: the game result upsert reports an insert,
+ * the PlayerStats $inc upserts and the history queries that go through it are no-ops,
+ * everything else runs for real.
+ */
+public class HeadlessGameStack {
+    public final InMemoryCardRepository cardRepository = new InMemoryCardRepository();
+    public final InMemoryDeckRepository deckRepository = new InMemoryDeckRepository();
+    public final InMemoryPlayerRepository playerRepository = new InMemoryPlayerRepository();
+    public final InMemoryGameRepository gameRepository = new InMemoryGameRepository();
+    public final InMemoryGameResultRepository gameResultRepository = new InMemoryGameResultRepository();
+    public final InMemoryGameScoreRepository gameScoreRepository = new InMemoryGameScoreRepository();
+    public final InMemoryPlayerStatsRepository playerStatsRepository = new InMemoryPlayerStatsRepository();
+    public final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    public final CardCatalog cardCatalog;
+    public final DeckService deckService;
+    public final PlayerService playerService;
+    public final GameService gameService;
+
+    public HeadlessGameStack() {
+        cardRepository.saveAll(List.of(
+                new Card("1", 1, "Spark", "/gifs/spark.png"),
+                new Card("3", 3, "Lightning", "/gifs/lightning.png"),
+                new Card("5", 5, "Thunder", "/gifs/thunder.png")));
+        cardCatalog = new CardCatalog(cardRepository);
+        cardCatalog.refresh();
+
+        deckService = new DeckService(deckRepository, cardCatalog);
+        playerService = new PlayerService(new PlayerActionService(), playerRepository,
+                new DeckInitializationService(cardCatalog, deckService), deckService);
+
+        NakamaLeaderBoardService leaderBoardService = new NakamaLeaderBoardService(StubNakamaClient.create(),
+                new NakamaCalls(ObservationRegistry.NOOP, meterRegistry, Duration.ofSeconds(5), Map.of(), 64,
+                        Duration.ofSeconds(1), new NakamaCircuitBreaker(meterRegistry, 50, 10, 50,
+                        Duration.ofSeconds(30), 3, System::nanoTime)));
+        leaderBoardService.init();
+
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class, withSettings().stubOnly());
+        when(mongoTemplate.upsert(any(Query.class), any(UpdateDefinition.class), eq(GameResult.class)))
+                .thenAnswer(invocation -> UpdateResult.acknowledged(0, 0L, new BsonObjectId()));
+        BoardManager boardManager = new BoardManager();
+        MetricsConfig metricsConfig = new MetricsConfig();
+        gameService = new GameService(
+                gameRepository,
+                playerService,
+                new CardService(cardRepository, cardCatalog),
+                cardCatalog,
+                deckService,
+                boardManager,
+                new DefaultGameValidator(boardManager),
+                new MoveStrategyFactory(boardManager),
+                leaderBoardService,
+                new GameResultService(gameResultRepository, mongoTemplate),
+                new PlayerStatsService(mongoTemplate, playerStatsRepository, 1),
+                metricsConfig,
+                metricsConfig.gameCreatedCounter(meterRegistry),
+                metricsConfig.gameCompletedCounter(meterRegistry),
+                metricsConfig.gameInitializeTimer(meterRegistry),
+                metricsConfig.movePhaseMetrics(meterRegistry, true, 0),
+                metricsConfig.gameLifecycleMetrics(meterRegistry),
+                ObservationRegistry.NOOP,
+                new LookupExecutor(2, 16));
+    }
+
+    /**
+     * Create a player with a Nakama account (so finished games submit leaderboard scores)
+     * @return The player ID
+     */
+    public String createPlayer(String name) {
+        Player player = new Player();
+        player.setId(name);
+        player.setName(name);
+        player.setNakamaUserId("nakama-" + name);
+        return playerRepository.save(player).getId();
+    }
+
+    /**
+     * Create a deck of catalog cards for a player
+     * @return The deck ID
+     */
+    public String createDeck(String ownerId, List<String> cardIds) {
+        return deckRepository.save(new Deck(ownerId, new ArrayList<>(cardIds))).getId();
+    }
+}
@@ -0,0 +1,165 @@
+package com.cardgame.service;
+
+import com.cardgame.dto.PlayerStatsDto;
+import com.cardgame.model.EndCondition;
+import com.cardgame.model.GameModel;
+import com.cardgame.model.GameResult;
+import com.cardgame.model.PlayerStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Requires a local MongoDB, like the other integration tests
+ */
+@SpringBootTest
+@DisplayName("Player statistics read model")
+class PlayerStatsServiceIntegrationTest {
+
+    @Autowired
+    private PlayerStatsService playerStatsService;
+
+    @Autowired
+    private GameResultService gameResultService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private long clock = 1_000;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.remove(new Query(), PlayerStats.class);
+        mongoTemplate.remove(new Query(), GameResult.class);
+    }
+
+    @Test
+    @DisplayName("Streaks follow wins, losses and ties, and the longest streak is kept")
+    void testStreaks() {
+        finish("p1", "p2", "p1");
+        finish("p1", "p2", "p1");
+        finish("p1", "p2", "p2");
+        finish("p1", "p2", null);
+        finish("p1", "p2", "p1");
+
+        PlayerStatsDto stats = playerStatsService.getStats("p1");
+        assertEquals(5, stats.getGamesPlayed());
+        assertEquals(3, stats.getWins());
+        assertEquals(1, stats.getLosses());
+        assertEquals(1, stats.getTies());
+        assertEquals(1, stats.getCurrentWinStreak());
+        assertEquals(2, stats.getLongestWinStreak());
+        assertEquals(0, playerStatsService.getStats("p2").getCurrentWinStreak());
+    }
+
+    @Test
+    @DisplayName("Concurrent wins are all counted in both the current and the longest streak")
+    void testConcurrentWins() {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                GameModel game = game("p1", "opponent" + i, "p1");
+                long completedAt = ++clock;
+                futures.add(CompletableFuture.runAsync(() ->
+                        playerStatsService.recordGameCompletion(game, Map.of("p1", 2), completedAt), executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        PlayerStatsDto stats = playerStatsService.getStats("p1");
+        assertEquals(40, stats.getWins());
+        assertEquals(40, stats.getCurrentWinStreak());
+        assertEquals(40, stats.getLongestWinStreak());
+    }
+
+    @Test
+    @DisplayName("A rebuild reproduces the recorded statistics, and games it counted are not counted again")
+    void testRebuildCountsEachGameOnce() {
+        finish("p1", "p2", "p1");
+        finish("p1", "p2", "p1");
+        long lastCounted = finish("p2", "p1", "p2");
+        PlayerStatsDto recorded = playerStatsService.getStats("p1");
+
+        mongoTemplate.remove(new Query(), PlayerStats.class);
+        assertEquals(2, playerStatsService.rebuildAll());
+        assertEquals(recorded, playerStatsService.getStats("p1"));
+
+        // A completion the rebuild already read from history, arriving late, is skipped
+        playerStatsService.recordGameCompletion(game("p2", "p1", "p2"), Map.of(), lastCounted);
+        assertEquals(recorded, playerStatsService.getStats("p1"));
+
+        finish("p1", "p2", "p1");
+        assertEquals(4, playerStatsService.getStats("p1").getGamesPlayed());
+    }
+
+    @Test
+    @DisplayName("A rebuild does not overwrite statistics that already count a game newer than the history it read")
+    void testRebuildKeepsNewerStatistics() {
+        finish("p1", "p2", "p1");
+        // As if a game finished while the rebuild ran, after its history was read
+        playerStatsService.recordGameCompletion(game("p1", "p2", "p1"), Map.of(), clock + 1_000);
+
+        playerStatsService.rebuildAll();
+
+        assertEquals(2, playerStatsService.getStats("p1").getGamesPlayed());
+        assertEquals(1, playerStatsService.getStats("p2").getGamesPlayed());
+    }
+
+    @Test
+    @DisplayName("Recording the same game twice keeps the first result and reports the repeat")
+    void testRecordCompletedGameOnce() {
+        GameModel game = game("p1", "p2", "p1");
+        game.setId("recorded-twice");
+
+        assertNotNull(gameResultService.recordCompletedGame(game, Map.of("p1", 2, "p2", 1)));
+        assertNull(gameResultService.recordCompletedGame(game, Map.of("p1", 3, "p2", 0)));
+
+        List<GameResult> results = mongoTemplate.find(
+                Query.query(Criteria.where("gameId").is("recorded-twice")), GameResult.class);
+        assertEquals(1, results.size());
+        assertEquals(2, results.get(0).getPlayer1Score());
+        assertEquals(EndCondition.PLAYER1_WIN, results.get(0).getEndCondition());
+    }
+
+    /**
+     * Save a game result and record it, the way a finished game does
+     * @return The result's timestamp
+     */
+    private long finish(String player1Id, String player2Id, String winnerId) {
+        GameResult result = new GameResult("game" + clock, player1Id, player2Id);
+        result.setWinnerId(winnerId);
+        result.setPlayer1Score(1);
+        result.setPlayer2Score(1);
+        result.setTimestampInGameResult(++clock);
+        mongoTemplate.insert(result);
+
+        playerStatsService.recordGameCompletion(game(player1Id, player2Id, winnerId),
+                Map.of(player1Id, 1, player2Id, 1), clock);
+        return clock;
+    }
+
+    private static GameModel game(String player1Id, String player2Id, String winnerId) {
+        GameModel game = new GameModel();
+        game.setPlayerIds(List.of(player1Id, player2Id));
+        game.setWinnerId(winnerId);
+        game.setTie(winnerId == null);
+        return game;
+    }
+}
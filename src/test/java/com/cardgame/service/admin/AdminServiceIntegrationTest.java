@@ -0,0 +1,157 @@
+package com.cardgame.service.admin;
+
+import com.cardgame.dto.CursorPage;
+import com.cardgame.model.Deck;
+import com.cardgame.model.GameModel;
+import com.cardgame.model.GameResult;
+import com.cardgame.model.GameState;
+import com.cardgame.model.Player;
+import com.cardgame.model.PlayerStats;
+import com.cardgame.service.util.CursorCodec;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Requires a local MongoDB, like the other integration tests
+ */
+@SpringBootTest
+@DisplayName("Admin listings and cleanups")
+class AdminServiceIntegrationTest {
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final List<ObjectId> playerIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.remove(new Query(), Player.class);
+        mongoTemplate.remove(new Query(), Deck.class);
+        mongoTemplate.remove(new Query(), GameModel.class);
+        mongoTemplate.remove(new Query(), GameResult.class);
+        mongoTemplate.remove(new Query(), PlayerStats.class);
+
+        // Players created by the app have ObjectIds; older imports have string IDs
+        String players = mongoTemplate.getCollectionName(Player.class);
+        for (int i = 0; i < 5; i++) {
+            ObjectId id = new ObjectId();
+            playerIds.add(id);
+            mongoTemplate.insert(new Document("_id", id).append("name", "player" + i), players);
+        }
+        mongoTemplate.insert(new Document("_id", "legacy-a").append("name", "legacyA"), players);
+        mongoTemplate.insert(new Document("_id", "legacy-b").append("name", "legacyB"), players);
+
+        String games = mongoTemplate.getCollectionName(GameModel.class);
+        String player0 = playerIds.get(0).toHexString();
+        String player1 = playerIds.get(1).toHexString();
+        mongoTemplate.insert(game("g1", GameState.COMPLETED, player0, player1), games);
+        mongoTemplate.insert(game("g2", GameState.IN_PROGRESS, player0, player1), games);
+        mongoTemplate.insert(game("g3", GameState.COMPLETED, "other1", "other2"), games);
+        mongoTemplate.insert(game("g4", GameState.IN_PROGRESS, "other1", "other2"), games);
+
+        String decks = mongoTemplate.getCollectionName(Deck.class);
+        mongoTemplate.insert(new Document("_id", new ObjectId()).append("ownerId", player0), decks);
+        mongoTemplate.insert(new Document("_id", new ObjectId()).append("ownerId", "other1"), decks);
+
+        String results = mongoTemplate.getCollectionName(GameResult.class);
+        mongoTemplate.insert(new Document("gameId", "g1").append("player1Id", player1).append("player2Id", player0), results);
+        mongoTemplate.insert(new Document("gameId", "g3").append("player1Id", "other1").append("player2Id", "other2"), results);
+
+        String stats = mongoTemplate.getCollectionName(PlayerStats.class);
+        mongoTemplate.insert(new Document("_id", player0), stats);
+        mongoTemplate.insert(new Document("_id", "other1"), stats);
+    }
+
+    @Test
+    @DisplayName("Paging with cursors visits every player once, string and ObjectId IDs alike")
+    void testPlayerPagination() {
+        List<Object> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<Map<String, Object>> page = adminService.listPlayers(cursor, 2);
+            assertTrue(page.getItems().size() <= 2);
+            page.getItems().forEach(item -> seen.add(item.get("id")));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null && pages < 10);
+
+        assertEquals(7, seen.size());
+        assertEquals(7, new HashSet<>(seen).size(), "no player may appear twice: " + seen);
+        assertEquals(4, pages);
+    }
+
+    @Test
+    @DisplayName("Game listings filter by state")
+    void testGameFilter() {
+        CursorPage<Map<String, Object>> page = adminService.listGames(GameState.COMPLETED, null, 50);
+
+        assertEquals(List.of("g1", "g3"), page.getItems().stream().map(item -> item.get("id")).toList());
+        assertFalse(page.isHasMore());
+    }
+
+    @Test
+    @DisplayName("Malformed cursors are rejected as bad arguments")
+    void testMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> adminService.listPlayers("not a cursor", 2));
+        assertThrows(IllegalArgumentException.class, () -> adminService.listPlayers(CursorCodec.encode("o", "xyz"), 2));
+        assertThrows(IllegalArgumentException.class, () -> adminService.listGames(null, CursorCodec.encode("o"), 2));
+    }
+
+    @Test
+    @DisplayName("Deleting games by state leaves the other states")
+    void testDeleteGamesInState() {
+        assertEquals(2, adminService.deleteGamesInState(GameState.COMPLETED));
+
+        List<Map<String, Object>> remaining = adminService.listGames(null, null, 50).getItems();
+        assertEquals(List.of("g2", "g4"), remaining.stream().map(item -> item.get("id")).toList());
+    }
+
+    @Test
+    @DisplayName("Deleting a player removes their games, results, statistics and decks and nobody else's")
+    void testDeletePlayerData() {
+        Map<String, Long> deleted = adminService.deletePlayerData(playerIds.get(0).toHexString());
+
+        assertEquals(Map.of("playerStats", 1L, "gameResults", 1L, "games", 2L, "decks", 1L, "players", 1L), deleted);
+        assertEquals(6, mongoTemplate.count(new Query(), Player.class));
+        assertEquals(2, mongoTemplate.count(new Query(), GameModel.class));
+        assertEquals(1, mongoTemplate.count(new Query(), GameResult.class));
+        assertEquals(1, mongoTemplate.count(new Query(), PlayerStats.class));
+        assertEquals(1, mongoTemplate.count(new Query(), Deck.class));
+    }
+
+    @Test
+    @DisplayName("Deleting all player data empties the collections and refreshes the counts")
+    void testDeleteAllPlayerData() {
+        adminService.getDataCounts();
+        Map<String, Long> deleted = adminService.deleteAllPlayerData();
+
+        assertEquals(7L, deleted.get("players"));
+        assertEquals(4L, deleted.get("games"));
+        assertEquals(0, mongoTemplate.count(new Query(), Player.class));
+        assertEquals(0L, adminService.getDataCounts().get("games"));
+    }
+
+    private static Document game(String id, GameState state, String... players) {
+        return new Document("_id", id)
+                .append("gameState", state.name())
+                .append("playerIds", List.of(players));
+    }
+}
@@ -0,0 +1,133 @@
+package com.cardgame.service.bot;
+
+import com.cardgame.dto.GameDto;
+import com.cardgame.dto.ImmutableBoardDto;
+import com.cardgame.dto.ImmutableGameDto;
+import com.cardgame.dto.PlayerAction;
+import com.cardgame.model.Board;
+import com.cardgame.model.BotDifficulty;
+import com.cardgame.model.Card;
+import com.cardgame.model.GameMode;
+import com.cardgame.model.GameModel;
+import com.cardgame.model.GameState;
+import com.cardgame.model.Hand;
+import com.cardgame.model.PlayerGameState;
+import com.cardgame.model.Position;
+import com.cardgame.repository.CardRepository;
+import com.cardgame.service.CardCatalog;
+import com.cardgame.service.GameService;
+import com.cardgame.service.player.PlayerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class BotServiceTest {
+
+    private final GameService gameService = mock(GameService.class);
+    private final Set<String> botToMove = ConcurrentHashMap.newKeySet();
+    private final Map<String, String> movedOn = new ConcurrentHashMap<>();
+    private final CountDownLatch busyStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseBusy = new CountDownLatch(1);
+    private final BotService botService;
+
+    BotServiceTest() {
+        CardRepository cardRepository = mock(CardRepository.class);
+        when(cardRepository.findAll()).thenReturn(List.of(
+                new Card("1", 1, "Spark"), new Card("3", 3, "Lightning"), new Card("5", 5, "Thunder")));
+        CardCatalog cardCatalog = new CardCatalog(cardRepository);
+        cardCatalog.refresh();
+
+        when(gameService.getGameModel(anyString())).thenAnswer(invocation -> game(invocation.getArgument(0)));
+        when(gameService.processMove(anyString(), any(PlayerAction.class))).thenAnswer(invocation -> {
+            String gameId = invocation.getArgument(0);
+            movedOn.put(gameId, Thread.currentThread().getName());
+            if (gameId.equals("busy")) {
+                busyStarted.countDown();
+                releaseBusy.await(5, TimeUnit.SECONDS);
+            }
+            botToMove.remove(gameId);
+            return null;
+        });
+
+        // One worker and room for one queued turn
+        botService = new BotService(gameService, mock(PlayerService.class), cardCatalog, 1, 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseBusy.countDown();
+        botService.shutdown();
+    }
+
+    @Test
+    @DisplayName("A bot turn that finds the queue full is played on the fallback thread, not dropped")
+    void testRejectedTurnIsPlayedByFallback() throws Exception {
+        botService.onGameUpdated(botTurn("busy"));
+        assertTrue(busyStarted.await(5, TimeUnit.SECONDS));
+        botService.onGameUpdated(botTurn("queued"));
+
+        botService.onGameUpdated(botTurn("overflow"));
+
+        verify(gameService, timeout(5000)).processMove(eq("overflow"), any(PlayerAction.class));
+        assertEquals("bot-fallback", movedOn.get("overflow"));
+        assertFalse(botToMove.contains("overflow"));
+        assertFalse(movedOn.containsKey("queued"), "the queued turn waits for the worker");
+
+        releaseBusy.countDown();
+        verify(gameService, timeout(5000)).processMove(eq("queued"), any(PlayerAction.class));
+    }
+
+    private GameDto botTurn(String gameId) {
+        botToMove.add(gameId);
+        return ImmutableGameDto.builder()
+                .id(gameId)
+                .state(GameState.IN_PROGRESS)
+                .board(ImmutableBoardDto.builder().width(3).height(5).build())
+                .currentPlayerId(BotService.BOT_PLAYER_ID)
+                .playerIds(List.of("human", BotService.BOT_PLAYER_ID))
+                .createdAt(Instant.EPOCH)
+                .updatedAt(Instant.EPOCH)
+                .build();
+    }
+
+    private GameModel game(String gameId) {
+        GameModel game = new GameModel();
+        game.setId(gameId);
+        game.setBoard(new Board());
+        game.setGameMode(GameMode.BOT);
+        game.setGameState(GameState.IN_PROGRESS);
+        game.setBotDifficulty(BotDifficulty.EASY);
+        game.setPlayerIds(List.of("human", BotService.BOT_PLAYER_ID));
+        game.setPlayerState("human", stateWithHand("1", "3"));
+        game.setPlayerState(BotService.BOT_PLAYER_ID, stateWithHand("3", "5"));
+        place(game, "human", 1, 3, "3");
+        place(game, BotService.BOT_PLAYER_ID, 1, 1, "3");
+        game.setCurrentPlayerId(botToMove.contains(gameId) ? BotService.BOT_PLAYER_ID : "human");
+        return game;
+    }
+
+    private static PlayerGameState stateWithHand(String... cardIds) {
+        PlayerGameState state = new PlayerGameState();
+        state.setHand(Hand.of(List.of(cardIds)));
+        return state;
+    }
+
+    private static void place(GameModel game, String playerId, int x, int y, String cardId) {
+        Position position = new Position(x, y);
+        game.getBoard().placeCard(position, cardId);
+        game.getPlayerState(playerId).getPlacedCards().put(position.toStorageString(), cardId);
+    }
+}
@@ -0,0 +1,172 @@
+package com.cardgame.service.bot;
+
+import com.cardgame.model.BotDifficulty;
+import com.cardgame.model.Board;
+import com.cardgame.model.GameModel;
+import com.cardgame.model.Hand;
+import com.cardgame.model.PlayerGameState;
+import com.cardgame.model.Position;
+import com.cardgame.service.util.PlayoutState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MctsBotTest {
+
+    // Card IDs in these tests are their power
+    private static final ToIntFunction<String> POWER = Integer::parseInt;
+    private static final int[] POOL = {1, 3, 5};
+
+    private final ForkJoinPool searchPool = new ForkJoinPool(2);
+    private final MctsBot bot = new MctsBot(searchPool);
+
+    @AfterEach
+    void tearDown() {
+        searchPool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Opening move is a legal placement from the bot's hand")
+    void testOpeningMoveIsLegal() {
+        GameModel game = newGame(List.of("1", "3", "5", "5"), List.of("1", "1", "3", "5"));
+        place(game, "human", 1, 3, "3");
+        place(game, "bot", 1, 1, "3");
+        game.setCurrentPlayerId("bot");
+
+        MctsBot.BotMove move = bot.chooseMove(game, BotDifficulty.EASY, POWER, POOL);
+
+        assertNotNull(move);
+        assertTrue(game.getPlayerState("bot").getHand().contains(move.getCardId()));
+        assertTrue(game.getBoard().isPositionEmpty(move.getPosition()));
+        boolean adjacentToOwnCard = game.getBoard().getAdjacentPositions(move.getPosition()).stream()
+                .anyMatch(p -> game.getPlayerState("bot").getPlacedCards().containsKey(p.toStorageString()));
+        assertTrue(adjacentToOwnCard, "Bot must place next to one of its own cards");
+    }
+
+    @Test
+    @DisplayName("Bot takes the placement that wins the game")
+    void testPicksWinningMove() {
+        GameModel game = winningPosition();
+
+        MctsBot.BotMove move = bot.chooseMove(game, BotDifficulty.EASY, POWER, POOL);
+
+        assertEquals("5", move.getCardId());
+        assertEquals(new Position(0, 0), move.getPosition());
+    }
+
+    @Test
+    @DisplayName("Search stops at the difficulty's time budget")
+    void testRespectsTimeBudget() {
+        GameModel game = newGame(List.of("1", "3", "5", "5"), List.of("1", "1", "3", "5"));
+        place(game, "human", 1, 3, "3");
+        place(game, "bot", 1, 1, "3");
+        game.setCurrentPlayerId("bot");
+        bot.chooseMove(game, BotDifficulty.EASY, POWER, POOL); // warm up
+
+        long start = System.nanoTime();
+        bot.chooseMove(game, BotDifficulty.MEDIUM, POWER, POOL);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        long budgetMillis = BotDifficulty.MEDIUM.getMoveTimeBudget().toMillis();
+        assertTrue(elapsedMillis < budgetMillis + 100,
+                "Move took " + elapsedMillis + " ms with a budget of " + budgetMillis + " ms");
+    }
+
+    @Test
+    @DisplayName("No move when the bot cannot place a card")
+    void testNoLegalMove() {
+        GameModel game = newGame(List.of("1"), List.of());
+        place(game, "human", 1, 3, "3");
+        place(game, "bot", 1, 1, "3");
+        game.setCurrentPlayerId("bot");
+
+        assertNull(bot.chooseMove(game, BotDifficulty.EASY, POWER));
+    }
+
+    @Test
+    @DisplayName("A determinization deals the hidden hand from the pool and keeps its size")
+    void testHiddenHandIsRedealt() {
+        GameModel game = newGame(List.of("1", "1", "3"), List.of("5"));
+        place(game, "human", 1, 3, "3");
+        place(game, "bot", 1, 1, "3");
+        game.setCurrentPlayerId("human");
+        PlayoutState state = PlayoutState.from(game, POWER);
+
+        PlayoutState determinized = state.withHandDealtFrom(0, new int[] {4}, new SplittableRandom(1));
+
+        int[] moves = new int[determinized.maxMoves()];
+        int count = determinized.legalMoves(moves);
+        assertTrue(count > 0);
+        for (int i = 0; i < count; i++) {
+            assertEquals(4, determinized.powerOf(moves[i]));
+        }
+        // Equal powers collapse to one hand index per cell, so the whole hand of 3 was replaced
+        assertEquals(count, countMoves(state) / 2);
+    }
+
+    @Test
+    @DisplayName("The greedy move takes the column that wins the game")
+    void testGreedyMove() {
+        GameModel game = winningPosition();
+
+        MctsBot.BotMove move = MctsBot.greedyMove(game, POWER);
+
+        assertEquals("5", move.getCardId());
+        assertEquals(new Position(0, 0), move.getPosition());
+    }
+
+    private static int countMoves(PlayoutState state) {
+        return state.legalMoves(new int[state.maxMoves()]);
+    }
+
+    /**
+     * Column totals (human vs bot): col 0 10-6, col 1 3-10, col 2 15-1, with the bot to move holding a 5.
+     * A 5 at (0,0) takes column 0 and the game; at (2,0) it loses column 2 anyway.
+     */
+    private static GameModel winningPosition() {
+        GameModel game = newGame(List.of(), List.of("5"));
+        place(game, "bot", 0, 1, "3");
+        place(game, "bot", 0, 2, "3");
+        place(game, "human", 0, 3, "5");
+        place(game, "human", 0, 4, "5");
+        place(game, "bot", 1, 0, "5");
+        place(game, "bot", 1, 1, "5");
+        place(game, "human", 1, 2, "1");
+        place(game, "human", 1, 3, "1");
+        place(game, "human", 1, 4, "1");
+        place(game, "bot", 2, 1, "1");
+        place(game, "human", 2, 2, "5");
+        place(game, "human", 2, 3, "5");
+        place(game, "human", 2, 4, "5");
+        game.setCurrentPlayerId("bot");
+        return game;
+    }
+
+    private static GameModel newGame(List<String> humanHand, List<String> botHand) {
+        GameModel game = new GameModel();
+        game.setBoard(new Board());
+        game.setPlayerIds(List.of("human", "bot"));
+        game.setPlayerState("human", stateWithHand(humanHand));
+        game.setPlayerState("bot", stateWithHand(botHand));
+        return game;
+    }
+
+    private static PlayerGameState stateWithHand(List<String> cardIds) {
+        PlayerGameState state = new PlayerGameState();
+        state.setHand(Hand.of(cardIds));
+        return state;
+    }
+
+    private static void place(GameModel game, String playerId, int x, int y, String cardId) {
+        Position position = new Position(x, y);
+        game.getBoard().placeCard(position, cardId);
+        game.getPlayerState(playerId).getPlacedCards().put(position.toStorageString(), cardId);
+    }
+}
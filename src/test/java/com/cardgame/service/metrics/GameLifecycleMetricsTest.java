@@ -0,0 +1,49 @@
+package com.cardgame.service.metrics;
+
+import com.cardgame.model.GameMode;
+import com.cardgame.model.GameModel;
+import com.cardgame.model.PlayerGameState;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameLifecycleMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GameLifecycleMetrics metrics = new GameLifecycleMetrics(meterRegistry);
+
+    @Test
+    @DisplayName("Moves exclude the opening cards and everything is tagged by mode and end")
+    void testRecordEnded() {
+        GameModel gameModel = new GameModel();
+        gameModel.setGameMode(GameMode.ONLINE);
+        gameModel.setCreatedAt(Instant.now().minusSeconds(90));
+        gameModel.setPassCount(2);
+        gameModel.setPlayerState("p1", playerWithPlacedCards(4));
+        gameModel.setPlayerState("p2", playerWithPlacedCards(3));
+
+        metrics.recordEnded(gameModel, GameEndCondition.BOARD_FULL);
+
+        DistributionSummary moves = meterRegistry.get("game.moves").tags("mode", "ONLINE", "end", "BOARD_FULL").summary();
+        assertEquals(5, moves.totalAmount());
+        assertEquals(2, meterRegistry.get("game.passes").tags("mode", "ONLINE", "end", "BOARD_FULL").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("game.ended.total").tags("mode", "ONLINE", "end", "BOARD_FULL").counter().count());
+        assertTrue(meterRegistry.get("game.duration").tags("mode", "ONLINE", "end", "BOARD_FULL").timer()
+                .totalTime(TimeUnit.SECONDS) >= 90);
+    }
+
+    private static PlayerGameState playerWithPlacedCards(int count) {
+        PlayerGameState state = PlayerGameState.fromDeck("deck", List.of());
+        for (int i = 0; i < count; i++) {
+            state.getPlacedCards().put(i + ",0", "card-" + i);
+        }
+        return state;
+    }
+}
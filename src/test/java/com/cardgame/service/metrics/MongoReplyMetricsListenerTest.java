@@ -0,0 +1,41 @@
+package com.cardgame.service.metrics;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MongoReplyMetricsListenerTest {
+
+    @Test
+    @DisplayName("Counts documents in first and next cursor batches only")
+    void testBatchSize() {
+        BsonArray batch = new BsonArray(List.of(new BsonDocument("_id", new BsonString("a")),
+                new BsonDocument("_id", new BsonString("b"))));
+
+        assertEquals(2, MongoReplyMetricsListener.batchSize(
+                new BsonDocument("cursor", new BsonDocument("firstBatch", batch))));
+        assertEquals(2, MongoReplyMetricsListener.batchSize(
+                new BsonDocument("cursor", new BsonDocument("nextBatch", batch))));
+        assertEquals(-1, MongoReplyMetricsListener.batchSize(new BsonDocument("n", new BsonInt32(1))));
+    }
+
+    @Test
+    @DisplayName("Decoded and raw replies measure the same")
+    void testSizeInBytes() {
+        BsonDocument reply = new BsonDocument("ok", new BsonInt32(1))
+                .append("cursor", new BsonDocument("firstBatch", new BsonArray()));
+        RawBsonDocument raw = new RawBsonDocument(reply, new BsonDocumentCodec());
+
+        assertEquals(raw.getByteBuffer().remaining(), MongoReplyMetricsListener.sizeInBytes(reply));
+        assertEquals(raw.getByteBuffer().remaining(), MongoReplyMetricsListener.sizeInBytes(raw));
+    }
+}
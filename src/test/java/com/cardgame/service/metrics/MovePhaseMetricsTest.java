@@ -0,0 +1,77 @@
+package com.cardgame.service.metrics;
+
+import com.cardgame.dto.PlayerAction;
+import com.cardgame.model.GameMode;
+import com.cardgame.model.GameModel;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovePhaseMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Records the phases that ran, tagged by action and game mode")
+    void testRecordsPhases() {
+        MovePhaseMetrics metrics = new MovePhaseMetrics(meterRegistry, true, Duration.ZERO);
+        GameModel gameModel = new GameModel();
+        gameModel.setGameMode(GameMode.ONLINE);
+
+        MoveTrace trace = metrics.start(PlayerAction.ActionType.PLACE_CARD);
+        trace.setGame(gameModel);
+        trace.lap(MovePhase.LOAD);
+        trace.lap(MovePhase.SAVE);
+        metrics.finish(trace, true);
+
+        assertEquals(1, phaseTimer("load", "PLACE_CARD", "ONLINE").count());
+        assertEquals(1, phaseTimer("save", "PLACE_CARD", "ONLINE").count());
+        assertNull(meterRegistry.find("game.move.phase.duration").tag("phase", "validate").timer());
+        Timer total = meterRegistry.find("game.move.duration")
+                .tags("action", "PLACE_CARD", "mode", "ONLINE", "outcome", "success")
+                .timer();
+        assertNotNull(total);
+        assertEquals(1, total.count());
+    }
+
+    @Test
+    @DisplayName("A move that fails before the game is loaded counts as an error of unknown mode")
+    void testFailedMove() {
+        MovePhaseMetrics metrics = new MovePhaseMetrics(meterRegistry, true, Duration.ZERO);
+
+        metrics.finish(metrics.start(PlayerAction.ActionType.PASS), false);
+
+        Timer total = meterRegistry.find("game.move.duration")
+                .tags("action", "PASS", "mode", "UNKNOWN", "outcome", "error")
+                .timer();
+        assertNotNull(total);
+        assertEquals(1, total.count());
+    }
+
+    @Test
+    @DisplayName("Nothing is registered when disabled")
+    void testDisabled() {
+        MovePhaseMetrics metrics = new MovePhaseMetrics(meterRegistry, false, Duration.ofMillis(1));
+
+        MoveTrace trace = metrics.start(PlayerAction.ActionType.PLACE_CARD);
+        trace.setGame(new GameModel());
+        trace.lap(MovePhase.LOAD);
+        metrics.finish(trace, true);
+
+        assertFalse(trace.isEnabled());
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+
+    private Timer phaseTimer(String phase, String action, String mode) {
+        Timer timer = meterRegistry.find("game.move.phase.duration")
+                .tags("phase", phase, "action", action, "mode", mode)
+                .timer();
+        assertNotNull(timer, "No timer for phase " + phase);
+        return timer;
+    }
+}
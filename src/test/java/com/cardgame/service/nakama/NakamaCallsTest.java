@@ -0,0 +1,233 @@
+package com.cardgame.service.nakama;
+
+import com.cardgame.dto.nakama.LeaderboardResponseDto;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.heroiclabs.nakama.Client;
+import com.heroiclabs.nakama.Session;
+import com.heroiclabs.nakama.api.LeaderboardRecord;
+import com.heroiclabs.nakama.api.LeaderboardRecordList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NakamaCallsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicLong clock = new AtomicLong();
+    private final FakeNakama nakama = new FakeNakama();
+
+    private final NakamaCircuitBreaker circuitBreaker =
+            new NakamaCircuitBreaker(meterRegistry, 10, 4, 50, Duration.ofSeconds(30), 2, clock::get);
+    private final NakamaCalls calls = new NakamaCalls(ObservationRegistry.NOOP, meterRegistry,
+            Duration.ofMillis(200), Map.of("listLeaderboardRecords", Duration.ofMillis(50)),
+            1, Duration.ZERO, circuitBreaker);
+    private final Session session = mock(Session.class);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("A call slower than its operation's timeout is cancelled and rejected")
+    void testTimeout() {
+        nakama.latency.set(Duration.ofSeconds(5));
+
+        long start = System.nanoTime();
+        NakamaUnavailableException e = assertThrows(NakamaUnavailableException.class, () -> writeRecord());
+
+        assertEquals(NakamaUnavailableException.Reason.TIMEOUT, e.getReason());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        assertTrue(nakama.lastFuture.get().isCancelled());
+        assertEquals(1, meterRegistry.get("nakama.calls.rejected").tag("reason", "timeout").counter().count());
+    }
+
+    @Test
+    @DisplayName("Per-operation timeouts replace the default")
+    void testOperationTimeout() throws Exception {
+        nakama.latency.set(Duration.ofMillis(100));
+
+        assertNotNull(writeRecord());
+        NakamaUnavailableException e = assertThrows(NakamaUnavailableException.class, () -> listRecords());
+        assertEquals(NakamaUnavailableException.Reason.TIMEOUT, e.getReason());
+    }
+
+    @Test
+    @DisplayName("The breaker opens at the failure rate, fails fast, then closes after successful trial calls")
+    void testCircuitBreaker() throws Exception {
+        writeRecord();
+        writeRecord();
+        nakama.failure.set(new RuntimeException("UNAVAILABLE: io exception"));
+        assertThrows(ExecutionException.class, () -> writeRecord());
+        assertEquals(NakamaCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertThrows(ExecutionException.class, () -> writeRecord());
+        assertEquals(NakamaCircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        nakama.failure.set(null);
+        int sent = nakama.calls.get();
+        NakamaUnavailableException e = assertThrows(NakamaUnavailableException.class, () -> writeRecord());
+        assertEquals(NakamaUnavailableException.Reason.CIRCUIT_OPEN, e.getReason());
+        assertEquals(sent, nakama.calls.get(), "an open breaker must not reach Nakama");
+
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+        writeRecord();
+        assertEquals(NakamaCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        writeRecord();
+        assertEquals(NakamaCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        assertEquals(1, meterRegistry.get("nakama.circuit.transitions").tags("from", "CLOSED", "to", "OPEN").counter().count());
+        assertEquals(1, meterRegistry.get("nakama.calls.rejected").tag("reason", "circuit_open").counter().count());
+        assertEquals(0, meterRegistry.get("nakama.circuit.state").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Client errors such as an unknown user do not count against Nakama's health")
+    void testClientErrorsDoNotOpenBreaker() {
+        nakama.failure.set(new RuntimeException("NOT_FOUND: User account not found."));
+        for (int i = 0; i < 10; i++) {
+            assertThrows(ExecutionException.class, () -> writeRecord());
+        }
+        assertEquals(NakamaCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Calls beyond the bulkhead are rejected while the slots are taken")
+    void testBulkhead() throws Exception {
+        nakama.latency.set(Duration.ofMillis(150));
+        CountDownLatch sent = new CountDownLatch(1);
+        nakama.onCall = sent::countDown;
+        CompletableFuture<LeaderboardRecord> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return writeRecord();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(sent.await(1, TimeUnit.SECONDS));
+
+        NakamaUnavailableException e = assertThrows(NakamaUnavailableException.class, () -> writeRecord());
+        assertEquals(NakamaUnavailableException.Reason.BULKHEAD_FULL, e.getReason());
+        assertNotNull(first.get(1, TimeUnit.SECONDS));
+        assertEquals(NakamaCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("A call the bulkhead rejects while half-open hands back its trial slot instead of counting as a success")
+    void testBulkheadRejectionWhileHalfOpen() throws Exception {
+        nakama.failure.set(new RuntimeException("UNAVAILABLE: io exception"));
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ExecutionException.class, () -> writeRecord());
+        }
+        assertEquals(NakamaCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        nakama.failure.set(null);
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        nakama.latency.set(Duration.ofMillis(150));
+        CountDownLatch sent = new CountDownLatch(1);
+        nakama.onCall = sent::countDown;
+        CompletableFuture<LeaderboardRecord> trial = CompletableFuture.supplyAsync(() -> {
+            try {
+                return writeRecord();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(sent.await(1, TimeUnit.SECONDS));
+        NakamaUnavailableException e = assertThrows(NakamaUnavailableException.class, () -> writeRecord());
+        assertEquals(NakamaUnavailableException.Reason.BULKHEAD_FULL, e.getReason());
+        assertNotNull(trial.get(1, TimeUnit.SECONDS));
+
+        assertEquals(NakamaCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState(), "only one trial call succeeded");
+        nakama.latency.set(Duration.ZERO);
+        writeRecord();
+        assertEquals(NakamaCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Leaderboards fall back to the last answer while Nakama is unavailable")
+    void testLeaderboardFallback() throws Exception {
+        NakamaLeaderBoardService leaderboards = new NakamaLeaderBoardService(nakama.client, calls);
+        LeaderboardResponseDto fresh = leaderboards.getLeaderboardRecords("weekly_score", 10);
+
+        nakama.latency.set(Duration.ofSeconds(5));
+        assertEquals(fresh, leaderboards.getLeaderboardRecords("weekly_score", 10));
+        assertThrows(NakamaUnavailableException.class, () -> leaderboards.getLeaderboardRecords("weekly_score", 20));
+    }
+
+    private LeaderboardRecord writeRecord() throws Exception {
+        return calls.call("writeLeaderboardRecord", () -> nakama.client.writeLeaderboardRecord(session, "weekly_score", 1));
+    }
+
+    private LeaderboardRecordList listRecords() throws Exception {
+        List<String> ownerIds = null;
+        String cursor = null;
+        return calls.call("listLeaderboardRecords",
+                () -> nakama.client.listLeaderboardRecords(session, "weekly_score", ownerIds, 0, 10, cursor));
+    }
+
+    /**
+     * Nakama client whose responses arrive after an adjustable latency, or fail
+     */
+    private class FakeNakama {
+        final AtomicReference<Duration> latency = new AtomicReference<>(Duration.ZERO);
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        final AtomicReference<ListenableFuture<?>> lastFuture = new AtomicReference<>();
+        final AtomicInteger calls = new AtomicInteger();
+        volatile Runnable onCall = () -> { };
+        final Client client = mock(Client.class, withSettings().stubOnly());
+
+        FakeNakama() {
+            when(client.writeLeaderboardRecord(any(Session.class), anyString(), anyLong()))
+                    .thenAnswer(invocation -> respond(LeaderboardRecord.getDefaultInstance()));
+            when(client.listLeaderboardRecords(ArgumentMatchers.<Session>any(), anyString(),
+                    ArgumentMatchers.<List<String>>any(), anyInt(), anyInt(), nullable(String.class)))
+                    .thenAnswer(invocation -> respond(LeaderboardRecordList.getDefaultInstance()));
+        }
+
+        <T> ListenableFuture<T> respond(T response) {
+            calls.incrementAndGet();
+            onCall.run();
+            RuntimeException error = failure.get();
+            Duration delay = latency.get();
+            ListenableFuture<T> future;
+            if (delay.isZero()) {
+                future = error != null ? Futures.immediateFailedFuture(error) : Futures.immediateFuture(response);
+            } else {
+                SettableFuture<T> settable = SettableFuture.create();
+                scheduler.schedule(() -> {
+                    if (error != null) {
+                        settable.setException(error);
+                    } else {
+                        settable.set(response);
+                    }
+                }, delay.toNanos(), TimeUnit.NANOSECONDS);
+                future = settable;
+            }
+            lastFuture.set(future);
+            return future;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.cardgame.service.nakama;
+
+import com.google.common.util.concurrent.Futures;
+import com.heroiclabs.nakama.Client;
+import com.heroiclabs.nakama.Session;
+import com.heroiclabs.nakama.api.LeaderboardRecord;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Nakama client that answers the calls made while games are played (device authentication and
+ * leaderboard writes) with completed futures, so no server is needed.
+ * The mocks are stub-only: they keep no invocation history and can be called from many threads
+ * indefinitely.
+ */
+public final class StubNakamaClient {
+    private StubNakamaClient() {
+    }
+
+    public static Client create() {
+        Session session = mock(Session.class, withSettings().stubOnly());
+        when(session.getAuthToken()).thenReturn("stub-token");
+        when(session.getUserId()).thenReturn("stub-user");
+
+        Client client = mock(Client.class, withSettings().stubOnly());
+        when(client.authenticateDevice(anyString())).thenReturn(Futures.immediateFuture(session));
+        when(client.authenticateDevice(anyString(), anyBoolean(), any())).thenReturn(Futures.immediateFuture(session));
+        when(client.writeLeaderboardRecord(any(Session.class), anyString(), anyLong()))
+                .thenReturn(Futures.immediateFuture(LeaderboardRecord.getDefaultInstance()));
+        return client;
+    }
+}
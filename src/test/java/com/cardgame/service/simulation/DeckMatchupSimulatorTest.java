@@ -0,0 +1,87 @@
+package com.cardgame.service.simulation;
+
+import com.cardgame.dto.simulation.MatchupResultDto;
+import com.cardgame.dto.simulation.RateDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeckMatchupSimulatorTest {
+
+    private static final int[] DEFAULT_DECK = {1, 1, 3, 3, 5};
+
+    private final ForkJoinPool pool = new ForkJoinPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+    private final DeckMatchupSimulator simulator = new DeckMatchupSimulator(pool);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Counts add up and a seed reproduces a run")
+    void testCountsAndSeed() {
+        MatchupResultDto result = simulate(DEFAULT_DECK, DEFAULT_DECK, 50_000, PolicyType.RANDOM, PolicyType.RANDOM, 42);
+
+        assertEquals(50_000, result.getGames());
+        assertEquals(result.getGames(), result.getFirstDeckWins().getCount()
+                + result.getSecondDeckWins().getCount() + result.getTies().getCount());
+        assertEquals(result.getGames(), total(result.getFirstDeckColumnsWon()));
+        assertEquals(result.getGames(), total(result.getSecondDeckColumnsWon()));
+
+        MatchupResultDto again = simulate(DEFAULT_DECK, DEFAULT_DECK, 50_000, PolicyType.RANDOM, PolicyType.RANDOM, 42);
+        assertEquals(result.getFirstDeckWins(), again.getFirstDeckWins());
+        assertEquals(result.getFirstDeckColumnsWon(), again.getFirstDeckColumnsWon());
+    }
+
+    @Test
+    @DisplayName("A mirror match with alternating first player is even")
+    void testMirrorMatchIsEven() {
+        MatchupResultDto result = simulate(DEFAULT_DECK, DEFAULT_DECK, 200_000, PolicyType.RANDOM, PolicyType.RANDOM, 7);
+
+        RateDto first = result.getFirstDeckWins();
+        RateDto second = result.getSecondDeckWins();
+        assertTrue(first.getLower() < second.getUpper() && second.getLower() < first.getUpper(),
+                "Intervals should overlap: " + first + " vs " + second);
+    }
+
+    @Test
+    @DisplayName("Stronger cards and the greedy policy both show up in the win rates")
+    void testAdvantagesAreDetected() {
+        MatchupResultDto strongerDeck = simulate(new int[] {5, 5, 5, 5, 5}, DEFAULT_DECK, 50_000,
+                PolicyType.RANDOM, PolicyType.RANDOM, 1);
+        assertTrue(strongerDeck.getFirstDeckWins().getLower() > strongerDeck.getSecondDeckWins().getUpper());
+
+        MatchupResultDto greedy = simulate(DEFAULT_DECK, DEFAULT_DECK, 50_000,
+                PolicyType.GREEDY, PolicyType.RANDOM, 1);
+        assertTrue(greedy.getFirstDeckWins().getLower() > greedy.getSecondDeckWins().getUpper());
+    }
+
+    @Test
+    @DisplayName("Wilson interval brackets the rate and stays within [0, 1]")
+    void testWilsonInterval() {
+        RateDto none = DeckMatchupSimulator.rate(0, 1_000);
+        assertEquals(0, none.getLower());
+        assertTrue(none.getUpper() > 0 && none.getUpper() < 0.01);
+
+        RateDto half = DeckMatchupSimulator.rate(5_000, 10_000);
+        assertEquals(0.5, half.getRate());
+        assertEquals(0.5 - 0.0098, half.getLower(), 0.0001);
+        assertEquals(0.5 + 0.0098, half.getUpper(), 0.0001);
+    }
+
+    private MatchupResultDto simulate(int[] firstDeck, int[] secondDeck, long games,
+                                      PolicyType firstPolicy, PolicyType secondPolicy, long seed) {
+        return simulator.simulate(firstDeck, secondDeck, games,
+                firstPolicy.getPolicy(), secondPolicy.getPolicy(), true, seed);
+    }
+
+    private static long total(Map<Integer, RateDto> distribution) {
+        return distribution.values().stream().mapToLong(RateDto::getCount).sum();
+    }
+}
@@ -0,0 +1,269 @@
+package com.cardgame.service.solver;
+
+import com.cardgame.dto.ImmutablePlayerAction;
+import com.cardgame.dto.PlayerAction;
+import com.cardgame.exception.game.InvalidMoveException;
+import com.cardgame.model.Board;
+import com.cardgame.model.Card;
+import com.cardgame.model.GameModel;
+import com.cardgame.model.GameState;
+import com.cardgame.model.Hand;
+import com.cardgame.model.PlayerGameState;
+import com.cardgame.model.Position;
+import com.cardgame.service.manager.BoardManager;
+import com.cardgame.service.strategy.PlaceCardStrategy;
+import com.cardgame.service.util.PlayoutState;
+import com.cardgame.service.util.ScoreCalculator;
+import com.cardgame.service.validator.DefaultGameValidator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Solves the openings of the default deck (two 1s, two 3s and a 5 per player) and checks the
+ * table against itself and against the server's rules engine.
+ */
+class OutcomeTableTest {
+
+    private static final int[] POWERS = {1, 3, 5};
+    private static final int[] DEFAULT_DECK = {2, 2, 1};
+    // Card IDs in these tests are their power
+    private static final ToIntFunction<String> POWER = Integer::parseInt;
+    private static final List<String> PLAYER_IDS = List.of("player1", "player2");
+
+    @TempDir
+    static Path tempDir;
+
+    private static OutcomeTable table;
+    private static long[] openings;
+
+    @BeforeAll
+    static void buildTable() throws IOException {
+        List<Long> defaultDeckOpenings = new ArrayList<>();
+        for (int first = 0; first < Positions.TIERS; first++) {
+            for (int second = 0; second < Positions.TIERS; second++) {
+                defaultDeckOpenings.add(OutcomeTableBuilder.opening(DEFAULT_DECK, DEFAULT_DECK, first, second));
+            }
+        }
+        openings = defaultDeckOpenings.stream().mapToLong(Long::longValue).toArray();
+
+        OutcomeTableBuilder builder = new OutcomeTableBuilder(POWERS, 1 << 21);
+        ForkJoinPool pool = new ForkJoinPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        try {
+            builder.solve(openings, pool);
+        } finally {
+            pool.shutdown();
+        }
+        Path file = tempDir.resolve("outcomes.bin");
+        builder.write(file);
+        table = OutcomeTable.open(file);
+        assertEquals(builder.size(), table.size());
+    }
+
+    @Test
+    @DisplayName("Playing the table's best moves for both sides reaches the table's value")
+    void testBestMovesAchieveValue() {
+        for (long opening : openings) {
+            int expected = table.value(opening);
+            assertNotEquals(OutcomeTable.UNKNOWN, expected);
+
+            long position = opening;
+            while (!isTerminal(position)) {
+                int move = table.bestMove(position);
+                assertNotEquals(OutcomeTable.NO_MOVE, move);
+                position = play(position, move / Positions.TIERS, move % Positions.TIERS);
+            }
+            int result = terminalValue(position);
+            int forOpener = Positions.turn(position) == 0 ? result : OutcomeTable.opposite(result);
+            assertEquals(expected, forOpener);
+        }
+    }
+
+    @Test
+    @DisplayName("Every position of random games is in the table, including mirrored ones")
+    void testRandomGamesAreCovered() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int game = 0; game < 200; game++) {
+            long position = openings[random.nextInt(openings.length)];
+            while (!isTerminal(position)) {
+                assertNotEquals(OutcomeTable.UNKNOWN, table.value(position));
+                int[] move = randomMove(position, random);
+                position = play(position, move[0], move[1]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Packed positions played by PlayoutState agree with the rules engine on legal moves, turns and the winner")
+    void testConsistentWithRulesEngine() {
+        BoardManager boardManager = new BoardManager();
+        DefaultGameValidator validator = new DefaultGameValidator(boardManager);
+        PlaceCardStrategy placeCard = new PlaceCardStrategy(boardManager);
+        SplittableRandom random = new SplittableRandom(11);
+
+        for (int game = 0; game < 100; game++) {
+            GameModel gameModel = newGame(random.nextInt(Positions.TIERS), random.nextInt(Positions.TIERS));
+            long position = SolverService.encode(gameModel, POWER, POWERS);
+
+            while (!isTerminal(position)) {
+                int player = Positions.turn(position);
+                String playerId = PLAYER_IDS.get(player);
+                for (int cell = 0; cell < Positions.CELLS; cell++) {
+                    for (int tier = 0; tier < Positions.TIERS; tier++) {
+                        if (Positions.handCount(position, player, tier) > 0) {
+                            boolean legal = state(position).isPlayable(player, cell);
+                            assertEquals(legal, validatorAccepts(validator, gameModel, playerId, cell, tier),
+                                    "Legality of cell " + cell + " differs from the validator");
+                        }
+                    }
+                }
+
+                int[] move = randomMove(position, random);
+                placeCard.executeMove(gameModel, placeAction(playerId, move[0], move[1]));
+                position = play(position, move[0], move[1]);
+                gameModel.setCurrentPlayerId(PLAYER_IDS.get(Positions.turn(position)));
+                assertEquals(position, SolverService.encode(gameModel, POWER, POWERS));
+            }
+
+            String winnerId = ScoreCalculator.determineWinner(gameModel, POWER);
+            int result = terminalValue(position);
+            String mover = PLAYER_IDS.get(Positions.turn(position));
+            String other = PLAYER_IDS.get(1 - Positions.turn(position));
+            String expectedWinner = result == OutcomeTable.WIN ? mover : result == OutcomeTable.LOSS ? other : null;
+            assertEquals(expectedWinner, winnerId);
+        }
+    }
+
+    @Test
+    @DisplayName("Lookups do not allocate")
+    void testLookupsDoNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] positions = new long[1_000];
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < positions.length; i++) {
+            long position = openings[random.nextInt(openings.length)];
+            for (int plies = random.nextInt(6); plies > 0 && !isTerminal(position); plies--) {
+                int[] move = randomMove(position, random);
+                position = play(position, move[0], move[1]);
+            }
+            positions[i] = position;
+        }
+
+        long checksum = 0;
+        for (int round = 0; round < 20; round++) {   // let the JIT settle first
+            for (long position : positions) {
+                checksum += table.value(position) + table.bestMove(position);
+            }
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int round = 0; round < 100; round++) {
+            for (long position : positions) {
+                checksum += table.value(position) + table.bestMove(position);
+            }
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(checksum != 0);
+        assertTrue(allocated < 1024, "100k lookups allocated " + allocated + " bytes");
+    }
+
+    private static int[] randomMove(long position, SplittableRandom random) {
+        int player = Positions.turn(position);
+        PlayoutState state = state(position);
+        int[] cells = new int[Positions.CELLS * Positions.TIERS];
+        int[] tiers = new int[cells.length];
+        int count = 0;
+        for (int cell = 0; cell < Positions.CELLS; cell++) {
+            if (state.isPlayable(player, cell)) {
+                for (int tier = 0; tier < Positions.TIERS; tier++) {
+                    if (Positions.handCount(position, player, tier) > 0) {
+                        cells[count] = cell;
+                        tiers[count++] = tier;
+                    }
+                }
+            }
+        }
+        int pick = random.nextInt(count);
+        return new int[] {cells[pick], tiers[pick]};
+    }
+
+    /**
+     * A position played out on the rules the table was solved with
+     */
+    private static PlayoutState state(long position) {
+        PlayoutState state = PlayoutState.emptyDefaultBoard();
+        Positions.load(position, POWERS, state);
+        return state;
+    }
+
+    private static boolean isTerminal(long position) {
+        return state(position).isTerminal();
+    }
+
+    private static int terminalValue(long position) {
+        return Positions.terminalValue(state(position));
+    }
+
+    private static long play(long position, int cell, int tier) {
+        PlayoutState state = state(position);
+        state.apply(state.moveFor(cell, POWERS[tier]));
+        return Positions.pack(state, POWERS);
+    }
+
+    private static GameModel newGame(int firstOpeningTier, int secondOpeningTier) {
+        GameModel gameModel = new GameModel();
+        gameModel.setBoard(new Board());
+        gameModel.setPlayerIds(PLAYER_IDS);
+        gameModel.setCurrentPlayerId(PLAYER_IDS.get(0));
+        gameModel.setGameState(GameState.IN_PROGRESS);
+        addPlayer(gameModel, 0, new Position(1, 3), firstOpeningTier);
+        addPlayer(gameModel, 1, new Position(1, 1), secondOpeningTier);
+        return gameModel;
+    }
+
+    private static void addPlayer(GameModel gameModel, int player, Position opening, int openingTier) {
+        List<String> hand = new ArrayList<>(List.of("1", "1", "3", "3", "5"));
+        String openingCard = String.valueOf(POWERS[openingTier]);
+        hand.remove(openingCard);
+
+        PlayerGameState state = new PlayerGameState();
+        state.setHand(Hand.of(hand));
+        state.getPlacedCards().put(opening.toStorageString(), openingCard);
+        gameModel.getBoard().placeCard(opening, openingCard);
+        gameModel.setPlayerState(PLAYER_IDS.get(player), state);
+    }
+
+    private static boolean validatorAccepts(DefaultGameValidator validator, GameModel gameModel,
+                                            String playerId, int cell, int tier) {
+        try {
+            validator.validateMove(gameModel, placeAction(playerId, cell, tier));
+            return true;
+        } catch (InvalidMoveException e) {
+            return false;
+        }
+    }
+
+    private static PlayerAction placeAction(String playerId, int cell, int tier) {
+        int power = POWERS[tier];
+        return ImmutablePlayerAction.builder()
+                .type(PlayerAction.ActionType.PLACE_CARD)
+                .playerId(playerId)
+                .card(new Card(String.valueOf(power), power, "Power " + power))
+                .targetPosition(new Position(cell % Positions.WIDTH, cell / Positions.WIDTH))
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+}
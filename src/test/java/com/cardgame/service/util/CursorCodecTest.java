@@ -0,0 +1,38 @@
+package com.cardgame.service.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorCodecTest {
+
+    @Test
+    @DisplayName("Decoding returns the encoded key values, including empty ones and non-ASCII text")
+    void testRoundTrip() {
+        String cursor = CursorCodec.encode("1700000000000", "", "ünïcødé/+=");
+
+        assertArrayEquals(new String[] {"1700000000000", "", "ünïcødé/+="}, CursorCodec.decode(cursor, 3));
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"), "cursor must be URL-safe: " + cursor);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not base64!", "%%%", "a"})
+    @DisplayName("Cursors that are not base64 are rejected")
+    void testMalformedCursor(String cursor) {
+        assertThrows(IllegalArgumentException.class, () -> CursorCodec.decode(cursor, 2));
+    }
+
+    @Test
+    @DisplayName("Cursors with the wrong number of key values are rejected")
+    void testWrongPartCount() {
+        assertThrows(IllegalArgumentException.class, () -> CursorCodec.decode(CursorCodec.encode("a", "b", "c"), 2));
+        String onePart = Base64.getUrlEncoder().encodeToString("a".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> CursorCodec.decode(onePart, 2));
+    }
+}
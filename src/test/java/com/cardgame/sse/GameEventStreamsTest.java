@@ -0,0 +1,257 @@
+package com.cardgame.sse;
+
+import com.cardgame.model.GameModel;
+import com.cardgame.model.GameState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEventStreamsTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<TestEmitter> emitters = new CopyOnWriteArrayList<>();
+    private volatile CountDownLatch nextEmitterBlocks;
+    private GameEventStreams streams;
+
+    @AfterEach
+    void tearDown() {
+        emitters.forEach(TestEmitter::unblock);
+        if (streams != null) {
+            streams.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("A new stream starts with the current state and then gets every save")
+    void testNewSubscriber() {
+        streams = streams(60_000);
+
+        TestEmitter emitter = subscribe("g1", 1, null);
+        save("g1", 2);
+
+        eventually(() -> emitter.eventIds().equals(List.of(1L, 2L)));
+    }
+
+    @Test
+    @DisplayName("A reconnect resumes after its Last-Event-ID, gets the latest state after a gap, and nothing if current")
+    void testCatchUp() {
+        streams = streams(60_000);
+        subscribe("g1", 1, null);
+        for (long version = 2; version <= 5; version++) {
+            save("g1", version);
+        }
+        // The history now holds versions 3 to 5
+
+        TestEmitter resumed = subscribe("g1", 5, 3L);
+        TestEmitter gap = subscribe("g1", 5, 1L);
+        TestEmitter current = subscribe("g1", 5, 5L);
+        save("g1", 6);
+
+        eventually(() -> resumed.eventIds().equals(List.of(4L, 5L, 6L)));
+        eventually(() -> gap.eventIds().equals(List.of(5L, 6L)));
+        eventually(() -> current.eventIds().equals(List.of(6L)));
+    }
+
+    @Test
+    @DisplayName("A stream that falls more than its buffer behind is closed once its write in flight returns")
+    void testOverflowClosesStream() {
+        streams = streams(60_000);
+        nextEmitterBlocks = new CountDownLatch(1);
+        TestEmitter slow = subscribe("g1", 1, null);
+        eventually(slow::isSending);
+
+        for (long version = 2; version <= 5; version++) {
+            save("g1", version);
+        }
+        assertEquals(0, meterRegistry.get("sse.subscribers.overflowed").counter().count());
+        save("g1", 6);
+
+        assertEquals(1, meterRegistry.get("sse.subscribers.overflowed").counter().count());
+        assertFalse(slow.completed, "completing would wait for the blocked write");
+        slow.unblock();
+        eventually(() -> slow.completed);
+        assertEquals(List.of(1L), slow.eventIds());
+        assertEquals(0, meterRegistry.get("sse.subscribers").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Idle streams get a heartbeat comment")
+    void testHeartbeat() {
+        streams = streams(60_000);
+        TestEmitter emitter = subscribe("g1", 1, null);
+        eventually(() -> emitter.sent.size() == 1);
+
+        streams.heartbeat();
+
+        eventually(() -> emitter.sent.size() == 2);
+        assertTrue(emitter.sent.get(1).contains(":heartbeat"));
+    }
+
+    @Test
+    @DisplayName("A game's history is dropped once it has had no subscribers for the retention time")
+    void testIdleChannelIsSwept() throws InterruptedException {
+        streams = streams(60_000);
+        TestEmitter left = subscribe("g1", 1, null);
+        subscribe("g2", 1, null);
+
+        left.complete();
+        Thread.sleep(5);
+        streams.heartbeat();
+
+        assertFalse(streams.hasChannel("g1"));
+        assertTrue(streams.hasChannel("g2"), "a game with subscribers is kept");
+    }
+
+    @Test
+    @DisplayName("A stream whose write blocks past the write timeout is closed and does not hold up other streams")
+    void testStalledWriteIsClosed() throws InterruptedException {
+        streams = streams(50);
+        nextEmitterBlocks = new CountDownLatch(1);
+        TestEmitter stuck = subscribe("g1", 1, null);
+        eventually(stuck::isSending);
+
+        TestEmitter other = subscribe("g2", 1, null);
+        Thread.sleep(60);
+        streams.closeStalledSubscribers();
+
+        // The only sender thread is stuck, so this needs the replacement
+        eventually(() -> other.eventIds().equals(List.of(1L)));
+        assertEquals(1, meterRegistry.get("sse.subscribers.stalled").counter().count());
+        assertEquals(1, meterRegistry.get("sse.subscribers").gauge().value());
+
+        save("g1", 2);
+        stuck.unblock();
+        eventually(() -> stuck.completed);
+        assertEquals(List.of(1L), stuck.eventIds());
+    }
+
+    /**
+     * Buffer of 4 events, history of 3, one sender thread, no retention; heartbeats are run by the tests
+     */
+    private GameEventStreams streams(long writeTimeoutMs) {
+        return new GameEventStreams(new ObjectMapper(), meterRegistry, 60_000, 4, 3, 3600, 0, 1, writeTimeoutMs) {
+            @Override
+            SseEmitter createEmitter() {
+                TestEmitter emitter = new TestEmitter(nextEmitterBlocks);
+                nextEmitterBlocks = null;
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private TestEmitter subscribe(String gameId, long currentVersion, Long lastEventId) {
+        return (TestEmitter) streams.subscribe(gameId, () -> game(gameId, currentVersion), lastEventId);
+    }
+
+    private void save(String gameId, long version) {
+        streams.onAfterSave(new AfterSaveEvent<>(game(gameId, version), new Document(), "games"));
+    }
+
+    private static GameModel game(String gameId, long version) {
+        GameModel game = new GameModel();
+        game.setId(gameId);
+        game.setGameState(GameState.IN_PROGRESS);
+        game.setCurrentPlayerId("p1");
+        game.setStateVersion(version);
+        return game;
+    }
+
+    private static void eventually(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Records what is sent instead of writing it; a blocking emitter's writes wait until it is unblocked
+     */
+    private static class TestEmitter extends SseEmitter {
+        final List<String> sent = new CopyOnWriteArrayList<>();
+        final CountDownLatch blocked;
+        volatile boolean sending;
+        volatile boolean completed;
+        private final List<Runnable> completionCallbacks = new CopyOnWriteArrayList<>();
+
+        TestEmitter(CountDownLatch blocked) {
+            this.blocked = blocked;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending = true;
+            try {
+                if (blocked != null) {
+                    blocked.await(10, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            StringBuilder text = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                text.append(data.getData());
+            }
+            sent.add(text.toString());
+        }
+
+        @Override
+        public synchronized void onCompletion(Runnable callback) {
+            completionCallbacks.add(callback);
+        }
+
+        @Override
+        public void complete() {
+            completionCallbacks.forEach(Runnable::run);
+            completed = true;
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            complete();
+        }
+
+        boolean isSending() {
+            return sending;
+        }
+
+        void unblock() {
+            if (blocked != null) {
+                blocked.countDown();
+            }
+        }
+
+        List<Long> eventIds() {
+            List<Long> ids = new ArrayList<>();
+            for (String event : sent) {
+                Matcher matcher = EVENT_ID.matcher(event);
+                if (matcher.find()) {
+                    ids.add(Long.parseLong(matcher.group(1)));
+                }
+            }
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.cardgame.tracing;
+
+import io.micrometer.context.ContextRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContextExecutorsTest {
+
+    // Stands in for the current observation, which is carried the same way
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    static {
+        ContextRegistry.getInstance().registerThreadLocalAccessor("test.current", CURRENT);
+    }
+
+    private final ExecutorService pool = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        CURRENT.remove();
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Tasks see the submitting thread's context, which does not leak to later tasks")
+    void testPropagatesContext() {
+        ExecutorService wrapped = ContextExecutors.wrap(pool);
+
+        CURRENT.set("trace-1");
+        assertEquals("trace-1", CompletableFuture.supplyAsync(CURRENT::get, wrapped).join());
+        assertEquals("trace-1", CompletableFuture.supplyAsync(CURRENT::get, ContextExecutors.commonPool()).join());
+
+        CURRENT.remove();
+        assertNull(CompletableFuture.supplyAsync(CURRENT::get, wrapped).join(), "the pool thread must be cleaned up");
+    }
+
+    @Test
+    @DisplayName("Shutting down the wrapper shuts down the executor")
+    void testShutdown() {
+        ContextExecutors.wrap(pool).shutdown();
+
+        assertTrue(pool.isShutdown());
+    }
+}
@@ -0,0 +1,106 @@
+package com.cardgame.tracing;
+
+import com.cardgame.dto.tracing.SpanDto;
+import com.cardgame.dto.tracing.TraceDto;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracesEndpointTest {
+
+    private final InMemorySpanExporter exporter = new InMemorySpanExporter(3);
+    private final SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+            .build();
+    private final Tracer tracer = tracerProvider.get("test");
+    private final TracesEndpoint endpoint = new TracesEndpoint(exporter);
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    @DisplayName("The exporter keeps the newest spans and drops the oldest first")
+    void testExporterEviction() {
+        for (int i = 0; i < 5; i++) {
+            span("span" + i, Context.root(), i, i + 1);
+        }
+
+        assertEquals(List.of("span2", "span3", "span4"), exporter.snapshot().stream().map(SpanData::getName).toList());
+        assertThrows(IllegalArgumentException.class, () -> new InMemorySpanExporter(0));
+    }
+
+    @Test
+    @DisplayName("Spans are grouped into traces, newest first, with the root's name and the whole duration")
+    void testGroupsSpansByTrace() {
+        Span move = traces();
+
+        List<TraceDto> traces = endpoint.traces(null, null, null);
+
+        assertEquals(List.of("websocket.message", "GET /game"), traces.stream().map(TraceDto::getName).toList());
+        TraceDto request = traces.get(1);
+        assertEquals(100_000, request.getDurationMicros());
+        assertFalse(request.isError());
+        SpanDto root = request.getSpans().get(0);
+        SpanDto child = request.getSpans().get(1);
+        assertNull(root.getParentSpanId());
+        assertEquals(root.getSpanId(), child.getParentSpanId());
+        assertEquals("game.move", child.getName());
+        assertTrue(traces.get(0).isError());
+
+        assertEquals(request, endpoint.trace(move.getSpanContext().getTraceId()));
+        assertNull(endpoint.trace("00000000000000000000000000000001"));
+    }
+
+    @Test
+    @DisplayName("Traces are filtered by minimum duration, span name prefix and limit")
+    void testFilters() {
+        traces();
+
+        assertEquals(List.of("GET /game"), names(endpoint.traces(null, 90L, null)));
+        assertEquals(List.of("GET /game"), names(endpoint.traces(null, null, "game.")));
+        assertEquals(List.of("websocket.message"), names(endpoint.traces(1, null, null)));
+        assertTrue(endpoint.traces(null, 1_000L, null).isEmpty());
+    }
+
+    /**
+     * An HTTP request (0-100 ms) with a move inside it, then a failed WebSocket message (200-230 ms)
+     * @return The move span
+     */
+    private Span traces() {
+        Span request = tracer.spanBuilder("GET /game").setNoParent()
+                .setStartTimestamp(0, TimeUnit.MILLISECONDS).startSpan();
+        Span move = span("game.move", Context.root().with(request), 10, 60);
+        request.end(100, TimeUnit.MILLISECONDS);
+
+        Span message = tracer.spanBuilder("websocket.message").setNoParent()
+                .setStartTimestamp(200, TimeUnit.MILLISECONDS).startSpan();
+        message.setStatus(StatusCode.ERROR);
+        message.end(230, TimeUnit.MILLISECONDS);
+        return move;
+    }
+
+    private Span span(String name, Context parent, long startMillis, long endMillis) {
+        Span span = tracer.spanBuilder(name).setParent(parent)
+                .setStartTimestamp(startMillis, TimeUnit.MILLISECONDS).startSpan();
+        span.end(endMillis, TimeUnit.MILLISECONDS);
+        return span;
+    }
+
+    private static List<String> names(List<TraceDto> traces) {
+        return traces.stream().map(TraceDto::getName).toList();
+    }
+}
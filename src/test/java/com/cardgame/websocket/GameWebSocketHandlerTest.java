@@ -0,0 +1,178 @@
+package com.cardgame.websocket;
+
+import com.cardgame.config.MetricsConfig;
+import com.cardgame.dto.GameDto;
+import com.cardgame.dto.ImmutableBoardDto;
+import com.cardgame.dto.ImmutableGameDto;
+import com.cardgame.model.GameModel;
+import com.cardgame.model.GameState;
+import com.cardgame.service.GameService;
+import com.cardgame.service.metrics.MovePhaseMetrics;
+import com.cardgame.service.nakama.NakamaMatchService;
+import com.cardgame.websocket.message.MessageType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class GameWebSocketHandlerTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GameService gameService = mock(GameService.class);
+    private final NakamaMatchService nakamaMatchService = mock(NakamaMatchService.class);
+    private final AtomicLong version = new AtomicLong(1);
+    private final GameWebSocketHandler handler = new GameWebSocketHandler();
+
+    GameWebSocketHandlerTest() {
+        ReflectionTestUtils.setField(handler, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(handler, "nakamaMatchService", nakamaMatchService);
+        ReflectionTestUtils.setField(handler, "gameService", gameService);
+        ReflectionTestUtils.setField(handler, "metricsConfig", mock(MetricsConfig.class));
+        ReflectionTestUtils.setField(handler, "movePhaseMetrics", mock(MovePhaseMetrics.class));
+        ReflectionTestUtils.setField(handler, "trafficMetrics", new WebSocketTrafficMetrics(meterRegistry));
+        ReflectionTestUtils.setField(handler, "observationRegistry", ObservationRegistry.NOOP);
+        ReflectionTestUtils.setField(handler, "spectatorHub", mock(SpectatorHub.class));
+        ReflectionTestUtils.setField(handler, "replayBuffers", new MatchReplayBuffers(meterRegistry, 8, 30));
+        ReflectionTestUtils.setField(handler, "reconnectGraceSeconds", 1L);
+        ReflectionTestUtils.setField(handler, "sendTimeLimitMs", 1000);
+        ReflectionTestUtils.setField(handler, "sendBufferLimitBytes", 64 * 1024);
+
+        when(gameService.getGameModel("g1")).thenAnswer(invocation -> game());
+        when(nakamaMatchService.getMatchState("m1")).thenAnswer(invocation -> game());
+        GameDto view = ImmutableGameDto.builder()
+                .id("g1")
+                .state(GameState.IN_PROGRESS)
+                .board(ImmutableBoardDto.builder().width(3).height(5).build())
+                .currentPlayerId("p1")
+                .playerIds(List.of("p1", "p2"))
+                .createdAt(Instant.EPOCH)
+                .updatedAt(Instant.EPOCH)
+                .build();
+        when(gameService.convertToDto(any(GameModel.class), anyString())).thenReturn(view);
+    }
+
+    @AfterEach
+    void tearDown() {
+        handler.shutdown();
+    }
+
+    @Test
+    @DisplayName("RESUME replays the states missed, tells the others, and the player is not recorded as disconnected")
+    void testResumeReplaysMissedStates() throws Exception {
+        RecordingSession dropped = connect("s1");
+        RecordingSession opponent = connect("s2");
+        send(dropped, "JOIN_MATCH", Map.of("matchId", "m1", "playerId", "p1"));
+        send(opponent, "JOIN_MATCH", Map.of("matchId", "m1", "playerId", "p2"));
+        broadcastState(1);
+
+        handler.afterConnectionClosed(dropped.session, CloseStatus.GOING_AWAY);
+        broadcastState(2);
+        broadcastState(3);
+
+        RecordingSession resumed = connect("s3");
+        send(resumed, "RESUME", Map.of("matchId", "m1", "playerId", "p1", "version", 1));
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(handler, "pendingDisconnections")).isEmpty(),
+                "the grace-period disconnection should be cancelled");
+        broadcastState(4);
+
+        JsonNode resumeSuccess = resumed.messages(MessageType.RESUME_SUCCESS).get(0);
+        assertEquals(2, resumeSuccess.get("data").get("replayed").asInt());
+        assertFalse(resumeSuccess.get("data").get("snapshot").asBoolean());
+        assertEquals(List.of(2L, 3L, 4L), resumed.stateVersions());
+        assertEquals(1, opponent.messages(MessageType.PLAYER_RECONNECTED).size());
+
+        // The grace period has run out by now, but the player came back within it
+        verify(nakamaMatchService, after(1500).never()).handleDisconnection(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("RESUME from a version no longer buffered gets a snapshot, and a rebroadcast of it is not sent again")
+    void testResumeSendsSnapshot() throws Exception {
+        RecordingSession player = connect("s1");
+        send(player, "JOIN_MATCH", Map.of("matchId", "m1", "playerId", "p1"));
+        for (long v = 1; v <= 10; v++) {
+            broadcastState(v);
+        }
+
+        RecordingSession resumed = connect("s2");
+        send(resumed, "RESUME", Map.of("matchId", "m1", "playerId", "p1", "version", 1));
+        broadcastState(10);
+        broadcastState(11);
+
+        assertTrue(resumed.messages(MessageType.RESUME_SUCCESS).get(0).get("data").get("snapshot").asBoolean());
+        assertEquals(List.of(10L, 11L), resumed.stateVersions());
+    }
+
+    private RecordingSession connect(String id) throws Exception {
+        RecordingSession session = new RecordingSession(id);
+        handler.afterConnectionEstablished(session.session);
+        return session;
+    }
+
+    private void send(RecordingSession session, String type, Map<String, Object> data) throws Exception {
+        String payload = objectMapper.writeValueAsString(Map.of("type", type, "data", data));
+        handler.handleTextMessage(session.session, new TextMessage(payload));
+    }
+
+    private void broadcastState(long stateVersion) {
+        version.set(stateVersion);
+        handler.broadcastGameUpdate("m1", gameService.convertToDto(game(), "p1"));
+    }
+
+    private GameModel game() {
+        GameModel game = new GameModel();
+        game.setId("g1");
+        game.setGameState(GameState.IN_PROGRESS);
+        game.setPlayerIds(List.of("p1", "p2"));
+        game.setStateVersion(version.get());
+        return game;
+    }
+
+    /**
+     * Session that keeps what it was sent
+     */
+    private class RecordingSession {
+        final WebSocketSession session = mock(WebSocketSession.class);
+        final List<JsonNode> sent = new CopyOnWriteArrayList<>();
+
+        RecordingSession(String id) throws Exception {
+            Map<String, Object> attributes = new HashMap<>();
+            when(session.getId()).thenReturn(id);
+            when(session.isOpen()).thenReturn(true);
+            when(session.getAttributes()).thenReturn(attributes);
+            doAnswer(invocation -> {
+                TextMessage message = invocation.getArgument(0);
+                sent.add(objectMapper.readTree(message.getPayload()));
+                return null;
+            }).when(session).sendMessage(any());
+        }
+
+        List<JsonNode> messages(MessageType type) {
+            return sent.stream().filter(message -> type.name().equals(message.get("type").asText())).toList();
+        }
+
+        List<Long> stateVersions() {
+            return messages(MessageType.GAME_STATE_UPDATE).stream().map(message -> message.get("version").asLong()).toList();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.cardgame.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.List;
+import java.util.NavigableMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchReplayBuffersTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MatchReplayBuffers buffers = new MatchReplayBuffers(meterRegistry, 6, 30);
+
+    @Test
+    @DisplayName("A resume replays only the player's own messages after the version it last saw")
+    void testReplaysMissedMessages() {
+        for (long version = 1; version <= 3; version++) {
+            record(version);
+        }
+
+        NavigableMap<Long, TextMessage> missed = buffers.missedSince("m1", "p1", 1);
+        assertEquals(List.of(2L, 3L), List.copyOf(missed.keySet()));
+        assertEquals(List.of("p1@2", "p1@3"), missed.values().stream().map(TextMessage::getPayload).toList());
+        assertTrue(buffers.missedSince("m1", "p2", 3).isEmpty());
+
+        assertEquals(1, meterRegistry.get("websocket.resumes").tag("outcome", "replayed").counter().count());
+        assertEquals(1, meterRegistry.get("websocket.resumes").tag("outcome", "current").counter().count());
+    }
+
+    @Test
+    @DisplayName("A resume from a version no longer buffered, or of an unknown match, needs a snapshot")
+    void testSnapshotWhenGapTooLarge() {
+        for (long version = 1; version <= 5; version++) {
+            record(version);
+        }
+
+        // Six entries hold versions 3 to 5; what followed version 1 is gone
+        assertNull(buffers.missedSince("m1", "p1", 1));
+        assertEquals(2, buffers.missedSince("m1", "p1", 3).size());
+        assertNull(buffers.missedSince("m2", "p1", 3));
+        assertEquals(2, meterRegistry.get("websocket.resumes").tag("outcome", "snapshot").counter().count());
+    }
+
+    private void record(long version) {
+        for (String playerId : List.of("p1", "p2")) {
+            buffers.record("m1", version, playerId, new TextMessage(playerId + "@" + version));
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.cardgame.websocket;
+
+import com.cardgame.dto.GameDto;
+import com.cardgame.dto.ImmutableBoardDto;
+import com.cardgame.dto.ImmutableGameDto;
+import com.cardgame.model.GameState;
+import com.cardgame.model.GameModel;
+import com.cardgame.service.GameService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SpectatorHubTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GameService gameService = mock(GameService.class);
+    private final AtomicLong version = new AtomicLong(1);
+    private final SpectatorHub hub = new SpectatorHub(gameService, JsonMapper.builder().findAndAddModules().build(),
+            new WebSocketTrafficMetrics(meterRegistry), meterRegistry, 3, 2, 2);
+
+    SpectatorHubTest() {
+        when(gameService.getGameModel("g1")).thenAnswer(invocation -> game());
+        GameDto view = ImmutableGameDto.builder()
+                .id("g1")
+                .state(GameState.IN_PROGRESS)
+                .board(ImmutableBoardDto.builder().width(3).height(5).build())
+                .currentPlayerId("p1")
+                .playerIds(List.of("p1", "p2"))
+                .createdAt(Instant.EPOCH)
+                .updatedAt(Instant.EPOCH)
+                .build();
+        when(gameService.convertToPublicDto(any())).thenReturn(view);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    @DisplayName("Spectators share one frame per state version and are capped per match")
+    void testSharedFramesAndCap() throws Exception {
+        RecordingSession first = new RecordingSession("s1");
+        RecordingSession second = new RecordingSession("s2");
+        assertTrue(hub.watch(first.session, "m1", "g1"));
+        assertTrue(hub.watch(second.session, "m1", "g1"));
+        assertTrue(hub.watch(new RecordingSession("s3").session, "m1", "g1"));
+        assertFalse(hub.watch(new RecordingSession("s4").session, "m1", "g1"));
+
+        first.awaitVersion(1);
+        second.awaitVersion(1);
+        version.set(2);
+        hub.onAfterSave(new AfterSaveEvent<>(game(), new Document(), "games"));
+        first.awaitVersion(2);
+        second.awaitVersion(2);
+
+        assertSame(first.sent.get(1), second.sent.get(1), "spectators must share the serialized frame");
+        assertEquals(2, meterRegistry.get("websocket.spectators.frames").counter().count());
+        assertEquals(1, meterRegistry.get("websocket.spectators.rejected").counter().count());
+        assertEquals(3, meterRegistry.get("websocket.spectators").gauge().value());
+
+        hub.unwatch(first.session);
+        assertEquals(2, hub.spectatorCount("g1"));
+    }
+
+    @Test
+    @DisplayName("A slow spectator skips the states it missed and gets the latest")
+    void testConflation() throws Exception {
+        RecordingSession slow = new RecordingSession("slow");
+        slow.block();
+        assertTrue(hub.watch(slow.session, "m1", "g1"));
+        slow.awaitSending();
+
+        // Each state is built and offered while the spectator is still stuck sending the first
+        for (long v = 2; v <= 5; v++) {
+            version.set(v);
+            hub.onAfterSave(new AfterSaveEvent<>(game(), new Document(), "games"));
+            awaitCount("websocket.spectators.frames", v);
+        }
+        awaitCount("websocket.spectators.conflated", 3);
+        slow.unblock();
+
+        slow.awaitVersion(5);
+        assertEquals(2, slow.sent.size(), "states 2 to 4 should have been skipped");
+    }
+
+    @Test
+    @DisplayName("A spectator whose send blocks past the send time limit is dropped without holding up the others")
+    void testBlockedSendIsDropped() throws Exception {
+        RecordingSession stuck = new RecordingSession("stuck");
+        stuck.block();
+        AtomicReference<String> closedOn = new AtomicReference<>();
+        doAnswer(invocation -> {
+            closedOn.set(Thread.currentThread().getName());
+            return null;
+        }).when(stuck.session).close(any(CloseStatus.class));
+        assertTrue(hub.watch(new ConcurrentWebSocketSessionDecorator(stuck.session, 50, 64 * 1024), "m1", "g1"));
+        stuck.awaitSending();
+        RecordingSession other = new RecordingSession("other");
+        assertTrue(hub.watch(other.session, "m1", "g1"));
+        other.awaitVersion(1);
+
+        Thread.sleep(60);
+        version.set(2);
+        hub.onAfterSave(new AfterSaveEvent<>(game(), new Document(), "games"));
+
+        other.awaitVersion(2);
+        awaitCount("websocket.spectators.dropped", 1);
+        assertEquals(1, hub.spectatorCount("g1"));
+        verify(stuck.session, timeout(1000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertTrue(closedOn.get().startsWith("spectator-closer-"), "closed on " + closedOn.get());
+        stuck.unblock();
+    }
+
+    private void awaitCount(String counter, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (meterRegistry.get(counter).counter().count() < expected) {
+            assertTrue(System.nanoTime() < deadline, counter + " did not reach " + expected);
+            Thread.sleep(5);
+        }
+    }
+
+    private GameModel game() {
+        GameModel game = new GameModel();
+        game.setId("g1");
+        game.setStateVersion(version.get());
+        return game;
+    }
+
+    /**
+     * Session that keeps what it was sent, optionally holding the first send until unblocked
+     */
+    private static class RecordingSession {
+        final WebSocketSession session = mock(WebSocketSession.class);
+        final List<TextMessage> sent = new CopyOnWriteArrayList<>();
+        private final ObjectMapper mapper = new ObjectMapper();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        RecordingSession(String id) throws Exception {
+            Map<String, Object> attributes = new HashMap<>();
+            when(session.getId()).thenReturn(id);
+            when(session.isOpen()).thenReturn(true);
+            when(session.getAttributes()).thenReturn(attributes);
+            doAnswer(invocation -> {
+                sending.countDown();
+                gate.await(5, TimeUnit.SECONDS);
+                sent.add(invocation.getArgument(0));
+                return null;
+            }).when(session).sendMessage(any());
+        }
+
+        void block() {
+            gate = new CountDownLatch(1);
+        }
+
+        void unblock() {
+            gate.countDown();
+        }
+
+        void awaitSending() throws InterruptedException {
+            assertTrue(sending.await(1, TimeUnit.SECONDS));
+        }
+
+        void awaitVersion(long expected) throws Exception {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (System.nanoTime() < deadline) {
+                if (!sent.isEmpty() && lastVersion() == expected) {
+                    return;
+                }
+                Thread.sleep(5);
+            }
+            fail("version " + expected + " was not sent to " + session.getId());
+        }
+
+        private long lastVersion() throws Exception {
+            return mapper.readTree(sent.get(sent.size() - 1).getPayload()).get("version").asLong();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.cardgame.websocket;
+
+import com.cardgame.websocket.message.MessageType;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WebSocketTrafficMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WebSocketTrafficMetrics metrics = new WebSocketTrafficMetrics(meterRegistry);
+
+    @Test
+    @DisplayName("UTF-8 length matches encoding the string")
+    void testUtf8Length() {
+        for (String text : new String[] {"", "{\"type\":\"PASS\"}", "Zoë", "雷", "card 🂡"}) {
+            assertEquals(text.getBytes(StandardCharsets.UTF_8).length, WebSocketTrafficMetrics.utf8Length(text), text);
+        }
+    }
+
+    @Test
+    @DisplayName("Counts messages and bytes by type, with unparseable frames as INVALID")
+    void testReceived() {
+        metrics.recordReceived(MessageType.GAME_ACTION, "{\"type\":\"GAME_ACTION\"}");
+        metrics.recordReceived(null, "not json");
+
+        assertEquals(1, meterRegistry.get("websocket.messages.received").tag("type", "GAME_ACTION").counter().count());
+        assertEquals(1, meterRegistry.get("websocket.messages.received").tag("type", "INVALID").counter().count());
+        DistributionSummary bytes = meterRegistry.get("websocket.message.payload")
+                .tags("type", "INVALID", "direction", "in")
+                .summary();
+        assertEquals(8, bytes.totalAmount());
+    }
+
+    @Test
+    @DisplayName("Send failures are counted by reason and per session")
+    void testSendFailures() {
+        Map<String, Object> attributes = new HashMap<>();
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getAttributes()).thenReturn(attributes);
+
+        metrics.recordSendFailure(session, "closed");
+        metrics.recordSendFailure(session, "io");
+        metrics.recordSessionClosed(session);
+
+        assertEquals(1, meterRegistry.get("websocket.send.failures").tag("reason", "closed").counter().count());
+        DistributionSummary perSession = meterRegistry.get("websocket.session.send.failures").summary();
+        assertEquals(1, perSession.count());
+        assertEquals(2, perSession.totalAmount());
+    }
+}